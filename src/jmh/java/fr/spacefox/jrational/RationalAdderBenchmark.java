@@ -0,0 +1,83 @@
+package fr.spacefox.jrational;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+// Shared exact total updated by many threads: RationalAdder versus a compare-and-set loop on an AtomicReference and
+// a synchronized total. Values are prices in cents or in thirds, so the total keeps a small denominator.
+// The subclasses run the same benchmarks with 1 to 64 threads.
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public abstract class RationalAdderBenchmark {
+
+    private static final Rational[] VALUES = new Rational[256];
+
+    static {
+        for (int i = 0; i < VALUES.length; i++) {
+            VALUES[i] = Rational.of(i * 37L + 1, i % 3 == 0 ? 300 : 100);
+        }
+    }
+
+    private RationalAdder adder;
+    private AtomicReference<Rational> atomic;
+    private Rational synchronizedTotal;
+
+    @Setup
+    public void setup() {
+        adder = new RationalAdder();
+        atomic = new AtomicReference<>(Rational.ZERO);
+        synchronizedTotal = Rational.ZERO;
+    }
+
+    @State(Scope.Thread)
+    public static class Index {
+        int next;
+
+        Rational nextValue() {
+            return VALUES[next++ & (VALUES.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public void adder(final Index index) {
+        adder.add(index.nextValue());
+    }
+
+    @Benchmark
+    public void atomicReference(final Index index) {
+        final Rational value = index.nextValue();
+        Rational current;
+        do {
+            current = atomic.get();
+        } while (!atomic.compareAndSet(current, current.add(value).canonicalForm()));
+    }
+
+    @Benchmark
+    public void synchronizedAdd(final Index index) {
+        final Rational value = index.nextValue();
+        synchronized (this) {
+            synchronizedTotal = synchronizedTotal.add(value).canonicalForm();
+        }
+    }
+
+    @Threads(1)
+    public static class Threads1 extends RationalAdderBenchmark {}
+
+    @Threads(4)
+    public static class Threads4 extends RationalAdderBenchmark {}
+
+    @Threads(16)
+    public static class Threads16 extends RationalAdderBenchmark {}
+
+    @Threads(64)
+    public static class Threads64 extends RationalAdderBenchmark {}
+}
@@ -20,13 +20,18 @@ import org.openjdk.jmh.annotations.State;
 public class RationalBasicArithmeticsBenchmark {
 
     private static final Random RANDOM = new Random();
+    // Products of huge numerators and denominators are split in tasks run on all cores
+    private static final RationalContext PARALLEL = RationalContext.UNLIMITED.withParallel(true);
 
     private Rational a;
     private Rational b;
     private int pow;
 
     //    @Param({"10", "100", "1000", "10000"})
-    @Param({"2", "4", "8", "16", "32", "64", "128", "256", "512", "1024", "2048", "4096", "8192", "16384"})
+    @Param({
+        "2", "4", "8", "16", "32", "64", "128", "256", "512", "1024", "2048", "4096", "8192", "16384", "32768", "65536",
+        "131072", "262144"
+    })
     int size;
 
     @Setup(Level.Iteration)
@@ -67,4 +72,19 @@ public class RationalBasicArithmeticsBenchmark {
     public Rational pow() {
         return a.pow(pow);
     }
+
+    @Benchmark
+    public Rational parallelAdd() {
+        return a.add(b, PARALLEL);
+    }
+
+    @Benchmark
+    public Rational parallelMultiply() {
+        return a.multiply(b, PARALLEL);
+    }
+
+    @Benchmark
+    public Rational parallelPow() {
+        return a.pow(pow, PARALLEL);
+    }
 }
@@ -0,0 +1,53 @@
+package fr.spacefox.jrational;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Sum of prices (cents and thirds): Rational.sum versus the collector, in sequential and parallel streams.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RationalCollectorsBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private List<Rational> values;
+
+    @Setup
+    public void setup() {
+        values = IntStream.range(0, size)
+                .mapToObj(i -> Rational.of(i * 37L % 10007, i % 3 == 0 ? 300 : 100))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Rational sum() {
+        return Rational.sum(values);
+    }
+
+    @Benchmark
+    public Rational summing() {
+        return values.stream().collect(RationalCollectors.summing());
+    }
+
+    @Benchmark
+    public Rational summingParallel() {
+        return values.parallelStream().collect(RationalCollectors.summing());
+    }
+
+    @Benchmark
+    public RationalSummaryStatistics summarizingParallel() {
+        return values.parallelStream().collect(RationalCollectors.summarizing());
+    }
+}
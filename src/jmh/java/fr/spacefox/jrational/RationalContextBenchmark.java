@@ -0,0 +1,43 @@
+package fr.spacefox.jrational;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// Logistic map x -> r * x * (1 - x): the size of an exact x doubles at each step, while it remains constant in a
+// bounded context. The cost per step should remain constant with a context, whatever the number of steps.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RationalContextBenchmark {
+
+    private static final Rational R = Rational.of(37, 10);
+    private static final Rational X0 = Rational.of(1, 3);
+    private static final RationalContext CONTEXT = RationalContext.ofBits(64);
+
+    @Param({"2", "4", "8", "12", "16"})
+    int steps;
+
+    @Benchmark
+    public Rational logisticMapExact() {
+        Rational x = X0;
+        for (int i = 0; i < steps; i++) {
+            x = R.multiply(x).multiply(Rational.ONE.subtract(x));
+        }
+        return x;
+    }
+
+    @Benchmark
+    public Rational logisticMapWithContext() {
+        Rational x = X0;
+        for (int i = 0; i < steps; i++) {
+            x = R.multiply(x, CONTEXT).multiply(Rational.ONE.subtract(x), CONTEXT);
+        }
+        return x;
+    }
+}
@@ -0,0 +1,57 @@
+package fr.spacefox.jrational;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Portfolio valuation: dot product of integer quantities and prices in cents, with multiply and add versus dot.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RationalDotBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    private List<Rational> quantities;
+    private List<Rational> prices;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+        quantities = new ArrayList<>(size);
+        prices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            quantities.add(Rational.of(random.nextInt(10_000)));
+            prices.add(Rational.of(random.nextInt(100_000_000), 100));
+        }
+    }
+
+    @Benchmark
+    public Rational multiplyAdd() {
+        Rational sum = Rational.ZERO;
+        for (int i = 0; i < size; i++) {
+            sum = sum.add(quantities.get(i).multiply(prices.get(i))).canonicalForm();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Rational dot() {
+        return Rational.dot(quantities, prices);
+    }
+
+    @Benchmark
+    public Rational parallelDot() {
+        return Rational.parallelDot(quantities, prices);
+    }
+}
@@ -0,0 +1,82 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Sum of n products a(i) * b(i) / c(i), with operands of a few hundred digits: immediate operations (reduced at each
+// step or at the end) versus a compiled expression, evaluated in the calling thread or in parallel.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RationalExpressionBenchmark {
+
+    @Param({"4", "16", "64"})
+    int terms;
+
+    private Rational[] a;
+    private Rational[] b;
+    private Rational[] c;
+    private Map<String, Rational> values;
+    private RationalExpression.Compiled compiled;
+
+    @Setup
+    public void setup() {
+        a = new Rational[terms];
+        b = new Rational[terms];
+        c = new Rational[terms];
+        values = new HashMap<>();
+        RationalExpression expression = RationalExpression.of(Rational.ZERO);
+        for (int i = 0; i < terms; i++) {
+            final BigInteger base = BigInteger.valueOf(6L * i + 7).pow(150);
+            a[i] = Rational.of(base.add(BigInteger.ONE), BigInteger.valueOf(30L * (i + 1)));
+            b[i] = Rational.of(BigInteger.valueOf(42L * (i + 1)), base.subtract(BigInteger.ONE));
+            c[i] = Rational.of(BigInteger.valueOf(i + 1).pow(40), BigInteger.valueOf(210));
+            values.put("a" + i, a[i]);
+            values.put("b" + i, b[i]);
+            values.put("c" + i, c[i]);
+            expression = expression.add(RationalExpression.variable("a" + i)
+                    .multiply(RationalExpression.variable("b" + i))
+                    .divide(RationalExpression.variable("c" + i)));
+        }
+        compiled = expression.compile();
+    }
+
+    @Benchmark
+    public Rational immediate() {
+        Rational sum = Rational.ZERO;
+        for (int i = 0; i < terms; i++) {
+            sum = sum.add(a[i].multiply(b[i]).divide(c[i]));
+        }
+        return sum.canonicalForm();
+    }
+
+    @Benchmark
+    public Rational immediateCanonical() {
+        Rational sum = Rational.ZERO;
+        for (int i = 0; i < terms; i++) {
+            sum = sum.add(a[i].multiply(b[i]).divide(c[i]).canonicalForm()).canonicalForm();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Rational compiled() {
+        return compiled.evaluate(values);
+    }
+
+    @Benchmark
+    public Rational compiledParallel() {
+        return compiled.evaluate(values, ForkJoinPool.commonPool());
+    }
+}
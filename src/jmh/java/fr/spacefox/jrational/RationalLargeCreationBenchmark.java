@@ -1,5 +1,6 @@
 package fr.spacefox.jrational;
 
+import java.math.BigInteger;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -23,9 +24,13 @@ public class RationalLargeCreationBenchmark {
     private String equalsLengthNum;
     private String equalsLengthDen;
     private String longNumber;
+    private Rational twoLongNumbers;
 
     //    @Param({"10", "100", "1000", "10000"})
-    @Param({"2", "4", "8", "16", "32", "64", "128", "256", "512", "1024", "2048", "4096", "8192", "16384"})
+    @Param({
+        "2", "4", "8", "16", "32", "64", "128", "256", "512", "1024", "2048", "4096", "8192", "16384", "65536",
+        "262144", "1048576"
+    })
     int size;
 
     @Setup(Level.Iteration)
@@ -33,6 +38,7 @@ public class RationalLargeCreationBenchmark {
         longNumber = stringNumberOfLength(size - 1);
         equalsLengthNum = stringNumberOfLength(size / 2);
         equalsLengthDen = stringNumberOfLength(size / 2);
+        twoLongNumbers = Rational.of(equalsLengthNum, equalsLengthDen);
     }
 
     private static String stringNumberOfLength(int length) {
@@ -72,4 +78,15 @@ public class RationalLargeCreationBenchmark {
     public Rational newCanonicalRationalFromTwoLongStrings() {
         return Rational.of(equalsLengthNum, equalsLengthDen).canonicalForm();
     }
+
+    // Same, without the parsing of the strings: the half-GCD of canonicalForm() versus BigInteger.gcd
+    @Benchmark
+    public Rational newCanonicalRationalFromTwoLongNumbers() {
+        return twoLongNumbers.canonicalForm();
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerGcdOfTwoLongNumbers() {
+        return twoLongNumbers.getNumerator().gcd(twoLongNumbers.getDenominator());
+    }
 }
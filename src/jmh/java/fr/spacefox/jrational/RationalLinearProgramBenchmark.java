@@ -0,0 +1,120 @@
+package fr.spacefox.jrational;
+
+import fr.spacefox.jrational.RationalLinearProgram.Relation;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Linear programs max c.x, A.x <= b, x >= 0, with small fractions, twice as many variables as constraints: simplex on
+// a tableau of Rational versus the fraction-free revised simplex, with and without floating-point warm start.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RationalLinearProgramBenchmark {
+
+    @Param({"20", "50", "100"})
+    int constraints;
+
+    private Rational[][] rows;
+    private Rational[] bounds;
+    private Rational[] objective;
+    private RationalLinearProgram program;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(constraints);
+        final int variables = 2 * constraints;
+        rows = new Rational[constraints][variables];
+        bounds = new Rational[constraints];
+        objective = new Rational[variables];
+        for (int j = 0; j < variables; j++) {
+            objective[j] = Rational.of(random.nextInt(20) + 1, random.nextInt(4) + 1);
+        }
+        program = RationalLinearProgram.maximize(List.of(objective));
+        for (int i = 0; i < constraints; i++) {
+            for (int j = 0; j < variables; j++) {
+                rows[i][j] = random.nextInt(3) == 0
+                        ? Rational.ZERO
+                        : Rational.of(random.nextInt(9) + 1, random.nextInt(5) + 1);
+            }
+            bounds[i] = Rational.of(random.nextInt(100) + 1, random.nextInt(3) + 1);
+            program = program.subjectTo(List.of(rows[i]), Relation.LESS_OR_EQUAL, bounds[i]);
+        }
+    }
+
+    @Benchmark
+    public Rational naiveTableau() {
+        final int variables = objective.length;
+        final int width = variables + constraints + 1;
+        // Rows of A | I | b, then the reduced costs, the slack variables being the first basis
+        final Rational[][] tableau = new Rational[constraints + 1][width];
+        final int[] basis = new int[constraints];
+        for (int i = 0; i < constraints; i++) {
+            for (int j = 0; j < width; j++) {
+                tableau[i][j] = j < variables ? rows[i][j] : j == variables + i ? Rational.ONE : Rational.ZERO;
+            }
+            tableau[i][width - 1] = bounds[i];
+            basis[i] = variables + i;
+        }
+        for (int j = 0; j < width; j++) {
+            tableau[constraints][j] = j < variables ? objective[j].negate() : Rational.ZERO;
+        }
+        while (true) {
+            // Bland's rule
+            int entering = -1;
+            for (int j = 0; j < width - 1 && entering < 0; j++) {
+                if (tableau[constraints][j].signum() < 0) {
+                    entering = j;
+                }
+            }
+            if (entering < 0) {
+                return tableau[constraints][width - 1];
+            }
+            int leaving = -1;
+            Rational best = null;
+            for (int i = 0; i < constraints; i++) {
+                if (tableau[i][entering].signum() > 0) {
+                    final Rational ratio = tableau[i][width - 1].divide(tableau[i][entering]);
+                    final int comparison = best == null ? -1 : ratio.compareTo(best);
+                    if (comparison < 0 || comparison == 0 && basis[i] < basis[leaving]) {
+                        leaving = i;
+                        best = ratio;
+                    }
+                }
+            }
+            final Rational pivot = tableau[leaving][entering];
+            for (int j = 0; j < width; j++) {
+                tableau[leaving][j] = tableau[leaving][j].divide(pivot).canonicalForm();
+            }
+            for (int i = 0; i <= constraints; i++) {
+                final Rational factor = tableau[i][entering];
+                if (i != leaving && factor.signum() != 0) {
+                    for (int j = 0; j < width; j++) {
+                        tableau[i][j] = tableau[i][j]
+                                .subtract(factor.multiply(tableau[leaving][j]))
+                                .canonicalForm();
+                    }
+                }
+            }
+            basis[leaving] = entering;
+        }
+    }
+
+    @Benchmark
+    public Rational exact() {
+        return program.solve().getValue();
+    }
+
+    @Benchmark
+    public Rational warmStart() {
+        return program.solve(true).getValue();
+    }
+}
@@ -0,0 +1,63 @@
+package fr.spacefox.jrational;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Cost of elementary functions by precision. Constants (pi, ln(2)) are computed once in setup, so only the cost of the
+// function itself is measured, not the first computation of the constants.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RationalMathBenchmark {
+
+    private static final Rational X = Rational.of(22, 7);
+    private static final Rational SMALL_X = Rational.of(5, 7);
+    private static final Rational EXPONENT = Rational.of(7, 3);
+
+    @Param({"64", "256", "1024", "4096"})
+    int bits;
+
+    @Setup
+    public void setup() {
+        // Enough for all arguments of this benchmark
+        RationalConstants.pi(2 * bits + 256);
+        RationalConstants.ln2(2 * bits + 256);
+    }
+
+    @Benchmark
+    public Rational exp() {
+        return RationalMath.exp(X, bits);
+    }
+
+    @Benchmark
+    public Rational log() {
+        return RationalMath.log(X, bits);
+    }
+
+    @Benchmark
+    public Rational sin() {
+        return RationalMath.sin(X, bits);
+    }
+
+    @Benchmark
+    public Rational cos() {
+        return RationalMath.cos(X, bits);
+    }
+
+    @Benchmark
+    public Rational atan() {
+        return RationalMath.atan(SMALL_X, bits);
+    }
+
+    @Benchmark
+    public Rational pow() {
+        return RationalMath.pow(X, EXPONENT, bits);
+    }
+}
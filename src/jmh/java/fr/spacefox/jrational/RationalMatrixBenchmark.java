@@ -0,0 +1,115 @@
+package fr.spacefox.jrational;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Exact linear systems and products with small fractions: naive Gaussian elimination and triple loop on Rational
+// versus Bareiss elimination and scaled integer product.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RationalMatrixBenchmark {
+
+    @Param({"10", "30", "100"})
+    int size;
+
+    private Rational[][] rows;
+    private RationalMatrix matrix;
+    private List<Rational> vector;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+        rows = new Rational[size][size];
+        vector = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                rows[i][j] = Rational.of(random.nextInt(41) - 20, random.nextInt(9) + 1);
+            }
+            vector.add(Rational.of(random.nextInt(100)));
+        }
+        matrix = RationalMatrix.of(rows);
+    }
+
+    @Benchmark
+    public Rational[] naiveSolve() {
+        final Rational[][] m = new Rational[size][];
+        final Rational[] b = vector.toArray(new Rational[0]);
+        for (int i = 0; i < size; i++) {
+            m[i] = rows[i].clone();
+        }
+        for (int k = 0; k < size; k++) {
+            int pivot = k;
+            while (m[pivot][k].signum() == 0) {
+                pivot++;
+            }
+            final Rational[] swap = m[pivot];
+            m[pivot] = m[k];
+            m[k] = swap;
+            final Rational swapValue = b[pivot];
+            b[pivot] = b[k];
+            b[k] = swapValue;
+            for (int i = k + 1; i < size; i++) {
+                final Rational factor = m[i][k].divide(m[k][k]);
+                for (int j = k; j < size; j++) {
+                    m[i][j] = m[i][j].subtract(factor.multiply(m[k][j])).canonicalForm();
+                }
+                b[i] = b[i].subtract(factor.multiply(b[k])).canonicalForm();
+            }
+        }
+        final Rational[] x = new Rational[size];
+        for (int i = size - 1; i >= 0; i--) {
+            Rational value = b[i];
+            for (int j = i + 1; j < size; j++) {
+                value = value.subtract(m[i][j].multiply(x[j]));
+            }
+            x[i] = value.divide(m[i][i]).canonicalForm();
+        }
+        return x;
+    }
+
+    @Benchmark
+    public List<Rational> solve() {
+        return matrix.solve(vector);
+    }
+
+    @Benchmark
+    public Rational determinant() {
+        return matrix.determinant();
+    }
+
+    @Benchmark
+    public RationalMatrix inverse() {
+        return matrix.inverse();
+    }
+
+    @Benchmark
+    public Rational[][] naiveMultiply() {
+        final Rational[][] product = new Rational[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                Rational sum = Rational.ZERO;
+                for (int k = 0; k < size; k++) {
+                    sum = sum.add(rows[i][k].multiply(rows[k][j]));
+                }
+                product[i][j] = sum.canonicalForm();
+            }
+        }
+        return product;
+    }
+
+    @Benchmark
+    public RationalMatrix multiply() {
+        return matrix.multiply(matrix);
+    }
+}
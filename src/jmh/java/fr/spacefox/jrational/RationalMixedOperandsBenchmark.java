@@ -0,0 +1,96 @@
+package fr.spacefox.jrational;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Filter and scaling of prices in cents by integers and doubles, with a Rational operand versus the mixed overloads.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RationalMixedOperandsBenchmark {
+
+    private static final int SIZE = 10_000;
+
+    private Rational[] prices;
+    private long[] quantities;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(SIZE);
+        prices = new Rational[SIZE];
+        quantities = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            prices[i] = Rational.of(random.nextInt(100_000_000), 100);
+            quantities[i] = random.nextInt(10_000);
+        }
+    }
+
+    @Benchmark
+    public int compareToRational() {
+        int count = 0;
+        for (Rational price : prices) {
+            if (price.compareTo(Rational.of(100)) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int compareToLong() {
+        int count = 0;
+        for (Rational price : prices) {
+            if (price.compareTo(100) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int compareToDoubleAsRational() {
+        int count = 0;
+        for (Rational price : prices) {
+            if (price.compareTo(Rational.of(99.99)) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int compareToDouble() {
+        int count = 0;
+        for (Rational price : prices) {
+            if (price.compareTo(99.99) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public Rational[] multiplyRational() {
+        final Rational[] totals = new Rational[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            totals[i] = prices[i].multiply(Rational.of(quantities[i]));
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Rational[] multiplyLong() {
+        final Rational[] totals = new Rational[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            totals[i] = prices[i].multiply(quantities[i]);
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,96 @@
+package fr.spacefox.jrational;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Polynomials with small fractions as coefficients: convolution and Horner's method on Rational versus integer
+// coefficients over a common denominator, and evaluation on a grid of 64 points one by one versus all at once.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RationalPolynomialBenchmark {
+
+    private static final Rational X = Rational.of(7, 5);
+
+    @Param({"10", "100", "1000", "10000"})
+    int degree;
+
+    private List<Rational> coefficients;
+    private List<Rational> otherCoefficients;
+    private RationalPolynomial polynomial;
+    private RationalPolynomial other;
+    private List<Rational> grid;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(degree);
+        coefficients = new ArrayList<>(degree + 1);
+        otherCoefficients = new ArrayList<>(degree + 1);
+        for (int i = 0; i <= degree; i++) {
+            coefficients.add(Rational.of(random.nextInt(2001) - 1000, random.nextInt(9) + 1));
+            otherCoefficients.add(Rational.of(random.nextInt(2001) - 1000, random.nextInt(9) + 1));
+        }
+        polynomial = RationalPolynomial.of(coefficients);
+        other = RationalPolynomial.of(otherCoefficients);
+        grid = new ArrayList<>(64);
+        for (int i = 0; i < 64; i++) {
+            grid.add(Rational.of(i - 32, 16));
+        }
+    }
+
+    @Benchmark
+    public Rational[] naiveMultiply() {
+        final Rational[] product = new Rational[2 * degree + 1];
+        for (int k = 0; k <= 2 * degree; k++) {
+            Rational sum = Rational.ZERO;
+            for (int i = Math.max(0, k - degree); i <= Math.min(k, degree); i++) {
+                sum = sum.add(coefficients.get(i).multiply(otherCoefficients.get(k - i)));
+            }
+            product[k] = sum.canonicalForm();
+        }
+        return product;
+    }
+
+    @Benchmark
+    public RationalPolynomial multiply() {
+        return polynomial.multiply(other);
+    }
+
+    @Benchmark
+    public Rational naiveEvaluate() {
+        Rational value = Rational.ZERO;
+        for (int i = degree; i >= 0; i--) {
+            value = value.multiply(X).add(coefficients.get(i)).canonicalForm();
+        }
+        return value;
+    }
+
+    @Benchmark
+    public Rational evaluate() {
+        return polynomial.evaluate(X);
+    }
+
+    @Benchmark
+    public List<Rational> evaluateOneByOne() {
+        final List<Rational> values = new ArrayList<>(grid.size());
+        for (Rational x : grid) {
+            values.add(polynomial.evaluate(x));
+        }
+        return values;
+    }
+
+    @Benchmark
+    public List<Rational> evaluateGrid() {
+        return polynomial.evaluate(grid);
+    }
+}
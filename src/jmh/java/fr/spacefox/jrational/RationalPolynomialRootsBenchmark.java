@@ -0,0 +1,66 @@
+package fr.spacefox.jrational;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Yield of a bond to 64 bits, as the root in (0, 1) of its cash-flow polynomial in 1 / (1 + r): bisection on values
+// computed with Rational versus root isolation and quadratic interval refinement.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RationalPolynomialRootsBenchmark {
+
+    private static final int BITS = 64;
+
+    @Param({"12", "120", "360"})
+    int periods;
+
+    private List<Rational> cashFlows;
+    private RationalPolynomial polynomial;
+
+    @Setup
+    public void setup() {
+        cashFlows = new ArrayList<>(periods + 1);
+        // Bought at 97.25, coupon of 0.5 per period
+        cashFlows.add(Rational.of(-9725, 100));
+        for (int i = 1; i < periods; i++) {
+            cashFlows.add(Rational.of(1, 2));
+        }
+        cashFlows.add(Rational.of(201, 2));
+        polynomial = RationalPolynomial.of(cashFlows);
+    }
+
+    @Benchmark
+    public RationalInterval naiveBisection() {
+        Rational lower = Rational.ZERO;
+        Rational upper = Rational.ONE;
+        for (int i = 0; i < BITS; i++) {
+            final Rational middle = lower.add(upper).divide(Rational.of(2)).canonicalForm();
+            Rational value = Rational.ZERO;
+            for (int k = periods; k >= 0; k--) {
+                value = value.multiply(middle).add(cashFlows.get(k));
+            }
+            if (value.signum() < 0) {
+                lower = middle;
+            } else {
+                upper = middle;
+            }
+        }
+        return RationalInterval.of(lower, upper);
+    }
+
+    @Benchmark
+    public RationalInterval isolateAndRefine() {
+        final List<RationalInterval> roots = polynomial.realRoots();
+        return polynomial.refine(roots.get(roots.size() - 1), BITS);
+    }
+}
@@ -0,0 +1,54 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// Discount factors (1 + r)^-t of a monthly rate of 1/2 % for all periods: powers of the unreduced rate, powers of the
+// reduced rate, and a power table built incrementally.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RationalPowerTableBenchmark {
+
+    private static final Rational RATE = Rational.of(1005, 1000);
+
+    @Param({"120", "360", "1200"})
+    int periods;
+
+    @Benchmark
+    public Rational[] unreducedPow() {
+        final Rational[] factors = new Rational[periods];
+        final BigInteger numerator = BigInteger.valueOf(1005);
+        final BigInteger denominator = BigInteger.valueOf(1000);
+        for (int t = 1; t <= periods; t++) {
+            factors[t - 1] = Rational.of(denominator.pow(t), numerator.pow(t));
+        }
+        return factors;
+    }
+
+    @Benchmark
+    public Rational[] pow() {
+        final Rational[] factors = new Rational[periods];
+        for (int t = 1; t <= periods; t++) {
+            factors[t - 1] = RATE.pow(-t);
+        }
+        return factors;
+    }
+
+    @Benchmark
+    public Rational[] powerTable() {
+        final Rational[] factors = new Rational[periods];
+        final RationalPowerTable table = RationalPowerTable.of(RATE, periods);
+        for (int t = 1; t <= periods; t++) {
+            factors[t - 1] = table.pow(-t);
+        }
+        return factors;
+    }
+}
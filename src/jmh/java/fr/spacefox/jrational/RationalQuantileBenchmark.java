@@ -0,0 +1,64 @@
+package fr.spacefox.jrational;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// P50, P95 and P99 of random values: full sort versus selection, sequential and parallel.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RationalQuantileBenchmark {
+
+    private static final Rational[] PERCENTILES = {Rational.of(50, 100), Rational.of(95, 100), Rational.of(99, 100)};
+
+    @Param({"10000", "1000000", "10000000"})
+    int size;
+
+    private List<Rational> values;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+        values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(Rational.of(random.nextLong() >>> 20, random.nextInt(1_000_000) + 1));
+        }
+    }
+
+    @Benchmark
+    public List<Rational> sort() {
+        final List<Rational> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        final List<Rational> result = new ArrayList<>();
+        for (final Rational p : PERCENTILES) {
+            result.add(sorted.get(Rational.of(size - 1).multiply(p).intValue()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Rational> quantiles() {
+        return Rational.quantiles(values, PERCENTILES);
+    }
+
+    @Benchmark
+    public List<Rational> parallelQuantiles() {
+        return Rational.parallelQuantiles(values, PERCENTILES);
+    }
+
+    @Benchmark
+    public List<Rational> top100() {
+        return Rational.topK(values, 100);
+    }
+}
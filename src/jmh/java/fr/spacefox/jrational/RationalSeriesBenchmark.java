@@ -0,0 +1,43 @@
+package fr.spacefox.jrational;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// Exact harmonic numbers H(n): term by term with add() (quadratic), and with binary splitting, sequential or parallel.
+// The add() loop takes tens of seconds for n = 100000.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RationalSeriesBenchmark {
+
+    private static final RationalSeries HARMONIC = RationalSeries.ofTerms(k -> Rational.of(1, k));
+
+    @Param({"1000", "10000", "100000"})
+    int n;
+
+    @Benchmark
+    public Rational harmonicWithAdd() {
+        Rational sum = Rational.ZERO;
+        for (int k = 1; k <= n; k++) {
+            sum = sum.add(Rational.of(1, k));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Rational harmonicSeries() {
+        return HARMONIC.sum(1, n + 1L);
+    }
+
+    @Benchmark
+    public Rational harmonicParallelSeries() {
+        return HARMONIC.sum(1, n + 1L, ForkJoinPool.commonPool());
+    }
+}
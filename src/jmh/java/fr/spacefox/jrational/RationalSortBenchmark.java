@@ -0,0 +1,63 @@
+package fr.spacefox.jrational;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Sort of random values: Arrays.sort with compareTo versus sorts on precomputed keys. Each benchmark sorts a copy.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RationalSortBenchmark {
+
+    @Param({"1000000", "10000000"})
+    int size;
+
+    private Rational[] values;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+        values = new Rational[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = Rational.of(random.nextLong() >>> 20, random.nextInt(1_000_000) + 1);
+        }
+    }
+
+    @Benchmark
+    public Rational[] arraysSort() {
+        final Rational[] copy = values.clone();
+        Arrays.sort(copy, Comparator.naturalOrder());
+        return copy;
+    }
+
+    @Benchmark
+    public Rational[] arraysParallelSort() {
+        final Rational[] copy = values.clone();
+        Arrays.parallelSort(copy, Comparator.naturalOrder());
+        return copy;
+    }
+
+    @Benchmark
+    public Rational[] sort() {
+        final Rational[] copy = values.clone();
+        Rational.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Rational[] parallelSort() {
+        final Rational[] copy = values.clone();
+        Rational.parallelSort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,58 @@
+package fr.spacefox.jrational;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Cost of one tick of a moving average of prices: incremental window versus a new average of the whole window.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RationalWindowBenchmark {
+
+    private static final int TICKS = 4096;
+
+    @Param({"100", "1000", "10000"})
+    int capacity;
+
+    private Rational[] ticks;
+    private int next;
+    private RationalWindow window;
+    private ArrayDeque<Rational> deque;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(capacity);
+        ticks = new Rational[TICKS];
+        for (int i = 0; i < TICKS; i++) {
+            ticks[i] = Rational.of(random.nextInt(1_000_000), i % 2 == 0 ? 100 : 8);
+        }
+        window = RationalWindow.of(capacity);
+        deque = new ArrayDeque<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            window.add(ticks[i % TICKS]);
+            deque.addLast(ticks[i % TICKS]);
+        }
+    }
+
+    @Benchmark
+    public Rational window() {
+        window.add(ticks[next++ & (TICKS - 1)]);
+        return window.average();
+    }
+
+    @Benchmark
+    public Rational recomputed() {
+        deque.removeFirst();
+        deque.addLast(ticks[next++ & (TICKS - 1)]);
+        return Rational.average(deque);
+    }
+}
@@ -0,0 +1,79 @@
+package fr.spacefox.jrational;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Markov chain step: transition matrix with 10 probabilities per row, as a map per row versus CSR.
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SparseRationalMatrixBenchmark {
+
+    private static final int ENTRIES_PER_ROW = 10;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private List<Map<Integer, Rational>> mapRows;
+    private SparseRationalMatrix matrix;
+    private List<Rational> vector;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+        final int[] rows = new int[size * ENTRIES_PER_ROW];
+        final int[] columns = new int[size * ENTRIES_PER_ROW];
+        final List<Rational> values = new ArrayList<>(size * ENTRIES_PER_ROW);
+        mapRows = new ArrayList<>(size);
+        vector = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final Map<Integer, Rational> row = new HashMap<>();
+            for (int k = 0; k < ENTRIES_PER_ROW; k++) {
+                final int index = i * ENTRIES_PER_ROW + k;
+                rows[index] = i;
+                columns[index] = random.nextInt(size);
+                // Probabilities k / 55, k = 1..10
+                values.add(Rational.of(k + 1, 55));
+                row.merge(columns[index], values.get(index), Rational::add);
+            }
+            mapRows.add(row);
+            vector.add(Rational.of(1, size));
+        }
+        matrix = SparseRationalMatrix.of(size, size, rows, columns, values);
+    }
+
+    @Benchmark
+    public List<Rational> mapMultiply() {
+        final List<Rational> result = new ArrayList<>(size);
+        for (Map<Integer, Rational> row : mapRows) {
+            Rational sum = Rational.ZERO;
+            for (Map.Entry<Integer, Rational> entry : row.entrySet()) {
+                sum = sum.add(entry.getValue().multiply(vector.get(entry.getKey())));
+            }
+            result.add(sum.canonicalForm());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Rational> multiply() {
+        return matrix.multiply(vector);
+    }
+
+    @Benchmark
+    public SparseRationalMatrix transpose() {
+        return matrix.transpose();
+    }
+}
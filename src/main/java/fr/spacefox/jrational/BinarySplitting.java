@@ -0,0 +1,147 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Binary splitting evaluation of series of the form
+ * {@code S = sum(k = from..to-1) a(k)/b(k) * (p(from)…p(k)) / (q(from)…q(k))}, where {@code a}, {@code b}, {@code p}
+ * and {@code q} are integer valued functions.
+ *
+ * <p>The range of terms is split in two halves recursively, and each half is reduced to four integers {@code P},
+ * {@code Q}, {@code B} and {@code T} such as {@code S = T / (B * Q)}. Merging two halves only takes a few products of
+ * integers of the same size, so the whole evaluation is quasi-linear in the size of the result instead of quadratic
+ * for a term-by-term sum of rationals.
+ *
+ * <p>See Haible and Papanikolaou, <i>Fast multiprecision evaluation of series of rational numbers</i>.
+ */
+final class BinarySplitting {
+
+    // Below this number of terms, a parallel evaluation is not split anymore
+    private static final long MIN_PARALLEL_TERMS = 64;
+
+    private final @NotNull LongFunction<Result> leaf;
+
+    /**
+     * @param a the numerator of the non-hypergeometric part of the terms.
+     * @param b the denominator of the non-hypergeometric part of the terms, or {@code null} for 1.
+     * @param p the numerator of the ratio between consecutive terms.
+     * @param q the denominator of the ratio between consecutive terms.
+     */
+    BinarySplitting(
+            final @NotNull LongFunction<BigInteger> a,
+            final @Nullable LongFunction<BigInteger> b,
+            final @NotNull LongFunction<BigInteger> p,
+            final @NotNull LongFunction<BigInteger> q) {
+        this(k -> {
+            final BigInteger pk = p.apply(k);
+            return new Result(pk, q.apply(k), b == null ? BigInteger.ONE : b.apply(k), a.apply(k).multiply(pk));
+        });
+    }
+
+    /**
+     * @param leaf the evaluation of a single term {@code k}.
+     */
+    BinarySplitting(final @NotNull LongFunction<Result> leaf) {
+        this.leaf = leaf;
+    }
+
+    /**
+     * Evaluates the terms {@code from} (included) to {@code to} (excluded), {@code from < to}.
+     */
+    @NotNull
+    Result evaluate(final long from, final long to) {
+        if (to - from == 1) {
+            return leaf.apply(from);
+        }
+        final long middle = from + (to - from) / 2;
+        return evaluate(from, middle).merge(evaluate(middle, to));
+    }
+
+    /**
+     * Evaluates the terms {@code from} (included) to {@code to} (excluded), {@code from < to}, with the tasks of the
+     * provided pool. The leaf function may be called concurrently.
+     */
+    @NotNull
+    Result evaluate(final long from, final long to, final @NotNull ForkJoinPool pool) {
+        // A few tasks per thread, so the load is balanced when the cost of terms grows with k
+        final long threshold = Math.max(MIN_PARALLEL_TERMS, (to - from) / (4L * pool.getParallelism()));
+        return pool.invoke(new EvaluationTask(from, to, threshold));
+    }
+
+    private final class EvaluationTask extends RecursiveTask<Result> {
+        private final long from;
+        private final long to;
+        private final long threshold;
+
+        private EvaluationTask(final long from, final long to, final long threshold) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= threshold) {
+                return evaluate(from, to);
+            }
+            final long middle = from + (to - from) / 2;
+            final EvaluationTask left = new EvaluationTask(from, middle, threshold);
+            left.fork();
+            final Result right = new EvaluationTask(middle, to, threshold).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Partial evaluation of a range of terms: {@code S = T / (B * Q)}, and {@code P / Q} is the product of the ratios.
+     */
+    static final class Result {
+        final @NotNull BigInteger p;
+        final @NotNull BigInteger q;
+        final @NotNull BigInteger b;
+        final @NotNull BigInteger t;
+
+        Result(
+                final @NotNull BigInteger p,
+                final @NotNull BigInteger q,
+                final @NotNull BigInteger b,
+                final @NotNull BigInteger t) {
+            this.p = p;
+            this.q = q;
+            this.b = b;
+            this.t = t;
+        }
+
+        /**
+         * Merges the evaluation of this range with the evaluation of the range just after.
+         */
+        @NotNull
+        Result merge(final @NotNull Result right) {
+            // T = Br * Qr * Tl + Bl * Pl * Tr
+            final BigInteger leftPart = right.b.multiply(right.q).multiply(t);
+            final BigInteger rightPart = b.multiply(p).multiply(right.t);
+            return new Result(p.multiply(right.p), q.multiply(right.q), b.multiply(right.b), leftPart.add(rightPart));
+        }
+
+        /**
+         * @return the sum of the series as an exact rational.
+         */
+        @NotNull
+        Rational sum() {
+            return Rational.of(t, b.multiply(q));
+        }
+
+        /**
+         * @return {@code floor(S * 2^bits)}.
+         */
+        @NotNull
+        BigInteger scaledSum(final int bits) {
+            return t.shiftLeft(bits).divide(b.multiply(q));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Powers of a {@code Rational} rounded to the maximum denominator of a context, without computing the exact power.
+ *
+ * <p>The powers of the numerator and of the denominator are computed by square-and-multiply, truncated after each
+ * step to a working precision, downwards for a lower bound and upwards for an upper bound. So the exact power is
+ * bounded by an interval whose relative width is about {@code 2^-guard}, at the cost of products of the size of the
+ * working precision instead of the size of the exact power.
+ *
+ * <p>The rounding to a multiple of {@code 1/D} only depends on the half-step {@code [h/2D, (h+1)/2D)} which holds the
+ * exact value. When both bounds lie in the same half-step, it is known, and the result is the one of the exact power,
+ * for every rounding mode. Otherwise, the working precision is increased, until it reaches the size of the exact
+ * power, where the exact computation is cheaper. This is Ziv's strategy for correctly rounded functions.
+ */
+final class BoundedPower {
+
+    // Extra bits of the first working precision: the bounds rarely straddle a half-step with 2^-32 relative error
+    private static final int GUARD_BITS = 32;
+    private static final double LN2 = Math.log(2);
+
+    private BoundedPower() {}
+
+    /**
+     * @param base a non-zero {@code Rational} in canonical form.
+     * @param exponent the exponent, neither 0 nor {@code Integer.MIN_VALUE}.
+     * @param context a context with a maximum denominator.
+     * @return {@code base^exponent} rounded according to {@code context}, the same as
+     * {@code base.pow(exponent).round(context)}, or {@code null} if the exact power is small enough to be computed
+     * directly.
+     */
+    static @Nullable Rational pow(
+            final @NotNull Rational base, final int exponent, final @NotNull RationalContext context) {
+        final BigInteger maxDenominator = context.getMaxDenominator();
+        final int magnitude = Math.abs(exponent);
+        // (a/b)^-p = (b/a)^p, with a sign
+        final BigInteger numerator = (exponent > 0 ? base.getNumerator() : base.getDenominator()).abs();
+        final BigInteger denominator = (exponent > 0 ? base.getDenominator() : base.getNumerator()).abs();
+        // The exact denominator b^p must be > 2D: then the exact power is neither a multiple of 1/D nor a midpoint
+        // between two of them, and its rounding only depends on the half-step that holds it
+        final int scaleBits = maxDenominator.bitLength() + 1;
+        if ((long) magnitude * (denominator.bitLength() - 1) <= scaleBits) {
+            return null;
+        }
+        // |x^p| * 2D is about 2^resultBits
+        final long resultBits = (long) Math.ceil(magnitude * (log2(numerator) - log2(denominator))) + scaleBits;
+        final long exactBits = (long) magnitude * Math.max(numerator.bitLength(), denominator.bitLength());
+        final int exponentBits = Integer.SIZE - Integer.numberOfLeadingZeros(magnitude);
+        final BigInteger twiceMax = maxDenominator.shiftLeft(1);
+        for (int guard = GUARD_BITS; ; guard *= 2) {
+            final long precision = Math.max(0, resultBits) + exponentBits + guard;
+            if (2 * precision >= exactBits || precision > Integer.MAX_VALUE / 4) {
+                return null;
+            }
+            final Bounds a = new Bounds(numerator, magnitude, (int) precision, context.isParallel());
+            final Bounds b = new Bounds(denominator, magnitude, (int) precision, context.isParallel());
+            // a^p / b^p < 2^(resultBits + 1), so a positive shift is below the precision, and fits in an int
+            final long shift = a.scale - b.scale;
+            // floor(x^p * 2D) for both bounds of x^p = a^p / b^p
+            final BigInteger lower = scaledQuotient(a.low.multiply(twiceMax), b.high, shift);
+            final BigInteger upper = scaledQuotient(a.high.multiply(twiceMax), b.low, shift);
+            if (lower.equals(upper)) {
+                final boolean negative = base.signum() < 0 && (exponent & 1) != 0;
+                final BigInteger rounded = round(lower, negative, context.getRoundingMode());
+                final Rational result =
+                        Rational.approximateOf(negative ? rounded.negate() : rounded, maxDenominator);
+                return context.isCanonicalForm() ? result.canonicalForm() : result;
+            }
+        }
+    }
+
+    /**
+     * @param halfStep {@code h}, such as {@code h/2D < |x| < (h+1)/2D}.
+     * @param negative {@code true} if {@code x < 0}.
+     * @return {@code |x|} rounded to a multiple {@code k/D}, as {@code k}.
+     */
+    private static @NotNull BigInteger round(
+            final @NotNull BigInteger halfStep, final boolean negative, final @NotNull RoundingMode roundingMode) {
+        // k/D < |x| < (k+1)/D, and x is not a midpoint
+        final BigInteger floor = halfStep.shiftRight(1);
+        final boolean up;
+        switch (roundingMode) {
+            case UP:
+                up = true;
+                break;
+            case DOWN:
+                up = false;
+                break;
+            case CEILING:
+                up = !negative;
+                break;
+            case FLOOR:
+                up = negative;
+                break;
+            case HALF_UP:
+            case HALF_DOWN:
+            case HALF_EVEN:
+                up = halfStep.testBit(0);
+                break;
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+        return up ? floor.add(BigInteger.ONE) : floor;
+    }
+
+    /**
+     * @return an estimate of {@code log2(m)}, for {@code m > 0}.
+     */
+    private static double log2(final @NotNull BigInteger m) {
+        final int shift = Math.max(0, m.bitLength() - Long.SIZE + 1);
+        return shift + Math.log(m.shiftRight(shift).doubleValue()) / LN2;
+    }
+
+    /**
+     * @return {@code floor(a * 2^shift / b)}, for {@code a >= 0} and {@code b > 0}.
+     */
+    private static @NotNull BigInteger scaledQuotient(
+            final @NotNull BigInteger a, final @NotNull BigInteger b, final long shift) {
+        // floor(floor(a / 2^s) / b) = floor(a / (2^s * b))
+        return (shift >= 0 ? a.shiftLeft((int) shift) : a.shiftRight((int) Math.min(-shift, Integer.MAX_VALUE)))
+                .divide(b);
+    }
+
+    /**
+     * Bounds {@code low * 2^scale <= m^p <= high * 2^scale} of a power, with {@code high} truncated to
+     * {@code precision} bits.
+     */
+    private static final class Bounds {
+        private @NotNull BigInteger low;
+        private @NotNull BigInteger high;
+        private long scale;
+
+        private Bounds(final @NotNull BigInteger m, final int exponent, final int precision, final boolean parallel) {
+            low = m;
+            high = m;
+            truncate(precision);
+            // Left-to-right binary exponentiation
+            for (int bit = Integer.SIZE - 2 - Integer.numberOfLeadingZeros(exponent); bit >= 0; bit--) {
+                low = multiply(low, low, parallel);
+                high = multiply(high, high, parallel);
+                scale *= 2;
+                if ((exponent >>> bit & 1) != 0) {
+                    low = multiply(low, m, parallel);
+                    high = multiply(high, m, parallel);
+                }
+                truncate(precision);
+            }
+        }
+
+        private static @NotNull BigInteger multiply(
+                final @NotNull BigInteger x, final @NotNull BigInteger y, final boolean parallel) {
+            return parallel ? ParallelMultiplication.multiply(x, y) : x.multiply(y);
+        }
+
+        private void truncate(final int precision) {
+            final int shift = high.bitLength() - precision;
+            if (shift > 0) {
+                low = low.shiftRight(shift);
+                // Rounded upwards
+                high = high.subtract(BigInteger.ONE).shiftRight(shift).add(BigInteger.ONE);
+                scale += shift;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Irrational roots of a {@code Rational} rounded to the maximum denominator of a context, computed on the leading bits
+ * of its numerator and denominator.
+ *
+ * <p>The rounding of {@code x^(1/n)} to a multiple of {@code 1/D} only depends on {@code floor(x^(1/n) * 2D)}, the
+ * integer root of {@code x * (2D)^n}, whose size only depends on {@code D} and on the magnitude of {@code x}. So the
+ * numerator and the denominator are truncated to this size plus guard bits, which bounds {@code x * (2D)^n} by two
+ * integers. When their roots are equal, the result is known. Otherwise the guard bits are doubled, up to the exact
+ * operands.
+ *
+ * <p>This needs to know first that the root is irrational. The residues of {@code a * b^(n - 1)} modulo primes
+ * {@code p = 1 (mod n)} prove it for almost all values, in linear time: if {@code a/b} is the {@code n}-th power of a
+ * rational, this integer is an {@code n}-th power, so its residues are {@code n}-th power residues.
+ */
+final class BoundedRoot {
+
+    // Below this total size of the operands, the exact root is cheap enough to skip the residue filter
+    private static final int FILTER_THRESHOLD = 1 << 12;
+    // Count of primes of the residue filter: a non-square passes it with a probability of about 2^-16
+    private static final int FILTER_PRIMES = 16;
+    // Extra bits of the first truncation
+    private static final int GUARD_BITS = 64;
+
+    private BoundedRoot() {}
+
+    /**
+     * @param numerator the numerator {@code a} of {@code x}.
+     * @param denominator the denominator {@code b > 0} of {@code x}, canonical form or not.
+     * @param n the index of the root, {@code n >= 2}.
+     * @return {@code false} if {@code |x|} is certainly not the {@code n}-th power of a rational, {@code true} if it
+     * may be one.
+     */
+    static boolean mayBeExact(final @NotNull BigInteger numerator, final @NotNull BigInteger denominator, final int n) {
+        if (numerator.bitLength() + denominator.bitLength() < FILTER_THRESHOLD) {
+            return true;
+        }
+        final BigInteger exponent = BigInteger.valueOf(n - 1L);
+        int tested = 0;
+        for (long p = n + 1L; tested < FILTER_PRIMES && p <= Integer.MAX_VALUE; p += n) {
+            final BigInteger prime = BigInteger.valueOf(p);
+            if (!prime.isProbablePrime(32)) {
+                continue;
+            }
+            final BigInteger a = numerator.mod(prime);
+            final BigInteger b = denominator.mod(prime);
+            if (a.signum() == 0 || b.signum() == 0) {
+                // 0 is an n-th power residue
+                continue;
+            }
+            tested++;
+            // Euler's criterion: r is an n-th power residue if r^((p - 1) / n) = 1 (mod p), as n divides p - 1
+            final BigInteger residue = a.abs().multiply(b.modPow(exponent, prime)).mod(prime);
+            if (!residue.modPow(BigInteger.valueOf((p - 1) / n), prime).equals(BigInteger.ONE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param numerator the numerator {@code a} of {@code x}.
+     * @param denominator the denominator {@code b > 0} of {@code x}, canonical form or not.
+     * @param n the index of the root, {@code n >= 2}.
+     * @param maxDenominator the maximum denominator {@code D} of the context.
+     * @return {@code floor(|x|^(1/n) * 2D)}, for an irrational root.
+     */
+    static @NotNull BigInteger halfSteps(
+            final @NotNull BigInteger numerator,
+            final @NotNull BigInteger denominator,
+            final int n,
+            final @NotNull BigInteger maxDenominator) {
+        final BigInteger a = numerator.abs();
+        final BigInteger scale = maxDenominator.shiftLeft(1).pow(n);
+        // The result is < 2^resultBits
+        final long resultBits = Math.floorDiv(a.bitLength() - denominator.bitLength(), n) + 2L
+                + maxDenominator.bitLength();
+        for (long guard = GUARD_BITS; ; guard *= 2) {
+            final long precision = Math.max(0, resultBits) + guard;
+            // a' * 2^aShift <= a < (a' + 1) * 2^aShift, and the same for b
+            final int aShift = (int) Math.max(0, a.bitLength() - precision);
+            final int bShift = (int) Math.max(0, denominator.bitLength() - precision);
+            if (aShift == 0 && bShift == 0) {
+                return Rational.integerRoot(a.multiply(scale).divide(denominator), n);
+            }
+            final BigInteger aLow = a.shiftRight(aShift);
+            final BigInteger aHigh = aShift == 0 ? aLow : aLow.add(BigInteger.ONE);
+            final BigInteger bLow = denominator.shiftRight(bShift);
+            final BigInteger bHigh = bShift == 0 ? bLow : bLow.add(BigInteger.ONE);
+            // lower <= x * (2D)^n < upper + 1
+            final BigInteger lower = scaledQuotient(aLow.multiply(scale), bHigh, aShift - bShift);
+            final BigInteger upper = scaledQuotient(aHigh.multiply(scale), bLow, aShift - bShift);
+            final BigInteger root = Rational.integerRoot(lower, n);
+            if (root.equals(Rational.integerRoot(upper, n))) {
+                return root;
+            }
+        }
+    }
+
+    /**
+     * @return {@code floor(a * 2^shift / b)}, for {@code a >= 0} and {@code b > 0}.
+     */
+    private static @NotNull BigInteger scaledQuotient(
+            final @NotNull BigInteger a, final @NotNull BigInteger b, final int shift) {
+        // floor(floor(a / 2^s) / b) = floor(a / (2^s * b))
+        return (shift >= 0 ? a.shiftLeft(shift) : a.shiftRight(-shift)).divide(b);
+    }
+}
@@ -0,0 +1,256 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Greatest common divisor of large integers, in {@code O(M(n) log n)} for {@code n}-bit operands, with {@code M(n)}
+ * the cost of a product, instead of {@code O(n^2)} for {@code BigInteger.gcd}.
+ *
+ * <p>The Euclidean algorithm is driven by the leading bits of the operands: the quotients of the first half of the
+ * remainder sequence of two {@code n}-bit integers only depend on their leading {@code n/2} bits. So the half-gcd of
+ * Schönhage computes, recursively on the leading halves, the matrix of cofactors that reduces the operands to
+ * {@code n/2} bits, and applies it with a few products, where {@code BigInteger} uses Karatsuba and Toom-Cook
+ * multiplication. Small sizes are reduced with Lehmer steps: the quotients of the leading 62 bits are computed in
+ * {@code long}, as long as Knuth's test proves that they are those of the operands, and applied at once.
+ *
+ * <p>All reductions are products of matrices of determinant ±1, so the gcd is always preserved: a wrong quotient from
+ * an approximation only costs a few more steps, never a wrong result.
+ *
+ * <p>See Möller, <i>On Schönhage's algorithm and subquadratic integer gcd computation</i>, and Knuth, <i>The Art of
+ * Computer Programming</i>, vol. 2, algorithm 4.5.2L.
+ */
+final class HalfGcd {
+
+    // Bit length of the smaller operand from which this gcd is faster than BigInteger.gcd
+    static final int GCD_THRESHOLD = 1 << 11;
+    // Bit length below which the half-gcd is computed with Lehmer steps only
+    private static final int HALF_GCD_THRESHOLD = 1 << 11;
+    // Bits of the approximations of Lehmer steps, so that sums of two of them fit in a long
+    private static final int LEHMER_BITS = 62;
+
+    private HalfGcd() {}
+
+    /**
+     * @return {@code gcd(|x|, |y|)}, like {@code x.gcd(y)}.
+     */
+    static @NotNull BigInteger gcd(final @NotNull BigInteger x, final @NotNull BigInteger y) {
+        BigInteger a = x.abs();
+        BigInteger b = y.abs();
+        if (a.compareTo(b) < 0) {
+            final BigInteger swap = a;
+            a = b;
+            b = swap;
+        }
+        while (b.bitLength() >= GCD_THRESHOLD) {
+            if (b.bitLength() <= a.bitLength() / 2 + 1) {
+                // Unbalanced operands: the half-gcd would not reduce b
+                final BigInteger remainder = a.mod(b);
+                a = b;
+                b = remainder;
+            } else {
+                final Reduction reduction = halfGcd(a, b, false);
+                a = reduction.a;
+                b = reduction.b;
+            }
+        }
+        return a.gcd(b);
+    }
+
+    /**
+     * Reduces {@code (a, b)}, with {@code a >= b >= 0}, until {@code b < 2^s}, with {@code s = bitLength(a) / 2 + 1}.
+     *
+     * @param tracked {@code true} to compute the matrix of the reduction.
+     */
+    private static @NotNull Reduction halfGcd(
+            final @NotNull BigInteger a, final @NotNull BigInteger b, final boolean tracked) {
+        final Reduction reduction = new Reduction(a, b, tracked);
+        final int s = a.bitLength() / 2 + 1;
+        if (a.bitLength() >= HALF_GCD_THRESHOLD) {
+            // The leading n/2 bits reduce (a, b) to about 3n/4 bits, then the leading 2 * (3n/4 - s) bits to s bits
+            reduction.balance(s);
+            reduction.reduce(s);
+            reduction.balance(s);
+            final int shift = 2 * s - reduction.a.bitLength();
+            if (shift > 0 && reduction.b.bitLength() > s) {
+                reduction.reduce(shift);
+            }
+        }
+        while (reduction.b.bitLength() > s) {
+            reduction.lehmerStep(s);
+        }
+        return reduction;
+    }
+
+    /**
+     * A pair {@code a >= b >= 0} and, if tracked, the matrix {@code M} of determinant ±1 such that
+     * {@code (a0, b0) = M (a, b)}, with {@code (a0, b0)} the initial pair. Both pairs have the same gcd.
+     */
+    private static final class Reduction {
+        private @NotNull BigInteger a;
+        private @NotNull BigInteger b;
+        private final boolean tracked;
+        private @NotNull BigInteger m00 = BigInteger.ONE;
+        private @NotNull BigInteger m01 = BigInteger.ZERO;
+        private @NotNull BigInteger m10 = BigInteger.ZERO;
+        private @NotNull BigInteger m11 = BigInteger.ONE;
+        // Determinant of M, 1 or -1
+        private int determinant = 1;
+
+        private Reduction(final @NotNull BigInteger a, final @NotNull BigInteger b, final boolean tracked) {
+            this.a = a;
+            this.b = b;
+            this.tracked = tracked;
+        }
+
+        /**
+         * Divides while the quotient is large, so that the leading bits of {@code a} and {@code b} give a half-gcd of
+         * the pair.
+         *
+         * @param s the bit length from which there is no need to go further.
+         */
+        private void balance(final int s) {
+            while (b.bitLength() > s && a.bitLength() - b.bitLength() > LEHMER_BITS) {
+                divide();
+            }
+        }
+
+        /**
+         * Reduces the pair with the matrix of the half-gcd of its bits from {@code shift}.
+         */
+        private void reduce(final int shift) {
+            final Reduction inner = halfGcd(a.shiftRight(shift), b.shiftRight(shift), true);
+            // (a, b) = N^-1 (a, b), with N^-1 = det(N) [[n11, -n01], [-n10, n00]]
+            final BigInteger newA = inner.m11.multiply(a).subtract(inner.m01.multiply(b));
+            final BigInteger newB = inner.m00.multiply(b).subtract(inner.m10.multiply(a));
+            a = inner.determinant < 0 ? newA.negate() : newA;
+            b = inner.determinant < 0 ? newB.negate() : newB;
+            if (tracked) {
+                // M = M N
+                final BigInteger n00 = m00.multiply(inner.m00).add(m01.multiply(inner.m10));
+                final BigInteger n01 = m00.multiply(inner.m01).add(m01.multiply(inner.m11));
+                final BigInteger n10 = m10.multiply(inner.m00).add(m11.multiply(inner.m10));
+                m11 = m10.multiply(inner.m01).add(m11.multiply(inner.m11));
+                m00 = n00;
+                m01 = n01;
+                m10 = n10;
+                determinant *= inner.determinant;
+            }
+            // The last quotients of the approximation may be wrong
+            normalize();
+        }
+
+        /**
+         * Applies the quotients of the leading bits of the pair, or a division if there is none.
+         *
+         * @param s the bit length from which there is no need to go further.
+         */
+        private void lehmerStep(final int s) {
+            final int shift = Math.max(0, a.bitLength() - LEHMER_BITS);
+            long x = a.shiftRight(shift).longValue();
+            long y = b.shiftRight(shift).longValue();
+            // (x, y) = K (leading bits of a, leading bits of b) as long as the quotients are right
+            long k00 = 1;
+            long k01 = 0;
+            long k10 = 0;
+            long k11 = 1;
+            int steps = 0;
+            while (y + k10 != 0 && y + k11 != 0) {
+                // The quotient is the same for the lowest and highest possible values of the operands
+                final long q = (x + k00) / (y + k10);
+                if (q != (x + k01) / (y + k11)) {
+                    break;
+                }
+                long t = k00 - q * k10;
+                k00 = k10;
+                k10 = t;
+                t = k01 - q * k11;
+                k01 = k11;
+                k11 = t;
+                t = x - q * y;
+                x = y;
+                y = t;
+                steps++;
+                if (Long.SIZE - Long.numberOfLeadingZeros(y) + shift <= s) {
+                    break;
+                }
+            }
+            if (steps == 0) {
+                divide();
+                return;
+            }
+            final BigInteger newA = a.multiply(BigInteger.valueOf(k00)).add(b.multiply(BigInteger.valueOf(k01)));
+            b = a.multiply(BigInteger.valueOf(k10)).add(b.multiply(BigInteger.valueOf(k11)));
+            a = newA;
+            if (tracked) {
+                // M = M K^-1, with K^-1 = det(K) [[k11, -k01], [-k10, k00]] and det(K) = (-1)^steps
+                final BigInteger i00 = BigInteger.valueOf(k11);
+                final BigInteger i01 = BigInteger.valueOf(-k01);
+                final BigInteger i10 = BigInteger.valueOf(-k10);
+                final BigInteger i11 = BigInteger.valueOf(k00);
+                BigInteger n00 = m00.multiply(i00).add(m01.multiply(i10));
+                BigInteger n01 = m00.multiply(i01).add(m01.multiply(i11));
+                BigInteger n10 = m10.multiply(i00).add(m11.multiply(i10));
+                BigInteger n11 = m10.multiply(i01).add(m11.multiply(i11));
+                if (steps % 2 != 0) {
+                    n00 = n00.negate();
+                    n01 = n01.negate();
+                    n10 = n10.negate();
+                    n11 = n11.negate();
+                    determinant = -determinant;
+                }
+                m00 = n00;
+                m01 = n01;
+                m10 = n10;
+                m11 = n11;
+            }
+        }
+
+        /**
+         * One step of the Euclidean algorithm: {@code (a, b) = (b, a mod b)}.
+         */
+        private void divide() {
+            final BigInteger[] quotientAndRemainder = a.divideAndRemainder(b);
+            a = b;
+            b = quotientAndRemainder[1];
+            if (tracked) {
+                // M = M [[q, 1], [1, 0]]
+                final BigInteger quotient = quotientAndRemainder[0];
+                final BigInteger n00 = m00.multiply(quotient).add(m01);
+                m01 = m00;
+                m00 = n00;
+                final BigInteger n10 = m10.multiply(quotient).add(m11);
+                m11 = m10;
+                m10 = n10;
+                determinant = -determinant;
+            }
+        }
+
+        /**
+         * Restores {@code a >= b >= 0} with changes of sign and swaps, that is of columns of {@code M}.
+         */
+        private void normalize() {
+            // Twice, in case a negative a is swapped to b
+            for (int pass = 0; pass < 2; pass++) {
+                if (b.signum() < 0) {
+                    b = b.negate();
+                    m01 = m01.negate();
+                    m11 = m11.negate();
+                    determinant = -determinant;
+                }
+                if (a.compareTo(b) < 0) {
+                    final BigInteger swap = a;
+                    a = b;
+                    b = swap;
+                    BigInteger column = m00;
+                    m00 = m01;
+                    m01 = column;
+                    column = m10;
+                    m10 = m11;
+                    m11 = column;
+                    determinant = -determinant;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Arithmetic on polynomials with {@code BigInteger} coefficients, stored as arrays from the constant coefficient to
+ * the leading one, without zero leading coefficients: the zero polynomial is the empty array.
+ *
+ * <p>Large products use the Kronecker substitution: both polynomials are evaluated at a power of two large enough
+ * for the coefficients of the product not to overlap, which packs each of them in one {@code BigInteger}, the two
+ * integers are multiplied with the Karatsuba or Toom-Cook multiplication of {@code BigInteger}, and the coefficients
+ * of the product are unpacked from the result.
+ */
+final class IntegerPolynomials {
+
+    static final BigInteger @NotNull [] ZERO = new BigInteger[0];
+
+    // Below this length, plus 1 per 16 bits of the largest coefficient, the schoolbook product is faster
+    private static final int KRONECKER_THRESHOLD = 8;
+    // Largest prime below 2^31, so products of residues fit in a long
+    private static final long SQUARE_FREE_PRIME = Integer.MAX_VALUE;
+
+    private IntegerPolynomials() {
+        // Utility class
+    }
+
+    /**
+     * @return the polynomial without its zero leading coefficients, or itself if there are none.
+     */
+    static BigInteger @NotNull [] trim(final BigInteger @NotNull [] a) {
+        int length = a.length;
+        while (length > 0 && a[length - 1].signum() == 0) {
+            length--;
+        }
+        return length == a.length ? a : Arrays.copyOf(a, length);
+    }
+
+    static int maxBitLength(final BigInteger @NotNull [] a) {
+        int max = 0;
+        for (BigInteger coefficient : a) {
+            max = Math.max(max, coefficient.bitLength());
+        }
+        return max;
+    }
+
+    static BigInteger @NotNull [] add(final BigInteger @NotNull [] a, final BigInteger @NotNull [] b) {
+        final BigInteger[] sum = Arrays.copyOf(a.length >= b.length ? a : b, Math.max(a.length, b.length));
+        final BigInteger[] other = a.length >= b.length ? b : a;
+        for (int i = 0; i < other.length; i++) {
+            sum[i] = sum[i].add(other[i]);
+        }
+        return trim(sum);
+    }
+
+    static BigInteger @NotNull [] negate(final BigInteger @NotNull [] a) {
+        final BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].negate();
+        }
+        return result;
+    }
+
+    static BigInteger @NotNull [] scale(final BigInteger @NotNull [] a, final @NotNull BigInteger factor) {
+        if (factor.signum() == 0) {
+            return ZERO;
+        }
+        if (factor.equals(BigInteger.ONE)) {
+            return a;
+        }
+        final BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].multiply(factor);
+        }
+        return result;
+    }
+
+    static BigInteger @NotNull [] multiply(final BigInteger @NotNull [] a, final BigInteger @NotNull [] b) {
+        if (a.length == 0 || b.length == 0) {
+            return ZERO;
+        }
+        final int bitsA = maxBitLength(a);
+        final int bitsB = maxBitLength(b);
+        return Math.min(a.length, b.length) < KRONECKER_THRESHOLD + Math.max(bitsA, bitsB) / 16
+                ? schoolbookMultiply(a, b)
+                : kroneckerMultiply(a, bitsA, b, bitsB);
+    }
+
+    private static BigInteger @NotNull [] schoolbookMultiply(
+            final BigInteger @NotNull [] a, final BigInteger @NotNull [] b) {
+        final BigInteger[] product = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(product, BigInteger.ZERO);
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].signum() != 0) {
+                for (int j = 0; j < b.length; j++) {
+                    if (b[j].signum() != 0) {
+                        product[i + j] = product[i + j].add(a[i].multiply(b[j]));
+                    }
+                }
+            }
+        }
+        return trim(product);
+    }
+
+    private static BigInteger @NotNull [] kroneckerMultiply(
+            final BigInteger @NotNull [] a, final int bitsA, final BigInteger @NotNull [] b, final int bitsB) {
+        // |coefficients of the product| < 2^bits: slots of whole bytes, with room for a sign bit
+        final int bits = bitsA + bitsB + (Integer.SIZE - Integer.numberOfLeadingZeros(Math.min(a.length, b.length)));
+        final int slotBytes = bits / Byte.SIZE + 1;
+        final BigInteger packedA = pack(a, slotBytes);
+        final BigInteger product = a == b ? packedA.multiply(packedA) : packedA.multiply(pack(b, slotBytes));
+        return trim(unpack(product, slotBytes, a.length + b.length - 1));
+    }
+
+    /**
+     * @return {@code a(2^(8 * slotBytes))}, where each coefficient has a slot of {@code slotBytes} bytes.
+     */
+    private static @NotNull BigInteger pack(final BigInteger @NotNull [] a, final int slotBytes) {
+        final int length = a.length * slotBytes;
+        final byte[] positive = new byte[length];
+        byte[] negative = null;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].signum() == 0) {
+                continue;
+            }
+            final byte[] magnitude = a[i].abs().toByteArray();
+            // Skip the sign byte
+            final int offset = magnitude[0] == 0 ? 1 : 0;
+            final int size = magnitude.length - offset;
+            final byte[] target;
+            if (a[i].signum() > 0) {
+                target = positive;
+            } else {
+                if (negative == null) {
+                    negative = new byte[length];
+                }
+                target = negative;
+            }
+            // Big-endian: the slot of the constant coefficient is at the end
+            System.arraycopy(magnitude, offset, target, length - i * slotBytes - size, size);
+        }
+        final BigInteger packed = new BigInteger(1, positive);
+        return negative == null ? packed : packed.subtract(new BigInteger(1, negative));
+    }
+
+    /**
+     * @return the coefficients {@code c[i]}, with {@code |c[i]| < 2^(8 * slotBytes - 1)}, such as
+     * {@code value = sum(c[i] * 2^(8 * slotBytes * i))}.
+     */
+    private static BigInteger @NotNull [] unpack(
+            final @NotNull BigInteger value, final int slotBytes, final int count) {
+        final boolean negative = value.signum() < 0;
+        final byte[] bytes = (negative ? value.negate() : value).toByteArray();
+        final BigInteger half = BigInteger.ONE.shiftLeft(slotBytes * Byte.SIZE - 1);
+        final BigInteger full = half.shiftLeft(1);
+        final BigInteger[] coefficients = new BigInteger[count];
+        boolean carry = false;
+        for (int i = 0; i < count; i++) {
+            // The leading coefficient is not 0, so the last slot has at least one byte
+            final int end = bytes.length - i * slotBytes;
+            final int start = Math.max(0, end - slotBytes);
+            BigInteger digit = new BigInteger(1, bytes, start, end - start);
+            if (carry) {
+                digit = digit.add(BigInteger.ONE);
+            }
+            // Signed digit: a negative coefficient borrows 1 from the next slot
+            carry = digit.compareTo(half) >= 0;
+            if (carry) {
+                digit = digit.subtract(full);
+            }
+            coefficients[i] = negative ? digit.negate() : digit;
+        }
+        return coefficients;
+    }
+
+    /**
+     * Horner's method.
+     *
+     * @return {@code a(x)}.
+     */
+    static @NotNull BigInteger evaluate(final BigInteger @NotNull [] a, final @NotNull BigInteger x) {
+        BigInteger value = BigInteger.ZERO;
+        for (int i = a.length - 1; i >= 0; i--) {
+            value = value.multiply(x).add(a[i]);
+        }
+        return value;
+    }
+
+    /**
+     * Horner's method on the homogenised polynomial, to evaluate {@code a} at {@code p/q} without fractions.
+     *
+     * @param q must be &gt; 0.
+     * @return {@code a(p/q) * q^n} where {@code n} is the degree of {@code a}, that is {@code sum(a[i] * p^i * q^(n -
+     *     i))}.
+     */
+    static @NotNull BigInteger evaluate(
+            final BigInteger @NotNull [] a, final @NotNull BigInteger p, final @NotNull BigInteger q) {
+        if (q.equals(BigInteger.ONE)) {
+            return evaluate(a, p);
+        }
+        BigInteger value = BigInteger.ZERO;
+        BigInteger qPower = BigInteger.ONE;
+        for (int i = a.length - 1; i >= 0; i--) {
+            value = value.multiply(p).add(a[i].multiply(qPower));
+            if (i > 0) {
+                qPower = qPower.multiply(q);
+            }
+        }
+        return value;
+    }
+
+    static BigInteger @NotNull [] derivative(final BigInteger @NotNull [] a) {
+        if (a.length <= 1) {
+            return ZERO;
+        }
+        final BigInteger[] derivative = new BigInteger[a.length - 1];
+        for (int i = 0; i < derivative.length; i++) {
+            derivative[i] = a[i + 1].multiply(BigInteger.valueOf(i + 1L));
+        }
+        return derivative;
+    }
+
+    /**
+     * @param a a non-zero polynomial.
+     * @return {@code a} divided by the GCD of its coefficients, with a positive leading coefficient.
+     */
+    static BigInteger @NotNull [] primitivePart(final BigInteger @NotNull [] a) {
+        BigInteger content = BigInteger.ZERO;
+        for (int i = a.length - 1; i >= 0 && !content.equals(BigInteger.ONE); i--) {
+            content = content.gcd(a[i]);
+        }
+        if (a[a.length - 1].signum() < 0) {
+            content = content.negate();
+        }
+        if (content.equals(BigInteger.ONE)) {
+            return a;
+        }
+        final BigInteger[] primitive = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            primitive[i] = a[i].divide(content);
+        }
+        return primitive;
+    }
+
+    /**
+     * @return a polynomial with the same real roots as {@code a}, all simple, with a positive leading coefficient.
+     */
+    static BigInteger @NotNull [] squareFreePart(final BigInteger @NotNull [] a) {
+        final BigInteger[] primitive = primitivePart(a);
+        if (primitive.length <= 2 || isSquareFreeModulo(primitive)) {
+            return primitive;
+        }
+        final BigInteger[] gcd = gcd(primitive, derivative(primitive));
+        return gcd.length == 1 ? primitive : primitivePart(exactQuotient(primitive, gcd));
+    }
+
+    /**
+     * Fast check of {@code gcd(a, a') = 1} modulo a prime that doesn't divide the leading coefficient: if it holds
+     * modulo the prime, it holds on integers. A false result can be a false negative, for a few unlucky primes.
+     */
+    private static boolean isSquareFreeModulo(final BigInteger @NotNull [] a) {
+        final BigInteger prime = BigInteger.valueOf(SQUARE_FREE_PRIME);
+        if (a[a.length - 1].mod(prime).signum() == 0) {
+            return false;
+        }
+        long[] u = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            u[i] = a[i].mod(prime).longValue();
+        }
+        long[] v = new long[a.length - 1];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = u[i + 1] * (i + 1) % SQUARE_FREE_PRIME;
+        }
+        int degreeU = u.length - 1;
+        int degreeV = v.length - 1;
+        // Euclid algorithm modulo the prime, in place
+        while (degreeV > 0) {
+            final long inverse = BigInteger.valueOf(v[degreeV])
+                    .modInverse(prime)
+                    .longValue();
+            for (int i = degreeU; i >= degreeV; i--) {
+                final long factor = u[i] * inverse % SQUARE_FREE_PRIME;
+                if (factor != 0) {
+                    for (int j = 0; j <= degreeV; j++) {
+                        final int k = i - degreeV + j;
+                        u[k] = Math.floorMod(u[k] - factor * v[j], SQUARE_FREE_PRIME);
+                    }
+                }
+            }
+            degreeU = degreeV - 1;
+            while (degreeU >= 0 && u[degreeU] == 0) {
+                degreeU--;
+            }
+            final long[] swap = u;
+            u = v;
+            v = swap;
+            final int swapDegree = degreeU;
+            degreeU = degreeV;
+            degreeV = swapDegree;
+        }
+        // The last remainder is a non-zero constant: the GCD is 1. Else the GCD is the previous remainder.
+        return degreeV == 0;
+    }
+
+    /**
+     * Primitive polynomial remainder sequence.
+     *
+     * @param a a non-zero polynomial.
+     * @param b a non-zero polynomial.
+     * @return the GCD of {@code a} and {@code b}, primitive, with a positive leading coefficient.
+     */
+    static BigInteger @NotNull [] gcd(final BigInteger @NotNull [] a, final BigInteger @NotNull [] b) {
+        BigInteger[] u = primitivePart(a.length >= b.length ? a : b);
+        BigInteger[] v = primitivePart(a.length >= b.length ? b : a);
+        while (v.length > 1) {
+            final BigInteger[] remainder = pseudoRemainder(u, v);
+            u = v;
+            v = remainder.length == 0 ? remainder : primitivePart(remainder);
+        }
+        // A constant remainder means that the GCD is 1
+        return v.length == 1 ? new BigInteger[] {BigInteger.ONE} : u;
+    }
+
+    /**
+     * @return the remainder of {@code lc(b)^k * a} by {@code b}, for some {@code k}.
+     */
+    private static BigInteger @NotNull [] pseudoRemainder(
+            final BigInteger @NotNull [] a, final BigInteger @NotNull [] b) {
+        final int degree = b.length - 1;
+        final BigInteger leading = b[degree];
+        final BigInteger[] remainder = a.clone();
+        for (int i = a.length - 1; i >= degree; i--) {
+            final BigInteger factor = remainder[i];
+            if (factor.signum() != 0) {
+                for (int j = 0; j < i; j++) {
+                    remainder[j] = remainder[j].multiply(leading);
+                }
+                for (int j = 0; j < degree; j++) {
+                    remainder[i - degree + j] = remainder[i - degree + j].subtract(factor.multiply(b[j]));
+                }
+            }
+        }
+        return trim(Arrays.copyOf(remainder, degree));
+    }
+
+    /**
+     * @param b a primitive polynomial that divides {@code a}.
+     * @return {@code a / b}.
+     */
+    private static BigInteger @NotNull [] exactQuotient(
+            final BigInteger @NotNull [] a, final BigInteger @NotNull [] b) {
+        final int degree = b.length - 1;
+        final BigInteger[] remainder = a.clone();
+        final BigInteger[] quotient = new BigInteger[a.length - degree];
+        for (int i = quotient.length - 1; i >= 0; i--) {
+            // Exact by Gauss's lemma
+            quotient[i] = remainder[i + degree].divide(b[degree]);
+            for (int j = 0; j < degree; j++) {
+                remainder[i + j] = remainder[i + j].subtract(quotient[i].multiply(b[j]));
+            }
+        }
+        return quotient;
+    }
+
+    /**
+     * Taylor shift by 1 in place, with additions only.
+     *
+     * @return {@code a}, that now holds the coefficients of {@code a(X + 1)}.
+     */
+    static BigInteger @NotNull [] shiftByOne(final BigInteger @NotNull [] a) {
+        final int degree = a.length - 1;
+        for (int i = 0; i < degree; i++) {
+            for (int j = degree - 1; j >= i; j--) {
+                a[j] = a[j].add(a[j + 1]);
+            }
+        }
+        return a;
+    }
+
+    /**
+     * @return the count of sign changes in the coefficients of {@code a}, zeros ignored, up to {@code max}.
+     */
+    static int signVariations(final BigInteger @NotNull [] a, final int max) {
+        int variations = 0;
+        int sign = 0;
+        for (int i = 0; i < a.length && variations < max; i++) {
+            final int coefficientSign = a[i].signum();
+            if (coefficientSign != 0) {
+                if (coefficientSign == -sign) {
+                    variations++;
+                }
+                sign = coefficientSign;
+            }
+        }
+        return variations;
+    }
+}
@@ -0,0 +1,345 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Array of {@code Rational} with cheap comparison keys, for selection and sorting algorithms.
+ *
+ * <p>{@code compareTo} multiplies numerators and denominators, which is expensive for large values. Here each value
+ * has a precomputed {@code double} interval {@code [lower, upper]} that contains it: most comparisons are decided by
+ * the intervals, and only values too close to each other are compared with {@code compareTo}. Results are exact.
+ */
+final class KeyedRationals {
+
+    // Relative error of the double estimates (< 2^-50), with margin
+    private static final double KEY_ERROR = 0x1p-45;
+    // Beyond this exponent, keys are only powers of two, to stay far from the limits of double
+    private static final int MAX_KEY_EXPONENT = 1000;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    final @NotNull Rational[] values;
+    private final double @NotNull [] lower;
+    private final double @NotNull [] upper;
+    private final boolean parallel;
+
+    /**
+     * @param vals the values, copied.
+     * @param parallel {@code true} to compute keys and independent selections in parallel, in the common pool.
+     */
+    KeyedRationals(final @NotNull Collection<Rational> vals, final boolean parallel) {
+        this(vals.toArray(new Rational[0]), parallel);
+    }
+
+    /**
+     * @param values the values, not copied: they are reordered in place.
+     * @param parallel {@code true} to compute keys, sorts and independent selections in parallel, in the common pool.
+     */
+    KeyedRationals(final @NotNull Rational[] values, final boolean parallel) {
+        this.values = values;
+        lower = new double[values.length];
+        upper = new double[values.length];
+        this.parallel = parallel && values.length >= PARALLEL_THRESHOLD;
+        final IntStream indexes = IntStream.range(0, values.length);
+        (this.parallel ? indexes.parallel() : indexes).forEach(this::computeKey);
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    private void computeKey(final int index) {
+        final Rational value = values[index];
+        final int signum = value.signum();
+        if (signum == 0) {
+            return;
+        }
+        final BigInteger numerator = value.getNumerator().abs();
+        final BigInteger denominator = value.getDenominator();
+        final int numeratorBits = numerator.bitLength();
+        final int denominatorBits = denominator.bitLength();
+        // 2^(exponent - 1) < |value| < 2^(exponent + 1)
+        final int exponent = numeratorBits - denominatorBits;
+        double low;
+        double high;
+        if (exponent > MAX_KEY_EXPONENT) {
+            low = 0x1p1000;
+            high = Double.POSITIVE_INFINITY;
+        } else if (exponent < -MAX_KEY_EXPONENT) {
+            low = 0;
+            high = 0x1p-999;
+        } else {
+            // Truncated to 62 bits, so both fit in a long
+            final int numeratorShift = Math.max(0, numeratorBits - 62);
+            final int denominatorShift = Math.max(0, denominatorBits - 62);
+            final double ratio = (double) numerator.shiftRight(numeratorShift).longValue()
+                    / (double) denominator.shiftRight(denominatorShift).longValue();
+            final double estimate = Math.scalb(ratio, numeratorShift - denominatorShift);
+            low = estimate * (1 - KEY_ERROR);
+            high = estimate * (1 + KEY_ERROR);
+        }
+        if (signum < 0) {
+            final double swap = low;
+            low = -high;
+            high = -swap;
+        }
+        lower[index] = low;
+        upper[index] = high;
+    }
+
+    int compare(final int i, final int j) {
+        if (upper[i] < lower[j]) {
+            return -1;
+        }
+        if (lower[i] > upper[j]) {
+            return 1;
+        }
+        return values[i].compareTo(values[j]);
+    }
+
+    private void swap(final int i, final int j) {
+        final Rational value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+        final double low = lower[i];
+        lower[i] = lower[j];
+        lower[j] = low;
+        final double high = upper[i];
+        upper[i] = upper[j];
+        upper[j] = high;
+    }
+
+    /**
+     * Partially sorts the values, so each of the given positions holds the value it would hold in the sorted array,
+     * with smaller or equal values before it and larger or equal values after it.
+     *
+     * @param positions the positions to select, sorted in increasing order, without duplicates.
+     */
+    void select(final int @NotNull [] positions) {
+        select(positions, 2 * (32 - Integer.numberOfLeadingZeros(values.length)));
+    }
+
+    /**
+     * @param depth the count of partitions before falling back to heapsort.
+     * @see #select(int[])
+     */
+    void select(final int @NotNull [] positions, final int depth) {
+        if (positions.length == 0) {
+            return;
+        }
+        final SelectTask task = new SelectTask(positions, 0, positions.length, 0, values.length, depth);
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+    }
+
+    /**
+     * Introselect on many positions: three-way quickselect partitions, recursing only on the sides that contain
+     * positions, and heapsort when the partitions are too unbalanced.
+     */
+    private final class SelectTask extends RecursiveAction {
+        private final int @NotNull [] positions;
+        private final int positionsFrom;
+        private final int positionsTo;
+        private final int from;
+        private final int to;
+        private final int depth;
+
+        private SelectTask(
+                final int @NotNull [] positions,
+                final int positionsFrom,
+                final int positionsTo,
+                final int from,
+                final int to,
+                final int depth) {
+            this.positions = positions;
+            this.positionsFrom = positionsFrom;
+            this.positionsTo = positionsTo;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= INSERTION_SORT_THRESHOLD) {
+                insertionSort(from, to);
+                return;
+            }
+            if (depth == 0) {
+                heapSort(from, to);
+                return;
+            }
+            // Values in [from, lt) < pivot, [lt, gt) = pivot, [gt, to) > pivot
+            swap(from, medianOfThree(from, (from + to) >>> 1, to - 1));
+            int lt = from;
+            int gt = to;
+            int i = from + 1;
+            while (i < gt) {
+                final int comparison = compare(i, lt);
+                if (comparison < 0) {
+                    swap(lt++, i++);
+                } else if (comparison > 0) {
+                    swap(i, --gt);
+                } else {
+                    i++;
+                }
+            }
+            int leftTo = positionsFrom;
+            while (leftTo < positionsTo && positions[leftTo] < lt) {
+                leftTo++;
+            }
+            int rightFrom = leftTo;
+            while (rightFrom < positionsTo && positions[rightFrom] < gt) {
+                rightFrom++;
+            }
+            final SelectTask left = leftTo > positionsFrom
+                    ? new SelectTask(positions, positionsFrom, leftTo, from, lt, depth - 1)
+                    : null;
+            final SelectTask right = rightFrom < positionsTo
+                    ? new SelectTask(positions, rightFrom, positionsTo, gt, to, depth - 1)
+                    : null;
+            if (left != null && right != null && parallel && to - from >= PARALLEL_THRESHOLD) {
+                ForkJoinTask.invokeAll(left, right);
+            } else {
+                if (left != null) {
+                    left.compute();
+                }
+                if (right != null) {
+                    right.compute();
+                }
+            }
+        }
+    }
+
+    private int medianOfThree(final int a, final int b, final int c) {
+        if (compare(a, b) < 0) {
+            return compare(b, c) < 0 ? b : compare(a, c) < 0 ? c : a;
+        }
+        return compare(a, c) < 0 ? a : compare(b, c) < 0 ? c : b;
+    }
+
+    /**
+     * Sorts all the values, in place.
+     *
+     * <p>Values are first sorted on a primitive {@code long} key: the order-preserving bits of the lower bound of each
+     * value, whose lowest bits are replaced by the index of the value. Then values are split in groups, where every
+     * value of a group is smaller than every value of the next groups according to their intervals. Only groups of
+     * many values, that are too close to each other to be ordered by their keys, are sorted with {@code compareTo}.
+     * This sort is not stable.
+     */
+    void sort() {
+        final int size = values.length;
+        if (size < 2) {
+            return;
+        }
+        final int indexBits = 32 - Integer.numberOfLeadingZeros(size - 1);
+        final long[] keys = new long[size];
+        final IntStream indexes = IntStream.range(0, size);
+        (parallel ? indexes.parallel() : indexes).forEach(i -> {
+            final long bits = Double.doubleToLongBits(lower[i] + 0.0);
+            // Signed long with the same order as the double
+            final long sortable = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+            keys[i] = ((sortable >> indexBits) << indexBits) | i;
+        });
+        if (parallel) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+
+        final long indexMask = (1L << indexBits) - 1;
+        final Rational[] sortedValues = new Rational[size];
+        final double[] sortedLower = new double[size];
+        final double[] sortedUpper = new double[size];
+        for (int k = 0; k < size; k++) {
+            final int index = (int) (keys[k] & indexMask);
+            sortedValues[k] = values[index];
+            sortedLower[k] = lower[index];
+            sortedUpper[k] = upper[index];
+        }
+        // Split between k - 1 and k if max(upper[0..k-1]) < min(lower[k..size-1])
+        final double[] suffixMinLower = new double[size];
+        suffixMinLower[size - 1] = sortedLower[size - 1];
+        for (int k = size - 2; k >= 0; k--) {
+            suffixMinLower[k] = Math.min(sortedLower[k], suffixMinLower[k + 1]);
+        }
+        final List<int[]> groups = new ArrayList<>();
+        double prefixMaxUpper = sortedUpper[0];
+        int groupStart = 0;
+        for (int k = 1; k < size; k++) {
+            if (prefixMaxUpper < suffixMinLower[k]) {
+                if (k - groupStart > 1) {
+                    groups.add(new int[] {groupStart, k});
+                }
+                groupStart = k;
+            }
+            prefixMaxUpper = Math.max(prefixMaxUpper, sortedUpper[k]);
+        }
+        if (size - groupStart > 1) {
+            groups.add(new int[] {groupStart, size});
+        }
+        (parallel ? groups.parallelStream() : groups.stream())
+                .forEach(group -> Arrays.sort(sortedValues, group[0], group[1]));
+
+        System.arraycopy(sortedValues, 0, values, 0, size);
+        System.arraycopy(sortedLower, 0, lower, 0, size);
+        System.arraycopy(sortedUpper, 0, upper, 0, size);
+    }
+
+    /**
+     * Sorts the values in {@code [from, to)}.
+     */
+    void sort(final int from, final int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(from, to);
+        } else {
+            heapSort(from, to);
+        }
+    }
+
+    private void insertionSort(final int from, final int to) {
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; j > from && compare(j - 1, j) > 0; j--) {
+                swap(j - 1, j);
+            }
+        }
+    }
+
+    private void heapSort(final int from, final int to) {
+        final int size = to - from;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(from, i, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(from, from + end);
+            siftDown(from, 0, end);
+        }
+    }
+
+    private void siftDown(final int offset, final int start, final int size) {
+        int root = start;
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size && compare(offset + child, offset + child + 1) < 0) {
+                child++;
+            }
+            if (compare(offset + root, offset + child) >= 0) {
+                return;
+            }
+            swap(offset + root, offset + child);
+            root = child;
+        }
+    }
+}
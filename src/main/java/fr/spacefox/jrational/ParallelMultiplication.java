@@ -0,0 +1,222 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Products of huge integers, split in tasks computed in parallel in the common {@code ForkJoinPool}.
+ *
+ * <p>{@code BigInteger.multiply} already uses Karatsuba and Toom-Cook multiplication, but on a single thread. Here,
+ * the operands are split in three parts and their product is computed with the five products of the Toom-Cook 3-way
+ * algorithm, which are independent, so they are forked, and split again while they are large enough. Unbalanced
+ * operands are first split in halves of the larger one. The interpolation only takes additions, shifts and an exact
+ * division by 3, in linear time.
+ *
+ * <p>See Bodrato, <i>Towards Optimal Toom-Cook Multiplication for Univariate and Multivariate Polynomials in
+ * Characteristic 2 and 0</i>, whose evaluation and interpolation sequence is also the one of {@code BigInteger}.
+ */
+final class ParallelMultiplication {
+
+    // Bit length of the smaller operand from which a product is split in parallel tasks
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final BigInteger THREE = BigInteger.valueOf(3);
+
+    private ParallelMultiplication() {}
+
+    /**
+     * @return {@code x * y}.
+     */
+    static @NotNull BigInteger multiply(final @NotNull BigInteger x, final @NotNull BigInteger y) {
+        return isSmall(x, y) ? x.multiply(y) : ForkJoinPool.commonPool().invoke(new Product(x, y));
+    }
+
+    /**
+     * @return the products {@code xs[i] * ys[i]}, computed concurrently, for arrays of the same length.
+     */
+    static @NotNull BigInteger[] multiply(final @NotNull BigInteger[] xs, final @NotNull BigInteger[] ys) {
+        final BigInteger[] products = new BigInteger[xs.length];
+        boolean small = true;
+        for (int i = 0; i < xs.length && small; i++) {
+            small = isSmall(xs[i], ys[i]);
+        }
+        if (small) {
+            for (int i = 0; i < xs.length; i++) {
+                products[i] = xs[i].multiply(ys[i]);
+            }
+            return products;
+        }
+        final Product[] tasks = new Product[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            tasks[i] = new Product(xs[i], ys[i]);
+        }
+        ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        for (int i = 0; i < xs.length; i++) {
+            products[i] = tasks[i].join();
+        }
+        return products;
+    }
+
+    /**
+     * @return the powers {@code bases[i]^exponent}, computed concurrently, with {@code exponent >= 0}.
+     */
+    static @NotNull BigInteger[] pow(final @NotNull BigInteger[] bases, final int exponent) {
+        final BigInteger[] powers = new BigInteger[bases.length];
+        boolean small = true;
+        for (int i = 0; i < bases.length && small; i++) {
+            small = (long) bases[i].bitLength() * exponent < 2L * PARALLEL_THRESHOLD;
+        }
+        if (small) {
+            for (int i = 0; i < bases.length; i++) {
+                powers[i] = bases[i].pow(exponent);
+            }
+            return powers;
+        }
+        final Power[] tasks = new Power[bases.length];
+        for (int i = 0; i < bases.length; i++) {
+            tasks[i] = new Power(bases[i], exponent);
+        }
+        ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        for (int i = 0; i < bases.length; i++) {
+            powers[i] = tasks[i].join();
+        }
+        return powers;
+    }
+
+    private static boolean isSmall(final @NotNull BigInteger x, final @NotNull BigInteger y) {
+        return Math.min(x.bitLength(), y.bitLength()) < PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * @return the {@code bits} lowest bits of {@code x >= 0}.
+     */
+    private static @NotNull BigInteger lowBits(final @NotNull BigInteger x, final int bits) {
+        return x.bitLength() <= bits ? x : x.subtract(x.shiftRight(bits).shiftLeft(bits));
+    }
+
+    private static final class Product extends RecursiveTask<BigInteger> {
+        private final @NotNull BigInteger x;
+        private final @NotNull BigInteger y;
+
+        private Product(final @NotNull BigInteger x, final @NotNull BigInteger y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (isSmall(x, y)) {
+                return x.multiply(y);
+            }
+            final BigInteger magnitude = x.abs();
+            final BigInteger product = multiplyMagnitudes(magnitude, x == y ? null : y.abs());
+            return x.signum() * y.signum() < 0 ? product.negate() : product;
+        }
+
+        /**
+         * @param b the second operand, or {@code null} for a square, so the pieces are shared and squared.
+         * @return {@code a * b}, for {@code a, b >= 0}.
+         */
+        private static @NotNull BigInteger multiplyMagnitudes(
+                final @NotNull BigInteger a, final @Nullable BigInteger b) {
+            final BigInteger other = b == null ? a : b;
+            final int larger = Math.max(a.bitLength(), other.bitLength());
+            final int smaller = Math.min(a.bitLength(), other.bitLength());
+            if (larger > 2 * smaller) {
+                // Unbalanced operands: the larger one is split in halves, aligned on ints for cheap shifts
+                final BigInteger split = a.bitLength() == larger ? a : other;
+                final BigInteger factor = split == a ? other : a;
+                final int half = (larger / 2) & -Integer.SIZE;
+                final Product high = new Product(split.shiftRight(half), factor);
+                final Product low = new Product(lowBits(split, half), factor);
+                ForkJoinTask.invokeAll(high, low);
+                return high.join().shiftLeft(half).add(low.join());
+            }
+            // Toom-Cook 3-way: a = a2 2^2k + a1 2^k + a0, evaluated in 0, 1, -1, 2 and infinity
+            final int k = ((larger + 2) / 3 + Integer.SIZE - 1) & -Integer.SIZE;
+            final BigInteger a0 = lowBits(a, k);
+            final BigInteger a1 = lowBits(a.shiftRight(k), k);
+            final BigInteger a2 = a.shiftRight(2 * k);
+            final BigInteger aSum = a2.add(a0);
+            final BigInteger aMinusOne = aSum.subtract(a1);
+            final BigInteger aOne = aSum.add(a1);
+            final BigInteger aTwo = aOne.add(a2).shiftLeft(1).subtract(a0);
+            final Product v0;
+            final Product v1;
+            final Product vm1;
+            final Product v2;
+            final Product vInf;
+            if (b == null) {
+                v0 = new Product(a0, a0);
+                v1 = new Product(aOne, aOne);
+                vm1 = new Product(aMinusOne, aMinusOne);
+                v2 = new Product(aTwo, aTwo);
+                vInf = new Product(a2, a2);
+            } else {
+                final BigInteger b0 = lowBits(b, k);
+                final BigInteger b1 = lowBits(b.shiftRight(k), k);
+                final BigInteger b2 = b.shiftRight(2 * k);
+                final BigInteger bSum = b2.add(b0);
+                final BigInteger bOne = bSum.add(b1);
+                v0 = new Product(a0, b0);
+                v1 = new Product(aOne, bOne);
+                vm1 = new Product(aMinusOne, bSum.subtract(b1));
+                v2 = new Product(aTwo, bOne.add(b2).shiftLeft(1).subtract(b0));
+                vInf = new Product(a2, b2);
+            }
+            ForkJoinTask.invokeAll(v0, v1, vm1, v2, vInf);
+            final BigInteger r0 = v0.join();
+            final BigInteger r1 = v1.join();
+            final BigInteger rm1 = vm1.join();
+            final BigInteger rInf = vInf.join();
+            // Interpolation: all divisions are exact
+            BigInteger t2 = v2.join().subtract(rm1).divide(THREE);
+            BigInteger tm1 = r1.subtract(rm1).shiftRight(1);
+            BigInteger t1 = r1.subtract(r0);
+            t2 = t2.subtract(t1).shiftRight(1);
+            t1 = t1.subtract(tm1).subtract(rInf);
+            t2 = t2.subtract(rInf.shiftLeft(1));
+            tm1 = tm1.subtract(t2);
+            return rInf.shiftLeft(k)
+                    .add(t2)
+                    .shiftLeft(k)
+                    .add(t1)
+                    .shiftLeft(k)
+                    .add(tm1)
+                    .shiftLeft(k)
+                    .add(r0);
+        }
+    }
+
+    private static final class Power extends RecursiveTask<BigInteger> {
+        private final @NotNull BigInteger base;
+        private final int exponent;
+
+        private Power(final @NotNull BigInteger base, final int exponent) {
+            this.base = base;
+            this.exponent = exponent;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            // The leading bits of the exponent, as long as the power is small, are left to BigInteger.pow
+            int remaining = Integer.SIZE - Integer.numberOfLeadingZeros(exponent);
+            while (remaining > 0 && (long) base.bitLength() * (exponent >>> (remaining - 1)) < PARALLEL_THRESHOLD) {
+                remaining--;
+            }
+            BigInteger power = base.pow(exponent >>> remaining);
+            // Then left-to-right binary exponentiation
+            for (int bit = remaining - 1; bit >= 0; bit--) {
+                power = new Product(power, power).compute();
+                if ((exponent >>> bit & 1) != 0) {
+                    power = new Product(power, base).compute();
+                }
+            }
+            return power;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package fr.spacefox.jrational;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Mutable power sums {@code n}, {@code sum(x)} and {@code sum(x^2)} of values, for exact variances in one pass.
+ *
+ * <p>Not thread safe: parallel streams accumulate in one instance per thread, merged with {@code combine}.
+ */
+final class PowerSums {
+
+    private long count;
+    private final @NotNull RationalAccumulator sum = new RationalAccumulator();
+    private final @NotNull RationalAccumulator sumOfSquares = new RationalAccumulator();
+
+    void accept(final @NotNull Rational value) {
+        count++;
+        sum.add(value);
+        sumOfSquares.add(value.multiply(value));
+    }
+
+    void combine(final @NotNull PowerSums other) {
+        count += other.count;
+        sum.add(other.sum);
+        sumOfSquares.add(other.sumOfSquares);
+    }
+
+    @NotNull
+    Rational sum() {
+        return sum.toRational();
+    }
+
+    /**
+     * @return {@code n * sum(x^2) - sum(x)^2}, that is {@code n^2} times the population variance.
+     */
+    @NotNull
+    Rational centeredSumOfSquares() {
+        final Rational sumValue = sum();
+        return Rational.of(count).multiply(sumOfSquares.toRational()).subtract(sumValue.multiply(sumValue));
+    }
+
+    /**
+     * @return the population variance, {@code sum((x - mean)^2) / n}, in canonical form.
+     * @throws ArithmeticException if there are no values.
+     */
+    @NotNull
+    Rational variance() {
+        if (count == 0) {
+            throw new ArithmeticException("Cannot compute the variance of empty set.");
+        }
+        return centeredSumOfSquares().divide(Rational.of(count).pow(2)).canonicalForm();
+    }
+
+    /**
+     * @return the sample variance, {@code sum((x - mean)^2) / (n - 1)}, in canonical form.
+     * @throws ArithmeticException if there are less than 2 values.
+     */
+    @NotNull
+    Rational sampleVariance() {
+        if (count < 2) {
+            throw new ArithmeticException("Cannot compute the sample variance of less than 2 values.");
+        }
+        return centeredSumOfSquares()
+                .divide(Rational.of(count).multiply(Rational.of(count - 1)))
+                .canonicalForm();
+    }
+}
@@ -8,7 +8,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -45,12 +48,13 @@ import org.jetbrains.annotations.Range;
  *
  * <p><b>Approximate rationals:</b> A {@code Rational} may be <i>approximate</i> (see {@code isApproximate()} method).
  * This denotes this rational is only an approximation of the real value. The real value may be, or not, an irrational
- * number in the mathematical definition. There is no constructor nor builder to create an approximate {@code Rational},
- * as all the builder require exact values. There are three ways to get an approximate {@code Rational}. First is
+ * number in the mathematical definition. There is no constructor to create an approximate {@code Rational}, and all
+ * the {@code of(…)} builders require exact values. There are four ways to get an approximate {@code Rational}. First is
  * provided constants. Second is to call {@code approximate()} on an existing number, the result will be flagged as
- * approximate if and only if an approximation has been done. The second one is through arithmetic methods that can lead
- * to irrational results. Any operation that implies an approximate {@code Rational} will always have an approximate as
- * result.
+ * approximate if and only if an approximation has been done. Third is {@code ofApproximate(double)}, which returns the
+ * simplest rational that rounds to the provided {@code double}, flagged as approximate if and only if it differs from
+ * the exact {@code double} value. The last one is through arithmetic methods that can lead to irrational results. Any
+ * operation that implies an approximate {@code Rational} will always have an approximate as result.
  *
  * @apiNote This class has a natural ordering that is inconsistent with equals. Care should be exercised if
  * {@code Rational} objects are used as keys in a {@link java.util.SortedMap SortedMap} or elements in a
@@ -125,6 +129,17 @@ public final class Rational extends Number implements Comparable<Rational> {
         return of(numerator, denominator, true);
     }
 
+    // Used in RationalConstants and RationalMath: rounds value / 2^scale to the nearest k / 2^bits, canonical form.
+    // Callers always keep guard bits, so scale > bits.
+    @NotNull
+    static Rational approximateOfBinary(@NotNull BigInteger value, int scale, int bits) {
+        final int shift = scale - bits;
+        final BigInteger rounded = value.add(BigInteger.ONE.shiftLeft(shift - 1)).shiftRight(shift);
+        // Canonical form of k / 2^bits: only powers of two can be common factors
+        final int commonZeros = Math.max(0, Math.min(rounded.getLowestSetBit(), bits));
+        return of(rounded.shiftRight(commonZeros), BigInteger.ONE.shiftLeft(bits - commonZeros), true);
+    }
+
     // For testing purpose only!
     @NotNull
     static Rational approximateOf(long numerator, long denominator) {
@@ -140,7 +155,9 @@ public final class Rational extends Number implements Comparable<Rational> {
      * <p><b>Performance notice:</b> This operation implies to compute the GCD of {@code a} and {@code b}, which may be
      * long for high magnitudes. The higher is the magnitude, the longest is this computation. This may be an issue with
      * very high magnitude Rationals, as the one produced by calculus chains or loops. Consider to force canonical form
-     * earlier in the process, or to use approximations.
+     * earlier in the process, or to use approximations. Above a few thousand bits, the GCD is computed with a half-GCD
+     * algorithm in {@code O(M(n) log n)}, {@code M(n)} being the cost of a product, instead of the quadratic
+     * {@code BigInteger.gcd}.
      *
      * @see #magnitude()
      * @see #approximate()
@@ -148,7 +165,9 @@ public final class Rational extends Number implements Comparable<Rational> {
      * @return the canonical form of this Rational, or {@code this} if {@code this} is alread the canonical form.
      */
     public @NotNull Rational canonicalForm() {
-        final BigInteger gcd = numerator.gcd(denominator);
+        final BigInteger gcd = Math.min(numerator.bitLength(), denominator.bitLength()) < HalfGcd.GCD_THRESHOLD
+                ? numerator.gcd(denominator)
+                : HalfGcd.gcd(numerator, denominator);
         return BigInteger.ONE.equals(gcd) ? this : of(numerator.divide(gcd), denominator.divide(gcd), approximate);
     }
 
@@ -282,13 +301,166 @@ public final class Rational extends Number implements Comparable<Rational> {
      * @see BigDecimal#BigDecimal(double) for details of number conversion.
      */
     public static @NotNull Rational of(final double d) {
+        checkFinite(d);
+        return of(new BigDecimal(d));
+    }
+
+    /**
+     * Builds the simplest rational number that rounds to the provided {@code double}.
+     *
+     * <p>Unlike {@link #of(double)}, which converts the exact binary value of the floating point number, this builder
+     * returns the rational with the smallest denominator (then the smallest numerator) in the rounding interval of
+     * {@code d}, which is the interval of all real numbers that would be converted to {@code d} by
+     * {@link Double#parseDouble(String)}. This is usually the value the user had in mind when writing the
+     * {@code double}.
+     *
+     * <p>Examples:
+     * <ul>
+     *     <li>{@code Rational.ofApproximate(0.1d)} gives {@code ~1/10}</li>
+     *     <li>{@code Rational.ofApproximate(1.0d / 3)} gives {@code ~1/3}</li>
+     *     <li>{@code Rational.ofApproximate(0.5d)} gives {@code 1/2}, not approximate as this is the exact value</li>
+     * </ul>
+     *
+     * <p>The result is flagged as approximate if and only if it differs from the exact value of {@code d}.
+     *
+     * @param d the value to express as a rational.
+     * @return the simplest {@code Rational} whose nearest {@code double} is {@code d}.
+     * @throws ArithmeticException if the provided double is not a number or infinite.
+     * @see #of(double)
+     */
+    public static @NotNull Rational ofApproximate(final double d) {
+        checkFinite(d);
+        if (d == 0.0d) {
+            return ZERO;
+        }
+        final double abs = Math.abs(d);
+        final BigDecimal exact = new BigDecimal(abs);
+        final BigDecimal below = new BigDecimal(Math.nextDown(abs));
+        // Double.MAX_VALUE has no finite successor, but its rounding interval still ends half an ulp above.
+        final BigDecimal above = abs == Double.MAX_VALUE
+                ? exact.add(new BigDecimal(Math.ulp(abs)))
+                : new BigDecimal(Math.nextUp(abs));
+        final BigDecimal half = BigDecimal.valueOf(5, 1);
+        final Rational lower = of(exact.add(below).multiply(half));
+        final Rational upper = of(exact.add(above).multiply(half));
+        // Round half to even: bounds belong to the interval if and only if the mantissa is even.
+        final boolean closed = (Double.doubleToRawLongBits(abs) & 1L) == 0L;
+
+        final Rational simplest = simplestBetween(lower, closed, upper, closed);
+        return fromSimplest(d < 0 ? simplest.negate() : simplest, of(new BigDecimal(d)));
+    }
+
+    /**
+     * Builds the simplest rational number in the closed interval {@code [d - tolerance, d + tolerance]}.
+     *
+     * <p>The simplest rational is the one with the smallest denominator, then with the smallest numerator. It’s
+     * computed through a continued fraction search of the interval, so the cost only depends on the size of the
+     * result, and not on the size of the exact binary value of {@code d}.
+     *
+     * <p>Examples:
+     * <ul>
+     *     <li>{@code Rational.ofApproximate(Math.PI, 0.01)} gives {@code ~22/7}</li>
+     *     <li>{@code Rational.ofApproximate(Math.PI, 0.001)} gives {@code ~201/64}</li>
+     * </ul>
+     *
+     * <p>The result is flagged as approximate if and only if it differs from the exact value of {@code d}.
+     *
+     * @param d         the value to express as a rational.
+     * @param tolerance the maximum distance between {@code d} and the result, included.
+     * @return the simplest {@code Rational} whose distance to {@code d} is {@code <= tolerance}.
+     * @throws ArithmeticException if the provided double is not a number or infinite, or if the tolerance is negative,
+     * not a number or infinite.
+     * @see #ofApproximate(double)
+     */
+    public static @NotNull Rational ofApproximate(final double d, final double tolerance) {
+        checkFinite(d);
+        if (!(tolerance >= 0.0d) || Double.isInfinite(tolerance)) {
+            throw new ArithmeticException("Tolerance must be a finite positive number.");
+        }
+        final Rational exact = of(new BigDecimal(d));
+        final Rational delta = of(new BigDecimal(tolerance));
+        final Rational lower = exact.subtract(delta);
+        final Rational upper = exact.add(delta);
+
+        final Rational simplest;
+        if (lower.signum() <= 0 && upper.signum() >= 0) {
+            simplest = ZERO;
+        } else if (lower.signum() > 0) {
+            simplest = simplestBetween(lower, true, upper, true);
+        } else {
+            simplest = simplestBetween(upper.negate(), true, lower.negate(), true).negate();
+        }
+        return fromSimplest(simplest, exact);
+    }
+
+    private static void checkFinite(final double d) {
         if (Double.isInfinite(d)) {
             throw new ArithmeticException("A rational can’t be infinite.");
         }
         if (Double.isNaN(d)) {
             throw new ArithmeticException("NaN can’t be converted as rational.");
         }
-        return of(new BigDecimal(d));
+    }
+
+    private static @NotNull Rational fromSimplest(final @NotNull Rational simplest, final @NotNull Rational exact) {
+        return simplest.compareTo(exact) == 0 ? simplest : of(simplest.numerator, simplest.denominator, true);
+    }
+
+    /**
+     * Finds the rational with the smallest denominator in the interval between {@code lower} and {@code upper}, both
+     * strictly positive, by walking down the Stern–Brocot tree one continued fraction term at a time.
+     *
+     * <p>At each step, if an integer lies in the interval the search is over; otherwise both bounds share the same
+     * integer part {@code a}, and the search continues on {@code 1 / (x - a)}, whose bounds are swapped.
+     */
+    private static @NotNull Rational simplestBetween(
+            final @NotNull Rational lower,
+            final boolean lowerClosed,
+            final @NotNull Rational upper,
+            final boolean upperClosed) {
+        BigInteger loNum = lower.numerator;
+        BigInteger loDen = lower.denominator;
+        BigInteger hiNum = upper.numerator;
+        BigInteger hiDen = upper.denominator; // A zero denominator stands for +infinity.
+        boolean loClosed = lowerClosed;
+        boolean hiClosed = upperClosed;
+
+        // Result is (p1 * x + p0) / (q1 * x + q0), where x is the simplest rational of the current interval.
+        BigInteger p0 = BigInteger.ZERO;
+        BigInteger p1 = BigInteger.ONE;
+        BigInteger q0 = BigInteger.ONE;
+        BigInteger q1 = BigInteger.ZERO;
+        while (true) {
+            final BigInteger[] integerPart = loNum.divideAndRemainder(loDen);
+            final BigInteger floor = integerPart[0];
+            final BigInteger remainder = integerPart[1];
+            if (remainder.signum() == 0 && loClosed) {
+                return of(p1.multiply(floor).add(p0), q1.multiply(floor).add(q0), false);
+            }
+            final BigInteger candidate = floor.add(BigInteger.ONE);
+            final int upperCheck = hiDen.signum() == 0 ? 1 : hiNum.compareTo(candidate.multiply(hiDen));
+            if (upperCheck > 0 || (upperCheck == 0 && hiClosed)) {
+                return of(p1.multiply(candidate).add(p0), q1.multiply(candidate).add(q0), false);
+            }
+
+            // x = floor + 1 / y, with y in [1 / (upper - floor), 1 / (lower - floor)]
+            final BigInteger newLoNum = hiDen;
+            final BigInteger newLoDen = hiNum.subtract(floor.multiply(hiDen));
+            hiNum = loDen;
+            hiDen = remainder;
+            loNum = newLoNum;
+            loDen = newLoDen;
+            final boolean swap = loClosed;
+            loClosed = hiClosed;
+            hiClosed = swap;
+
+            final BigInteger newP1 = p1.multiply(floor).add(p0);
+            final BigInteger newQ1 = q1.multiply(floor).add(q0);
+            p0 = p1;
+            q0 = q1;
+            p1 = newP1;
+            q1 = newQ1;
+        }
     }
     // endregion
 
@@ -371,6 +543,45 @@ public final class Rational extends Number implements Comparable<Rational> {
                 : identityResult;
     }
 
+    /**
+     * Returns a Rational whose value is {@code (this + val)}, bounded according to the context settings.
+     *
+     * @param val value to be added to this Rational
+     * @param context the bounds to apply on the result.
+     * @return {@code (this + val)}, bounded as necessary.
+     * @see #round(RationalContext)
+     * @see RationalContext#withParallel(boolean)
+     */
+    public @NotNull Rational add(final @NotNull Rational val, final @NotNull RationalContext context) {
+        return (context.isParallel() ? parallelSum(val, false) : add(val)).round(context);
+    }
+
+    /**
+     * Returns a Rational whose value is {@code (this + val)}, without building a {@code Rational} for the integer.
+     *
+     * @param val integer to be added to this Rational
+     * @return {@code (this + val)}
+     */
+    public @NotNull Rational add(final long val) {
+        return val == 0 ? this : add(BigInteger.valueOf(val));
+    }
+
+    /**
+     * Returns a Rational whose value is {@code (this + val)}, without building a {@code Rational} for the integer.
+     *
+     * <p>As the denominator of {@code val} is 1, the result keeps the denominator of this Rational.
+     *
+     * @param val integer to be added to this Rational
+     * @return {@code (this + val)}
+     */
+    public @NotNull Rational add(final @NotNull BigInteger val) {
+        if (val.signum() == 0) {
+            return this;
+        }
+        // a/b + v = (a + v*b) / b
+        return Rational.of(numerator.add(val.multiply(denominator)), denominator, approximate);
+    }
+
     /**
      * Returns the sum of all Rational in the collection.
      *
@@ -416,6 +627,13 @@ public final class Rational extends Number implements Comparable<Rational> {
     }
 
     public @NotNull Rational subtract(final @NotNull Rational val) {
+        // 0 is only a right identity for subtraction: 0 - val = -val
+        if (this == ZERO) {
+            return val.negate();
+        }
+        if (this == APPROX_ZERO) {
+            return Rational.of(val.numerator.negate(), val.denominator, true);
+        }
         final Rational identityResult = identityOperation(this, val, ZERO, APPROX_ZERO);
         return identityResult == null
                 ? Rational.of(
@@ -425,6 +643,33 @@ public final class Rational extends Number implements Comparable<Rational> {
                 : identityResult;
     }
 
+    /**
+     * Returns a Rational whose value is {@code (this - val)}, bounded according to the context settings.
+     *
+     * @param val value to be subtracted from this Rational
+     * @param context the bounds to apply on the result.
+     * @return {@code (this - val)}, bounded as necessary.
+     * @see #round(RationalContext)
+     * @see RationalContext#withParallel(boolean)
+     */
+    public @NotNull Rational subtract(final @NotNull Rational val, final @NotNull RationalContext context) {
+        return (context.isParallel() ? parallelSum(val, true) : subtract(val)).round(context);
+    }
+
+    /**
+     * {@code (this ± val)}, whose three products are computed concurrently, each one in parallel if it is large
+     * enough.
+     */
+    private @NotNull Rational parallelSum(final @NotNull Rational val, final boolean subtract) {
+        final BigInteger[] products = ParallelMultiplication.multiply(
+                new BigInteger[] {numerator, denominator, denominator},
+                new BigInteger[] {val.denominator, val.numerator, val.denominator});
+        return Rational.of(
+                subtract ? products[0].subtract(products[1]) : products[0].add(products[1]),
+                products[2],
+                approximate || val.approximate);
+    }
+
     /**
      * Returns a rational whose value is {@code this * val}
      * @param val the value to be multiplied by this Rational
@@ -446,6 +691,55 @@ public final class Rational extends Number implements Comparable<Rational> {
                 : identityResult;
     }
 
+    /**
+     * Returns a Rational whose value is {@code (this * val)}, bounded according to the context settings.
+     *
+     * @param val the value to be multiplied by this Rational
+     * @param context the bounds to apply on the result.
+     * @return {@code (this * val)}, bounded as necessary.
+     * @see #round(RationalContext)
+     * @see RationalContext#withParallel(boolean)
+     */
+    public @NotNull Rational multiply(final @NotNull Rational val, final @NotNull RationalContext context) {
+        if (!context.isParallel()) {
+            return multiply(val).round(context);
+        }
+        final BigInteger[] products = ParallelMultiplication.multiply(
+                new BigInteger[] {numerator, denominator}, new BigInteger[] {val.numerator, val.denominator});
+        return Rational.of(products[0], products[1], approximate || val.approximate).round(context);
+    }
+
+    /**
+     * Returns a Rational whose value is {@code (this * val)}, without building a {@code Rational} for the integer.
+     *
+     * @param val integer to be multiplied by this Rational
+     * @return {@code (this * val)}
+     */
+    public @NotNull Rational multiply(final long val) {
+        if (val == 0) {
+            return ZERO;
+        }
+        return val == 1 ? this : multiply(BigInteger.valueOf(val));
+    }
+
+    /**
+     * Returns a Rational whose value is {@code (this * val)}, without building a {@code Rational} for the integer.
+     *
+     * <p>As the denominator of {@code val} is 1, only the numerator of this Rational is multiplied.
+     *
+     * @param val integer to be multiplied by this Rational
+     * @return {@code (this * val)}
+     */
+    public @NotNull Rational multiply(final @NotNull BigInteger val) {
+        if (val.signum() == 0) {
+            return ZERO;
+        }
+        if (val.equals(BigInteger.ONE)) {
+            return this;
+        }
+        return Rational.of(numerator.multiply(val), denominator, approximate);
+    }
+
     public static @NotNull Rational product(final @NotNull Collection<Rational> vals) {
         Rational product = Rational.ONE;
         for (Rational val : vals) {
@@ -466,6 +760,64 @@ public final class Rational extends Number implements Comparable<Rational> {
         return this.multiply(product(vals));
     }
 
+    /**
+     * Returns a Rational whose value is {@code (this * val + addend)}, computed in one step without building the
+     * intermediate product.
+     *
+     * @param val the value to be multiplied by this Rational.
+     * @param addend the value to be added to the product.
+     * @return {@code (this * val + addend)}, not reduced.
+     */
+    public @NotNull Rational multiplyAdd(final @NotNull Rational val, final @NotNull Rational addend) {
+        final RationalAccumulator accumulator = new RationalAccumulator();
+        accumulator.addProduct(this, val);
+        accumulator.add(addend);
+        return accumulator.toRational();
+    }
+
+    /**
+     * Returns the dot product of two lists of the same size, {@code sum(xs[i] * ys[i])}.
+     *
+     * @implNote Products are accumulated on the least common multiple of their denominators, in {@code long} as long
+     * as the values are small, and the sum is only reduced at the end.
+     * @throws ArithmeticException when the lists have different sizes.
+     * @param xs the first values.
+     * @param ys the second values.
+     * @return the dot product, in canonical form, or 0 if the lists are empty.
+     */
+    public static @NotNull Rational dot(final @NotNull List<Rational> xs, final @NotNull List<Rational> ys) {
+        return dotProduct(xs, ys, false).canonicalForm();
+    }
+
+    /**
+     * Same as {@link #dot(List, List)}, for long lists: the lists are split in parts, whose dot products are computed
+     * in parallel in the common {@code ForkJoinPool}.
+     *
+     * @throws ArithmeticException when the lists have different sizes.
+     * @param xs the first values.
+     * @param ys the second values.
+     * @return the dot product, in canonical form, or 0 if the lists are empty.
+     */
+    public static @NotNull Rational parallelDot(final @NotNull List<Rational> xs, final @NotNull List<Rational> ys) {
+        return dotProduct(xs, ys, true).canonicalForm();
+    }
+
+    private static @NotNull Rational dotProduct(
+            final @NotNull List<Rational> xs, final @NotNull List<Rational> ys, final boolean parallel) {
+        if (xs.size() != ys.size()) {
+            throw new ArithmeticException("Cannot compute the dot product of lists of different sizes.");
+        }
+        final List<Rational> xValues = xs instanceof RandomAccess ? xs : new ArrayList<>(xs);
+        final List<Rational> yValues = ys instanceof RandomAccess ? ys : new ArrayList<>(ys);
+        final IntStream indexes = IntStream.range(0, xValues.size());
+        return (parallel ? indexes.parallel() : indexes)
+                .collect(
+                        RationalAccumulator::new,
+                        (accumulator, i) -> accumulator.addProduct(xValues.get(i), yValues.get(i)),
+                        RationalAccumulator::add)
+                .toRational();
+    }
+
     public @NotNull Rational divide(final @NotNull Rational val) {
         if (val == ZERO || val == APPROX_ZERO) {
             throw new ArithmeticException("Division by 0.");
@@ -473,28 +825,380 @@ public final class Rational extends Number implements Comparable<Rational> {
         if (this == ZERO || this == APPROX_ZERO) {
             return this;
         }
-        final Rational identityResult = identityOperation(this, val, ONE, APPROX_ONE);
-        return identityResult == null
-                ? Rational.of(
-                        numerator.multiply(val.denominator),
-                        denominator.multiply(val.numerator),
-                        approximate || val.approximate)
-                : identityResult;
+        // 1 is only a right identity for division: 1 / val = the inverse of val
+        if (val.equals(ONE)) {
+            return this;
+        }
+        if (val == APPROX_ONE) {
+            return approximate ? this : Rational.of(numerator, denominator, true);
+        }
+        return Rational.of(
+                numerator.multiply(val.denominator),
+                denominator.multiply(val.numerator),
+                approximate || val.approximate);
     }
 
+    /**
+     * Returns a Rational whose value is {@code (this / val)}, without building a {@code Rational} for the integer.
+     *
+     * @param val integer by which this Rational is to be divided
+     * @return {@code (this / val)}
+     * @throws ArithmeticException if {@code val} is zero.
+     */
+    public @NotNull Rational divide(final long val) {
+        if (val == 0) {
+            throw new ArithmeticException("Division by 0.");
+        }
+        return val == 1 ? this : divide(BigInteger.valueOf(val));
+    }
+
+    /**
+     * Returns a Rational whose value is {@code (this / val)}, without building a {@code Rational} for the integer.
+     *
+     * <p>As the denominator of {@code val} is 1, only the denominator of this Rational is multiplied.
+     *
+     * @param val integer by which this Rational is to be divided
+     * @return {@code (this / val)}
+     * @throws ArithmeticException if {@code val} is zero.
+     */
+    public @NotNull Rational divide(final @NotNull BigInteger val) {
+        if (val.signum() == 0) {
+            throw new ArithmeticException("Division by 0.");
+        }
+        if (val.equals(BigInteger.ONE) || this == ZERO || this == APPROX_ZERO) {
+            return this;
+        }
+        // The sign of val is moved to the numerator
+        return Rational.of(numerator, denominator.multiply(val), approximate);
+    }
+
+    /**
+     * Returns a Rational whose value is {@code (this / val)}, bounded according to the context settings.
+     *
+     * @param val the value by which this Rational is to be divided
+     * @param context the bounds to apply on the result.
+     * @return {@code (this / val)}, bounded as necessary.
+     * @throws ArithmeticException if {@code val} is zero.
+     * @see #round(RationalContext)
+     * @see RationalContext#withParallel(boolean)
+     */
+    public @NotNull Rational divide(final @NotNull Rational val, final @NotNull RationalContext context) {
+        if (!context.isParallel()) {
+            return divide(val).round(context);
+        }
+        if (val.signum() == 0) {
+            throw new ArithmeticException("Division by 0.");
+        }
+        final BigInteger[] products = ParallelMultiplication.multiply(
+                new BigInteger[] {numerator, denominator}, new BigInteger[] {val.denominator, val.numerator});
+        return Rational.of(products[0], products[1], approximate || val.approximate).round(context);
+    }
+
+    /**
+     * Returns a Rational whose value is {@code (this^exponent)}.
+     *
+     * @param exponent the exponent to which this Rational is to be raised.
+     * @return {@code (this^exponent)}, in canonical form.
+     * @throws ArithmeticException if this Rational is zero and {@code exponent} is negative.
+     * @see #pow(long)
+     */
     public @NotNull Rational pow(final int exponent) {
+        return pow((long) exponent);
+    }
+
+    /**
+     * Returns a Rational whose value is {@code (this^exponent)}.
+     *
+     * <p>This Rational is reduced to its canonical form first, so the common factors of its numerator and denominator
+     * are not raised to the power, and the result is in canonical form too.
+     *
+     * @param exponent the exponent to which this Rational is to be raised.
+     * @return {@code (this^exponent)}, in canonical form.
+     * @throws ArithmeticException if this Rational is zero and {@code exponent} is negative, or if the result doesn’t
+     * fit in a {@code BigInteger}: only 0, 1 and -1 can be raised beyond {@code Integer.MAX_VALUE}.
+     * @see RationalPowerTable
+     */
+    public @NotNull Rational pow(final long exponent) {
         // (a / b)^0 = 1 (always, including 0^0)
         if (exponent == 0) {
             return ONE;
         }
-        if (exponent == 1 || this == ONE || this == APPROX_ONE) {
+        if (this == ONE || this == APPROX_ONE) {
             return this;
         }
+        final Rational base = canonicalForm();
+        if (exponent == 1) {
+            return base;
+        }
+        final BigInteger numeratorPower;
+        final BigInteger denominatorPower;
+        if (exponent >= -Integer.MAX_VALUE && exponent <= Integer.MAX_VALUE) {
+            final int magnitude = (int) Math.abs(exponent);
+            numeratorPower = base.numerator.pow(magnitude);
+            denominatorPower = base.denominator.pow(magnitude);
+        } else if (base.numerator.bitLength() <= 1 && base.denominator.equals(BigInteger.ONE)) {
+            // 0, 1 or -1
+            numeratorPower = (exponent & 1) == 0 ? base.numerator.abs() : base.numerator;
+            denominatorPower = BigInteger.ONE;
+        } else {
+            throw new ArithmeticException("Exponent too large: the power would overflow.");
+        }
         // (a / b)^p = a^p / b^p
         // (a / b)^-p = b^p / a^p
+        // Both are canonical, as a and b are coprime
         return exponent > 0
-                ? Rational.of(numerator.pow(exponent), denominator.pow(exponent), approximate)
-                : Rational.of(denominator.pow(-exponent), numerator.pow(-exponent), approximate);
+                ? Rational.of(numeratorPower, denominatorPower, approximate)
+                : Rational.of(denominatorPower, numeratorPower, approximate);
+    }
+
+    /**
+     * Returns a Rational whose value is {@code (this^exponent)}, bounded according to the context settings.
+     *
+     * <p>The rounding mode of the context applies to the exact result. This Rational is reduced to its canonical form
+     * first, like in {@link #pow(long)}. If the context has a maximum denominator and the exact power is much larger
+     * than it, the power is not computed: square-and-multiply on values truncated to the precision of the context,
+     * plus guard bits, bounds it closely enough to know its rounding. If the context is parallel, the powers of the
+     * numerator and the denominator are computed concurrently, and their large products are split in parallel tasks.
+     *
+     * @param exponent the exponent to which this Rational is to be raised.
+     * @param context the bounds to apply on the result.
+     * @return {@code (this^exponent)}, bounded as necessary.
+     * @throws ArithmeticException if this Rational is zero and {@code exponent} is negative.
+     * @see #round(RationalContext)
+     */
+    public @NotNull Rational pow(final int exponent, final @NotNull RationalContext context) {
+        // Integer.MIN_VALUE can't be negated as an int
+        if (exponent == 0 || exponent == Integer.MIN_VALUE) {
+            return pow(exponent).round(context);
+        }
+        final Rational base = canonicalForm();
+        if (context.getMaxDenominator() != null && base.signum() != 0) {
+            final Rational bounded = BoundedPower.pow(base, exponent, context);
+            if (bounded != null) {
+                return bounded;
+            }
+        }
+        if (!context.isParallel()) {
+            return base.pow(exponent).round(context);
+        }
+        final BigInteger[] powers =
+                ParallelMultiplication.pow(new BigInteger[] {base.numerator, base.denominator}, Math.abs(exponent));
+        return (exponent > 0
+                        ? Rational.of(powers[0], powers[1], base.approximate)
+                        : Rational.of(powers[1], powers[0], base.approximate))
+                .round(context);
+    }
+    // endregion
+
+    // region Roots
+
+    /**
+     * Returns the square root of this Rational, bounded according to the context settings.
+     *
+     * <p>Shortcut for {@code root(2, context)}.
+     *
+     * @param context the bounds to apply on the result.
+     * @return the square root of this Rational, bounded as necessary.
+     * @throws ArithmeticException if this Rational is negative, or if the root is irrational and the context has no
+     * maximum denominator.
+     * @see #root(int, RationalContext)
+     */
+    public @NotNull Rational sqrt(final @NotNull RationalContext context) {
+        return root(2, context);
+    }
+
+    /**
+     * Returns an interval that contains the square root of this Rational.
+     *
+     * <p>Shortcut for {@code rootBounds(2, context)}.
+     *
+     * @param context the context giving the maximum denominator of the bounds.
+     * @return an interval that contains the square root of this Rational.
+     * @throws ArithmeticException if this Rational is negative, or if the root is irrational and the context has no
+     * maximum denominator.
+     * @see #rootBounds(int, RationalContext)
+     */
+    public @NotNull RationalInterval sqrtBounds(final @NotNull RationalContext context) {
+        return rootBounds(2, context);
+    }
+
+    /**
+     * Returns the {@code n}-th root of this Rational, bounded according to the context settings.
+     *
+     * <p>If both the numerator and the denominator of the canonical form of this Rational are perfect {@code n}-th
+     * powers, the exact root is computed then bounded like any other result (see {@link #round(RationalContext)}).
+     * Otherwise, the root is irrational and is rounded to {@code k/D}, where {@code D} is the maximum denominator of
+     * the context, according to the rounding mode of the context. This result is always flagged as approximate.
+     *
+     * <p>The irrational case is computed with an integer {@code n}-th root of {@code |this| * (2D)^n}, which is seeded
+     * by a floating point estimation then refined with Newton iterations. The numerator and the denominator are first
+     * truncated to the size of the result plus guard bits, and the exact operands are only used when the truncation
+     * error could change the result. Residues modulo a few primes prove that the root is irrational, for almost all
+     * values, without computing the canonical form. So the cost grows with the requested precision and the magnitude
+     * of the result, and only linearly with the size of this Rational.
+     *
+     * @param n the index of the root, {@code n > 0}.
+     * @param context the bounds to apply on the result.
+     * @return the {@code n}-th root of this Rational, bounded as necessary.
+     * @throws ArithmeticException if {@code n <= 0}, if {@code n} is even and this Rational is negative, if the root is
+     * irrational and the context has no maximum denominator, or if the rounding mode of the context is
+     * {@link RoundingMode#UNNECESSARY} and a rounding is required.
+     */
+    public @NotNull Rational root(final int n, final @NotNull RationalContext context) {
+        checkRoot(n);
+        if (n == 1 || signum() == 0) {
+            return round(context);
+        }
+        final Rational exact = BoundedRoot.mayBeExact(numerator, denominator, n) ? canonicalForm().exactRoot(n) : null;
+        if (exact != null) {
+            return exact.round(context);
+        }
+
+        final BigInteger maxDenominator = irrationalRootDenominator(context);
+        // The root is irrational: it’s never equal to floor or to floor + 1/2.
+        final BigInteger halfSteps = BoundedRoot.halfSteps(numerator, denominator, n, maxDenominator);
+        final BigInteger floor = halfSteps.shiftRight(1);
+        final boolean negative = signum() < 0;
+        final boolean awayFromZero;
+        switch (context.getRoundingMode()) {
+            case UP:
+                awayFromZero = true;
+                break;
+            case DOWN:
+                awayFromZero = false;
+                break;
+            case CEILING:
+                awayFromZero = !negative;
+                break;
+            case FLOOR:
+                awayFromZero = negative;
+                break;
+            case UNNECESSARY:
+                throw new ArithmeticException("Rounding necessary.");
+            default:
+                // root > floor + 1/2
+                awayFromZero = halfSteps.testBit(0);
+        }
+        final BigInteger rounded = awayFromZero ? floor.add(BigInteger.ONE) : floor;
+        final Rational result = of(negative ? rounded.negate() : rounded, maxDenominator, true);
+        return context.isCanonicalForm() ? result.canonicalForm() : result;
+    }
+
+    /**
+     * Returns an interval that contains the {@code n}-th root of this Rational.
+     *
+     * <p>If the root is rational (see {@link #root(int, RationalContext)}), the interval is {@code [root, root]}.
+     * Otherwise, the bounds are the two consecutive fractions {@code k/D} and {@code (k+1)/D} that enclose the root,
+     * where {@code D} is the maximum denominator of the context. The rounding mode of the context is ignored.
+     *
+     * <p>Bounds are exact, so they are flagged as approximate only if this Rational is approximate.
+     *
+     * @param n the index of the root, {@code n > 0}.
+     * @param context the context giving the maximum denominator of the bounds.
+     * @return an interval that contains the {@code n}-th root of this Rational.
+     * @throws ArithmeticException if {@code n <= 0}, if {@code n} is even and this Rational is negative, or if the
+     * root is irrational and the context has no maximum denominator.
+     */
+    public @NotNull RationalInterval rootBounds(final int n, final @NotNull RationalContext context) {
+        checkRoot(n);
+        if (n == 1 || signum() == 0) {
+            return RationalInterval.of(this);
+        }
+        final Rational exact = BoundedRoot.mayBeExact(numerator, denominator, n) ? canonicalForm().exactRoot(n) : null;
+        if (exact != null) {
+            return RationalInterval.of(exact);
+        }
+
+        final BigInteger maxDenominator = irrationalRootDenominator(context);
+        final BigInteger floor = BoundedRoot.halfSteps(numerator, denominator, n, maxDenominator).shiftRight(1);
+        Rational lower = of(floor, maxDenominator, approximate);
+        Rational upper = of(floor.add(BigInteger.ONE), maxDenominator, approximate);
+        if (context.isCanonicalForm()) {
+            lower = lower.canonicalForm();
+            upper = upper.canonicalForm();
+        }
+        return signum() < 0 ? RationalInterval.of(upper.negate(), lower.negate()) : RationalInterval.of(lower, upper);
+    }
+
+    private void checkRoot(final int n) {
+        if (n <= 0) {
+            throw new ArithmeticException("Root index must be > 0.");
+        }
+        if (n % 2 == 0 && signum() < 0) {
+            throw new ArithmeticException("Even root of a negative number.");
+        }
+    }
+
+    private static @NotNull BigInteger irrationalRootDenominator(final @NotNull RationalContext context) {
+        final BigInteger maxDenominator = context.getMaxDenominator();
+        if (maxDenominator == null) {
+            throw new ArithmeticException("Irrational root: a context with a maximum denominator is required.");
+        }
+        return maxDenominator;
+    }
+
+    // Exact root of a canonical form, or null if the numerator or the denominator is not a perfect n-th power.
+    @Nullable
+    Rational exactRoot(final int n) {
+        final BigInteger absNumerator = numerator.abs();
+        final BigInteger numeratorRoot = integerRoot(absNumerator, n);
+        if (!numeratorRoot.pow(n).equals(absNumerator)) {
+            return null;
+        }
+        final BigInteger denominatorRoot = integerRoot(denominator, n);
+        if (!denominatorRoot.pow(n).equals(denominator)) {
+            return null;
+        }
+        return of(signum() < 0 ? numeratorRoot.negate() : numeratorRoot, denominatorRoot, approximate);
+    }
+
+    /**
+     * Computes {@code floor(value^(1/n))}, for {@code value >= 0} and {@code n >= 2}.
+     *
+     * <p>Small values are seeded with a floating point estimation of the root (square roots are delegated to
+     * {@link BigInteger#sqrt()}). Large values are seeded with the root of their leading half, computed recursively,
+     * so the seed already has half of the correct bits. Seeds are then refined with integer Newton iterations
+     * {@code x -> ((n - 1) * x + value / x^(n - 1)) / n}: after the first iteration, the sequence is decreasing down to
+     * the result, and only a couple of iterations are done at full precision.
+     */
+    static @NotNull BigInteger integerRoot(final @NotNull BigInteger value, final int n) {
+        if (value.signum() == 0) {
+            return value;
+        }
+        final int bitLength = value.bitLength();
+        if (bitLength <= n) {
+            // 1 <= value < 2^n
+            return BigInteger.ONE;
+        }
+
+        BigInteger x;
+        final int halfShift = bitLength / (2 * n);
+        if (bitLength > 1024 && halfShift > 0) {
+            // (root(value >> (n * halfShift)) + 1) << halfShift is always >= root(value)
+            x = integerRoot(value.shiftRight(n * halfShift), n).add(BigInteger.ONE).shiftLeft(halfShift);
+        } else if (n == 2) {
+            return value.sqrt();
+        } else {
+            // Keep at most 900 leading bits so the estimation fits in a double, with a shift that is a multiple of n.
+            final int shift = ((Math.max(0, bitLength - 900) + n - 1) / n) * n;
+            if (shift < bitLength) {
+                final double estimation = Math.pow(value.shiftRight(shift).doubleValue(), 1.0d / n);
+                x = new BigDecimal(estimation).toBigInteger().add(BigInteger.ONE).shiftLeft(shift / n);
+            } else {
+                x = BigInteger.ONE.shiftLeft((bitLength + n - 1) / n);
+            }
+        }
+
+        final BigInteger bigN = BigInteger.valueOf(n);
+        final BigInteger nMinusOne = BigInteger.valueOf(n - 1L);
+        x = x.multiply(nMinusOne).add(value.divide(x.pow(n - 1))).divide(bigN);
+        while (true) {
+            final BigInteger next = x.multiply(nMinusOne).add(value.divide(x.pow(n - 1))).divide(bigN);
+            if (next.compareTo(x) >= 0) {
+                return x;
+            }
+            x = next;
+        }
     }
     // endregion
 
@@ -561,6 +1265,107 @@ public final class Rational extends Number implements Comparable<Rational> {
         return numerator.multiply(val.denominator).compareTo(denominator.multiply(val.numerator));
     }
 
+    /**
+     * Compares this {@code Rational} with the specified integer, without building a {@code Rational} for it. Like
+     * {@link #compareTo(Rational)}, the approximate flag is ignored.
+     *
+     * <p>When the numerator and the denominator of this {@code Rational} fit in a {@code long}, the comparison is done
+     * on primitive values and allocates nothing.
+     *
+     * @param val integer to which this {@code Rational} is to be compared.
+     * @return -1, 0 or 1 as this {@code Rational} is numerically less than, equal to, or greater than {@code val}.
+     */
+    public int compareTo(final long val) {
+        if (numerator.bitLength() < Long.SIZE && denominator.bitLength() < Long.SIZE) {
+            // a/b ? v <=> a ? v*b, as b > 0
+            final long den = denominator.longValue();
+            final long product = val * den;
+            if (Math.multiplyHigh(val, den) == (product >> 63)) {
+                return Long.compare(numerator.longValue(), product);
+            }
+            // |v*b| doesn't fit in a long, so it is larger than |a|: the sign of v decides
+            return val > 0 ? -1 : 1;
+        }
+        return compareTo(BigInteger.valueOf(val));
+    }
+
+    /**
+     * Compares this {@code Rational} with the specified integer, without building a {@code Rational} for it. Like
+     * {@link #compareTo(Rational)}, the approximate flag is ignored.
+     *
+     * @param val integer to which this {@code Rational} is to be compared.
+     * @return -1, 0 or 1 as this {@code Rational} is numerically less than, equal to, or greater than {@code val}.
+     */
+    public int compareTo(final @NotNull BigInteger val) {
+        if (numerator.signum() != val.signum()) {
+            return Integer.compare(numerator.signum(), val.signum());
+        }
+        // a/b ? v <=> a ? v*b, as b > 0
+        return numerator.compareTo(denominator.equals(BigInteger.ONE) ? val : val.multiply(denominator));
+    }
+
+    /**
+     * Compares this {@code Rational} with the exact value of the specified {@code double}, without converting it to
+     * a {@code Rational} or a {@code BigDecimal}. Like {@link #compareTo(Rational)}, the approximate flag is ignored.
+     *
+     * <p>A finite {@code double} is a dyadic rational {@code m * 2^e}: the comparison only needs shifts and a
+     * multiplication by the 53-bit integer {@code m}, and most comparisons are decided on the magnitudes of both
+     * values. Both zeros are equal to {@code 0}, and infinities are larger or smaller than any {@code Rational}.
+     *
+     * @param val {@code double} to which this {@code Rational} is to be compared.
+     * @return -1, 0 or 1 as this {@code Rational} is numerically less than, equal to, or greater than {@code val}.
+     * @throws ArithmeticException if {@code val} is NaN.
+     */
+    public int compareTo(final double val) {
+        if (Double.isNaN(val)) {
+            throw new ArithmeticException("NaN can’t be compared to a rational.");
+        }
+        if (Double.isInfinite(val)) {
+            return val > 0 ? -1 : 1;
+        }
+        final long bits = Double.doubleToRawLongBits(val);
+        final int biasedExponent = (int) ((bits >>> 52) & 0x7FF);
+        long mantissa = bits & 0xF_FFFF_FFFF_FFFFL;
+        int exponent;
+        if (biasedExponent == 0) {
+            // Subnormal (or zero)
+            exponent = -1074;
+        } else {
+            mantissa |= 1L << 52;
+            exponent = biasedExponent - 1075;
+        }
+        final int valSignum = mantissa == 0 ? 0 : (bits < 0 ? -1 : 1);
+        final int signum = numerator.signum();
+        if (signum != valSignum || signum == 0) {
+            return Integer.compare(signum, valSignum);
+        }
+        // |val| = mantissa * 2^exponent, with an odd mantissa
+        final int trailingZeros = Long.numberOfTrailingZeros(mantissa);
+        mantissa >>>= trailingZeros;
+        exponent += trailingZeros;
+        final int mantissaBits = Long.SIZE - Long.numberOfLeadingZeros(mantissa);
+        if (exponent >= 0 && mantissaBits + exponent < Long.SIZE) {
+            // Integer that fits in a long
+            return compareTo(signum * (mantissa << exponent));
+        }
+
+        // 2^(ratioExponent - 1) < |this| <= 2^(ratioExponent + 1) and 2^(valExponent - 1) <= |val| < 2^valExponent
+        // (<= as the bit length of a negative power of two doesn't count its highest bit)
+        final long ratioExponent = (long) numerator.bitLength() - denominator.bitLength();
+        final long valExponent = (long) mantissaBits + exponent;
+        if (ratioExponent + 1 < valExponent - 1) {
+            return -signum;
+        }
+        if (ratioExponent - 1 >= valExponent) {
+            return signum;
+        }
+        // a/b ? m*2^e <=> a*2^-e ? m*b, as b > 0
+        final BigInteger scaledMantissa = BigInteger.valueOf(signum * mantissa).multiply(denominator);
+        return exponent >= 0
+                ? numerator.compareTo(scaledMantissa.shiftLeft(exponent))
+                : numerator.shiftLeft(-exponent).compareTo(scaledMantissa);
+    }
+
     /**
      * Compares this {@code Rational} with the specified {@code Object} for equality.
      *
@@ -644,6 +1449,30 @@ public final class Rational extends Number implements Comparable<Rational> {
     public boolean le(final @NotNull Rational val) {
         return compareTo(val) <= 0;
     }
+
+    /**
+     * Sorts the specified array into ascending numerical order, like {@code Arrays.sort(vals)} but faster on large
+     * arrays.
+     *
+     * @implNote Each value is first approximated by a {@code double} interval, and the array is sorted on these
+     * primitive keys. Only values too close to each other to be ordered by their approximations are compared with
+     * {@code compareTo}. Unlike {@code Arrays.sort}, this sort is not stable: equal values, like {@code 1/2} and
+     * {@code 2/4}, may be in any order.
+     * @param vals the array to be sorted.
+     */
+    public static void sort(final @NotNull Rational[] vals) {
+        new KeyedRationals(vals, false).sort();
+    }
+
+    /**
+     * Same as {@link #sort(Rational[])}, with approximations, sorts and comparisons computed in parallel in the common
+     * {@code ForkJoinPool}, like {@code Arrays.parallelSort}.
+     *
+     * @param vals the array to be sorted.
+     */
+    public static void parallelSort(final @NotNull Rational[] vals) {
+        new KeyedRationals(vals, true).sort();
+    }
     // endregion
 
     // region Statistics
@@ -740,6 +1569,37 @@ public final class Rational extends Number implements Comparable<Rational> {
         return sum(vals).divide(Rational.of(vals.size()));
     }
 
+    /**
+     * Compute the weighted average of the {@code Rational}’s {@code List} provided:
+     * {@code sum(vals[i] * weights[i]) / sum(weights)}.
+     *
+     * @implNote Like {@link #dot(List, List)}, both sums are accumulated on a common denominator, in a single pass
+     * over the values and the weights.
+     * @throws ArithmeticException when the lists have different sizes, or when the sum of the weights is 0.
+     * @param vals the values to average.
+     * @param weights the weights of the values, in the same order.
+     * @return the weighted average, in canonical form.
+     */
+    public static @NotNull Rational weightedAverage(
+            final @NotNull List<Rational> vals, final @NotNull List<Rational> weights) {
+        if (vals.size() != weights.size()) {
+            throw new ArithmeticException("Cannot compute the weighted average of lists of different sizes.");
+        }
+        final RationalAccumulator weightedSum = new RationalAccumulator();
+        final RationalAccumulator totalWeight = new RationalAccumulator();
+        final Iterator<Rational> weightIterator = weights.iterator();
+        for (Rational val : vals) {
+            final Rational weight = weightIterator.next();
+            weightedSum.addProduct(val, weight);
+            totalWeight.add(weight);
+        }
+        final Rational total = totalWeight.toRational();
+        if (total.signum() == 0) {
+            throw new ArithmeticException("Cannot compute a weighted average with a sum of weights of 0.");
+        }
+        return weightedSum.toRational().divide(total).canonicalForm();
+    }
+
     /**
      * Compute the median value of the  {@code Rational}’s {@code Collection} provided.
      *
@@ -751,12 +1611,218 @@ public final class Rational extends Number implements Comparable<Rational> {
         if (vals.size() == 0) {
             throw new ArithmeticException("Cannot compute the median of empty set.");
         }
-        final List<Rational> sorted = new ArrayList<>(vals);
-        Collections.sort(sorted);
-        final int middleIndex = vals.size() / 2;
-        return vals.size() % 2 == 0
-                ? sorted.get(middleIndex - 1).add(sorted.get(middleIndex)).divide(Rational.of(2))
-                : sorted.get(middleIndex);
+        return quantile(vals, Rational.of(1, 2));
+    }
+
+    /**
+     * Compute the population variance of the {@code Rational}’s {@code Collection} provided:
+     * {@code sum((x - mean)^2) / size}.
+     *
+     * @implNote The variance is computed in one pass, from the sums of the values and of their squares.
+     * @throws ArithmeticException when {@code vals} is empty
+     * @param vals a {@code Rational}’s {@code Collection} to compute the variance.
+     * @return the exact variance of the provided collection, in canonical form.
+     */
+    public static @NotNull Rational variance(final @NotNull Collection<Rational> vals) {
+        return powerSums(vals).variance();
+    }
+
+    /**
+     * Compute the sample variance of the {@code Rational}’s {@code Collection} provided:
+     * {@code sum((x - mean)^2) / (size - 1)}.
+     *
+     * @implNote The variance is computed in one pass, from the sums of the values and of their squares.
+     * @throws ArithmeticException when {@code vals} has less than 2 values
+     * @param vals a {@code Rational}’s {@code Collection} to compute the sample variance.
+     * @return the exact sample variance of the provided collection, in canonical form.
+     */
+    public static @NotNull Rational sampleVariance(final @NotNull Collection<Rational> vals) {
+        return powerSums(vals).sampleVariance();
+    }
+
+    /**
+     * Compute the population standard deviation of the {@code Rational}’s {@code Collection} provided, the square root
+     * of its variance, bounded according to the context settings.
+     *
+     * @throws ArithmeticException when {@code vals} is empty, or when the context is unlimited and the square root
+     * of the variance is irrational
+     * @param vals a {@code Rational}’s {@code Collection} to compute the standard deviation.
+     * @param context the bounds to apply on the result.
+     * @return the standard deviation of the provided collection.
+     * @see #sqrt(RationalContext)
+     */
+    public static @NotNull Rational standardDeviation(
+            final @NotNull Collection<Rational> vals, final @NotNull RationalContext context) {
+        return variance(vals).sqrt(context);
+    }
+
+    /**
+     * Compute the sample standard deviation of the {@code Rational}’s {@code Collection} provided, the square root of
+     * its sample variance, bounded according to the context settings.
+     *
+     * @throws ArithmeticException when {@code vals} has less than 2 values, or when the context is unlimited and the
+     * square root of the variance is irrational
+     * @param vals a {@code Rational}’s {@code Collection} to compute the standard deviation.
+     * @param context the bounds to apply on the result.
+     * @return the sample standard deviation of the provided collection.
+     * @see #sqrt(RationalContext)
+     */
+    public static @NotNull Rational sampleStandardDeviation(
+            final @NotNull Collection<Rational> vals, final @NotNull RationalContext context) {
+        return sampleVariance(vals).sqrt(context);
+    }
+
+    /**
+     * Compute the population covariance of two {@code Rational}’s {@code List} of the same size:
+     * {@code sum((x - mean(x)) * (y - mean(y))) / size}.
+     *
+     * @implNote The covariance is computed in one pass. See {@link RationalRegression} for the slope and the
+     * coefficient of determination of the same points.
+     * @throws ArithmeticException when the lists are empty or have different sizes
+     * @param xs the first values.
+     * @param ys the second values, in the same order.
+     * @return the exact covariance of the provided lists, in canonical form.
+     */
+    public static @NotNull Rational covariance(final @NotNull List<Rational> xs, final @NotNull List<Rational> ys) {
+        if (xs.size() != ys.size()) {
+            throw new ArithmeticException("Cannot compute the covariance of lists of different sizes.");
+        }
+        final RationalRegression regression = new RationalRegression();
+        for (int i = 0; i < xs.size(); i++) {
+            regression.accept(xs.get(i), ys.get(i));
+        }
+        return regression.getCovariance();
+    }
+
+    private static @NotNull PowerSums powerSums(final @NotNull Collection<Rational> vals) {
+        final PowerSums sums = new PowerSums();
+        for (final Rational val : vals) {
+            sums.accept(val);
+        }
+        return sums;
+    }
+
+    /**
+     * Compute the quantile {@code p} of the {@code Rational}’s {@code Collection} provided, with linear interpolation
+     * between the closest values: with {@code x} the sorted values and {@code h = (size - 1) * p}, the quantile is
+     * {@code x[floor(h)] + (h - floor(h)) * (x[floor(h) + 1] - x[floor(h)])}. So the quantile {@code 1/2} is the
+     * median, {@code 0} the min and {@code 1} the max.
+     *
+     * @implNote The values are not sorted, but selected in linear time on average (introselect), and most comparisons
+     * use cheap approximations of the values instead of {@code compareTo}.
+     * @throws ArithmeticException when {@code vals} is empty, or when {@code p} is not between 0 and 1.
+     * @param vals a {@code Rational}’s {@code Collection} to compute the quantile.
+     * @param p the quantile to compute, between 0 and 1, like {@code 95/100} for the 95th percentile.
+     * @return the quantile {@code p} of the provided collection.
+     */
+    public static @NotNull Rational quantile(final @NotNull Collection<Rational> vals, final @NotNull Rational p) {
+        return quantiles(vals, p).get(0);
+    }
+
+    /**
+     * Compute many quantiles of the {@code Rational}’s {@code Collection} provided, in one pass. See
+     * {@link #quantile(Collection, Rational)} for the definition of a quantile.
+     *
+     * @throws ArithmeticException when {@code vals} is empty, or when any {@code p} is not between 0 and 1.
+     * @param vals a {@code Rational}’s {@code Collection} to compute the quantiles.
+     * @param ps the quantiles to compute, between 0 and 1.
+     * @return the quantiles of the provided collection, in the order of {@code ps}.
+     */
+    public static @NotNull List<Rational> quantiles(
+            final @NotNull Collection<Rational> vals, final @NotNull Rational... ps) {
+        return quantiles(new KeyedRationals(vals, false), ps);
+    }
+
+    /**
+     * Same as {@link #quantiles(Collection, Rational...)}, for large collections: approximations of the values and
+     * independent selections are computed in parallel, in the common {@code ForkJoinPool}.
+     *
+     * @throws ArithmeticException when {@code vals} is empty, or when any {@code p} is not between 0 and 1.
+     * @param vals a {@code Rational}’s {@code Collection} to compute the quantiles.
+     * @param ps the quantiles to compute, between 0 and 1.
+     * @return the quantiles of the provided collection, in the order of {@code ps}.
+     */
+    public static @NotNull List<Rational> parallelQuantiles(
+            final @NotNull Collection<Rational> vals, final @NotNull Rational... ps) {
+        return quantiles(new KeyedRationals(vals, true), ps);
+    }
+
+    private static @NotNull List<Rational> quantiles(
+            final @NotNull KeyedRationals keyed, final @NotNull Rational... ps) {
+        final int size = keyed.size();
+        if (size == 0) {
+            throw new ArithmeticException("Cannot compute a quantile of empty set.");
+        }
+        final Rational[] hs = new Rational[ps.length];
+        final int[] lowIndexes = new int[ps.length];
+        final int[] positions = new int[2 * ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            if (ps[i].signum() < 0 || ps[i].compareTo(ONE) > 0) {
+                throw new ArithmeticException("Quantiles must be between 0 and 1.");
+            }
+            hs[i] = Rational.of(size - 1).multiply(ps[i]);
+            lowIndexes[i] = hs[i].numerator.divide(hs[i].denominator).intValue();
+            positions[2 * i] = lowIndexes[i];
+            positions[2 * i + 1] = Math.min(lowIndexes[i] + 1, size - 1);
+        }
+        keyed.select(Arrays.stream(positions).sorted().distinct().toArray());
+        final List<Rational> quantiles = new ArrayList<>(ps.length);
+        for (int i = 0; i < ps.length; i++) {
+            final Rational low = keyed.values[lowIndexes[i]];
+            final Rational fraction = hs[i].subtract(Rational.of(lowIndexes[i]));
+            quantiles.add(
+                    fraction.signum() == 0
+                            ? low
+                            : low.add(fraction.multiply(keyed.values[lowIndexes[i] + 1].subtract(low))));
+        }
+        return quantiles;
+    }
+
+    /**
+     * The {@code k} largest {@code Rational} in the {@code Collection} provided.
+     *
+     * @implNote The values are selected in linear time on average, and only the {@code k} largest ones are sorted.
+     * @throws ArithmeticException when {@code k} is negative.
+     * @param vals a {@code Rational}’s {@code Collection} to find the largest values.
+     * @param k the count of values to return.
+     * @return the {@code k} largest values (or all values if there are less than {@code k}), largest first.
+     */
+    public static @NotNull List<Rational> topK(final @NotNull Collection<Rational> vals, final int k) {
+        final List<Rational> top = bottomOrTopK(vals, k, true);
+        Collections.reverse(top);
+        return top;
+    }
+
+    /**
+     * The {@code k} smallest {@code Rational} in the {@code Collection} provided.
+     *
+     * @implNote The values are selected in linear time on average, and only the {@code k} smallest ones are sorted.
+     * @throws ArithmeticException when {@code k} is negative.
+     * @param vals a {@code Rational}’s {@code Collection} to find the smallest values.
+     * @param k the count of values to return.
+     * @return the {@code k} smallest values (or all values if there are less than {@code k}), smallest first.
+     */
+    public static @NotNull List<Rational> bottomK(final @NotNull Collection<Rational> vals, final int k) {
+        return bottomOrTopK(vals, k, false);
+    }
+
+    private static @NotNull List<Rational> bottomOrTopK(
+            final @NotNull Collection<Rational> vals, final int k, final boolean top) {
+        if (k < 0) {
+            throw new ArithmeticException("Cannot select a negative count of values.");
+        }
+        final KeyedRationals keyed = new KeyedRationals(vals, false);
+        final int size = keyed.size();
+        final int count = Math.min(k, size);
+        if (count == 0) {
+            return new ArrayList<>();
+        }
+        // Sorted range: [from, to)
+        final int from = top ? size - count : 0;
+        final int to = top ? size : count;
+        keyed.select(new int[] {top ? from : to - 1});
+        keyed.sort(from, to);
+        return new ArrayList<>(Arrays.asList(keyed.values).subList(from, to));
     }
     // endregion
 
@@ -897,6 +1963,46 @@ public final class Rational extends Number implements Comparable<Rational> {
         return epsilonFloor.le(epsilonCeil) ? approxFloor : approxCeil;
     }
 
+    /**
+     * Returns this Rational bounded according to the provided context: if the context asks for canonical forms, this
+     * Rational is first reduced to its canonical form. Then, if its denominator is larger than the maximum denominator
+     * {@code D} of the context, it’s rounded to the fraction {@code k/D} according to the rounding mode of the context.
+     * The result is flagged as approximate if and only if this Rational is approximate or a rounding has been done.
+     *
+     * @param context the bounds to apply.
+     * @return this Rational bounded according to the provided context, or {@code this} if there is nothing to do.
+     * @throws ArithmeticException if the rounding mode of the context is {@link RoundingMode#UNNECESSARY} and a
+     * rounding is required.
+     * @see RationalContext
+     */
+    public @NotNull Rational round(final @NotNull RationalContext context) {
+        final Rational value = context.isCanonicalForm() ? canonicalForm() : this;
+        final BigInteger maxDenominator = context.getMaxDenominator();
+        if (maxDenominator == null || value.denominator.compareTo(maxDenominator) <= 0) {
+            return value;
+        }
+        final BigInteger rounded = new BigDecimal(value.numerator.multiply(maxDenominator))
+                .divide(new BigDecimal(value.denominator), 0, context.getRoundingMode())
+                .toBigIntegerExact();
+        // The rounded value may be exact, for instance if the denominator of a non canonical form is a multiple of D
+        final boolean roundingDone =
+                !rounded.multiply(value.denominator).equals(value.numerator.multiply(maxDenominator));
+        final Rational result = of(rounded, maxDenominator, approximate || roundingDone);
+        return context.isCanonicalForm() ? result.canonicalForm() : result;
+    }
+
+    /**
+     * Starts a deferred expression with this value, like {@code Rational.expr(a).multiply(b).add(c)}, that is
+     * optimized as a whole before evaluation.
+     *
+     * @param val the first value of the expression.
+     * @return the constant expression {@code val}.
+     * @see RationalExpression
+     */
+    public static @NotNull RationalExpression expr(final @NotNull Rational val) {
+        return RationalExpression.of(val);
+    }
+
     @Override
     public String toString() {
         String out = stringCache;
@@ -0,0 +1,201 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Mutable exact sum, for accumulations of many values without allocating a {@code Rational} per step.
+ *
+ * <p>The denominator of the sum is the least common multiple of the denominators of the added values, instead of their
+ * product like with {@code add}: sums of values with the same or related denominators (prices, percentages…) stay
+ * small, and adding a value whose denominator divides the current one costs a single product.
+ *
+ * <p>The sum is kept in {@code long} as long as it fits, and in {@code BigInteger} after the first overflow.
+ *
+ * <p>Not thread safe: each thread accumulates in its own instance, and instances are merged with {@code add}.
+ */
+final class RationalAccumulator {
+
+    // Small sum, used while big is null
+    private long smallNumerator;
+    private long smallDenominator = 1;
+    // Big sum, null until the small sum overflows
+    private @Nullable BigInteger numerator;
+    private @Nullable BigInteger denominator;
+    private boolean approximate;
+
+    void add(final @NotNull Rational val) {
+        add(val.getNumerator(), val.getDenominator(), val.isApproximate());
+    }
+
+    void add(final long val) {
+        addLong(val, 1);
+    }
+
+    void add(final @NotNull RationalAccumulator val) {
+        if (val.numerator == null) {
+            approximate |= val.approximate;
+            addLong(val.smallNumerator, val.smallDenominator);
+        } else {
+            add(val.numerator, val.denominator, val.approximate);
+        }
+    }
+
+    /**
+     * Adds the product of two values, without building it.
+     */
+    void addProduct(final @NotNull Rational a, final @NotNull Rational b) {
+        approximate |= a.isApproximate() || b.isApproximate();
+        final BigInteger aNumerator = a.getNumerator();
+        final BigInteger aDenominator = a.getDenominator();
+        final BigInteger bNumerator = b.getNumerator();
+        final BigInteger bDenominator = b.getDenominator();
+        if (numerator == null
+                && aNumerator.bitLength() < Integer.SIZE
+                && aDenominator.bitLength() < Integer.SIZE
+                && bNumerator.bitLength() < Integer.SIZE
+                && bDenominator.bitLength() < Integer.SIZE) {
+            // Products of 31-bit integers fit in a long
+            addLong(
+                    aNumerator.longValue() * bNumerator.longValue(),
+                    aDenominator.longValue() * bDenominator.longValue());
+        } else {
+            add(aNumerator.multiply(bNumerator), aDenominator.multiply(bDenominator), false);
+        }
+    }
+
+    void add(
+            final @NotNull BigInteger valNumerator, final @NotNull BigInteger valDenominator, final boolean valApprox) {
+        approximate |= valApprox;
+        if (numerator == null && valNumerator.bitLength() < Long.SIZE && valDenominator.bitLength() < Long.SIZE) {
+            addLong(valNumerator.longValue(), valDenominator.longValue());
+        } else {
+            addBig(valNumerator, valDenominator);
+        }
+    }
+
+    private void addLong(final long valNumerator, final long valDenominator) {
+        if (numerator == null) {
+            try {
+                if (valNumerator == 0) {
+                    return;
+                }
+                if (valDenominator == smallDenominator) {
+                    smallNumerator = Math.addExact(smallNumerator, valNumerator);
+                    return;
+                }
+                final long gcd = gcd(smallDenominator, valDenominator);
+                final long factor = valDenominator / gcd;
+                // Fields are updated only if the whole addition succeeds
+                final long newNumerator = Math.addExact(
+                        Math.multiplyExact(smallNumerator, factor),
+                        Math.multiplyExact(valNumerator, smallDenominator / gcd));
+                smallDenominator = Math.multiplyExact(smallDenominator, factor);
+                smallNumerator = newNumerator;
+                return;
+            } catch (ArithmeticException e) {
+                // Overflow: fall back to BigInteger
+            }
+        }
+        addBig(BigInteger.valueOf(valNumerator), BigInteger.valueOf(valDenominator));
+    }
+
+    private void addBig(final @NotNull BigInteger valNumerator, final @NotNull BigInteger valDenominator) {
+        if (numerator == null) {
+            numerator = BigInteger.valueOf(smallNumerator);
+            denominator = BigInteger.valueOf(smallDenominator);
+        }
+        if (valNumerator.signum() == 0) {
+            return;
+        }
+        if (denominator.equals(valDenominator)) {
+            numerator = numerator.add(valNumerator);
+            return;
+        }
+        // n/d + vn/vd = (n * (vd/g) + vn * (d/g)) / lcm(d, vd), with g = gcd(d, vd)
+        final BigInteger gcd = denominator.gcd(valDenominator);
+        final BigInteger factor = valDenominator.divide(gcd);
+        numerator = numerator.multiply(factor).add(valNumerator.multiply(denominator.divide(gcd)));
+        denominator = denominator.multiply(factor);
+    }
+
+    /**
+     * Subtracts a value. The approximate flag is not changed: the caller tracks it, if values are removed.
+     */
+    void subtract(final @NotNull Rational val) {
+        add(val.getNumerator().negate(), val.getDenominator(), false);
+    }
+
+    /**
+     * Reduces the sum to its canonical form, so its denominator is not the least common multiple of all the
+     * denominators added and subtracted so far, but only the one required by the current sum.
+     */
+    void canonicalize() {
+        if (numerator == null) {
+            final long gcd = Math.abs(gcd(smallNumerator, smallDenominator));
+            smallNumerator /= gcd;
+            smallDenominator /= gcd;
+            return;
+        }
+        final BigInteger gcd = numerator.gcd(denominator);
+        if (gcd.bitLength() > 1) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        if (numerator.bitLength() < Long.SIZE && denominator.bitLength() < Long.SIZE) {
+            // Back to the fast path
+            smallNumerator = numerator.longValue();
+            smallDenominator = denominator.longValue();
+            numerator = null;
+            denominator = null;
+        }
+    }
+
+    void reset() {
+        smallNumerator = 0;
+        smallDenominator = 1;
+        numerator = null;
+        denominator = null;
+        approximate = false;
+    }
+
+    /**
+     * @return the sum, whose denominator is the least common multiple of the denominators of the values. It is not
+     * reduced.
+     */
+    @NotNull
+    Rational toRational() {
+        return toRational(approximate);
+    }
+
+    /**
+     * @param approximate the approximate flag of the result, instead of the one of the accumulator.
+     */
+    @NotNull
+    Rational toRational(final boolean approximate) {
+        if (numerator == null) {
+            if (smallNumerator == 0) {
+                return approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+            }
+            return approximate
+                    ? Rational.approximateOf(smallNumerator, smallDenominator)
+                    : Rational.of(smallNumerator, smallDenominator);
+        }
+        if (numerator.signum() == 0) {
+            return approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        return approximate ? Rational.approximateOf(numerator, denominator) : Rational.of(numerator, denominator);
+    }
+
+    private static long gcd(final long a, final long b) {
+        long x = a;
+        long y = b;
+        while (y != 0) {
+            final long t = x % y;
+            x = y;
+            y = t;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,179 @@
+package fr.spacefox.jrational;
+
+import java.util.concurrent.locks.ReentrantLock;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Thread-safe exact sum, for totals updated by many threads, like {@code LongAdder} for {@code long}.
+ *
+ * <p>With an {@code AtomicReference<Rational>} and a compare-and-set loop, each failed update under contention repeats
+ * a whole addition of large integers, and with {@code synchronized} all threads wait for each other. Here the sum is
+ * split in cells, one per processor: each thread adds in its own cell, and moves to another one when it meets
+ * contention, so threads rarely wait. {@code sum()} adds the cells together.
+ *
+ * <p>Cells accumulate like {@code RationalCollectors.summing()}: in {@code long} as long as the numerators and the
+ * common denominator fit, and in {@code BigInteger} otherwise. The denominator of a cell is the least common multiple
+ * of the denominators of the values added to it, so sums of values with the same or related denominators stay small.
+ *
+ * <p>Like {@code LongAdder}, {@code sum()} is not an atomic snapshot: additions concurrent with the computation of the
+ * sum may or may not be included.
+ */
+public final class RationalAdder {
+
+    // Attempts on other cells before waiting for the lock of a cell
+    private static final int MAX_ATTEMPTS = 4;
+
+    // Per-thread pseudo-random index of the cell, changed on contention
+    private static final ThreadLocal<int[]> PROBE =
+            ThreadLocal.withInitial(() -> new int[] {mix((int) Thread.currentThread().getId())});
+
+    private final @NotNull Cell[] cells;
+
+    /**
+     * Creates a new adder with initial sum of zero.
+     */
+    public RationalAdder() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param minCells the minimum count of cells, rounded up to a power of two.
+     */
+    RationalAdder(final int minCells) {
+        // Power of two, so the index of a cell is a mask of the probe
+        final int size = minCells <= 1 ? 1 : Integer.highestOneBit(minCells - 1) << 1;
+        cells = new Cell[size];
+        for (int i = 0; i < size; i++) {
+            cells[i] = new Cell();
+        }
+    }
+
+    /**
+     * Adds the given value.
+     *
+     * @param val the value to add.
+     */
+    public void add(final @NotNull Rational val) {
+        final Cell cell = lockCell();
+        try {
+            cell.sum.add(val);
+        } finally {
+            cell.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the given integer value.
+     *
+     * @param val the value to add.
+     */
+    public void add(final long val) {
+        final Cell cell = lockCell();
+        try {
+            cell.sum.add(val);
+        } finally {
+            cell.lock.unlock();
+        }
+    }
+
+    // Locks the cell of the current thread, and moves the thread to other cells on contention
+    private @NotNull Cell lockCell() {
+        final int[] probe = PROBE.get();
+        final int mask = cells.length - 1;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            final Cell cell = cells[probe[0] & mask];
+            if (cell.lock.tryLock()) {
+                return cell;
+            }
+            probe[0] = mix(probe[0]);
+        }
+        final Cell cell = cells[probe[0] & mask];
+        cell.lock.lock();
+        return cell;
+    }
+
+    /**
+     * Returns the current sum. It is exact, but not reduced.
+     *
+     * @return the sum.
+     */
+    public @NotNull Rational sum() {
+        return sum(false);
+    }
+
+    /**
+     * Returns the current sum and resets the cells to zero. Additions concurrent with this call are either included in
+     * the result or kept for the next sum, never lost.
+     *
+     * @return the sum before the reset.
+     */
+    public @NotNull Rational sumThenReset() {
+        return sum(true);
+    }
+
+    /**
+     * Resets the sum to zero. Only useful when there are no concurrent additions.
+     */
+    public void reset() {
+        sum(true);
+    }
+
+    private @NotNull Rational sum(final boolean reset) {
+        final Rational[] values = new Rational[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            final Cell cell = cells[i];
+            cell.lock.lock();
+            try {
+                values[i] = cell.sum.toRational();
+                if (reset) {
+                    cell.sum.reset();
+                }
+            } finally {
+                cell.lock.unlock();
+            }
+        }
+        return sum(values, 0, values.length);
+    }
+
+    // Balanced reduction, so the additions have operands of similar sizes
+    private static @NotNull Rational sum(final @NotNull Rational[] values, final int from, final int to) {
+        if (to - from == 1) {
+            return values[from];
+        }
+        final int middle = (from + to) >>> 1;
+        final RationalAccumulator accumulator = new RationalAccumulator();
+        accumulator.add(sum(values, from, middle));
+        accumulator.add(sum(values, middle, to));
+        return accumulator.toRational();
+    }
+
+    @Override
+    public String toString() {
+        return sum().toString();
+    }
+
+    // Xorshift, like the probes of LongAdder
+    private static int mix(final int probe) {
+        int value = probe == 0 ? 0x9E3779B9 : probe;
+        value ^= value << 13;
+        value ^= value >>> 17;
+        value ^= value << 5;
+        return value;
+    }
+
+    /**
+     * One part of the sum, guarded by its lock.
+     *
+     * <p>The lock and the accumulator are the objects written by the threads, and they are allocated right after their
+     * cell. So the padding of each cell keeps them away from those of the previous cell, on other cache lines, like the
+     * {@code @Contended} cells of {@code LongAdder}.
+     */
+    @SuppressWarnings("unused")
+    private static final class Cell {
+        // 128 bytes: two cache lines, as adjacent lines are often prefetched together
+        private long p0, p1, p2, p3, p4, p5, p6, p7;
+        private long q0, q1, q2, q3, q4, q5, q6, q7;
+        private final @NotNull ReentrantLock lock = new ReentrantLock();
+        private final @NotNull RationalAccumulator sum = new RationalAccumulator();
+    }
+}
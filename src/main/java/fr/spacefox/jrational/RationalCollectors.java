@@ -0,0 +1,223 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@code Collector} implementations for streams of {@code Rational}, like {@code Collectors.summingDouble} and its
+ * siblings for {@code double}.
+ *
+ * <p>Collectors accumulate in mutable containers, so a collection does not allocate an intermediate {@code Rational}
+ * per value, and the containers of the threads of parallel streams are merged at the end. Sums are computed on the
+ * least common multiple of the denominators, and products as balanced products, so large collections stay cheap.
+ *
+ * <p>All collectors are exact. The result is approximate if any collected value is approximate.
+ */
+public final class RationalCollectors {
+
+    private RationalCollectors() {
+        // Utility class
+    }
+
+    /**
+     * Returns a {@code Collector} that produces the sum of the collected values, or 0 if there are none.
+     *
+     * <p>The denominator of the sum is the least common multiple of the denominators of the values. It is not reduced.
+     *
+     * @return a {@code Collector} that produces the sum of the collected values.
+     */
+    public static @NotNull Collector<Rational, ?, Rational> summing() {
+        return Collector.of(
+                RationalAccumulator::new,
+                RationalAccumulator::add,
+                (left, right) -> {
+                    left.add(right);
+                    return left;
+                },
+                RationalAccumulator::toRational,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that produces the exact average of the collected values, in canonical form.
+     *
+     * <p>Like {@code Rational.average}, the collection fails with an {@code ArithmeticException} if there are no
+     * values.
+     *
+     * @return a {@code Collector} that produces the average of the collected values.
+     */
+    public static @NotNull Collector<Rational, ?, Rational> averaging() {
+        return Collector.of(
+                Average::new,
+                Average::add,
+                (left, right) -> {
+                    left.count += right.count;
+                    left.sum.add(right.sum);
+                    return left;
+                },
+                Average::toRational,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that produces the product of the collected values, or 1 if there are none.
+     *
+     * <p>Like {@code Rational.product}, the product is not reduced.
+     *
+     * @return a {@code Collector} that produces the product of the collected values.
+     */
+    public static @NotNull Collector<Rational, ?, Rational> product() {
+        return Collector.of(
+                Product::new,
+                Product::multiply,
+                (left, right) -> {
+                    left.multiply(right);
+                    return left;
+                },
+                Product::toRational,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a {@code Collector} that produces the count, sum, min, max and average of the collected values, in one
+     * pass.
+     *
+     * @return a {@code Collector} that produces the statistics of the collected values.
+     */
+    public static @NotNull Collector<Rational, ?, RationalSummaryStatistics> summarizing() {
+        return Collector.of(
+                RationalSummaryStatistics::new,
+                RationalSummaryStatistics::accept,
+                (left, right) -> {
+                    left.combine(right);
+                    return left;
+                },
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Returns a {@code Collector} that produces the exact population variance of the collected values, in canonical
+     * form. Like {@code Rational.variance}, the collection fails with an {@code ArithmeticException} if there are no
+     * values.
+     *
+     * @return a {@code Collector} that produces the variance of the collected values.
+     */
+    public static @NotNull Collector<Rational, ?, Rational> variance() {
+        return powerSums(PowerSums::variance);
+    }
+
+    /**
+     * Returns a {@code Collector} that produces the exact sample variance of the collected values, in canonical form.
+     * Like {@code Rational.sampleVariance}, the collection fails with an {@code ArithmeticException} if there are less
+     * than 2 values.
+     *
+     * @return a {@code Collector} that produces the sample variance of the collected values.
+     */
+    public static @NotNull Collector<Rational, ?, Rational> sampleVariance() {
+        return powerSums(PowerSums::sampleVariance);
+    }
+
+    /**
+     * Returns a {@code Collector} that produces the linear regression of points built from the collected elements.
+     *
+     * @param x the function that extracts the abscissa of the point of an element.
+     * @param y the function that extracts the ordinate of the point of an element.
+     * @param <T> the type of the elements.
+     * @return a {@code Collector} that produces the regression of the points.
+     */
+    public static <T> @NotNull Collector<T, ?, RationalRegression> regression(
+            final @NotNull Function<? super T, Rational> x, final @NotNull Function<? super T, Rational> y) {
+        return Collector.of(
+                RationalRegression::new,
+                (regression, element) -> regression.accept(x.apply(element), y.apply(element)),
+                (left, right) -> {
+                    left.combine(right);
+                    return left;
+                },
+                Collector.Characteristics.IDENTITY_FINISH,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    private static @NotNull Collector<Rational, ?, Rational> powerSums(
+            final @NotNull Function<PowerSums, Rational> finisher) {
+        return Collector.of(
+                PowerSums::new,
+                PowerSums::accept,
+                (left, right) -> {
+                    left.combine(right);
+                    return left;
+                },
+                finisher,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    private static final class Average {
+        private long count;
+        private final @NotNull RationalAccumulator sum = new RationalAccumulator();
+
+        private void add(final @NotNull Rational val) {
+            count++;
+            sum.add(val);
+        }
+
+        private @NotNull Rational toRational() {
+            if (count == 0) {
+                throw new ArithmeticException("Cannot compute the average of empty set.");
+            }
+            return sum.toRational().divide(Rational.of(count)).canonicalForm();
+        }
+    }
+
+    /**
+     * Balanced product: {@code levels} is a stack of partial products like a binary counter, where each partial
+     * product is the product of twice as many values as the next one. So each multiplication has operands of similar
+     * sizes, and only {@code log2(count)} partial products are kept.
+     */
+    private static final class Product {
+        // [numerator, denominator] of each partial product, the largest first
+        private final @NotNull List<BigInteger[]> levels = new ArrayList<>();
+        private final @NotNull List<Long> counts = new ArrayList<>();
+        private boolean approximate;
+
+        private void multiply(final @NotNull Rational val) {
+            approximate |= val.isApproximate();
+            push(new BigInteger[] {val.getNumerator(), val.getDenominator()}, 1);
+        }
+
+        private void multiply(final @NotNull Product other) {
+            approximate |= other.approximate;
+            for (int i = 0; i < other.levels.size(); i++) {
+                push(other.levels.get(i), other.counts.get(i));
+            }
+        }
+
+        private void push(final @NotNull BigInteger[] factor, final long count) {
+            BigInteger[] current = factor;
+            long currentCount = count;
+            int last = levels.size() - 1;
+            while (last >= 0 && counts.get(last) <= currentCount) {
+                final BigInteger[] previous = levels.remove(last);
+                currentCount += counts.remove(last);
+                current = new BigInteger[] {previous[0].multiply(current[0]), previous[1].multiply(current[1])};
+                last--;
+            }
+            levels.add(current);
+            counts.add(currentCount);
+        }
+
+        private @NotNull Rational toRational() {
+            BigInteger numerator = BigInteger.ONE;
+            BigInteger denominator = BigInteger.ONE;
+            // Smallest partial products first
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                numerator = levels.get(i)[0].multiply(numerator);
+                denominator = levels.get(i)[1].multiply(denominator);
+            }
+            return approximate ? Rational.approximateOf(numerator, denominator) : Rational.of(numerator, denominator);
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package fr.spacefox.jrational;
 
 import java.math.BigInteger;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Some constants expressed as a {@code Rational} with enough precision to not be modified by {@code approximate()}.
+ *
+ * <p>Constants are also available at any precision with the {@code pi(bits)}, {@code e(bits)}, {@code ln2(bits)} and
+ * {@code sqrt2(bits)} methods. These values are computed on demand, and the most precise value computed so far is
+ * cached: lower precisions are derived from the cached value without any new computation.
  */
 public final class RationalConstants {
 
@@ -27,7 +34,196 @@ public final class RationalConstants {
             new BigInteger("924983374546220337150911035843336795079"),
             new BigInteger("340282366920938463463374607431768211456"));
 
+    private static final CachedConstant PI_CACHE = new CachedConstant(RationalConstants::computePi);
+    private static final CachedConstant E_CACHE = new CachedConstant(RationalConstants::computeE);
+    private static final CachedConstant LN2_CACHE = new CachedConstant(RationalConstants::computeLn2);
+    private static final CachedConstant SQRT2_CACHE =
+            new CachedConstant(bits -> Rational.integerRoot(BigInteger.TWO.shiftLeft(2 * bits), 2));
+
+    // 640320^3 / 24, for Chudnovsky series
+    private static final BigInteger CHUDNOVSKY_Q = BigInteger.valueOf(10_939_058_860_032_000L);
+    // Each term of the Chudnovsky series adds log2(640320^3 / 1728) = 47.11… bits
+    private static final double CHUDNOVSKY_BITS_PER_TERM = 47.11;
+
+    // Extra bits kept in computations and in cached values, so rounding errors don’t reach the requested precision
+    private static final int GUARD_BITS = 32;
+
     private RationalConstants() {
         // Constant class cannot be instanced
     }
+
+    /**
+     * Returns pi, the ratio of the circumference of a circle to its diameter, with a precision of {@code bits} binary
+     * digits after the point: the result is {@code k/2^bits} (canonical form) with {@code |result - pi| < 2^-bits}.
+     *
+     * <p>Pi is computed with the Chudnovsky series, evaluated with binary splitting.
+     *
+     * @param bits the number of binary digits after the point.
+     * @return an approximation of pi, flagged as approximate.
+     * @throws ArithmeticException if {@code bits} is negative.
+     */
+    public static @NotNull Rational pi(final int bits) {
+        return PI_CACHE.get(bits);
+    }
+
+    /**
+     * Returns e, the base of the natural logarithms, with a precision of {@code bits} binary digits after the point:
+     * the result is {@code k/2^bits} (canonical form) with {@code |result - e| < 2^-bits}.
+     *
+     * <p>E is computed with the series {@code sum(1/k!)}, evaluated with binary splitting.
+     *
+     * @param bits the number of binary digits after the point.
+     * @return an approximation of e, flagged as approximate.
+     * @throws ArithmeticException if {@code bits} is negative.
+     */
+    public static @NotNull Rational e(final int bits) {
+        return E_CACHE.get(bits);
+    }
+
+    /**
+     * Returns the natural logarithm of 2 with a precision of {@code bits} binary digits after the point: the result is
+     * {@code k/2^bits} (canonical form) with {@code |result - ln(2)| < 2^-bits}.
+     *
+     * <p>ln(2) is computed with the Machin-like formula
+     * {@code ln(2) = 18 * atanh(1/26) - 2 * atanh(1/4801) + 8 * atanh(1/8749)}, where each {@code atanh} series is
+     * evaluated with binary splitting.
+     *
+     * @param bits the number of binary digits after the point.
+     * @return an approximation of ln(2), flagged as approximate.
+     * @throws ArithmeticException if {@code bits} is negative.
+     */
+    public static @NotNull Rational ln2(final int bits) {
+        return LN2_CACHE.get(bits);
+    }
+
+    /**
+     * Returns the square root of 2 with a precision of {@code bits} binary digits after the point: the result is
+     * {@code k/2^bits} (canonical form) with {@code |result - sqrt(2)| < 2^-bits}.
+     *
+     * @param bits the number of binary digits after the point.
+     * @return an approximation of the square root of 2, flagged as approximate.
+     * @throws ArithmeticException if {@code bits} is negative.
+     */
+    public static @NotNull Rational sqrt2(final int bits) {
+        return SQRT2_CACHE.get(bits);
+    }
+
+    // Computations of constants: each function returns an integer V with |V - constant * 2^bits| < 2
+
+    private static @NotNull BigInteger computePi(final int bits) {
+        // pi = 426880 * sqrt(10005) * Q / T
+        final long terms = (long) (bits / CHUDNOVSKY_BITS_PER_TERM) + 2;
+        final LongFunction<BigInteger> a = k -> BigInteger.valueOf(13_591_409L + 545_140_134L * k);
+        final LongFunction<BigInteger> p = k -> k == 0
+                ? BigInteger.ONE
+                : BigInteger.valueOf(-(6 * k - 5))
+                        .multiply(BigInteger.valueOf(2 * k - 1))
+                        .multiply(BigInteger.valueOf(6 * k - 1));
+        final LongFunction<BigInteger> q =
+                k -> k == 0 ? BigInteger.ONE : BigInteger.valueOf(k).pow(3).multiply(CHUDNOVSKY_Q);
+        final BinarySplitting.Result series = new BinarySplitting(a, null, p, q).evaluate(0, terms);
+
+        // Q / T only needs bits + guard bits of relative precision: drop the trailing bits of both before dividing.
+        final int workingBits = bits + GUARD_BITS;
+        final int truncation = Math.max(0, series.t.bitLength() - workingBits - GUARD_BITS);
+        final BigInteger ratio =
+                series.q.shiftRight(truncation).shiftLeft(workingBits).divide(series.t.shiftRight(truncation));
+        final BigInteger sqrt10005 = Rational.integerRoot(BigInteger.valueOf(10_005).shiftLeft(2 * workingBits), 2);
+        return BigInteger.valueOf(426_880).multiply(sqrt10005).multiply(ratio).shiftRight(workingBits + GUARD_BITS);
+    }
+
+    private static @NotNull BigInteger computeE(final int bits) {
+        // Enough terms to have n! > 2^(bits + 2)
+        long terms = 1;
+        double log2Factorial = 0;
+        while (log2Factorial <= bits + 2) {
+            log2Factorial += Math.log(terms) / Math.log(2);
+            terms++;
+        }
+        return new BinarySplitting(
+                        k -> BigInteger.ONE,
+                        null,
+                        k -> BigInteger.ONE,
+                        k -> k == 0 ? BigInteger.ONE : BigInteger.valueOf(k))
+                .evaluate(0, terms)
+                .scaledSum(bits);
+    }
+
+    private static @NotNull BigInteger computeLn2(final int bits) {
+        // ln(2) = 18 * atanh(1/26) - 2 * atanh(1/4801) + 8 * atanh(1/8749)
+        final int workingBits = bits + GUARD_BITS;
+        return BigInteger.valueOf(18)
+                .multiply(atanhOfInverse(26, workingBits))
+                .subtract(BigInteger.TWO.multiply(atanhOfInverse(4801, workingBits)))
+                .add(BigInteger.valueOf(8).multiply(atanhOfInverse(8749, workingBits)))
+                .shiftRight(GUARD_BITS);
+    }
+
+    /**
+     * Computes {@code floor(atanh(1/m) * 2^bits)}, with an error lower than 2, with the series
+     * {@code atanh(1/m) = sum(1 / ((2k+1) * m^(2k+1)))}.
+     */
+    static @NotNull BigInteger atanhOfInverse(final long m, final int bits) {
+        // Enough terms to have m^(2n + 1) > 2^(bits + 1)
+        final long terms = (long) ((bits + 1) / (2 * Math.log(m) / Math.log(2))) + 1;
+        final BigInteger bigM = BigInteger.valueOf(m);
+        final BigInteger mSquare = bigM.multiply(bigM);
+        return new BinarySplitting(
+                        k -> BigInteger.ONE,
+                        k -> BigInteger.valueOf(2 * k + 1),
+                        k -> BigInteger.ONE,
+                        k -> k == 0 ? bigM : mSquare)
+                .evaluate(0, terms)
+                .scaledSum(bits);
+    }
+
+    /**
+     * Cache of the most precise value computed so far for a constant.
+     *
+     * <p>The value is stored as an integer {@code V} with {@code |V - constant * 2^bits| < 2}. A request for a lower
+     * precision {@code b} is answered by rounding {@code V / 2^(bits - b)}, which is correct as long as enough guard
+     * bits are kept. A request for a higher precision computes a new value, at least 50% more precise than the
+     * previous one to amortize increasing requests. Computations are done under a lock, so concurrent requests share
+     * one computation.
+     */
+    private static final class CachedConstant {
+
+        private final @NotNull IntFunction<BigInteger> computation;
+        private volatile Cache cache;
+
+        private CachedConstant(final @NotNull IntFunction<BigInteger> computation) {
+            this.computation = computation;
+        }
+
+        private @NotNull Rational get(final int bits) {
+            if (bits < 0) {
+                throw new ArithmeticException("Number of bits must be >= 0.");
+            }
+            final int requiredBits = bits + GUARD_BITS;
+            Cache current = cache;
+            if (current == null || current.bits < requiredBits) {
+                synchronized (this) {
+                    current = cache;
+                    if (current == null || current.bits < requiredBits) {
+                        final int newBits = current == null
+                                ? requiredBits
+                                : Math.max(requiredBits, current.bits + current.bits / 2);
+                        current = new Cache(computation.apply(newBits), newBits);
+                        cache = current;
+                    }
+                }
+            }
+            return Rational.approximateOfBinary(current.value, current.bits, bits);
+        }
+    }
+
+    private static final class Cache {
+        private final @NotNull BigInteger value;
+        private final int bits;
+
+        private Cache(final @NotNull BigInteger value, final int bits) {
+            this.value = value;
+            this.bits = bits;
+        }
+    }
 }
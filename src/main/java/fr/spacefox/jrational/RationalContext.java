@@ -0,0 +1,181 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable objects which encapsulate the context settings which describe bounds for {@code Rational} arithmetic
+ * operators. This is the {@code Rational} equivalent of {@link java.math.MathContext}.
+ *
+ * <p>A context carries:
+ * <ul>
+ *     <li>A maximum denominator {@code D}. Any result whose denominator is larger than {@code D} is rounded to a
+ *     fraction {@code k/D}, so the absolute error is lower than {@code 1/D}. A context without maximum denominator
+ *     ({@link #UNLIMITED}) never rounds.</li>
+ *     <li>A {@link RoundingMode}, which gives the direction of the rounding of {@code k}.</li>
+ *     <li>A canonical form flag. When set, results are reduced to their canonical form before being bound, so a result
+ *     is only rounded when its irreducible form doesn’t fit the maximum denominator.</li>
+ *     <li>A parallel flag. When set, products of huge numerators and denominators are split in tasks computed in
+ *     parallel in the common {@code ForkJoinPool}, and the independent products of an operation are computed
+ *     concurrently. Results are the same, only faster on machines with several cores.</li>
+ * </ul>
+ *
+ * <p>Results are flagged as approximate if and only if a rounding has been done, or if an operand was already
+ * approximate.
+ *
+ * <p>Bounding every result of a long computation (iterative algorithms, simulations…) keeps the size of numerators and
+ * denominators, and therefore the cost of each step, constant.
+ *
+ * @see Rational#round(RationalContext)
+ * @see java.math.MathContext
+ */
+public final class RationalContext {
+
+    /**
+     * A context without any bound: results are neither rounded nor reduced to their canonical form. Operations in this
+     * context are the same as operations without context.
+     */
+    public static final RationalContext UNLIMITED = new RationalContext(null, RoundingMode.HALF_EVEN, false, false);
+
+    private final @Nullable BigInteger maxDenominator;
+    private final @NotNull RoundingMode roundingMode;
+    private final boolean canonicalForm;
+    private final boolean parallel;
+
+    private RationalContext(
+            final @Nullable BigInteger maxDenominator,
+            final @NotNull RoundingMode roundingMode,
+            final boolean canonicalForm,
+            final boolean parallel) {
+        this.maxDenominator = maxDenominator;
+        this.roundingMode = roundingMode;
+        this.canonicalForm = canonicalForm;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Builds a context whose results have a denominator {@code <= maxDenominator}, rounded with
+     * {@link RoundingMode#HALF_EVEN} and reduced to their canonical form.
+     *
+     * @param maxDenominator The maximum value for the denominator, included.
+     * @return the new context.
+     * @throws ArithmeticException if the {@code maxDenominator} is negative or zero.
+     */
+    public static @NotNull RationalContext ofMaxDenominator(final @NotNull BigInteger maxDenominator) {
+        if (maxDenominator.signum() <= 0) {
+            throw new ArithmeticException("Maximum denominator must be > 0.");
+        }
+        return new RationalContext(maxDenominator, RoundingMode.HALF_EVEN, true, false);
+    }
+
+    /**
+     * Builds a context whose results have a denominator {@code <= maxDenominator}, rounded with
+     * {@link RoundingMode#HALF_EVEN} and reduced to their canonical form.
+     *
+     * @param maxDenominator The maximum value for the denominator, included.
+     * @return the new context.
+     * @throws ArithmeticException if the {@code maxDenominator} is negative or zero.
+     */
+    public static @NotNull RationalContext ofMaxDenominator(final long maxDenominator) {
+        return ofMaxDenominator(BigInteger.valueOf(maxDenominator));
+    }
+
+    /**
+     * Builds a context whose results have a denominator {@code <= 2^bits}, which means results are rounded to
+     * {@code bits} binary digits after the point. Results are rounded with {@link RoundingMode#HALF_EVEN} and reduced
+     * to their canonical form.
+     *
+     * @param bits The number of binary digits after the point.
+     * @return the new context.
+     * @throws ArithmeticException if {@code bits} is negative.
+     */
+    public static @NotNull RationalContext ofBits(final int bits) {
+        if (bits < 0) {
+            throw new ArithmeticException("Number of bits must be >= 0.");
+        }
+        return new RationalContext(BigInteger.ONE.shiftLeft(bits), RoundingMode.HALF_EVEN, true, false);
+    }
+
+    /**
+     * Returns a copy of this context with another rounding mode.
+     *
+     * @param roundingMode the rounding mode of the new context.
+     * @return a copy of this context with the provided rounding mode.
+     */
+    public @NotNull RationalContext withRoundingMode(final @NotNull RoundingMode roundingMode) {
+        return new RationalContext(maxDenominator, roundingMode, canonicalForm, parallel);
+    }
+
+    /**
+     * Returns a copy of this context with another canonical form flag.
+     *
+     * @param canonicalForm {@code true} if results must be reduced to their canonical form.
+     * @return a copy of this context with the provided canonical form flag.
+     */
+    public @NotNull RationalContext withCanonicalForm(final boolean canonicalForm) {
+        return new RationalContext(maxDenominator, roundingMode, canonicalForm, parallel);
+    }
+
+    /**
+     * Returns a copy of this context with another parallel flag.
+     *
+     * <p>Splitting products in parallel tasks only pays off for numerators and denominators of tens of thousands of
+     * digits, on several cores: smaller products are always computed on the calling thread.
+     *
+     * @param parallel {@code true} if products of huge values must be computed in parallel.
+     * @return a copy of this context with the provided parallel flag.
+     */
+    public @NotNull RationalContext withParallel(final boolean parallel) {
+        return new RationalContext(maxDenominator, roundingMode, canonicalForm, parallel);
+    }
+
+    /**
+     * @return the maximum denominator of results, or {@code null} if this context has no bound.
+     */
+    public @Nullable BigInteger getMaxDenominator() {
+        return maxDenominator;
+    }
+
+    public @NotNull RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    public boolean isCanonicalForm() {
+        return canonicalForm;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final RationalContext that = (RationalContext) o;
+        return canonicalForm == that.canonicalForm
+                && parallel == that.parallel
+                && roundingMode == that.roundingMode
+                && Objects.equals(maxDenominator, that.maxDenominator);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxDenominator, roundingMode, canonicalForm, parallel);
+    }
+
+    @Override
+    public String toString() {
+        return "maxDenominator=" + (maxDenominator == null ? "unlimited" : maxDenominator)
+                + " roundingMode=" + roundingMode
+                + " canonicalForm=" + canonicalForm
+                + " parallel=" + parallel;
+    }
+}
@@ -0,0 +1,578 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Deferred arithmetic expression of {@code Rational}, optimized as a whole before evaluation.
+ *
+ * <p>An expression is built like a chain of {@code Rational} operations, starting with {@code Rational.expr(a)}, like
+ * {@code Rational.expr(a).multiply(b).add(Rational.expr(c).multiply(d)).divide(Rational.expr(e).multiply(f))}, but
+ * nothing is computed until {@code evaluate()}. Leaves of the expression are either constants or named variables,
+ * created with {@code variable(name)}, whose values are provided on evaluation.
+ *
+ * <p>{@code compile()} plans the evaluation of the expression once:
+ * <ul>
+ *     <li>nested sums and products are flattened to sums and products of many operands, so {@code a + b + c} is a
+ *     single sum and {@code a * b / c} a single product;</li>
+ *     <li>common sub-expressions are found and computed once, including commuted ones ({@code a * b} and
+ *     {@code b * a}), and repeated operands are merged ({@code a + a} is {@code 2 * a}, {@code a * a} is
+ *     {@code a^2});</li>
+ *     <li>operations are grouped in levels of independent operations, that can be evaluated in parallel.</li>
+ * </ul>
+ * A compiled expression can be evaluated many times with new values of the variables, without any new planning.
+ *
+ * <p>On evaluation, all intermediate results are kept in canonical form. Sums of many operands are computed in one
+ * pass on the least common multiple of the denominators, instead of the product of all denominators. Products of many
+ * operands cancel the common factors between all numerators and all denominators first, on small integers, then
+ * multiply the remaining integers: the result is in canonical form without any GCD on large integers.
+ *
+ * <p>The result is approximate if any leaf value is approximate.
+ */
+public final class RationalExpression {
+
+    private enum Kind {
+        CONSTANT,
+        VARIABLE,
+        ADD,
+        MULTIPLY,
+        NEGATE,
+        INVERSE
+    }
+
+    private final @NotNull Kind kind;
+    private final @Nullable Rational value;
+    private final @Nullable String name;
+    private final @Nullable RationalExpression left;
+    private final @Nullable RationalExpression right;
+
+    private RationalExpression(
+            final @NotNull Kind kind,
+            final @Nullable Rational value,
+            final @Nullable String name,
+            final @Nullable RationalExpression left,
+            final @Nullable RationalExpression right) {
+        this.kind = kind;
+        this.value = value;
+        this.name = name;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Builds an expression that is a constant. {@code Rational.expr(value)} does the same.
+     *
+     * @param value the value of the expression.
+     * @return the constant expression.
+     */
+    public static @NotNull RationalExpression of(final @NotNull Rational value) {
+        return new RationalExpression(Kind.CONSTANT, value, null, null, null);
+    }
+
+    /**
+     * Builds an expression that is a variable, whose value is provided on evaluation.
+     *
+     * @param name the name of the variable. Variables with the same name are the same variable.
+     * @return the variable expression.
+     */
+    public static @NotNull RationalExpression variable(final @NotNull String name) {
+        return new RationalExpression(Kind.VARIABLE, null, name, null, null);
+    }
+
+    public @NotNull RationalExpression add(final @NotNull RationalExpression val) {
+        return new RationalExpression(Kind.ADD, null, null, this, val);
+    }
+
+    public @NotNull RationalExpression add(final @NotNull Rational val) {
+        return add(of(val));
+    }
+
+    public @NotNull RationalExpression subtract(final @NotNull RationalExpression val) {
+        return add(val.negate());
+    }
+
+    public @NotNull RationalExpression subtract(final @NotNull Rational val) {
+        return subtract(of(val));
+    }
+
+    public @NotNull RationalExpression multiply(final @NotNull RationalExpression val) {
+        return new RationalExpression(Kind.MULTIPLY, null, null, this, val);
+    }
+
+    public @NotNull RationalExpression multiply(final @NotNull Rational val) {
+        return multiply(of(val));
+    }
+
+    public @NotNull RationalExpression divide(final @NotNull RationalExpression val) {
+        return multiply(val.inverse());
+    }
+
+    public @NotNull RationalExpression divide(final @NotNull Rational val) {
+        return divide(of(val));
+    }
+
+    public @NotNull RationalExpression negate() {
+        return new RationalExpression(Kind.NEGATE, null, null, this, null);
+    }
+
+    public @NotNull RationalExpression inverse() {
+        return new RationalExpression(Kind.INVERSE, null, null, this, null);
+    }
+
+    /**
+     * Plans the evaluation of this expression.
+     *
+     * @return the compiled expression, that can be evaluated many times.
+     */
+    public @NotNull Compiled compile() {
+        return new Compiler().compile(this);
+    }
+
+    /**
+     * Evaluates this expression, that must not have any variable.
+     *
+     * @return the value of the expression, in canonical form.
+     * @throws ArithmeticException if the expression has variables, or on division by zero.
+     */
+    public @NotNull Rational evaluate() {
+        return compile().evaluate(Collections.emptyMap());
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case CONSTANT:
+                return String.valueOf(value);
+            case VARIABLE:
+                return name;
+            case ADD:
+                return "(" + left + " + " + right + ")";
+            case MULTIPLY:
+                return "(" + left + " * " + right + ")";
+            case NEGATE:
+                return "-" + left;
+            default:
+                return "1/" + left;
+        }
+    }
+
+    /**
+     * An expression ready to be evaluated: operations are flattened, deduplicated and sorted in levels.
+     */
+    public static final class Compiled {
+
+        // Operations of the plan. Operands of an operation always have a lower index.
+        private final @NotNull Operation[] operations;
+        // Indexes of the operations, by level: operations of a level only depend on operations of lower levels
+        private final int @NotNull [][] levels;
+        private final int root;
+        private final @NotNull List<String> variables;
+
+        private Compiled(
+                final @NotNull Operation[] operations, final int root, final @NotNull List<String> variables) {
+            this.operations = operations;
+            this.root = root;
+            this.variables = Collections.unmodifiableList(variables);
+            final int[] levelOf = new int[operations.length];
+            int levelCount = 0;
+            for (int i = 0; i < operations.length; i++) {
+                for (final int operand : operations[i].operands) {
+                    levelOf[i] = Math.max(levelOf[i], levelOf[operand] + 1);
+                }
+                levelCount = Math.max(levelCount, levelOf[i] + 1);
+            }
+            final List<List<Integer>> byLevel = new ArrayList<>();
+            for (int level = 0; level < levelCount; level++) {
+                byLevel.add(new ArrayList<>());
+            }
+            for (int i = 0; i < operations.length; i++) {
+                byLevel.get(levelOf[i]).add(i);
+            }
+            levels = new int[levelCount][];
+            for (int level = 0; level < levelCount; level++) {
+                levels[level] = byLevel.get(level).stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        /**
+         * @return the names of the variables of the expression, in order of first appearance.
+         */
+        public @NotNull List<String> getVariables() {
+            return variables;
+        }
+
+        /**
+         * @return the number of distinct operations and leaves left after the optimization of the expression.
+         */
+        public int size() {
+            return operations.length;
+        }
+
+        /**
+         * Evaluates the expression, in the calling thread.
+         *
+         * @param values the values of the variables, by name.
+         * @return the value of the expression, in canonical form.
+         * @throws ArithmeticException if a variable has no value, or on division by zero.
+         */
+        public @NotNull Rational evaluate(final @NotNull Map<String, Rational> values) {
+            return evaluate(values, null);
+        }
+
+        /**
+         * Evaluates the expression, independent operations being evaluated in parallel with the tasks of the provided
+         * pool.
+         *
+         * @param values the values of the variables, by name.
+         * @param pool the pool that runs the evaluation, or {@code null} to run it in the calling thread.
+         * @return the value of the expression, in canonical form.
+         * @throws ArithmeticException if a variable has no value, or on division by zero.
+         */
+        public @NotNull Rational evaluate(
+                final @NotNull Map<String, Rational> values, final @Nullable ForkJoinPool pool) {
+            final Rational[] results = new Rational[operations.length];
+            for (final int[] level : levels) {
+                if (pool == null || level.length == 1) {
+                    for (final int index : level) {
+                        results[index] = operations[index].evaluate(results, values);
+                    }
+                } else {
+                    pool.invoke(new LevelTask(level, results, values));
+                }
+            }
+            return results[root];
+        }
+
+        private final class LevelTask extends RecursiveAction {
+            private final int @NotNull [] level;
+            private final @NotNull Rational[] results;
+            private final @NotNull Map<String, Rational> values;
+
+            private LevelTask(
+                    final int @NotNull [] level,
+                    final @NotNull Rational[] results,
+                    final @NotNull Map<String, Rational> values) {
+                this.level = level;
+                this.results = results;
+                this.values = values;
+            }
+
+            @Override
+            protected void compute() {
+                final List<RecursiveAction> tasks = new ArrayList<>(level.length);
+                for (final int index : level) {
+                    tasks.add(new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            results[index] = operations[index].evaluate(results, values);
+                        }
+                    });
+                }
+                ForkJoinTask.invokeAll(tasks);
+            }
+        }
+    }
+
+    /**
+     * Builds the plan: flattening, hash-consing of operations (so equal sub-expressions share one operation) and
+     * numbering in dependency order.
+     */
+    private static final class Compiler {
+        private final @NotNull List<Operation> operations = new ArrayList<>();
+        private final @NotNull Map<Object, Integer> indexByKey = new HashMap<>();
+        private final @NotNull Map<RationalExpression, Integer> indexByExpression = new IdentityHashMap<>();
+        private final @NotNull Set<String> variables = new LinkedHashSet<>();
+
+        private @NotNull Compiled compile(final @NotNull RationalExpression expression) {
+            final int root = index(expression);
+            return new Compiled(operations.toArray(new Operation[0]), root, new ArrayList<>(variables));
+        }
+
+        private int index(final @NotNull RationalExpression expression) {
+            final Integer known = indexByExpression.get(expression);
+            if (known != null) {
+                return known;
+            }
+            final int index;
+            switch (expression.kind) {
+                case CONSTANT:
+                    final Rational canonical = Objects.requireNonNull(expression.value).canonicalForm();
+                    index = intern(
+                            Arrays.asList(
+                                    Kind.CONSTANT,
+                                    canonical.getNumerator(),
+                                    canonical.getDenominator(),
+                                    canonical.isApproximate()),
+                            () -> new Operation(canonical, null, new int[0], null, null, false));
+                    break;
+                case VARIABLE:
+                    final String name = Objects.requireNonNull(expression.name);
+                    variables.add(name);
+                    index = intern(
+                            Arrays.asList(Kind.VARIABLE, name),
+                            () -> new Operation(null, name, new int[0], null, null, false));
+                    break;
+                case ADD:
+                case NEGATE:
+                    index = sum(expression);
+                    break;
+                default:
+                    index = product(expression);
+                    break;
+            }
+            indexByExpression.put(expression, index);
+            return index;
+        }
+
+        private int sum(final @NotNull RationalExpression expression) {
+            // Operand index -> coefficient, sorted by index so commuted sums have the same key
+            final TreeMap<Integer, BigInteger> terms = new TreeMap<>();
+            // Terms that cancel out (x - x) are kept, for the approximate flag and the check of the variables
+            collectTerms(expression, terms);
+            final int[] operands = terms.keySet().stream().mapToInt(Integer::intValue).toArray();
+            final BigInteger[] coefficients = terms.values().toArray(new BigInteger[0]);
+            return intern(
+                    Arrays.asList(Kind.ADD, Arrays.toString(operands), Arrays.asList(coefficients)),
+                    () -> new Operation(null, null, operands, coefficients, null, false));
+        }
+
+        private void collectTerms(
+                final @NotNull RationalExpression expression, final @NotNull Map<Integer, BigInteger> terms) {
+            // Explicit stack, so that long chains of additions don't overflow the call stack. Left operands are popped
+            // first, so operations are numbered in the order of the expression.
+            final Deque<RationalExpression> expressions = new ArrayDeque<>();
+            final Deque<BigInteger> coefficients = new ArrayDeque<>();
+            expressions.push(expression);
+            coefficients.push(BigInteger.ONE);
+            while (!expressions.isEmpty()) {
+                final RationalExpression current = expressions.pop();
+                final BigInteger coefficient = coefficients.pop();
+                if (current.kind == Kind.ADD) {
+                    expressions.push(Objects.requireNonNull(current.right));
+                    coefficients.push(coefficient);
+                    expressions.push(Objects.requireNonNull(current.left));
+                    coefficients.push(coefficient);
+                } else if (current.kind == Kind.NEGATE) {
+                    expressions.push(Objects.requireNonNull(current.left));
+                    coefficients.push(coefficient.negate());
+                } else {
+                    terms.merge(index(current), coefficient, BigInteger::add);
+                }
+            }
+        }
+
+        private int product(final @NotNull RationalExpression expression) {
+            // Operand index -> [exponent as numerator, exponent as denominator], sorted by index
+            final TreeMap<Integer, int[]> factors = new TreeMap<>();
+            final boolean negative = collectFactors(expression, factors);
+            final int[] operands = factors.keySet().stream().mapToInt(Integer::intValue).toArray();
+            final int[][] exponents = factors.values().toArray(new int[0][]);
+            final List<Object> key = new ArrayList<>(Arrays.asList(Kind.MULTIPLY, negative, Arrays.toString(operands)));
+            for (final int[] exponent : exponents) {
+                key.add(Arrays.toString(exponent));
+            }
+            return intern(key, () -> new Operation(null, null, operands, null, exponents, negative));
+        }
+
+        /**
+         * @return {@code true} if the sign of the product is inverted by negations inside it.
+         */
+        private boolean collectFactors(
+                final @NotNull RationalExpression expression, final @NotNull Map<Integer, int[]> factors) {
+            // Explicit stack, like collectTerms
+            final Deque<RationalExpression> expressions = new ArrayDeque<>();
+            final Deque<Boolean> inversions = new ArrayDeque<>();
+            expressions.push(expression);
+            inversions.push(false);
+            boolean negative = false;
+            while (!expressions.isEmpty()) {
+                final RationalExpression current = expressions.pop();
+                final boolean inverted = inversions.pop();
+                switch (current.kind) {
+                    case MULTIPLY:
+                        expressions.push(Objects.requireNonNull(current.right));
+                        inversions.push(inverted);
+                        expressions.push(Objects.requireNonNull(current.left));
+                        inversions.push(inverted);
+                        break;
+                    case INVERSE:
+                        expressions.push(Objects.requireNonNull(current.left));
+                        inversions.push(!inverted);
+                        break;
+                    case NEGATE:
+                        negative = !negative;
+                        expressions.push(Objects.requireNonNull(current.left));
+                        inversions.push(inverted);
+                        break;
+                    default:
+                        // Exponents of a numerator and of a denominator are not merged: x / x must fail if x is 0
+                        factors.computeIfAbsent(index(current), k -> new int[2])[inverted ? 1 : 0]++;
+                        break;
+                }
+            }
+            return negative;
+        }
+
+        private int intern(final @NotNull Object key, final @NotNull Supplier<Operation> operation) {
+            final Integer known = indexByKey.get(key);
+            if (known != null) {
+                return known;
+            }
+            operations.add(operation.get());
+            final int index = operations.size() - 1;
+            indexByKey.put(key, index);
+            return index;
+        }
+    }
+
+    /**
+     * One step of a plan: a constant, a variable, a sum of operands with integer coefficients, or a product of
+     * operands with integer exponents.
+     */
+    private static final class Operation {
+        private final @Nullable Rational constant;
+        private final @Nullable String variable;
+        private final int @NotNull [] operands;
+        private final @Nullable BigInteger[] coefficients;
+        private final int @Nullable [][] exponents;
+        private final boolean negative;
+
+        private Operation(
+                final @Nullable Rational constant,
+                final @Nullable String variable,
+                final int @NotNull [] operands,
+                final @Nullable BigInteger[] coefficients,
+                final int @Nullable [][] exponents,
+                final boolean negative) {
+            this.constant = constant;
+            this.variable = variable;
+            this.operands = operands;
+            this.coefficients = coefficients;
+            this.exponents = exponents;
+            this.negative = negative;
+        }
+
+        private @NotNull Rational evaluate(
+                final @NotNull Rational[] results, final @NotNull Map<String, Rational> values) {
+            if (constant != null) {
+                return constant;
+            }
+            if (variable != null) {
+                final Rational value = values.get(variable);
+                if (value == null) {
+                    throw new ArithmeticException("No value for variable " + variable + ".");
+                }
+                return value.canonicalForm();
+            }
+            return coefficients != null ? sum(results) : product(results);
+        }
+
+        private @NotNull Rational sum(final @NotNull Rational[] results) {
+            // Common denominator: least common multiple of all denominators
+            boolean approximate = false;
+            BigInteger lcm = BigInteger.ONE;
+            final BigInteger[] factors = Objects.requireNonNull(coefficients);
+            for (int i = 0; i < operands.length; i++) {
+                approximate |= results[operands[i]].isApproximate();
+                if (factors[i].signum() != 0) {
+                    final BigInteger denominator = results[operands[i]].getDenominator();
+                    lcm = lcm.divide(lcm.gcd(denominator)).multiply(denominator);
+                }
+            }
+            BigInteger numerator = BigInteger.ZERO;
+            for (int i = 0; i < operands.length; i++) {
+                final Rational term = results[operands[i]];
+                if (factors[i].signum() != 0) {
+                    numerator = numerator.add(
+                            factors[i].multiply(term.getNumerator()).multiply(lcm.divide(term.getDenominator())));
+                }
+            }
+            // Terms are canonical, only the final sum may have common factors with the lcm
+            final BigInteger gcd = numerator.gcd(lcm);
+            return build(numerator.divide(gcd), lcm.divide(gcd), approximate);
+        }
+
+        private @NotNull Rational product(final @NotNull Rational[] results) {
+            final List<BigInteger> numerators = new ArrayList<>();
+            final List<BigInteger> denominators = new ArrayList<>();
+            boolean approximate = false;
+            boolean zero = false;
+            boolean negativeResult = negative;
+            for (int i = 0; i < operands.length; i++) {
+                final Rational factor = results[operands[i]];
+                final int[] exponent = Objects.requireNonNull(exponents)[i];
+                approximate |= factor.isApproximate();
+                if (factor.signum() == 0) {
+                    if (exponent[1] > 0) {
+                        throw new ArithmeticException("Division by zero.");
+                    }
+                    zero = true;
+                    continue;
+                }
+                final BigInteger absNumerator = factor.getNumerator().abs();
+                negativeResult ^= factor.signum() < 0 && (exponent[0] + exponent[1]) % 2 != 0;
+                if (exponent[0] > 0) {
+                    numerators.add(absNumerator.pow(exponent[0]));
+                    denominators.add(factor.getDenominator().pow(exponent[0]));
+                }
+                if (exponent[1] > 0) {
+                    numerators.add(factor.getDenominator().pow(exponent[1]));
+                    denominators.add(absNumerator.pow(exponent[1]));
+                }
+            }
+            if (zero) {
+                return approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+            }
+            // Each factor is canonical: once every numerator is coprime with every denominator, the product is
+            // canonical too.
+            for (int i = 0; i < numerators.size(); i++) {
+                for (int j = 0; j < denominators.size(); j++) {
+                    final BigInteger gcd = numerators.get(i).gcd(denominators.get(j));
+                    if (!gcd.equals(BigInteger.ONE)) {
+                        numerators.set(i, numerators.get(i).divide(gcd));
+                        denominators.set(j, denominators.get(j).divide(gcd));
+                    }
+                }
+            }
+            final BigInteger numerator = productTree(numerators, 0, numerators.size());
+            return build(
+                    negativeResult ? numerator.negate() : numerator,
+                    productTree(denominators, 0, denominators.size()),
+                    approximate);
+        }
+
+        private static @NotNull Rational build(
+                final @NotNull BigInteger numerator, final @NotNull BigInteger denominator, final boolean approximate) {
+            return approximate ? Rational.approximateOf(numerator, denominator) : Rational.of(numerator, denominator);
+        }
+
+        // Balanced products, so the multiplications of large integers have operands of similar sizes. Products of
+        // zero return early, and every other factor has a positive exponent, so from < to.
+        private static @NotNull BigInteger productTree(
+                final @NotNull List<BigInteger> factors, final int from, final int to) {
+            if (to - from == 1) {
+                return factors.get(from);
+            }
+            final int middle = (from + to) >>> 1;
+            return productTree(factors, from, middle).multiply(productTree(factors, middle, to));
+        }
+    }
+}
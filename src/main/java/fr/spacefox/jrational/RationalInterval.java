@@ -0,0 +1,108 @@
+package fr.spacefox.jrational;
+
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable closed interval {@code [lower, upper]} of rational numbers.
+ *
+ * <p>Intervals are used to return guaranteed enclosures of values that can’t be represented exactly by a
+ * {@code Rational}, like irrational roots: the real value is always between the two bounds, included. The bounds
+ * themselves are regular {@code Rational}.
+ */
+public final class RationalInterval {
+
+    private final @NotNull Rational lower;
+    private final @NotNull Rational upper;
+
+    private RationalInterval(final @NotNull Rational lower, final @NotNull Rational upper) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Builds the closed interval {@code [lower, upper]}.
+     *
+     * @param lower the lower bound, included.
+     * @param upper the upper bound, included.
+     * @return the closed interval {@code [lower, upper]}.
+     * @throws ArithmeticException if {@code lower > upper}.
+     */
+    public static @NotNull RationalInterval of(final @NotNull Rational lower, final @NotNull Rational upper) {
+        if (lower.gt(upper)) {
+            throw new ArithmeticException("Lower bound must be <= upper bound.");
+        }
+        return new RationalInterval(lower, upper);
+    }
+
+    /**
+     * Builds the degenerated interval {@code [value, value]}.
+     *
+     * @param value the only value of the interval.
+     * @return the closed interval {@code [value, value]}.
+     */
+    public static @NotNull RationalInterval of(final @NotNull Rational value) {
+        return new RationalInterval(value, value);
+    }
+
+    public @NotNull Rational getLower() {
+        return lower;
+    }
+
+    public @NotNull Rational getUpper() {
+        return upper;
+    }
+
+    /**
+     * @return {@code upper - lower}, always {@code >= 0}.
+     */
+    public @NotNull Rational width() {
+        return upper.subtract(lower);
+    }
+
+    /**
+     * @return {@code (lower + upper) / 2}.
+     */
+    public @NotNull Rational midpoint() {
+        return lower.add(upper).divide(Rational.of(2));
+    }
+
+    /**
+     * Checks if a value is in this interval, bounds included.
+     *
+     * @param val the value to check.
+     * @return {@code true} if {@code lower <= val <= upper}.
+     */
+    public boolean contains(final @NotNull Rational val) {
+        return lower.le(val) && val.le(upper);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final RationalInterval that = (RationalInterval) o;
+        return lower.compareTo(that.lower) == 0 && upper.compareTo(that.upper) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        // Consistent with equals(): bounds are compared by value, whatever their representation or approximate flag
+        final Rational canonicalLower = lower.canonicalForm();
+        final Rational canonicalUpper = upper.canonicalForm();
+        return Objects.hash(
+                canonicalLower.getNumerator(),
+                canonicalLower.getDenominator(),
+                canonicalUpper.getNumerator(),
+                canonicalUpper.getDenominator());
+    }
+
+    @Override
+    public String toString() {
+        return "[" + lower + ", " + upper + "]";
+    }
+}
@@ -0,0 +1,749 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable linear program: minimize or maximize {@code c.x} subject to linear constraints {@code a.x <= b},
+ * {@code a.x = b} or {@code a.x >= b}, with {@code x >= 0}, solved exactly.
+ *
+ * <p>A floating-point simplex can pick wrong bases on degenerate programs, and a simplex on a tableau of
+ * {@code Rational} is very slow, as its entries grow without bound. Here, each constraint is scaled to integers by the
+ * least common multiple of its denominators, and the revised simplex only keeps the adjugate of the basis matrix, its
+ * determinant {@code d} and the basic values times {@code d}, all integers. A basis change is fraction-free: with
+ * {@code w} the entering column times the adjugate and {@code p = w[r]} the pivot, each row {@code i != r} becomes
+ * {@code (p * row[i] - w[i] * row[r]) / d}, an exact division, so entries stay minors of the constraint matrix, and
+ * their size is bounded by Hadamard's inequality. Entering and leaving variables are chosen with Bland's rule, the
+ * smallest index, so the simplex never cycles on degenerate programs. A first phase minimizes the sum of artificial
+ * variables to find a feasible basis.
+ *
+ * <p>On request, a floating-point simplex first guesses the optimal basis. The guess is then verified exactly: its
+ * columns are pivoted in the exact basis one by one, dependent columns are skipped, an infeasible guess is dropped,
+ * and the exact simplex goes on from there to the proven optimum.
+ *
+ * <p>Results are in canonical form, and approximate if any coefficient of the program is approximate.
+ */
+public final class RationalLinearProgram {
+
+    // Iterations of the floating-point simplex, per column, before it gives up
+    private static final int WARM_START_ITERATIONS = 50;
+    // Tolerance of the floating-point simplex, on rows scaled to a max of 1
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Relation between the left side {@code a.x} and the right side {@code b} of a constraint.
+     */
+    public enum Relation {
+        LESS_OR_EQUAL,
+        EQUAL,
+        GREATER_OR_EQUAL
+    }
+
+    /**
+     * Outcome of the resolution of a linear program.
+     */
+    public enum Status {
+        /** The program has an optimal solution. */
+        OPTIMAL,
+        /** No value satisfies all the constraints. */
+        INFEASIBLE,
+        /** The objective has no bound on the values that satisfy the constraints. */
+        UNBOUNDED
+    }
+
+    private final @NotNull Rational[] objective;
+    private final boolean maximize;
+    private final @NotNull List<Constraint> constraints;
+
+    private RationalLinearProgram(
+            final @NotNull Rational[] objective, final boolean maximize, final @NotNull List<Constraint> constraints) {
+        this.objective = objective;
+        this.maximize = maximize;
+        this.constraints = constraints;
+    }
+
+    /**
+     * Builds the program that maximizes {@code c.x} with {@code x >= 0}, without other constraints.
+     *
+     * @param objective the coefficients {@code c} of the objective, one per variable.
+     * @return the program.
+     * @throws ArithmeticException if there are no variables.
+     */
+    public static @NotNull RationalLinearProgram maximize(final @NotNull List<Rational> objective) {
+        return of(objective, true);
+    }
+
+    /**
+     * Builds the program that minimizes {@code c.x} with {@code x >= 0}, without other constraints.
+     *
+     * @param objective the coefficients {@code c} of the objective, one per variable.
+     * @return the program.
+     * @throws ArithmeticException if there are no variables.
+     */
+    public static @NotNull RationalLinearProgram minimize(final @NotNull List<Rational> objective) {
+        return of(objective, false);
+    }
+
+    private static @NotNull RationalLinearProgram of(final @NotNull List<Rational> objective, final boolean maximize) {
+        if (objective.isEmpty()) {
+            throw new ArithmeticException("A linear program must have at least one variable.");
+        }
+        return new RationalLinearProgram(objective.toArray(new Rational[0]), maximize, Collections.emptyList());
+    }
+
+    /**
+     * Builds the program with one more constraint {@code a.x <= b}, {@code a.x = b} or {@code a.x >= b}.
+     *
+     * @param coefficients the coefficients {@code a} of the constraint, one per variable.
+     * @param relation the relation between {@code a.x} and {@code b}.
+     * @param bound the right side {@code b} of the constraint.
+     * @return the program with the constraint.
+     * @throws ArithmeticException if there isn't one coefficient per variable.
+     */
+    public @NotNull RationalLinearProgram subjectTo(
+            final @NotNull List<Rational> coefficients,
+            final @NotNull Relation relation,
+            final @NotNull Rational bound) {
+        if (coefficients.size() != objective.length) {
+            throw new ArithmeticException("A constraint must have one coefficient per variable.");
+        }
+        final List<Constraint> newConstraints = new ArrayList<>(constraints.size() + 1);
+        newConstraints.addAll(constraints);
+        newConstraints.add(new Constraint(coefficients.toArray(new Rational[0]), relation, bound));
+        return new RationalLinearProgram(objective, maximize, Collections.unmodifiableList(newConstraints));
+    }
+
+    public int getVariableCount() {
+        return objective.length;
+    }
+
+    public int getConstraintCount() {
+        return constraints.size();
+    }
+
+    /**
+     * Solves the program with the exact simplex only.
+     *
+     * @return the solution of the program.
+     */
+    public @NotNull Solution solve() {
+        return solve(false);
+    }
+
+    /**
+     * Solves the program.
+     *
+     * @param warmStart {@code true} to start the exact simplex from the basis found by a floating-point simplex.
+     * @return the solution of the program. It is the same with or without warm start, except maybe for the optimal
+     *     values of the variables, if there are several.
+     */
+    public @NotNull Solution solve(final boolean warmStart) {
+        return solve(warmStart, WARM_START_ITERATIONS);
+    }
+
+    /**
+     * @param warmStartIterations the iterations per column of the floating-point simplex, before it gives up.
+     * @return the same as {@link #solve(boolean)}, with another limit of iterations.
+     */
+    @NotNull Solution solve(final boolean warmStart, final int warmStartIterations) {
+        boolean approximate = false;
+        for (Rational coefficient : objective) {
+            approximate |= coefficient.isApproximate();
+        }
+        for (Constraint constraint : constraints) {
+            approximate |= constraint.bound.isApproximate();
+            for (Rational coefficient : constraint.coefficients) {
+                approximate |= coefficient.isApproximate();
+            }
+        }
+        final Simplex simplex = new Simplex();
+        if (!warmStart || !simplex.warmStart(warmStartIterations)) {
+            // The first phase is bounded: the sum of artificial variables is >= 0
+            simplex.run(true);
+        }
+        if (simplex.artificialValue().signum() > 0) {
+            return new Solution(Status.INFEASIBLE, null, null);
+        }
+        simplex.removeArtificials();
+        if (!simplex.run(false)) {
+            return new Solution(Status.UNBOUNDED, null, null);
+        }
+        final List<Rational> variables = new ArrayList<>(objective.length);
+        Rational value = Rational.ZERO;
+        for (int j = 0; j < objective.length; j++) {
+            final Rational variable = result(simplex.value(j), simplex.determinant, approximate);
+            variables.add(variable);
+            value = value.add(objective[j].multiply(variable));
+        }
+        return new Solution(Status.OPTIMAL, value.canonicalForm(), Collections.unmodifiableList(variables));
+    }
+
+    /**
+     * @return {@code true} if the warm start of {@link #solve(boolean)} starts from the basis guessed by the
+     *     floating-point simplex, {@code false} if it falls back to the first basis.
+     */
+    boolean isWarmStartUsed() {
+        return isWarmStartUsed(WARM_START_ITERATIONS);
+    }
+
+    /**
+     * @param iterations the iterations per column of the floating-point simplex.
+     * @return the same as {@link #isWarmStartUsed()}, with another limit of iterations.
+     */
+    boolean isWarmStartUsed(final int iterations) {
+        return new Simplex().warmStart(iterations);
+    }
+
+    private static @NotNull BigInteger lcm(final @NotNull BigInteger a, final @NotNull BigInteger b) {
+        if (b.equals(BigInteger.ONE) || a.equals(b)) {
+            return a;
+        }
+        return a.divide(a.gcd(b)).multiply(b);
+    }
+
+    private static @NotNull Rational result(
+            final @NotNull BigInteger numerator, final @NotNull BigInteger denominator, final boolean approximate) {
+        if (numerator.signum() == 0) {
+            return approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        return (approximate ? Rational.approximateOf(numerator, denominator) : Rational.of(numerator, denominator))
+                .canonicalForm();
+    }
+
+    /**
+     * Solution of a linear program: its status, and for an optimal solution, the optimal value of the objective and
+     * values of the variables that reach it.
+     */
+    public static final class Solution {
+        private final @NotNull Status status;
+        private final @Nullable Rational value;
+        private final @Nullable List<Rational> variables;
+
+        private Solution(
+                final @NotNull Status status,
+                final @Nullable Rational value,
+                final @Nullable List<Rational> variables) {
+            this.status = status;
+            this.value = value;
+            this.variables = variables;
+        }
+
+        public @NotNull Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @return the optimal value of the objective.
+         * @throws ArithmeticException if the program has no optimal solution.
+         */
+        public @NotNull Rational getValue() {
+            if (value == null) {
+                throw new ArithmeticException("The linear program has no optimal solution: " + status + ".");
+            }
+            return value;
+        }
+
+        /**
+         * @return values of the variables that reach the optimal value, in the order of the objective coefficients.
+         * @throws ArithmeticException if the program has no optimal solution.
+         */
+        public @NotNull List<Rational> getVariables() {
+            if (variables == null) {
+                throw new ArithmeticException("The linear program has no optimal solution: " + status + ".");
+            }
+            return variables;
+        }
+
+        @Override
+        public String toString() {
+            return status == Status.OPTIMAL ? status + " " + value + " at " + variables : status.toString();
+        }
+    }
+
+    private static final class Constraint {
+        private final @NotNull Rational[] coefficients;
+        private final @NotNull Relation relation;
+        private final @NotNull Rational bound;
+
+        private Constraint(
+                final @NotNull Rational[] coefficients,
+                final @NotNull Relation relation,
+                final @NotNull Rational bound) {
+            this.coefficients = coefficients;
+            this.relation = relation;
+            this.bound = bound;
+        }
+    }
+
+    /**
+     * Revised simplex on the program in standard form {@code min c.x, A.x = b, x >= 0, b >= 0}, with integer
+     * {@code A}, {@code b} and {@code c}.
+     *
+     * <p>Columns are the variables of the program, then one slack variable per row, with coefficient {@code +1} or
+     * {@code -1} ({@code 0} for equality constraints, that have none), then one artificial variable per row, with
+     * coefficient {@code +1}. The first basis is made of slack variables with coefficient {@code +1}, and of the
+     * artificial variables of the other rows: its matrix is the identity.
+     */
+    private final class Simplex {
+        private final int rowCount;
+        private final int variableCount;
+        // Non-zero entries of the column j of A: rows columnRows[j], values columnValues[j]
+        private final int @NotNull [][] columnRows;
+        private final @NotNull BigInteger[][] columnValues;
+        private final int @NotNull [] slackSigns;
+        private final @NotNull BigInteger[] rightSide;
+        private final @NotNull BigInteger[] costs;
+        // adjugate = determinant * inverse of the basis matrix
+        private final @NotNull BigInteger[][] adjugate;
+        private @NotNull BigInteger determinant = BigInteger.ONE;
+        // Values of the basic variables, times the determinant
+        private final @NotNull BigInteger[] values;
+        // Basic variable of each row, and row of each basic variable or -1
+        private final int @NotNull [] basis;
+        private final int @NotNull [] rowOf;
+
+        private Simplex() {
+            rowCount = constraints.size();
+            variableCount = objective.length;
+            slackSigns = new int[rowCount];
+            rightSide = new BigInteger[rowCount];
+            final List<List<Integer>> rows = new ArrayList<>(variableCount);
+            final List<List<BigInteger>> entries = new ArrayList<>(variableCount);
+            for (int j = 0; j < variableCount; j++) {
+                rows.add(new ArrayList<>());
+                entries.add(new ArrayList<>());
+            }
+            for (int i = 0; i < rowCount; i++) {
+                final Constraint constraint = constraints.get(i);
+                BigInteger scale = constraint.bound.getDenominator();
+                for (Rational coefficient : constraint.coefficients) {
+                    scale = lcm(scale, coefficient.getDenominator());
+                }
+                final int sign = constraint.bound.signum() < 0 ? -1 : 1;
+                slackSigns[i] = constraint.relation == Relation.LESS_OR_EQUAL
+                        ? sign
+                        : constraint.relation == Relation.GREATER_OR_EQUAL ? -sign : 0;
+                rightSide[i] = scaled(constraint.bound, scale).abs();
+                for (int j = 0; j < variableCount; j++) {
+                    final Rational coefficient = constraint.coefficients[j];
+                    if (coefficient.signum() != 0) {
+                        rows.get(j).add(i);
+                        final BigInteger value = scaled(coefficient, scale);
+                        entries.get(j).add(sign < 0 ? value.negate() : value);
+                    }
+                }
+            }
+            columnRows = new int[variableCount][];
+            columnValues = new BigInteger[variableCount][];
+            for (int j = 0; j < variableCount; j++) {
+                columnRows[j] = rows.get(j).stream().mapToInt(Integer::intValue).toArray();
+                columnValues[j] = entries.get(j).toArray(new BigInteger[0]);
+            }
+            BigInteger scale = BigInteger.ONE;
+            for (Rational coefficient : objective) {
+                scale = lcm(scale, coefficient.getDenominator());
+            }
+            costs = new BigInteger[variableCount];
+            for (int j = 0; j < variableCount; j++) {
+                final BigInteger cost = scaled(objective[j], scale);
+                costs[j] = maximize ? cost.negate() : cost;
+            }
+            adjugate = new BigInteger[rowCount][rowCount];
+            values = rightSide.clone();
+            basis = new int[rowCount];
+            rowOf = new int[variableCount + 2 * rowCount];
+            reset();
+        }
+
+        private @NotNull BigInteger scaled(final @NotNull Rational value, final @NotNull BigInteger scale) {
+            final Rational canonical = value.canonicalForm();
+            return canonical.getNumerator().multiply(scale.divide(canonical.getDenominator()));
+        }
+
+        /**
+         * Back to the first basis, with the identity matrix.
+         */
+        private void reset() {
+            Arrays.fill(rowOf, -1);
+            for (int i = 0; i < rowCount; i++) {
+                Arrays.fill(adjugate[i], BigInteger.ZERO);
+                adjugate[i][i] = BigInteger.ONE;
+                basis[i] = slackSigns[i] > 0 ? variableCount + i : variableCount + rowCount + i;
+                rowOf[basis[i]] = i;
+            }
+            determinant = BigInteger.ONE;
+            System.arraycopy(rightSide, 0, values, 0, rowCount);
+        }
+
+        private boolean isArtificial(final int variable) {
+            return variable >= variableCount + rowCount;
+        }
+
+        private boolean exists(final int variable) {
+            return variable < variableCount || isArtificial(variable) || slackSigns[variable - variableCount] != 0;
+        }
+
+        private @NotNull BigInteger cost(final int variable, final boolean firstPhase) {
+            if (firstPhase) {
+                return isArtificial(variable) ? BigInteger.ONE : BigInteger.ZERO;
+            }
+            return variable < variableCount ? costs[variable] : BigInteger.ZERO;
+        }
+
+        /**
+         * @return {@code adjugate[row] . A[variable]}.
+         */
+        private @NotNull BigInteger entry(final int row, final int variable) {
+            if (variable >= variableCount) {
+                final int column = (variable - variableCount) % rowCount;
+                final BigInteger value = adjugate[row][column];
+                return isArtificial(variable) || slackSigns[column] > 0 ? value : value.negate();
+            }
+            BigInteger sum = BigInteger.ZERO;
+            final int[] rows = columnRows[variable];
+            for (int k = 0; k < rows.length; k++) {
+                final BigInteger adjugateValue = adjugate[row][rows[k]];
+                if (adjugateValue.signum() != 0) {
+                    sum = sum.add(adjugateValue.multiply(columnValues[variable][k]));
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * @return {@code adjugate . A[variable]}, the entering column times the determinant.
+         */
+        private @NotNull BigInteger[] column(final int variable) {
+            final BigInteger[] column = new BigInteger[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                column[i] = entry(i, variable);
+            }
+            return column;
+        }
+
+        /**
+         * Replaces the basic variable of {@code row} by {@code variable}.
+         *
+         * @param column {@code column(variable)}, with {@code column[row] != 0}.
+         */
+        private void pivot(final int row, final int variable, final @NotNull BigInteger[] column) {
+            final BigInteger pivot = column[row];
+            for (int i = 0; i < rowCount; i++) {
+                if (i == row) {
+                    continue;
+                }
+                final BigInteger factor = column[i];
+                final BigInteger[] adjugateRow = adjugate[i];
+                for (int k = 0; k < rowCount; k++) {
+                    BigInteger value = adjugateRow[k].multiply(pivot);
+                    if (factor.signum() != 0 && adjugate[row][k].signum() != 0) {
+                        value = value.subtract(factor.multiply(adjugate[row][k]));
+                    }
+                    adjugateRow[k] = value.divide(determinant);
+                }
+                BigInteger value = values[i].multiply(pivot);
+                if (factor.signum() != 0 && values[row].signum() != 0) {
+                    value = value.subtract(factor.multiply(values[row]));
+                }
+                values[i] = value.divide(determinant);
+            }
+            determinant = pivot;
+            if (determinant.signum() < 0) {
+                // Keep the determinant positive, so values have the signs of the basic variables
+                determinant = determinant.negate();
+                for (int i = 0; i < rowCount; i++) {
+                    values[i] = values[i].negate();
+                    for (int k = 0; k < rowCount; k++) {
+                        adjugate[i][k] = adjugate[i][k].negate();
+                    }
+                }
+            }
+            rowOf[basis[row]] = -1;
+            basis[row] = variable;
+            rowOf[variable] = row;
+        }
+
+        /**
+         * Runs the simplex from the current feasible basis to the optimum.
+         *
+         * @param firstPhase {@code true} to minimize the sum of the artificial variables, {@code false} to minimize
+         *     the objective, artificial variables never entering the basis.
+         * @return {@code true} if the optimum is reached, {@code false} if the objective is unbounded.
+         */
+        private boolean run(final boolean firstPhase) {
+            while (true) {
+                // Dual values times the determinant: costs of the basic variables times the adjugate
+                final BigInteger[] duals = new BigInteger[rowCount];
+                Arrays.fill(duals, BigInteger.ZERO);
+                for (int i = 0; i < rowCount; i++) {
+                    final BigInteger cost = cost(basis[i], firstPhase);
+                    if (cost.signum() != 0) {
+                        for (int k = 0; k < rowCount; k++) {
+                            duals[k] = duals[k].add(cost.multiply(adjugate[i][k]));
+                        }
+                    }
+                }
+                // Bland's rule: the first variable with a negative reduced cost enters
+                final int entering = entering(duals, firstPhase);
+                if (entering < 0) {
+                    return true;
+                }
+                final BigInteger[] column = column(entering);
+                // Bland's rule: among the rows of the min ratio, the one of the first basic variable leaves
+                int leaving = -1;
+                for (int i = 0; i < rowCount; i++) {
+                    if (column[i].signum() > 0) {
+                        final int comparison = leaving < 0
+                                ? -1
+                                : values[i].multiply(column[leaving]).compareTo(values[leaving].multiply(column[i]));
+                        if (comparison < 0 || comparison == 0 && basis[i] < basis[leaving]) {
+                            leaving = i;
+                        }
+                    }
+                }
+                if (leaving < 0) {
+                    return false;
+                }
+                pivot(leaving, entering, column);
+            }
+        }
+
+        private int entering(final @NotNull BigInteger[] duals, final boolean firstPhase) {
+            final int end = firstPhase ? variableCount + 2 * rowCount : variableCount + rowCount;
+            for (int variable = 0; variable < end; variable++) {
+                if (rowOf[variable] >= 0 || !exists(variable)) {
+                    continue;
+                }
+                // Reduced cost times the determinant: determinant * cost - duals . A[variable]
+                BigInteger reducedCost = cost(variable, firstPhase).multiply(determinant);
+                if (variable < variableCount) {
+                    final int[] rows = columnRows[variable];
+                    for (int k = 0; k < rows.length; k++) {
+                        reducedCost = reducedCost.subtract(duals[rows[k]].multiply(columnValues[variable][k]));
+                    }
+                } else {
+                    final int column = (variable - variableCount) % rowCount;
+                    reducedCost = isArtificial(variable) || slackSigns[column] > 0
+                            ? reducedCost.subtract(duals[column])
+                            : reducedCost.add(duals[column]);
+                }
+                if (reducedCost.signum() < 0) {
+                    return variable;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return the sum of the values of the artificial variables, times the determinant.
+         */
+        private @NotNull BigInteger artificialValue() {
+            BigInteger sum = BigInteger.ZERO;
+            for (int i = 0; i < rowCount; i++) {
+                if (isArtificial(basis[i])) {
+                    sum = sum.add(values[i]);
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * Replaces the artificial variables still in the basis, all zero, by other variables. The artificial variables
+         * that can't be replaced are those of redundant constraints: they stay zero in the second phase.
+         */
+        private void removeArtificials() {
+            for (int i = 0; i < rowCount; i++) {
+                if (!isArtificial(basis[i])) {
+                    continue;
+                }
+                for (int variable = 0; variable < variableCount + rowCount; variable++) {
+                    if (rowOf[variable] < 0 && exists(variable) && entry(i, variable).signum() != 0) {
+                        pivot(i, variable, column(variable));
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the value of {@code variable} times the determinant.
+         */
+        private @NotNull BigInteger value(final int variable) {
+            return rowOf[variable] < 0 ? BigInteger.ZERO : values[rowOf[variable]];
+        }
+
+        /**
+         * Moves to the basis found by a floating-point simplex, if any, after exact checks.
+         *
+         * @param iterations the iterations per column of the floating-point simplex.
+         * @return {@code true} if the exact basis is now feasible, {@code false} if the simplex starts from the first
+         *     basis.
+         */
+        private boolean warmStart(final int iterations) {
+            final int[] guess = new FloatingPointSimplex(this, iterations).solve();
+            if (guess == null) {
+                return false;
+            }
+            final boolean[] guessed = new boolean[rowOf.length];
+            for (int variable : guess) {
+                guessed[variable] = true;
+            }
+            for (int variable : guess) {
+                if (rowOf[variable] >= 0) {
+                    continue;
+                }
+                // Replace a variable of the first basis that is not in the guess
+                for (int i = 0; i < rowCount; i++) {
+                    if (!guessed[basis[i]] && entry(i, variable).signum() != 0) {
+                        pivot(i, variable, column(variable));
+                        break;
+                    }
+                }
+                // Else the column depends on those of the basis: skipped
+            }
+            for (int i = 0; i < rowCount; i++) {
+                if (values[i].signum() < 0) {
+                    reset();
+                    return false;
+                }
+            }
+            if (artificialValue().signum() > 0) {
+                run(true);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Two-phase simplex on a dense tableau of {@code double}, with Dantzig's rule (the most negative reduced cost),
+     * used only to guess a basis.
+     */
+    private static final class FloatingPointSimplex {
+        private final @NotNull Simplex simplex;
+        private final int rowCount;
+        private final int width;
+        // Rows of A, with the right side in the last column
+        private final double @NotNull [][] tableau;
+        private final int @NotNull [] basis;
+        private final int iterations;
+
+        private FloatingPointSimplex(final @NotNull Simplex simplex, final int iterations) {
+            this.simplex = simplex;
+            this.iterations = iterations;
+            this.rowCount = simplex.rowCount;
+            this.width = simplex.variableCount + 2 * rowCount;
+            this.tableau = new double[rowCount][width + 1];
+            this.basis = simplex.basis.clone();
+            for (int j = 0; j < simplex.variableCount; j++) {
+                for (int k = 0; k < simplex.columnRows[j].length; k++) {
+                    tableau[simplex.columnRows[j][k]][j] = simplex.columnValues[j][k].doubleValue();
+                }
+            }
+            for (int i = 0; i < rowCount; i++) {
+                tableau[i][width] = simplex.rightSide[i].doubleValue();
+                // Rows of unit scale, so that a single tolerance fits all, before the columns of the first basis, which
+                // must stay those of the identity matrix
+                double max = 0;
+                for (double value : tableau[i]) {
+                    max = Math.max(max, Math.abs(value));
+                }
+                if (max > 0 && max < Double.POSITIVE_INFINITY) {
+                    for (int j = 0; j <= width; j++) {
+                        tableau[i][j] /= max;
+                    }
+                }
+                tableau[i][simplex.variableCount + i] = simplex.slackSigns[i];
+                tableau[i][simplex.variableCount + rowCount + i] = 1;
+            }
+        }
+
+        /**
+         * @return the variables of the optimal basis without the artificial ones, or {@code null} if the simplex
+         *     fails.
+         */
+        private int @Nullable [] solve() {
+            for (double[] row : tableau) {
+                for (double value : row) {
+                    if (!Double.isFinite(value)) {
+                        return null;
+                    }
+                }
+            }
+            if (!run(true) || objective(true) > EPSILON || !run(false)) {
+                return null;
+            }
+            return Arrays.stream(basis).filter(variable -> !simplex.isArtificial(variable)).toArray();
+        }
+
+        private double cost(final int variable, final boolean firstPhase) {
+            if (firstPhase) {
+                return simplex.isArtificial(variable) ? 1 : 0;
+            }
+            return variable < simplex.variableCount ? simplex.costs[variable].doubleValue() : 0;
+        }
+
+        private double objective(final boolean firstPhase) {
+            double sum = 0;
+            for (int i = 0; i < rowCount; i++) {
+                sum += cost(basis[i], firstPhase) * tableau[i][width];
+            }
+            return sum;
+        }
+
+        private boolean run(final boolean firstPhase) {
+            final int end = firstPhase ? width : simplex.variableCount + rowCount;
+            for (int iteration = 0; iteration < iterations * (width + 1); iteration++) {
+                int entering = -1;
+                double best = -EPSILON;
+                for (int j = 0; j < end; j++) {
+                    if (!simplex.exists(j)) {
+                        continue;
+                    }
+                    double reducedCost = cost(j, firstPhase);
+                    for (int i = 0; i < rowCount; i++) {
+                        reducedCost -= cost(basis[i], firstPhase) * tableau[i][j];
+                    }
+                    if (reducedCost < best) {
+                        best = reducedCost;
+                        entering = j;
+                    }
+                }
+                if (entering < 0) {
+                    return true;
+                }
+                int leaving = -1;
+                for (int i = 0; i < rowCount; i++) {
+                    if (tableau[i][entering] > EPSILON
+                            && (leaving < 0
+                                    || tableau[i][width] * tableau[leaving][entering]
+                                            < tableau[leaving][width] * tableau[i][entering])) {
+                        leaving = i;
+                    }
+                }
+                if (leaving < 0) {
+                    return false;
+                }
+                final double[] pivotRow = tableau[leaving];
+                final double pivot = pivotRow[entering];
+                for (int j = 0; j <= width; j++) {
+                    pivotRow[j] /= pivot;
+                }
+                for (int i = 0; i < rowCount; i++) {
+                    final double factor = tableau[i][entering];
+                    if (i != leaving && factor != 0) {
+                        for (int j = 0; j <= width; j++) {
+                            tableau[i][j] -= factor * pivotRow[j];
+                        }
+                    }
+                }
+                basis[leaving] = entering;
+            }
+            return false;
+        }
+    }
+}
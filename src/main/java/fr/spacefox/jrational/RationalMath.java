@@ -0,0 +1,433 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Elementary functions of {@code Rational} numbers, at any precision.
+ *
+ * <p>Each function takes a precision of {@code bits} binary digits after the point. When the result is irrational, it
+ * is returned as {@code k/2^bits} (canonical form), flagged as approximate, with {@code |result - f(x)| < 2^-bits}:
+ * the size of the denominator is bounded by the precision, whatever the size of the argument. When the result is
+ * rational (like {@code exp(0)}, {@code log(1)} or {@code pow(4, 1/2)}), it is returned exactly, with the approximate
+ * flag of the arguments, unless its denominator is larger than {@code 2^bits}: then it is rounded like an irrational
+ * result.
+ *
+ * <p>All computations are done on fixed-point integers. The argument is first reduced to a small interval (modulo
+ * {@code ln(2)} for {@code exp}, modulo {@code pi/2} for {@code sin} and {@code cos}, to {@code [1/2, 2]} for
+ * {@code log}), then series are evaluated with binary splitting on chunks of bits of the argument ("bit-burst"
+ * algorithm), so the cost stays quasi-linear in the precision. {@code log} and {@code atan} are computed by Newton
+ * iterations on {@code exp} and {@code sin/cos}, doubling the precision at each step.
+ */
+public final class RationalMath {
+
+    // Extra bits kept in computations, so rounding errors don’t reach the requested precision
+    private static final int GUARD_BITS = 32;
+    // Precision of the initial estimates of Newton iterations, computed with double
+    private static final int DOUBLE_BITS = 48;
+    // Size of the first chunk of the argument in bit-burst evaluations
+    private static final int FIRST_CHUNK_BITS = 8;
+    // Beyond this size (in bits), exp(x) can’t fit in memory
+    private static final int MAX_EXPONENT = Integer.MAX_VALUE / 4;
+    private static final double LN2 = Math.log(2);
+
+    private RationalMath() {
+        // Utility class cannot be instanced
+    }
+
+    /**
+     * Returns the exponential of {@code x}, {@code e^x}.
+     *
+     * @param x the exponent.
+     * @param bits the number of binary digits after the point.
+     * @return {@code e^x}, exact (1) if {@code x} is 0, else {@code k/2^bits} flagged as approximate.
+     * @throws ArithmeticException if {@code bits} is negative or if the result is too large.
+     */
+    public static @NotNull Rational exp(final @NotNull Rational x, final int bits) {
+        checkBits(bits);
+        if (x.signum() == 0) {
+            return x.isApproximate() ? Rational.APPROX_ONE : Rational.ONE;
+        }
+        // exp(x) = 2^n * exp(x - n * ln(2)), with |x - n * ln(2)| close to ln(2)/2
+        final double estimate = estimate(x) / LN2;
+        if (estimate < -(bits + 2.0)) {
+            // exp(x) < 2^-(bits + 1)
+            return Rational.APPROX_ZERO;
+        }
+        if (estimate > MAX_EXPONENT) {
+            throw new ArithmeticException("Overflow: exponential is too large.");
+        }
+        final int n = (int) Math.round(estimate);
+        // The result is multiplied by 2^n, so are the errors
+        final int workingBits = Math.max(bits + n, 0) + GUARD_BITS;
+        final int reductionBits = workingBits + bitLength(n);
+        final BigInteger ln2 = toFixed(RationalConstants.ln2(reductionBits), reductionBits);
+        final BigInteger reduced = toFixed(x, reductionBits)
+                .subtract(ln2.multiply(BigInteger.valueOf(n)))
+                .shiftRight(reductionBits - workingBits);
+        return Rational.approximateOfBinary(expFixed(reduced, workingBits), workingBits - n, bits);
+    }
+
+    /**
+     * Returns the natural logarithm of {@code x}.
+     *
+     * @param x the value, must be positive.
+     * @param bits the number of binary digits after the point.
+     * @return {@code ln(x)}, exact (0) if {@code x} is 1, else {@code k/2^bits} flagged as approximate.
+     * @throws ArithmeticException if {@code bits} is negative or if {@code x <= 0}.
+     */
+    public static @NotNull Rational log(final @NotNull Rational x, final int bits) {
+        checkBits(bits);
+        if (x.signum() <= 0) {
+            throw new ArithmeticException("Logarithm of a negative number or zero.");
+        }
+        if (x.compareTo(Rational.ONE) == 0) {
+            return x.isApproximate() ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        // ln(x) = m * ln(2) + ln(y), with y = x / 2^m in [1/2, 2]
+        final int m = x.getNumerator().bitLength() - x.getDenominator().bitLength();
+        final int workingBits = bits + GUARD_BITS;
+        final BigInteger logY = logFixed(toFixed(x, workingBits - m), workingBits);
+        final int reductionBits = workingBits + bitLength(m);
+        final BigInteger ln2 = toFixed(RationalConstants.ln2(reductionBits), reductionBits);
+        final BigInteger result =
+                ln2.multiply(BigInteger.valueOf(m)).add(logY.shiftLeft(reductionBits - workingBits));
+        return Rational.approximateOfBinary(result, reductionBits, bits);
+    }
+
+    /**
+     * Returns the sine of {@code x}.
+     *
+     * @param x an angle, in radians.
+     * @param bits the number of binary digits after the point.
+     * @return {@code sin(x)}, exact (0) if {@code x} is 0, else {@code k/2^bits} flagged as approximate.
+     * @throws ArithmeticException if {@code bits} is negative.
+     */
+    public static @NotNull Rational sin(final @NotNull Rational x, final int bits) {
+        checkBits(bits);
+        if (x.signum() == 0) {
+            return x.isApproximate() ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        return sinOrCos(x, bits, true);
+    }
+
+    /**
+     * Returns the cosine of {@code x}.
+     *
+     * @param x an angle, in radians.
+     * @param bits the number of binary digits after the point.
+     * @return {@code cos(x)}, exact (1) if {@code x} is 0, else {@code k/2^bits} flagged as approximate.
+     * @throws ArithmeticException if {@code bits} is negative.
+     */
+    public static @NotNull Rational cos(final @NotNull Rational x, final int bits) {
+        checkBits(bits);
+        if (x.signum() == 0) {
+            return x.isApproximate() ? Rational.APPROX_ONE : Rational.ONE;
+        }
+        return sinOrCos(x, bits, false);
+    }
+
+    /**
+     * Returns the arc tangent of {@code x}, in {@code ]-pi/2, pi/2[}.
+     *
+     * @param x the value.
+     * @param bits the number of binary digits after the point.
+     * @return {@code atan(x)}, exact (0) if {@code x} is 0, else {@code k/2^bits} flagged as approximate.
+     * @throws ArithmeticException if {@code bits} is negative.
+     */
+    public static @NotNull Rational atan(final @NotNull Rational x, final int bits) {
+        checkBits(bits);
+        if (x.signum() == 0) {
+            return x.isApproximate() ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        final int workingBits = bits + GUARD_BITS;
+        final Rational abs = x.abs();
+        final BigInteger result;
+        if (abs.compareTo(Rational.ONE) > 0) {
+            // atan(x) = pi/2 - atan(1/x) for x > 0
+            final BigInteger halfPi = toFixed(RationalConstants.pi(workingBits), workingBits - 1);
+            result = halfPi.subtract(atanFixed(toFixed(abs.inverse(), workingBits), workingBits));
+        } else {
+            result = atanFixed(toFixed(abs, workingBits), workingBits);
+        }
+        return Rational.approximateOfBinary(x.signum() < 0 ? result.negate() : result, workingBits, bits);
+    }
+
+    /**
+     * Returns {@code x} raised to the power {@code y}.
+     *
+     * <p>The result is exact when it is rational, with a denominator {@code <= 2^bits}: integer exponents, or
+     * exponents {@code p/q} when {@code x} is the {@code q}-th power of a rational. Larger rational powers are rounded
+     * to {@code k/2^bits} without being computed exactly, with square-and-multiply on values truncated to the
+     * precision. A negative {@code x} is only allowed with exponents {@code p/q} with an odd {@code q} (canonical
+     * form), as {@code x^(p/q) = -(|x|^(p/q))} when {@code p} is odd.
+     *
+     * @param x the base.
+     * @param y the exponent.
+     * @param bits the number of binary digits after the point.
+     * @return {@code x^y}, exact when possible, else {@code k/2^bits} flagged as approximate.
+     * @throws ArithmeticException if {@code bits} is negative, if {@code x} is 0 and {@code y <= 0}, if {@code x} is
+     * negative and {@code y} has an even denominator or if the result is too large.
+     */
+    public static @NotNull Rational pow(final @NotNull Rational x, final @NotNull Rational y, final int bits) {
+        checkBits(bits);
+        final boolean approximate = x.isApproximate() || y.isApproximate();
+        if (x.signum() == 0) {
+            if (y.signum() <= 0) {
+                throw new ArithmeticException("Zero raised to a negative power or to zero.");
+            }
+            return approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        final Rational exponent = y.canonicalForm();
+        final BigInteger p = exponent.getNumerator();
+        final BigInteger q = exponent.getDenominator();
+        if (x.signum() < 0 && !q.testBit(0)) {
+            throw new ArithmeticException("Negative number raised to a power with an even denominator.");
+        }
+        if (p.bitLength() < Integer.SIZE && q.bitLength() < Integer.SIZE) {
+            final Rational root = q.equals(BigInteger.ONE) ? x : x.canonicalForm().exactRoot(q.intValue());
+            if (root != null) {
+                final Rational result = root.pow(p.intValue(), RationalContext.ofBits(bits));
+                return approximate ? Rational.approximateOf(result.getNumerator(), result.getDenominator()) : result;
+            }
+        }
+        // x^y = sign * exp(y * ln|x|)
+        final Rational abs = x.abs();
+        final int m = abs.getNumerator().bitLength() - abs.getDenominator().bitLength();
+        final double log2Abs = m + Math.log(toDouble(toFixed(abs, Long.SIZE - m), Long.SIZE)) / LN2;
+        // |x^y| < 2^magnitude
+        final double magnitude = Math.ceil(estimate(exponent) * log2Abs) + 1;
+        if (magnitude > MAX_EXPONENT) {
+            throw new ArithmeticException("Overflow: power is too large.");
+        }
+        // An error d on y * ln|x| is an error of about d * x^y on the result
+        final int logBits =
+                bits + GUARD_BITS + (int) Math.max(0, magnitude) + Math.max(0, p.bitLength() - q.bitLength() + 1);
+        final Rational result = exp(exponent.multiply(log(abs, logBits)), bits);
+        return x.signum() < 0 && p.testBit(0) ? result.negate() : result;
+    }
+
+    private static void checkBits(final int bits) {
+        if (bits < 0) {
+            throw new ArithmeticException("Number of bits must be >= 0.");
+        }
+    }
+
+    private static int bitLength(final int n) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(Math.abs(n));
+    }
+
+    /**
+     * @return {@code floor(x * 2^scale)}, {@code scale} may be negative.
+     */
+    private static @NotNull BigInteger toFixed(final @NotNull Rational x, final int scale) {
+        final BigInteger numerator = scale >= 0 ? x.getNumerator().shiftLeft(scale) : x.getNumerator();
+        final BigInteger denominator = scale >= 0 ? x.getDenominator() : x.getDenominator().shiftLeft(-scale);
+        if (denominator.bitCount() == 1) {
+            return numerator.shiftRight(denominator.getLowestSetBit());
+        }
+        return floorDivide(numerator, denominator);
+    }
+
+    /**
+     * @return {@code floor(a / b)} for {@code b > 0}.
+     */
+    private static @NotNull BigInteger floorDivide(final @NotNull BigInteger a, final @NotNull BigInteger b) {
+        final BigInteger[] quotientAndRemainder = a.divideAndRemainder(b);
+        return quotientAndRemainder[1].signum() < 0
+                ? quotientAndRemainder[0].subtract(BigInteger.ONE)
+                : quotientAndRemainder[0];
+    }
+
+    /**
+     * Number of terms n of the exponential series for {@code |z| < 2^-reduction}, such as {@code z^n / n!} is lower
+     * than {@code 2^-(bits + 4)}. The terms of sine and cosine series are a subset of this one.
+     */
+    private static long expSeriesTerms(final int reduction, final int bits) {
+        long terms = 1;
+        double log2Term = 0;
+        while (log2Term <= bits + 4) {
+            log2Term += reduction + Math.log(terms) / LN2;
+            terms++;
+        }
+        return terms;
+    }
+
+    private interface ChunkConsumer {
+        void accept(@NotNull BigInteger chunk, int end);
+    }
+
+    /**
+     * Bit-burst splitting of a fixed-point value {@code |r| < 2^scale} in chunks {@code a_i / 2^end_i}, with the sign
+     * of {@code r}: the first chunk holds the first {@code FIRST_CHUNK_BITS} bits after the point, then each chunk is
+     * as large as all the previous ones. So the series of each chunk converges at least as fast as its size grows, and
+     * the cost of its evaluation remains proportional to the precision.
+     */
+    private static void forEachChunk(
+            final @NotNull BigInteger r, final int scale, final @NotNull ChunkConsumer action) {
+        final BigInteger abs = r.abs();
+        int start = 0;
+        int size = FIRST_CHUNK_BITS;
+        while (start < scale) {
+            final int end = Math.min(start + size, scale);
+            final BigInteger chunk =
+                    abs.shiftRight(scale - end).and(BigInteger.ONE.shiftLeft(end - start).subtract(BigInteger.ONE));
+            if (chunk.signum() != 0) {
+                action.accept(r.signum() < 0 ? chunk.negate() : chunk, end);
+            }
+            size = end;
+            start = end;
+        }
+    }
+
+    /**
+     * @return {@code exp(r / 2^scale) * 2^scale}, for {@code |r| < 2^scale}, with an error of a few units.
+     */
+    private static @NotNull BigInteger expFixed(final @NotNull BigInteger r, final int scale) {
+        final BigInteger[] result = {BigInteger.ONE.shiftLeft(scale)};
+        forEachChunk(r, scale, (chunk, end) -> {
+            // exp(a / 2^end) = sum((a / 2^end)^k / k!)
+            final long terms = expSeriesTerms(end - chunk.bitLength(), scale);
+            final BigInteger exp = new BinarySplitting(
+                            k -> BigInteger.ONE,
+                            null,
+                            k -> k == 0 ? BigInteger.ONE : chunk,
+                            k -> k == 0 ? BigInteger.ONE : BigInteger.valueOf(k).shiftLeft(end))
+                    .evaluate(0, terms)
+                    .scaledSum(scale);
+            result[0] = result[0].multiply(exp).shiftRight(scale);
+        });
+        return result[0];
+    }
+
+    /**
+     * @return {@code [sin(r / 2^scale) * 2^scale, cos(r / 2^scale) * 2^scale]}, for {@code |r| < 2^scale}, with an
+     * error of a few units.
+     */
+    private static @NotNull BigInteger[] sinCosFixed(final @NotNull BigInteger r, final int scale) {
+        final BigInteger[] result = {BigInteger.ZERO, BigInteger.ONE.shiftLeft(scale)};
+        forEachChunk(r, scale, (chunk, end) -> {
+            // With z = a / 2^end: sin(z) = sum((-1)^k z^(2k+1) / (2k+1)!) and cos(z) = sum((-1)^k z^2k / (2k)!)
+            final long terms = expSeriesTerms(end - chunk.bitLength(), scale) / 2 + 1;
+            final BigInteger minusSquare = chunk.multiply(chunk).negate();
+            final BigInteger sin = new BinarySplitting(
+                            k -> BigInteger.ONE,
+                            null,
+                            k -> k == 0 ? chunk : minusSquare,
+                            k -> k == 0
+                                    ? BigInteger.ONE.shiftLeft(end)
+                                    : BigInteger.valueOf(2 * k * (2 * k + 1)).shiftLeft(2 * end))
+                    .evaluate(0, terms)
+                    .scaledSum(scale);
+            final BigInteger cos = new BinarySplitting(
+                            k -> BigInteger.ONE,
+                            null,
+                            k -> k == 0 ? BigInteger.ONE : minusSquare,
+                            k -> k == 0
+                                    ? BigInteger.ONE
+                                    : BigInteger.valueOf((2 * k - 1) * 2 * k).shiftLeft(2 * end))
+                    .evaluate(0, terms)
+                    .scaledSum(scale);
+            // sin(a + b) = sin(a) cos(b) + cos(a) sin(b), cos(a + b) = cos(a) cos(b) - sin(a) sin(b)
+            final BigInteger newSin = result[0].multiply(cos).add(result[1].multiply(sin));
+            final BigInteger newCos = result[1].multiply(cos).subtract(result[0].multiply(sin));
+            result[0] = newSin.shiftRight(scale);
+            result[1] = newCos.shiftRight(scale);
+        });
+        return result;
+    }
+
+    private static @NotNull Rational sinOrCos(final @NotNull Rational x, final int bits, final boolean sine) {
+        // x = n * pi/2 + r, with |r| <= pi/4. The error on pi/2 is multiplied by n, so pi needs log2(n) more bits.
+        final int workingBits = bits + GUARD_BITS;
+        final int xBits = Math.max(0, x.getNumerator().bitLength() - x.getDenominator().bitLength() + 1);
+        final int reductionBits = workingBits + xBits + 2;
+        // pi * 2^reductionBits is pi/2 * 2^(reductionBits + 1)
+        final BigInteger halfPi = toFixed(RationalConstants.pi(reductionBits), reductionBits);
+        final BigInteger scaledX = toFixed(x, reductionBits + 1);
+        final BigInteger n = floorDivide(scaledX.shiftLeft(1).add(halfPi), halfPi.shiftLeft(1));
+        final BigInteger[] sinCos = sinCosFixed(
+                scaledX.subtract(n.multiply(halfPi)).shiftRight(reductionBits + 1 - workingBits), workingBits);
+        final BigInteger result;
+        // sin(r + pi/2) = cos(r), cos(r + pi/2) = -sin(r)
+        switch (n.intValue() & 3) {
+            case 0:
+                result = sine ? sinCos[0] : sinCos[1];
+                break;
+            case 1:
+                result = sine ? sinCos[1] : sinCos[0].negate();
+                break;
+            case 2:
+                result = sine ? sinCos[0].negate() : sinCos[1].negate();
+                break;
+            default:
+                result = sine ? sinCos[1].negate() : sinCos[0];
+                break;
+        }
+        return Rational.approximateOfBinary(result, workingBits, bits);
+    }
+
+    /**
+     * Next precision of Newton iterations: each iteration (at least) doubles the number of correct bits, minus a few
+     * bits lost in rounding errors.
+     */
+    private static int nextPrecision(final int precision, final int scale) {
+        return Math.min(scale, 2 * precision - FIRST_CHUNK_BITS);
+    }
+
+    /**
+     * @return {@code ln(y / 2^scale) * 2^scale}, for {@code 1/2 <= y / 2^scale <= 2}, with an error of a few units.
+     */
+    private static @NotNull BigInteger logFixed(final @NotNull BigInteger y, final int scale) {
+        // Newton iterations on exp(t) = y: t = t + y * exp(-t) - 1
+        final double estimate = Math.log(toDouble(y, scale));
+        int precision = Math.min(DOUBLE_BITS, scale);
+        BigInteger t = BigInteger.valueOf(Math.round(Math.scalb(estimate, precision)));
+        while (precision < scale) {
+            final int nextPrecision = nextPrecision(precision, scale);
+            t = t.shiftLeft(nextPrecision - precision);
+            precision = nextPrecision;
+            final BigInteger yAtPrecision = y.shiftRight(scale - precision);
+            t = t.add(yAtPrecision.multiply(expFixed(t.negate(), precision)).shiftRight(precision))
+                    .subtract(BigInteger.ONE.shiftLeft(precision));
+        }
+        return t;
+    }
+
+    /**
+     * @return {@code atan(x / 2^scale) * 2^scale}, for {@code 0 <= x / 2^scale <= 1}, with an error of a few units.
+     */
+    private static @NotNull BigInteger atanFixed(final @NotNull BigInteger x, final int scale) {
+        // Newton iterations on tan(t) = x: t = t + atan(d) with d = (x cos(t) - sin(t)) / (cos(t) + x sin(t)), and
+        // atan(d) = d + O(d^3)
+        final double estimate = Math.atan(toDouble(x, scale));
+        int precision = Math.min(DOUBLE_BITS, scale);
+        BigInteger t = BigInteger.valueOf(Math.round(Math.scalb(estimate, precision)));
+        while (precision < scale) {
+            final int nextPrecision = nextPrecision(precision, scale);
+            t = t.shiftLeft(nextPrecision - precision);
+            precision = nextPrecision;
+            final BigInteger xAtPrecision = x.shiftRight(scale - precision);
+            final BigInteger[] sinCos = sinCosFixed(t, precision);
+            final BigInteger numerator =
+                    xAtPrecision.multiply(sinCos[1]).shiftRight(precision).subtract(sinCos[0]);
+            final BigInteger denominator =
+                    sinCos[1].add(xAtPrecision.multiply(sinCos[0]).shiftRight(precision));
+            t = t.add(numerator.shiftLeft(precision).divide(denominator));
+        }
+        return t;
+    }
+
+    /**
+     * @return an estimate of {@code x} with about 60 significant bits, much cheaper than {@code doubleValue()}.
+     */
+    private static double estimate(final @NotNull Rational x) {
+        final int magnitude = x.getNumerator().bitLength() - x.getDenominator().bitLength();
+        return toDouble(toFixed(x, Long.SIZE - magnitude), Long.SIZE - magnitude);
+    }
+
+    private static double toDouble(final @NotNull BigInteger value, final int scale) {
+        final int shift = Math.max(0, value.bitLength() - Long.SIZE);
+        return Math.scalb(value.shiftRight(shift).doubleValue(), shift - scale);
+    }
+}
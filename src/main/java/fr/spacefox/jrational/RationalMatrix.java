@@ -0,0 +1,633 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable dense matrix of {@code Rational}, with exact determinant, rank, linear system solving and inverse.
+ *
+ * <p>Naive Gaussian elimination on rationals makes numerators and denominators explode, as each step multiplies them
+ * without common factors being removed. Here, each row is first scaled to integers by the least common multiple of
+ * its denominators, then the integer matrix is reduced with the fraction-free elimination of Bareiss: each step
+ * divides the new entries exactly by the previous pivot, so every intermediate entry is a minor of the scaled matrix,
+ * and its size grows only linearly with the step. Results are converted back to {@code Rational} only at the end, in
+ * canonical form.
+ *
+ * <p>The row updates of each elimination step are independent, so large steps are split in row ranges computed in
+ * parallel in the common {@code ForkJoinPool}.
+ *
+ * <p>Results are approximate if any entry of the matrix (or of the solved vector) is approximate.
+ */
+public final class RationalMatrix {
+
+    // Count of entries updated by an elimination task before it is split
+    private static final int PARALLEL_THRESHOLD = 1 << 11;
+    // Count of output cells of a block of a product
+    private static final int BLOCK_CELLS = 32 * 32;
+
+    private final @NotNull Rational[][] entries;
+    private final int rowCount;
+    private final int columnCount;
+    private final boolean approximate;
+
+    private RationalMatrix(final @NotNull Rational[][] entries) {
+        this.entries = entries;
+        this.rowCount = entries.length;
+        this.columnCount = entries[0].length;
+        boolean anyApproximate = false;
+        for (Rational[] row : entries) {
+            for (Rational entry : row) {
+                anyApproximate |= entry.isApproximate();
+            }
+        }
+        this.approximate = anyApproximate;
+    }
+
+    /**
+     * Builds a matrix from its rows.
+     *
+     * @param rows the rows of the matrix, copied. All rows must have the same size.
+     * @return the matrix.
+     * @throws ArithmeticException if there are no rows, if rows are empty or if they have different sizes.
+     */
+    public static @NotNull RationalMatrix of(final @NotNull Rational[][] rows) {
+        if (rows.length == 0 || rows[0].length == 0) {
+            throw new ArithmeticException("A matrix must have at least one row and one column.");
+        }
+        final Rational[][] entries = new Rational[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].length != rows[0].length) {
+                throw new ArithmeticException("All the rows of a matrix must have the same size.");
+            }
+            entries[i] = rows[i].clone();
+        }
+        return new RationalMatrix(entries);
+    }
+
+    /**
+     * Builds a matrix from its rows.
+     *
+     * @param rows the rows of the matrix, copied. All rows must have the same size.
+     * @return the matrix.
+     * @throws ArithmeticException if there are no rows, if rows are empty or if they have different sizes.
+     */
+    public static @NotNull RationalMatrix of(final @NotNull List<List<Rational>> rows) {
+        final Rational[][] entries = new Rational[rows.size()][];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = rows.get(i).toArray(new Rational[0]);
+        }
+        return of(entries);
+    }
+
+    /**
+     * Builds the identity matrix: 1 on the diagonal, 0 elsewhere.
+     *
+     * @param size the count of rows and columns, must be &gt; 0.
+     * @return the identity matrix.
+     * @throws ArithmeticException if {@code size} is not &gt; 0.
+     */
+    public static @NotNull RationalMatrix identity(final int size) {
+        if (size <= 0) {
+            throw new ArithmeticException("A matrix must have at least one row and one column.");
+        }
+        return new RationalMatrix(identityEntries(size));
+    }
+
+    private static @NotNull Rational[][] identityEntries(final int size) {
+        final Rational[][] entries = new Rational[size][size];
+        for (int i = 0; i < size; i++) {
+            Arrays.fill(entries[i], Rational.ZERO);
+            entries[i][i] = Rational.ONE;
+        }
+        return entries;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * @param row the index of the row, from 0.
+     * @param column the index of the column, from 0.
+     * @return the entry at this row and column.
+     */
+    public @NotNull Rational get(final int row, final int column) {
+        return entries[row][column];
+    }
+
+    /**
+     * @return {@code true} if the matrix has as many rows as columns.
+     */
+    public boolean isSquare() {
+        return rowCount == columnCount;
+    }
+
+    /**
+     * Returns the determinant of this matrix.
+     *
+     * @return the determinant, in canonical form.
+     * @throws ArithmeticException if the matrix is not square.
+     */
+    public @NotNull Rational determinant() {
+        checkSquare();
+        final BigInteger[] scales = new BigInteger[rowCount];
+        final Elimination elimination = new Elimination(scaledRows(null, scales), columnCount);
+        if (elimination.rank < rowCount) {
+            return approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        // det(A) = det(scaled A) / product of the row scales
+        BigInteger scale = BigInteger.ONE;
+        for (BigInteger rowScale : scales) {
+            scale = scale.multiply(rowScale);
+        }
+        final BigInteger determinant = elimination.negated ? elimination.pivot.negate() : elimination.pivot;
+        return result(determinant, scale, approximate);
+    }
+
+    /**
+     * Returns the rank of this matrix: the count of its linearly independent rows (or columns).
+     *
+     * @return the rank of this matrix.
+     */
+    public int rank() {
+        return new Elimination(scaledRows(null, null), columnCount).rank;
+    }
+
+    /**
+     * Solves the linear system {@code this * x = vector}.
+     *
+     * @param vector the right side of the system.
+     * @return the only solution {@code x}, with values in canonical form.
+     * @throws ArithmeticException if the matrix is not square, if the size of the vector is not the count of rows of
+     * the matrix or if the matrix is singular.
+     */
+    public @NotNull List<Rational> solve(final @NotNull List<Rational> vector) {
+        checkSquare();
+        if (vector.size() != rowCount) {
+            throw new ArithmeticException("The size of the vector must be the count of rows of the matrix.");
+        }
+        final Rational[][] column = new Rational[rowCount][1];
+        boolean anyApproximate = approximate;
+        for (int i = 0; i < rowCount; i++) {
+            column[i][0] = vector.get(i);
+            anyApproximate |= column[i][0].isApproximate();
+        }
+        final BigInteger[] determinant = new BigInteger[1];
+        final BigInteger[][] solution = solveScaled(column, determinant);
+        final List<Rational> result = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            result.add(result(solution[0][i], determinant[0], anyApproximate));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns the inverse of this matrix.
+     *
+     * @return the matrix {@code B} such as {@code this * B} is the identity, with entries in canonical form.
+     * @throws ArithmeticException if the matrix is not square or if it is singular.
+     */
+    public @NotNull RationalMatrix inverse() {
+        checkSquare();
+        final BigInteger[] determinant = new BigInteger[1];
+        final BigInteger[][] solution = solveScaled(identityEntries(rowCount), determinant);
+        final Rational[][] inverse = new Rational[rowCount][columnCount];
+        for (int i = 0; i < rowCount; i++) {
+            for (int j = 0; j < columnCount; j++) {
+                inverse[i][j] = result(solution[j][i], determinant[0], approximate);
+            }
+        }
+        return new RationalMatrix(inverse);
+    }
+
+    /**
+     * Returns the matrix product {@code this * val}.
+     *
+     * <p>Instead of {@code n^3} rational multiplications and additions, each row of this matrix and each column of
+     * {@code val} is scaled to integers by the least common multiple of its denominators, the integer matrices are
+     * multiplied, then each output cell is divided once by the scales of its row and column. Integer products are
+     * computed in {@code long} when the bit lengths of the entries guarantee that they fit, and in {@code BigInteger}
+     * otherwise. Output cells are computed by blocks, in parallel in the common {@code ForkJoinPool} for large
+     * products.
+     *
+     * @param val the matrix by which this matrix is multiplied.
+     * @return {@code this * val}, with entries in canonical form.
+     * @throws ArithmeticException if the count of columns of this matrix is not the count of rows of {@code val}.
+     */
+    public @NotNull RationalMatrix multiply(final @NotNull RationalMatrix val) {
+        if (columnCount != val.rowCount) {
+            throw new ArithmeticException("The count of columns of a matrix must be the count of rows of the other.");
+        }
+        final BigInteger[] rowScales = new BigInteger[rowCount];
+        final BigInteger[] columnScales = new BigInteger[val.columnCount];
+        final Multiplication multiplication = new Multiplication(
+                scaledRows(null, rowScales),
+                val.scaledColumns(columnScales),
+                rowScales,
+                columnScales,
+                approximate || val.approximate);
+        if ((long) rowCount * val.columnCount * columnCount < PARALLEL_THRESHOLD * BLOCK_CELLS) {
+            // Not split in tasks at all: called outside of a pool, the subtasks would be forked to the common pool
+            multiplication.computeBlock(0, rowCount, 0, val.columnCount);
+        } else {
+            ForkJoinPool.commonPool().invoke(multiplication.new BlockTask(0, rowCount, 0, val.columnCount));
+        }
+        return new RationalMatrix(multiplication.product);
+    }
+
+    /**
+     * @param scales receives the factor applied to each column.
+     * @return the columns of this matrix (as rows), each multiplied by the least common multiple of its denominators.
+     */
+    private @NotNull BigInteger[][] scaledColumns(final @NotNull BigInteger[] scales) {
+        final BigInteger[][] columns = new BigInteger[columnCount][rowCount];
+        for (int j = 0; j < columnCount; j++) {
+            BigInteger lcm = BigInteger.ONE;
+            for (int i = 0; i < rowCount; i++) {
+                lcm = lcm(lcm, entries[i][j].getDenominator());
+            }
+            for (int i = 0; i < rowCount; i++) {
+                columns[j][i] = scaled(entries[i][j], lcm);
+            }
+            scales[j] = lcm;
+        }
+        return columns;
+    }
+
+    private static @NotNull BigInteger scaled(final @NotNull Rational entry, final @NotNull BigInteger scale) {
+        return entry.signum() == 0
+                ? BigInteger.ZERO
+                : entry.getNumerator().multiply(scale.divide(entry.getDenominator()));
+    }
+
+    /**
+     * Integer product of scaled rows and scaled columns, rescaled in each output cell.
+     */
+    private static final class Multiplication {
+        private final @NotNull BigInteger[][] rows;
+        private final @NotNull BigInteger[][] columns;
+        // Same values, if all the sums of products fit in a long, null otherwise
+        private final long @Nullable [][] smallRows;
+        private final long @Nullable [][] smallColumns;
+        private final @NotNull BigInteger[] rowScales;
+        private final @NotNull BigInteger[] columnScales;
+        private final boolean approximate;
+        private final @NotNull Rational[][] product;
+
+        private Multiplication(
+                final @NotNull BigInteger[][] rows,
+                final @NotNull BigInteger[][] columns,
+                final @NotNull BigInteger[] rowScales,
+                final @NotNull BigInteger[] columnScales,
+                final boolean approximate) {
+            this.rows = rows;
+            this.columns = columns;
+            this.rowScales = rowScales;
+            this.columnScales = columnScales;
+            this.approximate = approximate;
+            this.product = new Rational[rows.length][columns.length];
+            // |sum of n products| < 2^(rowBits + columnBits + bits(n))
+            final int innerBits = 32 - Integer.numberOfLeadingZeros(rows[0].length);
+            if (maxBitLength(rows) + maxBitLength(columns) + innerBits < Long.SIZE - 1) {
+                smallRows = toLong(rows);
+                smallColumns = toLong(columns);
+            } else {
+                smallRows = null;
+                smallColumns = null;
+            }
+        }
+
+        private static int maxBitLength(final @NotNull BigInteger[][] values) {
+            int max = 0;
+            for (BigInteger[] row : values) {
+                for (BigInteger value : row) {
+                    max = Math.max(max, value.bitLength());
+                }
+            }
+            return max;
+        }
+
+        private static long @NotNull [][] toLong(final @NotNull BigInteger[][] values) {
+            final long[][] result = new long[values.length][values[0].length];
+            for (int i = 0; i < values.length; i++) {
+                for (int j = 0; j < values[i].length; j++) {
+                    result[i][j] = values[i][j].longValue();
+                }
+            }
+            return result;
+        }
+
+        private void computeBlock(final int rowFrom, final int rowTo, final int columnFrom, final int columnTo) {
+            for (int i = rowFrom; i < rowTo; i++) {
+                for (int j = columnFrom; j < columnTo; j++) {
+                    final BigInteger sum = smallRows == null ? bigDot(rows[i], columns[j]) : smallDot(i, j);
+                    product[i][j] = result(sum, rowScales[i].multiply(columnScales[j]), approximate);
+                }
+            }
+        }
+
+        private @NotNull BigInteger smallDot(final int row, final int column) {
+            final long[] left = smallRows[row];
+            final long[] right = smallColumns[column];
+            long sum = 0;
+            for (int k = 0; k < left.length; k++) {
+                sum += left[k] * right[k];
+            }
+            return BigInteger.valueOf(sum);
+        }
+
+        private static @NotNull BigInteger bigDot(final @NotNull BigInteger[] left, final @NotNull BigInteger[] right) {
+            BigInteger sum = BigInteger.ZERO;
+            for (int k = 0; k < left.length; k++) {
+                if (left[k].signum() != 0 && right[k].signum() != 0) {
+                    sum = sum.add(left[k].multiply(right[k]));
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * Computes a block of output cells, split in two halves on its largest side until it has at most
+         * {@code BLOCK_CELLS} cells, so the rows and columns of a block stay in the CPU caches.
+         */
+        private final class BlockTask extends RecursiveAction {
+            private final int rowFrom;
+            private final int rowTo;
+            private final int columnFrom;
+            private final int columnTo;
+
+            private BlockTask(final int rowFrom, final int rowTo, final int columnFrom, final int columnTo) {
+                this.rowFrom = rowFrom;
+                this.rowTo = rowTo;
+                this.columnFrom = columnFrom;
+                this.columnTo = columnTo;
+            }
+
+            @Override
+            protected void compute() {
+                if ((rowTo - rowFrom) * (columnTo - columnFrom) <= BLOCK_CELLS) {
+                    computeBlock(rowFrom, rowTo, columnFrom, columnTo);
+                } else if (rowTo - rowFrom >= columnTo - columnFrom) {
+                    final int middle = (rowFrom + rowTo) >>> 1;
+                    ForkJoinTask.invokeAll(
+                            new BlockTask(rowFrom, middle, columnFrom, columnTo),
+                            new BlockTask(middle, rowTo, columnFrom, columnTo));
+                } else {
+                    final int middle = (columnFrom + columnTo) >>> 1;
+                    ForkJoinTask.invokeAll(
+                            new BlockTask(rowFrom, rowTo, columnFrom, middle),
+                            new BlockTask(rowFrom, rowTo, middle, columnTo));
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves {@code this * x = c} for each column {@code c} of {@code extra}: {@code [this | extra]} is reduced to an
+     * upper triangular matrix {@code U} by elimination, then each solution is computed by back substitution.
+     *
+     * <p>With {@code d} the last pivot (the determinant of the scaled matrix, up to the sign), {@code d * x} are
+     * integers (Cramer's rule), so the back substitution is fraction-free too:
+     * {@code y[i] = (d * U[i][c] - sum(U[i][j] * y[j], j > i)) / U[i][i]}, where the division is exact.
+     *
+     * @param determinant receives {@code d}.
+     * @return {@code d * x} for each column of {@code extra}.
+     */
+    private @NotNull BigInteger[][] solveScaled(
+            final @NotNull Rational[][] extra, final @NotNull BigInteger[] determinant) {
+        final Elimination elimination = new Elimination(scaledRows(extra, null), columnCount);
+        if (elimination.rank < rowCount) {
+            throw new ArithmeticException("The matrix is singular.");
+        }
+        final BigInteger[][] upper = elimination.matrix;
+        final BigInteger d = elimination.pivot;
+        final BigInteger[][] solutions = new BigInteger[extra[0].length][rowCount];
+        final IntStream columns = IntStream.range(0, solutions.length);
+        (solutions.length > 1 ? columns.parallel() : columns).forEach(c -> {
+            final BigInteger[] y = solutions[c];
+            for (int i = rowCount - 1; i >= 0; i--) {
+                BigInteger value = d.multiply(upper[i][columnCount + c]);
+                for (int j = i + 1; j < rowCount; j++) {
+                    if (upper[i][j].signum() != 0 && y[j].signum() != 0) {
+                        value = value.subtract(upper[i][j].multiply(y[j]));
+                    }
+                }
+                y[i] = value.divide(upper[i][i]);
+            }
+        });
+        determinant[0] = d;
+        return solutions;
+    }
+
+    /**
+     * @param extra additional columns, appended to the right of each row, or {@code null}.
+     * @param scales if not {@code null}, receives the factor applied to each row.
+     * @return the rows of {@code [this | extra]}, each multiplied by the least common multiple of its denominators.
+     */
+    private @NotNull BigInteger[][] scaledRows(
+            final @Nullable Rational[][] extra, final @Nullable BigInteger[] scales) {
+        final int extraCount = extra == null ? 0 : extra[0].length;
+        final BigInteger[][] rows = new BigInteger[rowCount][columnCount + extraCount];
+        for (int i = 0; i < rowCount; i++) {
+            BigInteger lcm = BigInteger.ONE;
+            for (int j = 0; j < columnCount + extraCount; j++) {
+                lcm = lcm(lcm, entry(extra, i, j).getDenominator());
+            }
+            for (int j = 0; j < columnCount + extraCount; j++) {
+                rows[i][j] = scaled(entry(extra, i, j), lcm);
+            }
+            if (scales != null) {
+                scales[i] = lcm;
+            }
+        }
+        return rows;
+    }
+
+    private @NotNull Rational entry(final @Nullable Rational[][] extra, final int row, final int column) {
+        return column < columnCount ? entries[row][column] : extra[row][column - columnCount];
+    }
+
+    private static @NotNull BigInteger lcm(final @NotNull BigInteger a, final @NotNull BigInteger b) {
+        if (b.equals(BigInteger.ONE) || a.equals(b)) {
+            return a;
+        }
+        return a.divide(a.gcd(b)).multiply(b);
+    }
+
+    private static @NotNull Rational result(
+            final @NotNull BigInteger numerator, final @NotNull BigInteger denominator, final boolean approximate) {
+        if (numerator.signum() == 0) {
+            return approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        return (approximate ? Rational.approximateOf(numerator, denominator) : Rational.of(numerator, denominator))
+                .canonicalForm();
+    }
+
+    private void checkSquare() {
+        if (!isSquare()) {
+            throw new ArithmeticException("The matrix must be square.");
+        }
+    }
+
+    /**
+     * Bareiss fraction-free elimination of an integer matrix to an upper triangular matrix, in place.
+     *
+     * <p>At each step, with the pivot {@code p} at row {@code r} and column {@code k}, and the previous pivot
+     * {@code q}, each row {@code i > r} is updated with {@code m[i][j] = (p * m[i][j] - m[i][k] * m[r][j]) / q}. The
+     * division is exact. Columns without a pivot are skipped, so the count of pivots is the rank.
+     */
+    private static final class Elimination {
+        private final @NotNull BigInteger[][] matrix;
+        private final int width;
+        private int rank;
+        // true if an odd count of rows have been swapped
+        private boolean negated;
+        // Last pivot, the determinant of the leading minor, up to the sign
+        private @NotNull BigInteger pivot = BigInteger.ONE;
+
+        /**
+         * @param matrix the integer matrix, reduced in place.
+         * @param pivotColumns the count of columns (from the left) where pivots are searched.
+         */
+        private Elimination(final @NotNull BigInteger[][] matrix, final int pivotColumns) {
+            this.matrix = matrix;
+            this.width = matrix[0].length;
+            for (int k = 0; k < pivotColumns && rank < matrix.length; k++) {
+                int pivotRow = rank;
+                while (pivotRow < matrix.length && matrix[pivotRow][k].signum() == 0) {
+                    pivotRow++;
+                }
+                if (pivotRow == matrix.length) {
+                    // No pivot in this column
+                    continue;
+                }
+                if (pivotRow != rank) {
+                    final BigInteger[] swap = matrix[pivotRow];
+                    matrix[pivotRow] = matrix[rank];
+                    matrix[rank] = swap;
+                    negated = !negated;
+                }
+                eliminate(rank, k);
+                pivot = matrix[rank][k];
+                rank++;
+            }
+        }
+
+        private void eliminate(final int row, final int column) {
+            final RowTask task = new RowTask(row, column, row + 1, matrix.length);
+            if ((long) (matrix.length - row - 1) * (width - column) < PARALLEL_THRESHOLD) {
+                task.compute();
+            } else {
+                ForkJoinPool.commonPool().invoke(task);
+            }
+        }
+
+        private void update(final int pivotRow, final int column, final int row) {
+            final BigInteger[] pivots = matrix[pivotRow];
+            final BigInteger[] values = matrix[row];
+            final BigInteger newPivot = pivots[column];
+            final BigInteger factor = values[column];
+            for (int j = column + 1; j < width; j++) {
+                BigInteger value = values[j].multiply(newPivot);
+                if (factor.signum() != 0 && pivots[j].signum() != 0) {
+                    value = value.subtract(factor.multiply(pivots[j]));
+                }
+                values[j] = value.divide(pivot);
+            }
+            values[column] = BigInteger.ZERO;
+        }
+
+        private final class RowTask extends RecursiveAction {
+            private final int pivotRow;
+            private final int column;
+            private final int from;
+            private final int to;
+
+            private RowTask(final int pivotRow, final int column, final int from, final int to) {
+                this.pivotRow = pivotRow;
+                this.column = column;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > 1 && (long) (to - from) * (width - column) >= PARALLEL_THRESHOLD) {
+                    final int middle = (from + to) >>> 1;
+                    ForkJoinTask.invokeAll(
+                            new RowTask(pivotRow, column, from, middle), new RowTask(pivotRow, column, middle, to));
+                    return;
+                }
+                for (int i = from; i < to; i++) {
+                    update(pivotRow, column, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares this matrix with the specified {@code Object} for equality. Like {@code RationalInterval}, entries
+     * are compared by value, whatever their representation or approximate flag.
+     *
+     * @param o {@code Object} to which this matrix is to be compared.
+     * @return {@code true} if the specified {@code Object} is a matrix of the same size, with equal entries.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final RationalMatrix that = (RationalMatrix) o;
+        if (rowCount != that.rowCount || columnCount != that.columnCount) {
+            return false;
+        }
+        for (int i = 0; i < rowCount; i++) {
+            for (int j = 0; j < columnCount; j++) {
+                if (entries[i][j].compareTo(that.entries[i][j]) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Consistent with equals(): entries are compared by value
+        int hash = 31 * rowCount + columnCount;
+        for (Rational[] row : entries) {
+            for (Rational entry : row) {
+                final Rational canonical = entry.canonicalForm();
+                hash = 31 * (31 * hash + canonical.getNumerator().hashCode())
+                        + canonical.getDenominator().hashCode();
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final StringJoiner rows = new StringJoiner(", ", "[", "]");
+        for (Rational[] row : entries) {
+            rows.add(Arrays.toString(row));
+        }
+        return rows.toString();
+    }
+}
@@ -0,0 +1,395 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable polynomial in one variable with {@code Rational} coefficients.
+ *
+ * <p>Coefficients are stored as integers over one common denominator, and the polynomial is always kept in canonical
+ * form: the denominator is positive and has no common factor with all the integer coefficients. So arithmetic is
+ * done on integer polynomials, without a fraction per coefficient:
+ *
+ * <ul>
+ *   <li>large products use the Kronecker substitution, which packs each polynomial in one {@code BigInteger} and lets
+ *       the Karatsuba or Toom-Cook multiplication of {@code BigInteger} compute the whole product at once;
+ *   <li>evaluation at {@code p/q} uses Horner's method on integers, {@code sum(c[i] * p^i * q^(n - i))}, and divides
+ *       only once, by {@code q^n} times the common denominator;
+ *   <li>evaluation at many points scales the polynomial once per common denominator of the points, then evaluates
+ *       each point with Horner's method on integers.
+ * </ul>
+ *
+ * <p>Real roots are isolated in rational intervals with Descartes' rule of signs on the integer coefficients, then
+ * refined on demand.
+ *
+ * <p>Results are approximate if any coefficient of the polynomial (or any operand) is approximate.
+ */
+public final class RationalPolynomial {
+
+    // Count of coefficients times points above which points are evaluated in parallel
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private static final RationalPolynomial ZERO =
+            new RationalPolynomial(IntegerPolynomials.ZERO, BigInteger.ONE, false);
+
+    // From the constant coefficient to the leading one, without zero leading coefficients
+    private final BigInteger @NotNull [] coefficients;
+    private final @NotNull BigInteger denominator;
+    private final boolean approximate;
+
+    private RationalPolynomial(
+            final BigInteger @NotNull [] coefficients,
+            final @NotNull BigInteger denominator,
+            final boolean approximate) {
+        this.coefficients = coefficients;
+        this.denominator = denominator;
+        this.approximate = approximate;
+    }
+
+    /**
+     * @param coefficients integer coefficients, maybe with zero leading coefficients.
+     * @param denominator the common denominator, must be &gt; 0.
+     * @return the polynomial in canonical form.
+     */
+    private static @NotNull RationalPolynomial create(
+            final BigInteger @NotNull [] coefficients,
+            final @NotNull BigInteger denominator,
+            final boolean approximate) {
+        final BigInteger[] trimmed = IntegerPolynomials.trim(coefficients);
+        if (trimmed.length == 0) {
+            return approximate ? new RationalPolynomial(trimmed, BigInteger.ONE, true) : ZERO;
+        }
+        BigInteger gcd = denominator;
+        for (int i = 0; i < trimmed.length && !gcd.equals(BigInteger.ONE); i++) {
+            gcd = gcd.gcd(trimmed[i]);
+        }
+        if (gcd.equals(BigInteger.ONE)) {
+            return new RationalPolynomial(trimmed, denominator, approximate);
+        }
+        final BigInteger[] reduced = new BigInteger[trimmed.length];
+        for (int i = 0; i < trimmed.length; i++) {
+            reduced[i] = trimmed[i].divide(gcd);
+        }
+        return new RationalPolynomial(reduced, denominator.divide(gcd), approximate);
+    }
+
+    /**
+     * Builds a polynomial from its coefficients.
+     *
+     * @param coefficients the coefficients, from the constant one to the one of the highest degree. Zero leading
+     *     coefficients are ignored, and no coefficients gives the zero polynomial.
+     * @return the polynomial.
+     */
+    public static @NotNull RationalPolynomial of(final @NotNull List<Rational> coefficients) {
+        BigInteger denominator = BigInteger.ONE;
+        boolean approximate = false;
+        final Rational[] canonical = new Rational[coefficients.size()];
+        for (int i = 0; i < canonical.length; i++) {
+            canonical[i] = coefficients.get(i).canonicalForm();
+            denominator = lcm(denominator, canonical[i].getDenominator());
+            approximate |= canonical[i].isApproximate();
+        }
+        final BigInteger[] integers = new BigInteger[canonical.length];
+        for (int i = 0; i < canonical.length; i++) {
+            integers[i] = canonical[i].getNumerator().multiply(denominator.divide(canonical[i].getDenominator()));
+        }
+        return create(integers, denominator, approximate);
+    }
+
+    /**
+     * Builds a polynomial from its coefficients.
+     *
+     * @param coefficients the coefficients, from the constant one to the one of the highest degree. Zero leading
+     *     coefficients are ignored, and no coefficients gives the zero polynomial.
+     * @return the polynomial.
+     */
+    public static @NotNull RationalPolynomial of(final @NotNull Rational... coefficients) {
+        return of(Arrays.asList(coefficients));
+    }
+
+    /**
+     * @return the degree of this polynomial, or -1 for the zero polynomial.
+     */
+    public int degree() {
+        return coefficients.length - 1;
+    }
+
+    /**
+     * @param power the power of the variable, must be &gt;= 0.
+     * @return the coefficient of {@code X^power}, 0 above the degree.
+     * @throws ArithmeticException if {@code power} is negative.
+     */
+    public @NotNull Rational getCoefficient(final int power) {
+        if (power < 0) {
+            throw new ArithmeticException("The power of a coefficient can’t be negative.");
+        }
+        return power < coefficients.length
+                ? result(coefficients[power], denominator, approximate)
+                : approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+    }
+
+    /**
+     * @return the coefficients in canonical form, from the constant one to the leading one. Empty for the zero
+     *     polynomial.
+     */
+    public @NotNull List<Rational> getCoefficients() {
+        final List<Rational> result = new ArrayList<>(coefficients.length);
+        for (BigInteger coefficient : coefficients) {
+            result.add(result(coefficient, denominator, approximate));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    public @NotNull RationalPolynomial add(final @NotNull RationalPolynomial val) {
+        final BigInteger common = lcm(denominator, val.denominator);
+        return create(
+                IntegerPolynomials.add(
+                        IntegerPolynomials.scale(coefficients, common.divide(denominator)),
+                        IntegerPolynomials.scale(val.coefficients, common.divide(val.denominator))),
+                common,
+                approximate || val.approximate);
+    }
+
+    public @NotNull RationalPolynomial subtract(final @NotNull RationalPolynomial val) {
+        return add(val.negate());
+    }
+
+    public @NotNull RationalPolynomial negate() {
+        return new RationalPolynomial(IntegerPolynomials.negate(coefficients), denominator, approximate);
+    }
+
+    /**
+     * Multiplies two polynomials, with the Kronecker substitution when both are large.
+     *
+     * @param val the other polynomial.
+     * @return the product.
+     */
+    public @NotNull RationalPolynomial multiply(final @NotNull RationalPolynomial val) {
+        return create(
+                IntegerPolynomials.multiply(coefficients, val.coefficients),
+                denominator.multiply(val.denominator),
+                approximate || val.approximate);
+    }
+
+    public @NotNull RationalPolynomial multiply(final @NotNull Rational val) {
+        final Rational canonical = val.canonicalForm();
+        return create(
+                IntegerPolynomials.scale(coefficients, canonical.getNumerator()),
+                denominator.multiply(canonical.getDenominator()),
+                approximate || val.isApproximate());
+    }
+
+    /**
+     * @return the derivative of this polynomial.
+     */
+    public @NotNull RationalPolynomial derivative() {
+        return create(IntegerPolynomials.derivative(coefficients), denominator, approximate);
+    }
+
+    /**
+     * Evaluates this polynomial with Horner's method on integers: with {@code x = p/q} in canonical form and a degree
+     * {@code n}, computes {@code sum(c[i] * p^i * q^(n - i))} then divides it by {@code q^n} and the common
+     * denominator.
+     *
+     * @param x the value of the variable.
+     * @return the value of the polynomial, in canonical form.
+     */
+    public @NotNull Rational evaluate(final @NotNull Rational x) {
+        final Rational canonical = x.canonicalForm();
+        final BigInteger p = canonical.getNumerator();
+        final BigInteger q = canonical.getDenominator();
+        return result(
+                IntegerPolynomials.evaluate(coefficients, p, q),
+                denominator.multiply(q.pow(Math.max(0, degree()))),
+                approximate || x.isApproximate());
+    }
+
+    /**
+     * Evaluates this polynomial at many points.
+     *
+     * <p>Points are grouped by denominator: for each denominator {@code q} shared by several points, the polynomial is
+     * scaled once to the integer polynomial {@code sum(c[i] * q^(n - i) * X^i)}, so each point {@code p/q} of the
+     * group costs only one Horner's method on integers at {@code p}, and one division. When there is enough work,
+     * points are evaluated in parallel in the common {@code ForkJoinPool}.
+     *
+     * @param xs the values of the variable.
+     * @return the values of the polynomial, in canonical form, in the order of {@code xs}.
+     */
+    public @NotNull List<Rational> evaluate(final @NotNull List<Rational> xs) {
+        final Rational[] canonical = new Rational[xs.size()];
+        final Map<BigInteger, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < canonical.length; i++) {
+            canonical[i] = xs.get(i).canonicalForm();
+            groups.computeIfAbsent(canonical[i].getDenominator(), q -> new ArrayList<>()).add(i);
+        }
+        final Rational[] values = new Rational[canonical.length];
+        final List<Integer> alone = new ArrayList<>();
+        for (Map.Entry<BigInteger, List<Integer>> group : groups.entrySet()) {
+            final List<Integer> indexes = group.getValue();
+            if (indexes.size() == 1) {
+                alone.add(indexes.get(0));
+                continue;
+            }
+            // P(p/q) = sum(c[i] * q^(n - i) * p^i) / q^n
+            final BigInteger q = group.getKey();
+            final BigInteger[] scaled = new BigInteger[coefficients.length];
+            BigInteger qPower = BigInteger.ONE;
+            for (int i = coefficients.length - 1; i >= 0; i--) {
+                scaled[i] = coefficients[i].multiply(qPower);
+                if (i > 0) {
+                    qPower = qPower.multiply(q);
+                }
+            }
+            final BigInteger scaledDenominator = denominator.multiply(qPower);
+            forEachPoint(indexes, i -> values[i] = result(
+                    IntegerPolynomials.evaluate(scaled, canonical[i].getNumerator()),
+                    scaledDenominator,
+                    approximate || canonical[i].isApproximate()));
+        }
+        forEachPoint(alone, i -> values[i] = evaluate(canonical[i]));
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    private void forEachPoint(final @NotNull List<Integer> indexes, final @NotNull IntConsumer action) {
+        final IntStream stream = indexes.stream().mapToInt(Integer::intValue);
+        if ((long) indexes.size() * coefficients.length >= PARALLEL_THRESHOLD) {
+            stream.parallel().forEach(action);
+        } else {
+            stream.forEach(action);
+        }
+    }
+
+    /**
+     * Isolates the real roots of this polynomial, with the Vincent-Collins-Akritas method: Descartes' rule of signs
+     * on the integer coefficients counts the roots in an interval, and intervals with more than one root are split
+     * in two halves. Multiple roots are first reduced to simple roots, so each real root is isolated only once.
+     *
+     * <p>Intervals can be narrowed with {@link #refine(RationalInterval, int)}.
+     *
+     * @return disjoint intervals, in increasing order, each with exactly one distinct real root. Rational roots met
+     *     during the isolation are returned as degenerated intervals {@code [root, root]}; the bounds of the other
+     *     intervals are never roots. Empty if this polynomial has no real root.
+     * @throws ArithmeticException for the zero polynomial, whose roots are all the numbers.
+     */
+    public @NotNull List<RationalInterval> realRoots() {
+        if (coefficients.length == 0) {
+            throw new ArithmeticException("All the numbers are roots of the zero polynomial.");
+        }
+        final List<RationalInterval> roots = new ArrayList<>();
+        for (RationalInterval root : RealRoots.isolate(IntegerPolynomials.squareFreePart(coefficients))) {
+            roots.add(interval(root));
+        }
+        return Collections.unmodifiableList(roots);
+    }
+
+    /**
+     * Narrows an isolating interval of a real root of this polynomial, with the quadratic interval refinement of
+     * Abbott: a secant guesses in which of {@code N} sub-intervals the root is, and {@code N} is squared after each
+     * correct guess, so the count of correct bits doubles at each step.
+     *
+     * @param interval an interval with exactly one root, like the ones of {@link #realRoots()}.
+     * @param bits the count of bits of the root to get after the binary point: the width of the result is at most
+     *     {@code 2^-bits}.
+     * @return an interval within {@code interval}, with the same root. Degenerated if the root is found exactly.
+     * @throws ArithmeticException if this is the zero polynomial, or if {@code interval} is not degenerated on a root
+     *     and this polynomial, without its multiple roots, doesn't change of sign between its bounds.
+     */
+    public @NotNull RationalInterval refine(final @NotNull RationalInterval interval, final int bits) {
+        if (coefficients.length == 0) {
+            throw new ArithmeticException("All the numbers are roots of the zero polynomial.");
+        }
+        return interval(RealRoots.refine(IntegerPolynomials.squareFreePart(coefficients), interval, bits));
+    }
+
+    private @NotNull RationalInterval interval(final @NotNull RationalInterval root) {
+        if (!approximate) {
+            return root;
+        }
+        final Rational lower = approximateOf(root.getLower());
+        return root.getLower() == root.getUpper()
+                ? RationalInterval.of(lower)
+                : RationalInterval.of(lower, approximateOf(root.getUpper()));
+    }
+
+    private static @NotNull Rational approximateOf(final @NotNull Rational value) {
+        return value.isApproximate() ? value : result(value.getNumerator(), value.getDenominator(), true);
+    }
+
+    private static @NotNull BigInteger lcm(final @NotNull BigInteger a, final @NotNull BigInteger b) {
+        if (b.equals(BigInteger.ONE) || a.equals(b)) {
+            return a;
+        }
+        return a.divide(a.gcd(b)).multiply(b);
+    }
+
+    private static @NotNull Rational result(
+            final @NotNull BigInteger numerator, final @NotNull BigInteger denominator, final boolean approximate) {
+        if (numerator.signum() == 0) {
+            return approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        return (approximate ? Rational.approximateOf(numerator, denominator) : Rational.of(numerator, denominator))
+                .canonicalForm();
+    }
+
+    /**
+     * Polynomials are equal if they have the same coefficients, whether they are approximate or not.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final RationalPolynomial that = (RationalPolynomial) o;
+        // Both are in canonical form
+        return denominator.equals(that.denominator) && Arrays.equals(coefficients, that.coefficients);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(coefficients) + denominator.hashCode();
+    }
+
+    /**
+     * @return the polynomial from its leading term, like {@code 3/2 x^2 - x + 1/2}, or {@code 0}.
+     */
+    @Override
+    public String toString() {
+        if (coefficients.length == 0) {
+            return approximate ? "~0" : "0";
+        }
+        final StringBuilder out = new StringBuilder(approximate ? "~" : "");
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            if (coefficients[i].signum() == 0) {
+                continue;
+            }
+            final Rational magnitude = Rational.of(coefficients[i].abs(), denominator).canonicalForm();
+            if (i == coefficients.length - 1) {
+                out.append(coefficients[i].signum() < 0 ? "-" : "");
+            } else {
+                out.append(coefficients[i].signum() < 0 ? " - " : " + ");
+            }
+            if (i == 0 || !magnitude.equals(Rational.ONE)) {
+                out.append(magnitude).append(i == 0 ? "" : " ");
+            }
+            if (i > 0) {
+                out.append(i == 1 ? "x" : "x^" + i);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,102 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Table of the powers {@code x^0 … x^k} of a {@code Rational}, for the repeated use of the same base, like discount
+ * factors {@code (1 + r)^-t} over thousands of periods.
+ *
+ * <p>The base is reduced to its canonical form once, so all its powers are canonical without any GCD. The entries are
+ * built incrementally, each one being the product of the previous one by the base, which costs two products of a
+ * large integer by a small one instead of a full exponentiation. Beyond the table, powers are built by squaring from
+ * the largest entry: {@code x^(qk + r) = (x^k)^q * x^r}. Negative powers are inverses of positive ones.
+ *
+ * <p>Tables are immutable, and therefore thread safe.
+ *
+ * @see Rational#pow(long)
+ */
+public final class RationalPowerTable {
+
+    // powers[i] = x^i
+    private final @NotNull Rational[] powers;
+
+    private RationalPowerTable(final @NotNull Rational[] powers) {
+        this.powers = powers;
+    }
+
+    /**
+     * Builds the table of the powers of {@code base}, from {@code base^0} to {@code base^maxExponent}.
+     *
+     * @param base the base of the powers.
+     * @param maxExponent the largest exponent of the table, must be &gt; 0.
+     * @return the table.
+     * @throws ArithmeticException if {@code maxExponent} is not &gt; 0.
+     */
+    public static @NotNull RationalPowerTable of(final @NotNull Rational base, final int maxExponent) {
+        if (maxExponent <= 0) {
+            throw new ArithmeticException("The maximum exponent of a power table must be > 0.");
+        }
+        final Rational canonical = base.canonicalForm();
+        final Rational[] powers = new Rational[maxExponent + 1];
+        powers[0] = Rational.ONE;
+        for (int i = 1; i <= maxExponent; i++) {
+            // Products of canonical powers of the same base are canonical: multiply doesn't reduce them
+            powers[i] = powers[i - 1].multiply(canonical);
+        }
+        return new RationalPowerTable(powers);
+    }
+
+    /**
+     * @return the base of the powers, in canonical form.
+     */
+    public @NotNull Rational getBase() {
+        return powers[1];
+    }
+
+    /**
+     * @return the largest exponent of the table.
+     */
+    public int getMaxExponent() {
+        return powers.length - 1;
+    }
+
+    /**
+     * Returns {@code base^exponent}: an entry of the table, its inverse for a negative exponent, or a power of the
+     * largest entry multiplied by an entry beyond the table.
+     *
+     * @param exponent the exponent to which the base is to be raised.
+     * @return {@code base^exponent}, in canonical form.
+     * @throws ArithmeticException if the base is zero and {@code exponent} is negative, or if the result doesn’t fit
+     * in a {@code BigInteger}.
+     * @see Rational#pow(long)
+     */
+    public @NotNull Rational pow(final long exponent) {
+        final int maxExponent = getMaxExponent();
+        if (exponent >= -maxExponent && exponent <= maxExponent) {
+            return entry((int) exponent);
+        }
+        // x^(qk + r) = (x^k)^q * x^r, with q and r of the sign of the exponent
+        final long quotient = exponent / maxExponent;
+        if (quotient < -Integer.MAX_VALUE || quotient > Integer.MAX_VALUE) {
+            // Only defined for 0, 1 and -1
+            return getBase().pow(exponent);
+        }
+        // x^k is canonical, so its numerator and denominator are raised without reducing it again
+        final Rational largest = powers[maxExponent];
+        final int magnitude = (int) Math.abs(quotient);
+        final BigInteger numerator = largest.getNumerator().pow(magnitude);
+        final BigInteger denominator = largest.getDenominator().pow(magnitude);
+        final Rational power = largest.isApproximate()
+                ? Rational.approximateOf(numerator, denominator)
+                : Rational.of(numerator, denominator);
+        return (quotient < 0 ? power.inverse() : power).multiply(entry((int) (exponent % maxExponent)));
+    }
+
+    /**
+     * @return {@code base^exponent}, for {@code |exponent| <= maxExponent}.
+     */
+    private @NotNull Rational entry(final int exponent) {
+        return exponent >= 0 ? powers[exponent] : powers[-exponent].inverse();
+    }
+}
@@ -0,0 +1,367 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.function.IntFunction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Lazy real number, known through rational approximations of any precision (a "constructive real").
+ *
+ * <p>A {@code RationalReal} wraps a function that returns, for any precision {@code bits}, a {@code Rational}
+ * {@code r} with {@code |r - x| <= 2^-bits}. Operations ({@code add}, {@code multiply}, {@code sqrt}, {@code exp}…)
+ * don’t compute anything: they build a new function that asks its operands for the precision it needs. Approximations
+ * are only computed when {@code toRational(bits)} or a comparison is called, at the precision that is actually needed:
+ * comparisons start with 64 bits and only double the precision until the result is decided, so most of them never
+ * compute more than 64 bits. The best approximation computed so far is kept by each {@code RationalReal}, so shared
+ * sub-expressions and successive requests don’t compute the same thing twice.
+ *
+ * <p>Exact values ({@code of(Rational)}) are kept exact through {@code add}, {@code subtract}, {@code multiply} and
+ * {@code divide}, and their comparisons are exact.
+ *
+ * <p><b>Limitations:</b> Equality of real numbers is not decidable: two different expressions of the same value will
+ * never be proven equal. Comparisons and divisions stop refining at a limit of precision ({@code 4096} bits by
+ * default): values closer than {@code 2^-limit} are considered equal, and division by a value closer than
+ * {@code 2^-limit} to zero throws an {@code ArithmeticException}. For the same reason, there is no {@code equals} nor
+ * {@code hashCode} by value.
+ */
+public final class RationalReal {
+
+    /**
+     * Default limit of precision, in bits, of comparisons and of the search for non-zero divisors.
+     */
+    public static final int DEFAULT_PRECISION_LIMIT = 4096;
+
+    /**
+     * Pi, the ratio of the circumference of a circle to its diameter.
+     */
+    public static final RationalReal PI = ofApproximation(RationalConstants::pi);
+
+    /**
+     * E, the base of the natural logarithms.
+     */
+    public static final RationalReal E = ofApproximation(RationalConstants::e);
+
+    // First precision tried by comparisons and divisions
+    private static final int FIRST_PRECISION = 64;
+    // Operations round their results to 2^-(bits + 1), computed with this number of extra bits
+    private static final int ROUNDING_GUARD_BITS = 8;
+    private static final double LOG2_E = 1 / Math.log(2);
+
+    private final @Nullable Rational exact;
+    private final @NotNull IntFunction<Rational> approximation;
+    private volatile @Nullable Approximation best;
+
+    private RationalReal(final @Nullable Rational exact, final @NotNull IntFunction<Rational> approximation) {
+        this.exact = exact;
+        this.approximation = approximation;
+    }
+
+    /**
+     * Builds the real number equal to the provided {@code Rational}, without any approximation.
+     *
+     * @param value the value of the real number.
+     * @return the exact real number {@code value}.
+     */
+    public static @NotNull RationalReal of(final @NotNull Rational value) {
+        return new RationalReal(value, bits -> value);
+    }
+
+    /**
+     * Builds a real number from its approximations.
+     *
+     * @param approximation a function that returns, for any {@code bits >= 0}, a {@code Rational} {@code r} with
+     * {@code |r - x| <= 2^-bits}, {@code x} being the real number. It may be called concurrently.
+     * @return the real number approximated by the function.
+     */
+    public static @NotNull RationalReal ofApproximation(final @NotNull IntFunction<Rational> approximation) {
+        return new RationalReal(null, approximation);
+    }
+
+    /**
+     * @return {@code true} if this real number is known to be exactly a {@code Rational}.
+     */
+    public boolean isExact() {
+        return exact != null;
+    }
+
+    /**
+     * Returns an approximation of this real number, with an error of at most {@code 2^-bits}.
+     *
+     * @param bits the precision of the approximation, in binary digits after the point.
+     * @return the exact value if this real number is exact, else a {@code Rational} {@code r} with
+     * {@code |r - this| <= 2^-bits}.
+     * @throws ArithmeticException if {@code bits} is negative, or if the evaluation of an operation is impossible
+     * (division by zero, square root of a negative number…).
+     */
+    public @NotNull Rational toRational(final int bits) {
+        if (bits < 0) {
+            throw new ArithmeticException("Number of bits must be >= 0.");
+        }
+        if (exact != null) {
+            return exact;
+        }
+        final Approximation current = best;
+        if (current != null && current.bits >= bits) {
+            // Rounding a more precise approximation keeps the sizes of the numbers bounded by the precision
+            return current.bits <= bits + 1 ? current.value : round(current.value, bits + 1);
+        }
+        final Rational value = approximation.apply(bits);
+        // Concurrent computations may replace a better approximation: it’s only a loss of memoization
+        best = new Approximation(value, bits);
+        return value;
+    }
+
+    // region Operations
+
+    public @NotNull RationalReal negate() {
+        if (exact != null) {
+            return of(exact.negate());
+        }
+        return ofApproximation(bits -> toRational(bits).negate());
+    }
+
+    public @NotNull RationalReal abs() {
+        if (exact != null) {
+            return of(exact.abs());
+        }
+        // ||x| - |x'|| <= |x - x'|
+        return ofApproximation(bits -> toRational(bits).abs());
+    }
+
+    public @NotNull RationalReal add(final @NotNull RationalReal val) {
+        if (exact != null && val.exact != null) {
+            return of(exact.add(val.exact));
+        }
+        // Errors: 2^-(bits + 3) for each operand, then 2^-(bits + 2) for rounding
+        return ofApproximation(
+                bits -> round(toRational(bits + 3).add(val.toRational(bits + 3)), bits + 1));
+    }
+
+    public @NotNull RationalReal subtract(final @NotNull RationalReal val) {
+        return add(val.negate());
+    }
+
+    public @NotNull RationalReal multiply(final @NotNull RationalReal val) {
+        if (exact != null && val.exact != null) {
+            return of(exact.multiply(val.exact));
+        }
+        return ofApproximation(bits -> {
+            // xy - x'y' = x(y - y') + y'(x - x'), with |x| and |y'| bounded by their magnitudes
+            final Rational x = toRational(bits + val.magnitude() + 3);
+            final Rational y = val.toRational(bits + magnitude() + 3);
+            return round(x.multiply(y), bits + 1);
+        });
+    }
+
+    /**
+     * @return {@code 1 / this}.
+     * @throws ArithmeticException on evaluation, if this real number is 0 or closer to 0 than
+     * {@code 2^-DEFAULT_PRECISION_LIMIT}.
+     */
+    public @NotNull RationalReal inverse() {
+        if (exact != null) {
+            return of(exact.inverse());
+        }
+        return ofApproximation(bits -> {
+            // |1/x - 1/x'| = |x - x'| / |x x'| <= 2 * 2^-precision / L^2, with |x| >= L = 2^-l and |x'| >= L/2
+            final int l = nonZeroLowerBound();
+            final int precision = Math.max(Math.max(bits + 3 + 2 * l, l + 1), 0);
+            return round(toRational(precision).inverse(), bits + 1);
+        });
+    }
+
+    /**
+     * @return {@code this / val}.
+     * @throws ArithmeticException on evaluation, if {@code val} is 0 or closer to 0 than
+     * {@code 2^-DEFAULT_PRECISION_LIMIT}.
+     */
+    public @NotNull RationalReal divide(final @NotNull RationalReal val) {
+        if (exact != null && val.exact != null) {
+            return of(exact.divide(val.exact));
+        }
+        return multiply(val.inverse());
+    }
+
+    /**
+     * @return the square root of this real number.
+     * @throws ArithmeticException on evaluation, if this real number is negative.
+     */
+    public @NotNull RationalReal sqrt() {
+        return ofApproximation(bits -> {
+            // |sqrt(x) - sqrt(x')| <= |x - x'| / sqrt(L) <= 2^-precision * 2^(l/2) <= 2^-(bits + 2), with
+            // |x| >= L = 2^-l and x' of the sign of x, plus 2^-(bits + 3) for the rounding of sqrt. Without such a
+            // bound at the precision it would take, |sqrt(x) - sqrt(x')| <= sqrt(|x - x'|) = 2^-(bits + 2).
+            final int l = nonZeroLowerBound(2 * bits + 4);
+            final int precision = l == Integer.MAX_VALUE
+                    ? 2 * bits + 4
+                    : Math.max(Math.max(bits + 2 + Math.floorDiv(l + 1, 2), l + 1), 0);
+            final Rational x = toRational(precision);
+            if (x.lt(Rational.of(BigInteger.ONE, BigInteger.ONE.shiftLeft(precision)).negate())) {
+                throw new ArithmeticException("Square root of a negative number.");
+            }
+            final Rational nonNegative = x.signum() < 0 ? Rational.APPROX_ZERO : x;
+            return nonNegative.sqrt(RationalContext.ofBits(bits + 2).withCanonicalForm(false));
+        });
+    }
+
+    /**
+     * @return {@code e^this}.
+     * @throws ArithmeticException on evaluation, if the result is too large.
+     */
+    public @NotNull RationalReal exp() {
+        return ofApproximation(bits -> {
+            // exp(x) < 2^m, so |exp(x) - exp(x')| < 2^m * 2^-(bits + m + 3)
+            final double upperBound = toRational(0).doubleValue() + 1;
+            final int m = (int) Math.ceil(Math.max(0, upperBound) * LOG2_E) + 1;
+            return RationalMath.exp(toRational(bits + m + 3), bits + 2);
+        });
+    }
+
+    /**
+     * @return the natural logarithm of this real number.
+     * @throws ArithmeticException on evaluation, if this real number is negative, 0 or closer to 0 than
+     * {@code 2^-DEFAULT_PRECISION_LIMIT}.
+     */
+    public @NotNull RationalReal log() {
+        return ofApproximation(bits -> {
+            // |ln(x) - ln(x')| <= |x - x'| / min(x, x') <= 2 * 2^-precision / L, with x >= L = 2^-l
+            final int l = nonZeroLowerBound();
+            final int precision = Math.max(Math.max(bits + 3 + l, l + 1), 0);
+            final Rational x = toRational(precision);
+            if (x.signum() < 0) {
+                throw new ArithmeticException("Logarithm of a negative number.");
+            }
+            return RationalMath.log(x, bits + 3);
+        });
+    }
+
+    // endregion
+
+    // region Comparison
+
+    /**
+     * Returns the sign of this real number, refining the precision up to {@code DEFAULT_PRECISION_LIMIT} bits.
+     *
+     * @return -1, 0 or 1 as this real number is negative, zero (or closer to zero than
+     * {@code 2^-DEFAULT_PRECISION_LIMIT}), or positive.
+     */
+    public int signum() {
+        return signum(DEFAULT_PRECISION_LIMIT);
+    }
+
+    /**
+     * Returns the sign of this real number, refining the precision up to {@code limit} bits.
+     *
+     * @param limit the maximum precision to compute, in bits.
+     * @return -1, 0 or 1 as this real number is negative, zero (or closer to zero than {@code 2^-limit}), or
+     * positive.
+     */
+    public int signum(final int limit) {
+        if (exact != null) {
+            return exact.signum();
+        }
+        for (int bits = Math.min(FIRST_PRECISION, limit); ; bits = Math.min(2 * bits, limit)) {
+            final Rational value = toRational(bits);
+            // |value - x| <= 2^-bits < |value|: x has the sign of value
+            if (value.abs().gt(Rational.of(BigInteger.ONE, BigInteger.ONE.shiftLeft(bits)))) {
+                return value.signum();
+            }
+            if (bits >= limit) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Compares this real number with the specified one, refining the precision up to
+     * {@code DEFAULT_PRECISION_LIMIT} bits.
+     *
+     * @param val the real number to which this one is to be compared.
+     * @return -1, 0 or 1 as this real number is numerically less than, equal to (or closer than
+     * {@code 2^-DEFAULT_PRECISION_LIMIT}), or greater than {@code val}.
+     */
+    public int compareTo(final @NotNull RationalReal val) {
+        return compareTo(val, DEFAULT_PRECISION_LIMIT);
+    }
+
+    /**
+     * Compares this real number with the specified one, refining the precision up to {@code limit} bits.
+     *
+     * @param val the real number to which this one is to be compared.
+     * @param limit the maximum precision to compute, in bits.
+     * @return -1, 0 or 1 as this real number is numerically less than, equal to (or closer than {@code 2^-limit}), or
+     * greater than {@code val}.
+     */
+    public int compareTo(final @NotNull RationalReal val, final int limit) {
+        if (exact != null && val.exact != null) {
+            return exact.compareTo(val.exact);
+        }
+        return subtract(val).signum(limit);
+    }
+
+    // endregion
+
+    /**
+     * @return a bit length {@code m} such as {@code |x| < 2^m} and the approximations of {@code x} (at least 0 bits)
+     * are at most {@code 2^m} in absolute value.
+     */
+    private int magnitude() {
+        // |x0 - x| <= 1, so |x| and approximations are at most |x0| + 2 <= floor(|x0|) + 3
+        final Rational x0 = toRational(0).abs();
+        return x0.getNumerator().divide(x0.getDenominator()).add(BigInteger.TWO).bitLength();
+    }
+
+    /**
+     * @return {@code l} such as {@code |x| >= 2^-l}.
+     * @throws ArithmeticException if {@code x} is 0 or closer to 0 than {@code 2^-DEFAULT_PRECISION_LIMIT}.
+     */
+    private int nonZeroLowerBound() {
+        final int l = nonZeroLowerBound(DEFAULT_PRECISION_LIMIT);
+        if (l == Integer.MAX_VALUE) {
+            throw new ArithmeticException("Division by zero or by a value too close to zero.");
+        }
+        return l;
+    }
+
+    /**
+     * @param limit the maximum precision to compute, in bits.
+     * @return {@code l} such as {@code |x| >= 2^-l}, or {@code Integer.MAX_VALUE} if no approximation of at most
+     * {@code limit} bits proves that {@code x} is not 0.
+     */
+    private int nonZeroLowerBound(final int limit) {
+        for (int bits = FIRST_PRECISION; bits <= limit; bits *= 2) {
+            final Rational value = toRational(bits).abs();
+            // |value| > 2^(1 - bits): |x| >= |value| - 2^-bits >= |value| / 2 >= 2^(numBits - denBits - 2)
+            if (value.gt(Rational.of(BigInteger.TWO, BigInteger.ONE.shiftLeft(bits)))) {
+                return value.getDenominator().bitLength() - value.getNumerator().bitLength() + 2;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return {@code value} rounded to a multiple of {@code 2^-bits}, with an error lower than
+     * {@code 2^-(bits + 1) + 2^-(bits + ROUNDING_GUARD_BITS)}.
+     */
+    private static @NotNull Rational round(final @NotNull Rational value, final int bits) {
+        final int scale = bits + ROUNDING_GUARD_BITS;
+        final BigInteger scaled = value.getNumerator().shiftLeft(scale).divide(value.getDenominator());
+        return Rational.approximateOfBinary(scaled, scale, bits);
+    }
+
+    @Override
+    public String toString() {
+        return exact != null ? exact.toString() : toRational(FIRST_PRECISION).toString();
+    }
+
+    private static final class Approximation {
+        private final @NotNull Rational value;
+        private final int bits;
+
+        private Approximation(final @NotNull Rational value, final int bits) {
+            this.value = value;
+            this.bits = bits;
+        }
+    }
+}
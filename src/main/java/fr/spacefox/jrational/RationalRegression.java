@@ -0,0 +1,112 @@
+package fr.spacefox.jrational;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Exact simple linear regression {@code y = slope * x + intercept}, by least squares, with covariance and coefficient
+ * of determination.
+ *
+ * <p>Points are recorded one by one with {@code accept}, or with {@code RationalCollectors.regression(x, y)} on a
+ * stream. Only the power sums {@code n}, {@code sum(x)}, {@code sum(y)}, {@code sum(x^2)}, {@code sum(y^2)} and
+ * {@code sum(xy)} are kept, so the points are scanned once, and parallel streams accumulate in one instance per thread,
+ * merged with {@code combine}.
+ *
+ * <p>All results are exact and in canonical form. This implementation is not thread safe.
+ */
+public class RationalRegression {
+
+    private final @NotNull PowerSums xSums = new PowerSums();
+    private final @NotNull PowerSums ySums = new PowerSums();
+    private final @NotNull RationalAccumulator sumOfProducts = new RationalAccumulator();
+    private long count;
+
+    /**
+     * Records a point.
+     *
+     * @param x the abscissa of the point.
+     * @param y the ordinate of the point.
+     */
+    public void accept(final @NotNull Rational x, final @NotNull Rational y) {
+        count++;
+        xSums.accept(x);
+        ySums.accept(y);
+        sumOfProducts.add(x.multiply(y));
+    }
+
+    /**
+     * Combines the points of another {@code RationalRegression} into this one.
+     *
+     * @param other another {@code RationalRegression}.
+     */
+    public void combine(final @NotNull RationalRegression other) {
+        count += other.count;
+        xSums.combine(other.xSums);
+        ySums.combine(other.ySums);
+        sumOfProducts.add(other.sumOfProducts);
+    }
+
+    /**
+     * @return the count of points recorded.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the population covariance of x and y, {@code sum((x - mean(x)) * (y - mean(y))) / n}.
+     * @throws ArithmeticException if no points have been recorded.
+     */
+    public @NotNull Rational getCovariance() {
+        if (count == 0) {
+            throw new ArithmeticException("Cannot compute the covariance of empty set.");
+        }
+        return centeredSumOfProducts().divide(Rational.of(count).pow(2)).canonicalForm();
+    }
+
+    /**
+     * @return the slope of the regression line.
+     * @throws ArithmeticException if there are less than 2 distinct abscissas.
+     */
+    public @NotNull Rational getSlope() {
+        final Rational centeredX = xSums.centeredSumOfSquares();
+        if (centeredX.signum() == 0) {
+            throw new ArithmeticException("Cannot compute a regression with less than 2 distinct abscissas.");
+        }
+        return centeredSumOfProducts().divide(centeredX).canonicalForm();
+    }
+
+    /**
+     * @return the intercept of the regression line, its ordinate at {@code x = 0}.
+     * @throws ArithmeticException if there are less than 2 distinct abscissas.
+     */
+    public @NotNull Rational getIntercept() {
+        // mean(y) - slope * mean(x)
+        return ySums.sum()
+                .subtract(getSlope().multiply(xSums.sum()))
+                .divide(Rational.of(count))
+                .canonicalForm();
+    }
+
+    /**
+     * @return the coefficient of determination {@code r^2} of the regression, between 0 and 1: 1 if all the points are
+     * on the regression line.
+     * @throws ArithmeticException if there are less than 2 distinct abscissas or less than 2 distinct ordinates.
+     */
+    public @NotNull Rational getRSquared() {
+        final Rational centeredX = xSums.centeredSumOfSquares();
+        final Rational centeredY = ySums.centeredSumOfSquares();
+        if (centeredX.signum() == 0 || centeredY.signum() == 0) {
+            throw new ArithmeticException(
+                    "Cannot compute a coefficient of determination with less than 2 distinct abscissas or ordinates.");
+        }
+        final Rational centeredXY = centeredSumOfProducts();
+        return centeredXY.multiply(centeredXY).divide(centeredX.multiply(centeredY)).canonicalForm();
+    }
+
+    /**
+     * @return {@code n * sum(xy) - sum(x) * sum(y)}, that is {@code n^2} times the covariance.
+     */
+    private @NotNull Rational centeredSumOfProducts() {
+        return Rational.of(count).multiply(sumOfProducts.toRational()).subtract(xSums.sum().multiply(ySums.sum()));
+    }
+}
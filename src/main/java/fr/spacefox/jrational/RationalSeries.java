@@ -0,0 +1,170 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Exact sums of series of rational terms, evaluated by binary splitting.
+ *
+ * <p>A term-by-term sum with {@code add} is quadratic in the size of the result, because each addition handles the
+ * whole sum computed so far. Here the range of terms is split in two halves recursively, and the halves are merged
+ * with a few products of integers of the same size, so the cost is quasi-linear in the size of the result: the
+ * harmonic number {@code H(100000)}, a quotient of integers of about 1.5 million bits, takes a few seconds instead of
+ * hours.
+ *
+ * <p>Series are defined by their terms, with one of the builders:
+ * <ul>
+ *     <li>{@code ofTerms(term)}: any term generator, like {@code k -> Rational.of(1, k)} for harmonic numbers;</li>
+ *     <li>{@code ofRatio(p, q)}: hypergeometric series, defined by the integer ratio {@code p(k)/q(k)} between the
+ *     term {@code k} and the previous one, like {@code p(k) = 1} and {@code q(k) = max(k, 1)} for {@code e};</li>
+ *     <li>{@code ofPolynomials(p, q)}: same, with {@code p} and {@code q} integer polynomials;</li>
+ *     <li>{@code of(a, b, p, q)}: hypergeometric series multiplied by a non-hypergeometric factor
+ *     {@code a(k)/b(k)}.</li>
+ * </ul>
+ *
+ * <p>Like {@code add}, sums are not reduced: the denominator of the result is the product of the denominators of the
+ * terms. Use {@code canonicalForm()} to reduce it. The result is approximate if any term is approximate.
+ */
+public final class RationalSeries {
+
+    // Exactly one of them is not null
+    private final @Nullable BinarySplitting hypergeometric;
+    private final @Nullable LongFunction<Rational> term;
+
+    private RationalSeries(
+            final @Nullable BinarySplitting hypergeometric, final @Nullable LongFunction<Rational> term) {
+        this.hypergeometric = hypergeometric;
+        this.term = term;
+    }
+
+    /**
+     * Builds the series {@code sum(term(k))}.
+     *
+     * @param term the generator of the terms. It may be called concurrently in parallel sums.
+     * @return the series of the generated terms.
+     */
+    public static @NotNull RationalSeries ofTerms(final @NotNull LongFunction<Rational> term) {
+        return new RationalSeries(null, term);
+    }
+
+    /**
+     * Builds the hypergeometric series {@code sum(t(k))}, where {@code t(from) = p(from)/q(from)} and
+     * {@code t(k) = t(k-1) * p(k)/q(k)}: the product of the ratios starts at the first term of the sum.
+     *
+     * @param p the numerator of the ratio between consecutive terms.
+     * @param q the denominator of the ratio between consecutive terms, must not be 0.
+     * @return the hypergeometric series.
+     */
+    public static @NotNull RationalSeries ofRatio(
+            final @NotNull LongFunction<BigInteger> p, final @NotNull LongFunction<BigInteger> q) {
+        return of(k -> BigInteger.ONE, null, p, q);
+    }
+
+    /**
+     * Builds the hypergeometric series {@code sum(t(k))}, where {@code t(from) = p(from)/q(from)} and
+     * {@code t(k) = t(k-1) * p(k)/q(k)}, with {@code p} and {@code q} integer polynomials.
+     *
+     * @param p the coefficients of the numerator of the ratio, constant coefficient first.
+     * @param q the coefficients of the denominator of the ratio, constant coefficient first. The polynomial must not
+     * be 0 on the summed range.
+     * @return the hypergeometric series.
+     */
+    public static @NotNull RationalSeries ofPolynomials(final long @NotNull [] p, final long @NotNull [] q) {
+        final long[] pCoefficients = p.clone();
+        final long[] qCoefficients = q.clone();
+        return ofRatio(k -> evaluate(pCoefficients, k), k -> evaluate(qCoefficients, k));
+    }
+
+    /**
+     * Builds the series {@code sum(a(k)/b(k) * t(k))}, where {@code t(from) = p(from)/q(from)} and
+     * {@code t(k) = t(k-1) * p(k)/q(k)}.
+     *
+     * @param a the numerator of the non-hypergeometric factor.
+     * @param b the denominator of the non-hypergeometric factor, or {@code null} for 1. Must not be 0.
+     * @param p the numerator of the ratio between consecutive terms.
+     * @param q the denominator of the ratio between consecutive terms, must not be 0.
+     * @return the series.
+     */
+    public static @NotNull RationalSeries of(
+            final @NotNull LongFunction<BigInteger> a,
+            final @Nullable LongFunction<BigInteger> b,
+            final @NotNull LongFunction<BigInteger> p,
+            final @NotNull LongFunction<BigInteger> q) {
+        return new RationalSeries(new BinarySplitting(a, b, p, q), null);
+    }
+
+    /**
+     * Sums the terms {@code 0} (included) to {@code terms} (excluded).
+     *
+     * @param terms the number of terms to sum.
+     * @return the exact sum, 0 if {@code terms} is 0.
+     * @throws ArithmeticException if {@code terms} is negative or if a denominator is 0.
+     */
+    public @NotNull Rational sum(final long terms) {
+        return sum(0, terms);
+    }
+
+    /**
+     * Sums the terms {@code from} (included) to {@code to} (excluded).
+     *
+     * @param from the index of the first term.
+     * @param to the index after the last term.
+     * @return the exact sum, 0 if {@code from == to}.
+     * @throws ArithmeticException if {@code from > to} or if a denominator is 0.
+     */
+    public @NotNull Rational sum(final long from, final long to) {
+        return sum(from, to, null);
+    }
+
+    /**
+     * Sums the terms {@code from} (included) to {@code to} (excluded), in parallel with the tasks of the provided pool,
+     * like {@code ForkJoinPool.commonPool()}.
+     *
+     * <p>Terms and sub-sums are computed in parallel, but the last merges, which are the largest products, are
+     * sequential: the speedup depends on the size of the terms compared to the size of the result.
+     *
+     * @param from the index of the first term.
+     * @param to the index after the last term.
+     * @param pool the pool that runs the evaluation, or {@code null} to run it in the calling thread.
+     * @return the exact sum, 0 if {@code from == to}.
+     * @throws ArithmeticException if {@code from > to} or if a denominator is 0.
+     */
+    public @NotNull Rational sum(final long from, final long to, final @Nullable ForkJoinPool pool) {
+        if (from > to) {
+            throw new ArithmeticException("Invalid range of terms: from must be <= to.");
+        }
+        if (from == to) {
+            return Rational.ZERO;
+        }
+        final AtomicBoolean approximate = new AtomicBoolean(false);
+        final BinarySplitting splitting = hypergeometric != null
+                ? hypergeometric
+                : new BinarySplitting(k -> {
+                    // S = T / (B * Q), with P = Q = 1 and B = den: each term is a plain fraction
+                    final Rational value = term.apply(k);
+                    if (value.isApproximate()) {
+                        approximate.set(true);
+                    }
+                    return new BinarySplitting.Result(
+                            BigInteger.ONE, BigInteger.ONE, value.getDenominator(), value.getNumerator());
+                });
+        final BinarySplitting.Result result =
+                pool == null ? splitting.evaluate(from, to) : splitting.evaluate(from, to, pool);
+        final Rational sum = result.sum();
+        return approximate.get() ? Rational.approximateOf(sum.getNumerator(), sum.getDenominator()) : sum;
+    }
+
+    private static @NotNull BigInteger evaluate(final long @NotNull [] coefficients, final long k) {
+        // Horner method
+        final BigInteger bigK = BigInteger.valueOf(k);
+        BigInteger result = BigInteger.ZERO;
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            result = result.multiply(bigK).add(BigInteger.valueOf(coefficients[i]));
+        }
+        return result;
+    }
+}
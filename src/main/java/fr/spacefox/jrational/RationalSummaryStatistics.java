@@ -0,0 +1,111 @@
+package fr.spacefox.jrational;
+
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * State object for collecting exact statistics such as count, sum, min, max and average, like
+ * {@code DoubleSummaryStatistics} for {@code double}.
+ *
+ * <p>All statistics are computed in one pass, with {@code stream.collect(RationalCollectors.summarizing())} or
+ * {@code forEach(statistics)}. Parallel streams accumulate in one instance per thread, merged with {@code combine}.
+ *
+ * <p>The sum is exact, its denominator is the least common multiple of the denominators of the values. Min and max
+ * are the first minimal and maximal values met, like {@code Rational.min} and {@code Rational.max}.
+ *
+ * <p>This implementation is not thread safe.
+ */
+public class RationalSummaryStatistics implements Consumer<Rational> {
+
+    private long count;
+    private final @NotNull RationalAccumulator sum = new RationalAccumulator();
+    private @Nullable Rational min;
+    private @Nullable Rational max;
+
+    /**
+     * Records another value into the summary information.
+     *
+     * @param value the input value.
+     */
+    @Override
+    public void accept(final @NotNull Rational value) {
+        count++;
+        sum.add(value);
+        min = min == null ? value : min.min(value);
+        max = max == null ? value : max.max(value);
+    }
+
+    /**
+     * Combines the state of another {@code RationalSummaryStatistics} into this one. Its values are considered to come
+     * after the values of this one.
+     *
+     * @param other another {@code RationalSummaryStatistics}.
+     */
+    public void combine(final @NotNull RationalSummaryStatistics other) {
+        count += other.count;
+        sum.add(other.sum);
+        if (other.min != null) {
+            min = min == null ? other.min : min.min(other.min);
+            max = max == null ? other.max : max.max(other.max);
+        }
+    }
+
+    /**
+     * @return the count of values recorded.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the exact sum of values recorded, or 0 if no values have been recorded.
+     */
+    public @NotNull Rational getSum() {
+        return sum.toRational();
+    }
+
+    /**
+     * @return the minimum value recorded.
+     * @throws ArithmeticException if no values have been recorded.
+     */
+    public @NotNull Rational getMin() {
+        if (min == null) {
+            throw new ArithmeticException("Cannot compute the min of empty set.");
+        }
+        return min;
+    }
+
+    /**
+     * @return the maximum value recorded.
+     * @throws ArithmeticException if no values have been recorded.
+     */
+    public @NotNull Rational getMax() {
+        if (max == null) {
+            throw new ArithmeticException("Cannot compute the max of empty set.");
+        }
+        return max;
+    }
+
+    /**
+     * @return the exact average of values recorded, in canonical form.
+     * @throws ArithmeticException if no values have been recorded.
+     */
+    public @NotNull Rational getAverage() {
+        if (count == 0) {
+            throw new ArithmeticException("Cannot compute the average of empty set.");
+        }
+        return getSum().divide(Rational.of(count)).canonicalForm();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName()
+                + "{count=" + count
+                + ", sum=" + getSum()
+                + ", min=" + min
+                + ", average=" + (count == 0 ? null : getAverage())
+                + ", max=" + max
+                + "}";
+    }
+}
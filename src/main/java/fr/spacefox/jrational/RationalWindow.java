@@ -0,0 +1,157 @@
+package fr.spacefox.jrational;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Sliding window over a stream of {@code Rational}, with exact aggregates of the last values: sum, average, min and
+ * max.
+ *
+ * <p>Aggregates are maintained incrementally: each new value is added to a running sum, and the value leaving the
+ * window is subtracted from it, so {@code sum()} and {@code average()} do not traverse the window. Min and max are
+ * the heads of monotonic deques of candidates, updated with an amortized constant number of comparisons per value.
+ *
+ * <p>The running sum is computed on the least common multiple of the denominators, like
+ * {@code RationalCollectors.summing()}. As subtractions do not shrink this denominator, the running sum is reduced to
+ * its canonical form after each {@code capacity} values, so it stays as small as the canonical sum of the window
+ * values, at an amortized cost of one GCD per window.
+ *
+ * <p>This implementation is not thread safe.
+ */
+public final class RationalWindow {
+
+    private final int capacity;
+    private final @NotNull Deque<Rational> values;
+    // Candidates for min (increasing) and max (decreasing), with the index of each value in the stream
+    private final @NotNull Deque<Candidate> minCandidates = new ArrayDeque<>();
+    private final @NotNull Deque<Candidate> maxCandidates = new ArrayDeque<>();
+    private final @NotNull RationalAccumulator sum = new RationalAccumulator();
+    private long index;
+    private int approximateCount;
+    private int sinceCanonicalization;
+
+    private RationalWindow(final int capacity) {
+        this.capacity = capacity;
+        this.values = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Builds an empty window.
+     *
+     * @param capacity the count of last values of the window, must be &gt; 0.
+     * @return the window.
+     * @throws ArithmeticException if {@code capacity} is not &gt; 0.
+     */
+    public static @NotNull RationalWindow of(final int capacity) {
+        if (capacity <= 0) {
+            throw new ArithmeticException("The capacity of a window must be > 0.");
+        }
+        return new RationalWindow(capacity);
+    }
+
+    /**
+     * Adds a value to the window. If the window is full, its oldest value leaves it.
+     *
+     * @param val the value to add.
+     */
+    public void add(final @NotNull Rational val) {
+        if (values.size() == capacity) {
+            final Rational evicted = values.removeFirst();
+            sum.subtract(evicted);
+            if (evicted.isApproximate()) {
+                approximateCount--;
+            }
+            final long evictedIndex = index - capacity;
+            if (minCandidates.getFirst().index == evictedIndex) {
+                minCandidates.removeFirst();
+            }
+            if (maxCandidates.getFirst().index == evictedIndex) {
+                maxCandidates.removeFirst();
+            }
+        }
+        values.addLast(val);
+        sum.add(val.getNumerator(), val.getDenominator(), false);
+        if (val.isApproximate()) {
+            approximateCount++;
+        }
+        // Older candidates larger (smaller) than the new value can't be the min (max) anymore
+        while (!minCandidates.isEmpty() && minCandidates.getLast().value.compareTo(val) > 0) {
+            minCandidates.removeLast();
+        }
+        minCandidates.addLast(new Candidate(val, index));
+        while (!maxCandidates.isEmpty() && maxCandidates.getLast().value.compareTo(val) < 0) {
+            maxCandidates.removeLast();
+        }
+        maxCandidates.addLast(new Candidate(val, index));
+        index++;
+        if (++sinceCanonicalization == capacity) {
+            sum.canonicalize();
+            sinceCanonicalization = 0;
+        }
+    }
+
+    /**
+     * @return the count of values in the window, at most its capacity.
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * @return the maximal count of values in the window.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the exact sum of the values in the window, 0 if it's empty. It may not be reduced.
+     */
+    public @NotNull Rational sum() {
+        return sum.toRational(approximateCount > 0);
+    }
+
+    /**
+     * @return the exact average of the values in the window.
+     * @throws ArithmeticException if the window is empty.
+     */
+    public @NotNull Rational average() {
+        if (values.isEmpty()) {
+            throw new ArithmeticException("Cannot compute the average of empty set.");
+        }
+        return sum().divide(Rational.of(values.size()));
+    }
+
+    /**
+     * @return the smallest value in the window. If there are many, the oldest one.
+     * @throws ArithmeticException if the window is empty.
+     */
+    public @NotNull Rational min() {
+        if (values.isEmpty()) {
+            throw new ArithmeticException("Cannot compute the min of empty set.");
+        }
+        return minCandidates.getFirst().value;
+    }
+
+    /**
+     * @return the largest value in the window. If there are many, the oldest one.
+     * @throws ArithmeticException if the window is empty.
+     */
+    public @NotNull Rational max() {
+        if (values.isEmpty()) {
+            throw new ArithmeticException("Cannot compute the max of empty set.");
+        }
+        return maxCandidates.getFirst().value;
+    }
+
+    private static final class Candidate {
+        private final @NotNull Rational value;
+        private final long index;
+
+        private Candidate(final @NotNull Rational value, final long index) {
+            this.value = value;
+            this.index = index;
+        }
+    }
+}
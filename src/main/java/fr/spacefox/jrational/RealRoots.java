@@ -0,0 +1,346 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Isolation and refinement of the real roots of square-free polynomials with {@code BigInteger} coefficients.
+ *
+ * <p>Isolation is the Vincent-Collins-Akritas method. Descartes' rule of signs bounds the count of roots in
+ * {@code (0, 1)} by the count of sign changes in the coefficients of {@code (X + 1)^n * P(1 / (X + 1))}, and this
+ * bound is exact when it is 0 or 1. Positive roots are first scaled into {@code (0, 1)}, then each interval with more
+ * sign changes is split in two halves, {@code 2^n * P(X / 2)} and {@code 2^n * P((X + 1) / 2)}. These transformations
+ * are only Taylor shifts by 1 and multiplications by powers of 2, so additions and shifts on integers: polynomials are
+ * never evaluated.
+ *
+ * <p>Refinement is the quadratic interval refinement of Abbott: the secant through the bounds of the interval guesses
+ * in which of {@code N} sub-intervals the root is, and a correct guess shrinks the interval {@code N} times, then
+ * {@code N} is squared, so the count of correct bits doubles at each step as with Newton's method. A wrong guess falls
+ * back to a bisection, and {@code N} is reduced.
+ */
+final class RealRoots {
+
+    private static final BigInteger FOUR = BigInteger.valueOf(4);
+
+    private RealRoots() {
+        // Utility class
+    }
+
+    /**
+     * @param a a square-free polynomial.
+     * @return disjoint intervals, in increasing order, each with exactly one root of {@code a}. Roots found exactly
+     *     are returned as intervals {@code [root, root]}. Other intervals don't have roots as bounds.
+     */
+    static @NotNull List<RationalInterval> isolate(final BigInteger @NotNull [] a) {
+        final List<RationalInterval> roots = new ArrayList<>();
+        if (a.length <= 1) {
+            return roots;
+        }
+        // Square-free: 0 is at most a simple root
+        final boolean zeroRoot = a[0].signum() == 0;
+        final BigInteger[] p = zeroRoot ? Arrays.copyOfRange(a, 1, a.length) : a;
+        // The negative roots of p are the positive roots of p(-X)
+        final BigInteger[] mirrored = p.clone();
+        for (int i = 1; i < mirrored.length; i += 2) {
+            mirrored[i] = mirrored[i].negate();
+        }
+        final List<RationalInterval> negativeRoots = isolatePositive(mirrored);
+        for (int i = negativeRoots.size() - 1; i >= 0; i--) {
+            final RationalInterval root = negativeRoots.get(i);
+            roots.add(RationalInterval.of(root.getUpper().negate(), root.getLower().negate()));
+        }
+        if (zeroRoot) {
+            roots.add(RationalInterval.of(Rational.ZERO));
+        }
+        roots.addAll(isolatePositive(p));
+        return roots;
+    }
+
+    /**
+     * @param p a square-free polynomial, with {@code p(0) != 0}.
+     * @return disjoint intervals in {@code (0, +inf)}, in increasing order, each with exactly one root of {@code p}.
+     */
+    private static @NotNull List<RationalInterval> isolatePositive(final BigInteger @NotNull [] p) {
+        final List<RationalInterval> roots = new ArrayList<>();
+        final int variations = IntegerPolynomials.signVariations(p, 2);
+        if (variations == 0) {
+            return roots;
+        }
+        // Cauchy bound: all roots are in (-2^k, 2^k)
+        final int degree = p.length - 1;
+        final int k = IntegerPolynomials.maxBitLength(p) - p[degree].bitLength() + 2;
+        if (variations == 1) {
+            roots.add(RationalInterval.of(Rational.ZERO, dyadic(BigInteger.ONE, k)));
+        } else {
+            // Roots of p(2^k * X) in (0, 1), each node is the interval (c / 2^depth, (c + 1) / 2^depth)
+            final BigInteger[] scaled = new BigInteger[p.length];
+            for (int i = 0; i < p.length; i++) {
+                scaled[i] = p[i].shiftLeft(k * i);
+            }
+            final Deque<Node> nodes = new ArrayDeque<>();
+            nodes.push(new Node(scaled, BigInteger.ZERO, 0));
+            while (!nodes.isEmpty()) {
+                final Node node = nodes.pop();
+                BigInteger[] q = node.polynomial;
+                if (q[0].signum() == 0) {
+                    // Root on the lower bound, which can only be the middle of the parent interval
+                    roots.add(RationalInterval.of(dyadic(node.numerator, k - node.depth)));
+                    q = Arrays.copyOfRange(q, 1, q.length);
+                }
+                final int rootBound = descartesBound(q);
+                if (rootBound == 1) {
+                    roots.add(RationalInterval.of(
+                            dyadic(node.numerator, k - node.depth),
+                            dyadic(node.numerator.add(BigInteger.ONE), k - node.depth)));
+                } else if (rootBound > 1) {
+                    final BigInteger[] left = halve(q);
+                    final BigInteger[] right = IntegerPolynomials.shiftByOne(left.clone());
+                    final BigInteger numerator = node.numerator.shiftLeft(1);
+                    // Lower interval first
+                    nodes.push(new Node(right, numerator.add(BigInteger.ONE), node.depth + 1));
+                    nodes.push(new Node(left, numerator, node.depth + 1));
+                }
+            }
+        }
+        separate(p, roots);
+        return roots;
+    }
+
+    /**
+     * Shrinks the isolating intervals until they are disjoint, and until they don't have 0 as lower bound, which is
+     * shared with the intervals of the negative roots.
+     */
+    private static void separate(final BigInteger @NotNull [] p, final @NotNull List<RationalInterval> roots) {
+        // p(0) != 0, so this interval is not degenerated
+        while (!roots.isEmpty() && roots.get(0).getLower().signum() == 0) {
+            roots.set(0, bisect(p, roots.get(0)));
+        }
+        for (int i = 0; i < roots.size() - 1; i++) {
+            // Intervals can share a bound, with the lower one open: bisect the non-degenerated one
+            while (roots.get(i).getUpper().compareTo(roots.get(i + 1).getLower()) >= 0) {
+                final int index = isDegenerated(roots.get(i)) ? i + 1 : i;
+                roots.set(index, bisect(p, roots.get(index)));
+            }
+        }
+    }
+
+    /**
+     * @param interval an interval with exactly one root of {@code p} inside. Its bounds may be other roots.
+     * @return the half of the interval with the root, or {@code [root, root]} if it is the middle.
+     */
+    private static @NotNull RationalInterval bisect(
+            final BigInteger @NotNull [] p, final @NotNull RationalInterval interval) {
+        final Rational middle = interval.midpoint().canonicalForm();
+        final int middleSign = sign(p, middle);
+        if (middleSign == 0) {
+            return RationalInterval.of(middle);
+        }
+        int lowerSign = sign(p, interval.getLower());
+        if (lowerSign == 0) {
+            // Simple root: p has the sign of p' just above it
+            lowerSign = sign(IntegerPolynomials.derivative(p), interval.getLower());
+        }
+        return middleSign == lowerSign
+                ? RationalInterval.of(middle, interval.getUpper())
+                : RationalInterval.of(interval.getLower(), middle);
+    }
+
+    /**
+     * Quadratic interval refinement.
+     *
+     * <p>Bounds are kept as integers over a common denominator {@code d}, along with the values of {@code a} at them
+     * times {@code d^n}: the secant then needs no fractions, and values are only scaled when {@code d} changes.
+     *
+     * @param a a square-free polynomial.
+     * @param interval an isolating interval of a root of {@code a}: degenerated on the root, or with a change of sign
+     *     of {@code a} between its bounds.
+     * @param bits the count of bits after the binary point of the root to get: the width of the result is at most
+     *     {@code 2^-bits}.
+     * @return an interval in {@code interval} with the same root.
+     * @throws ArithmeticException if {@code interval} doesn't isolate a root of {@code a}.
+     */
+    static @NotNull RationalInterval refine(
+            final BigInteger @NotNull [] a, final @NotNull RationalInterval interval, final int bits) {
+        final Rational lowerBound = interval.getLower().canonicalForm();
+        final Rational upperBound = interval.getUpper().canonicalForm();
+        if (isDegenerated(interval)) {
+            if (sign(a, lowerBound) != 0) {
+                throw new ArithmeticException("The interval must contain a root of the polynomial.");
+            }
+            return interval;
+        }
+        final int degree = a.length - 1;
+        final BigInteger lowerDenominator = lowerBound.getDenominator();
+        BigInteger denominator = lowerDenominator.divide(lowerDenominator.gcd(upperBound.getDenominator()))
+                .multiply(upperBound.getDenominator());
+        BigInteger lower = lowerBound.getNumerator().multiply(denominator.divide(lowerDenominator));
+        BigInteger upper = upperBound.getNumerator().multiply(denominator.divide(upperBound.getDenominator()));
+        BigInteger lowerValue = IntegerPolynomials.evaluate(a, lower, denominator);
+        BigInteger upperValue = IntegerPolynomials.evaluate(a, upper, denominator);
+        if (lowerValue.signum() * upperValue.signum() >= 0) {
+            throw new ArithmeticException("The polynomial must change of sign between the bounds of the interval.");
+        }
+        final int lowerSign = lowerValue.signum();
+        BigInteger count = FOUR;
+        // Until (upper - lower) / denominator <= 2^-bits
+        while (upper.subtract(lower).shiftLeft(Math.max(bits, 0)).compareTo(denominator.shiftLeft(Math.max(-bits, 0)))
+                > 0) {
+            // Sub-intervals of width step / denominator, once everything is scaled by count
+            final BigInteger step = upper.subtract(lower);
+            final BigInteger scale = count.pow(degree);
+            lower = lower.multiply(count);
+            upper = upper.multiply(count);
+            denominator = denominator.multiply(count);
+            lowerValue = lowerValue.multiply(scale);
+            upperValue = upperValue.multiply(scale);
+            // Secant: the root is about at sub-interval count * lowerValue / (lowerValue - upperValue)
+            final BigInteger numerator = count.multiply(lowerValue).abs();
+            final BigInteger difference = lowerValue.subtract(upperValue).abs();
+            final BigInteger index = numerator.shiftLeft(1).add(difference).divide(difference.shiftLeft(1));
+            final BigInteger guess = lower.add(step.multiply(index));
+            final BigInteger guessValue = IntegerPolynomials.evaluate(a, guess, denominator);
+            if (guessValue.signum() == 0) {
+                return RationalInterval.of(Rational.of(guess, denominator).canonicalForm());
+            }
+            // The guess is not upper, which has the other sign, or not lower, which has the same sign
+            final BigInteger other = guessValue.signum() == lowerSign ? guess.add(step) : guess.subtract(step);
+            final BigInteger otherValue = IntegerPolynomials.evaluate(a, other, denominator);
+            if (otherValue.signum() == 0) {
+                return RationalInterval.of(Rational.of(other, denominator).canonicalForm());
+            }
+            if (otherValue.signum() != guessValue.signum()) {
+                // Good guess: the root is in a sub-interval of width 1 / count
+                if (guessValue.signum() == lowerSign) {
+                    lower = guess;
+                    lowerValue = guessValue;
+                    upper = other;
+                    upperValue = otherValue;
+                } else {
+                    lower = other;
+                    lowerValue = otherValue;
+                    upper = guess;
+                    upperValue = guessValue;
+                }
+                count = count.multiply(count);
+            } else {
+                // Bad guess: bisection, in units of 1 / (2 * denominator)
+                final BigInteger middle = lower.add(upper);
+                final BigInteger twos = BigInteger.ONE.shiftLeft(degree);
+                lower = lower.shiftLeft(1);
+                upper = upper.shiftLeft(1);
+                denominator = denominator.shiftLeft(1);
+                final BigInteger middleValue = IntegerPolynomials.evaluate(a, middle, denominator);
+                if (middleValue.signum() == 0) {
+                    return RationalInterval.of(Rational.of(middle, denominator).canonicalForm());
+                }
+                if (middleValue.signum() == lowerSign) {
+                    lower = middle;
+                    lowerValue = middleValue;
+                    upperValue = upperValue.multiply(twos);
+                } else {
+                    upper = middle;
+                    upperValue = middleValue;
+                    lowerValue = lowerValue.multiply(twos);
+                }
+                count = count.sqrt().max(FOUR);
+            }
+            // Keep the denominator small
+            final BigInteger gcd = lower.gcd(upper).gcd(denominator);
+            if (!gcd.equals(BigInteger.ONE)) {
+                final BigInteger gcdPower = gcd.pow(degree);
+                lower = lower.divide(gcd);
+                upper = upper.divide(gcd);
+                denominator = denominator.divide(gcd);
+                lowerValue = lowerValue.divide(gcdPower);
+                upperValue = upperValue.divide(gcdPower);
+            }
+        }
+        return RationalInterval.of(
+                Rational.of(lower, denominator).canonicalForm(), Rational.of(upper, denominator).canonicalForm());
+    }
+
+    private static boolean isDegenerated(final @NotNull RationalInterval interval) {
+        return interval.getLower().compareTo(interval.getUpper()) == 0;
+    }
+
+    /**
+     * @return {@code c * 2^exponent}, in canonical form.
+     */
+    private static @NotNull Rational dyadic(final @NotNull BigInteger c, final int exponent) {
+        return exponent >= 0
+                ? Rational.of(c.shiftLeft(exponent))
+                : Rational.of(c, BigInteger.ONE.shiftLeft(-exponent)).canonicalForm();
+    }
+
+    private static int sign(final BigInteger @NotNull [] p, final @NotNull Rational x) {
+        final Rational canonical = x.canonicalForm();
+        return IntegerPolynomials.evaluate(p, canonical.getNumerator(), canonical.getDenominator()).signum();
+    }
+
+    /**
+     * The Taylor shift of {@code X^n * p(1 / X)} is computed one coefficient at a time, so the count can stop as soon
+     * as it reaches 2.
+     *
+     * @return the count of sign changes of {@code (X + 1)^n * p(1 / (X + 1))}, up to 2: an upper bound of the count of
+     *     roots of {@code p} in {@code (0, 1)}, exact if it is 0 or 1.
+     */
+    private static int descartesBound(final BigInteger @NotNull [] p) {
+        final int degree = p.length - 1;
+        final BigInteger[] shifted = new BigInteger[p.length];
+        for (int i = 0; i <= degree; i++) {
+            shifted[i] = p[degree - i];
+        }
+        int variations = 0;
+        int sign = 0;
+        for (int i = 0; i <= degree; i++) {
+            // Coefficients below i are not changed by the next passes of the shift
+            for (int j = degree - 1; j >= i; j--) {
+                shifted[j] = shifted[j].add(shifted[j + 1]);
+            }
+            final int coefficientSign = shifted[i].signum();
+            if (coefficientSign != 0) {
+                if (coefficientSign == -sign && ++variations == 2) {
+                    break;
+                }
+                sign = coefficientSign;
+            }
+        }
+        return variations;
+    }
+
+    /**
+     * @return {@code 2^n * p(X / 2)}, without the power of 2 common to all the coefficients.
+     */
+    private static BigInteger @NotNull [] halve(final BigInteger @NotNull [] p) {
+        final int degree = p.length - 1;
+        final BigInteger[] halved = new BigInteger[p.length];
+        int twos = Integer.MAX_VALUE;
+        for (int i = 0; i <= degree; i++) {
+            halved[i] = p[i].shiftLeft(degree - i);
+            if (halved[i].signum() != 0) {
+                twos = Math.min(twos, halved[i].getLowestSetBit());
+            }
+        }
+        for (int i = 0; i <= degree; i++) {
+            halved[i] = halved[i].shiftRight(twos);
+        }
+        return halved;
+    }
+
+    private static final class Node {
+        private final BigInteger @NotNull [] polynomial;
+        private final @NotNull BigInteger numerator;
+        private final int depth;
+
+        private Node(final BigInteger @NotNull [] polynomial, final @NotNull BigInteger numerator, final int depth) {
+            this.polynomial = polynomial;
+            this.numerator = numerator;
+            this.depth = depth;
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package fr.spacefox.jrational;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.stream.IntStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable sparse matrix of {@code Rational}, in compressed sparse row (CSR) layout, for large exact systems with few
+ * non-zero entries per row, like Markov chains or flow models.
+ *
+ * <p>Only non-zero entries are stored: for each row, the columns of its entries, sorted, and their numerators, which
+ * share one denominator per row, the least common multiple of the denominators of the row. Numerators are stored in
+ * a {@code long} array, and only those that don't fit in a {@code long} are kept as {@code BigInteger}, in a separate
+ * array allocated only if needed. So rows of probabilities like {@code 1/3, 1/6, 1/2} cost a few primitive values.
+ *
+ * <p>Products with a vector scale the vector to integers with one common denominator, compute the integer dot
+ * product of each row, in {@code long} when the bit lengths guarantee it fits, and divide the result once per row.
+ * Rows are computed in parallel in the common {@code ForkJoinPool} for large matrices.
+ *
+ * <p>Results are approximate if any entry of the matrix (or of the vector) is approximate.
+ */
+public final class SparseRationalMatrix {
+
+    // Count of rows before products are computed in parallel
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    private final int rowCount;
+    private final int columnCount;
+    // Entries of row i are at indexes [rowStarts[i], rowStarts[i + 1])
+    private final int @NotNull [] rowStarts;
+    private final int @NotNull [] columns;
+    private final long @NotNull [] numerators;
+    // Numerators that don't fit in a long, null elsewhere, or null if there are none
+    private final @Nullable BigInteger[] bigNumerators;
+    private final @NotNull BigInteger[] rowDenominators;
+    // Max bit length of the numerators of each row
+    private final int @NotNull [] rowBits;
+    private final boolean approximate;
+
+    private SparseRationalMatrix(
+            final int rowCount,
+            final int columnCount,
+            final int @NotNull [] rowStarts,
+            final int @NotNull [] columns,
+            final @NotNull BigInteger[] numerators,
+            final @NotNull BigInteger[] rowDenominators,
+            final boolean approximate) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.rowStarts = rowStarts;
+        this.columns = columns;
+        this.rowDenominators = rowDenominators;
+        this.approximate = approximate;
+        this.numerators = new long[numerators.length];
+        this.rowBits = new int[rowCount];
+        BigInteger[] big = null;
+        for (int i = 0; i < rowCount; i++) {
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                final int bits = numerators[k].bitLength();
+                rowBits[i] = Math.max(rowBits[i], bits);
+                if (bits < Long.SIZE) {
+                    this.numerators[k] = numerators[k].longValue();
+                } else {
+                    if (big == null) {
+                        big = new BigInteger[numerators.length];
+                    }
+                    big[k] = numerators[k];
+                }
+            }
+        }
+        this.bigNumerators = big;
+    }
+
+    /**
+     * Builds a sparse matrix from its non-zero entries, given as {@code (row, column, value)} triplets in any order.
+     * Values of the same row and column are added, and zero values are dropped.
+     *
+     * @param rowCount the count of rows of the matrix.
+     * @param columnCount the count of columns of the matrix.
+     * @param rows the row of each entry, from 0.
+     * @param columns the column of each entry, from 0.
+     * @param values the value of each entry.
+     * @return the sparse matrix.
+     * @throws ArithmeticException if the count of rows or columns is not &gt; 0, or if the three arrays of entries
+     * have different sizes.
+     * @throws IndexOutOfBoundsException if a row or a column is out of the matrix.
+     */
+    public static @NotNull SparseRationalMatrix of(
+            final int rowCount,
+            final int columnCount,
+            final int @NotNull [] rows,
+            final int @NotNull [] columns,
+            final @NotNull List<Rational> values) {
+        if (rowCount <= 0 || columnCount <= 0) {
+            throw new ArithmeticException("A matrix must have at least one row and one column.");
+        }
+        if (rows.length != columns.length || rows.length != values.size()) {
+            throw new ArithmeticException("Rows, columns and values of the entries must have the same size.");
+        }
+        // Counting sort of the entries by row
+        final int[] rowStarts = new int[rowCount + 1];
+        for (int k = 0; k < rows.length; k++) {
+            rowStarts[Objects.checkIndex(rows[k], rowCount) + 1]++;
+            Objects.checkIndex(columns[k], columnCount);
+        }
+        for (int i = 0; i < rowCount; i++) {
+            rowStarts[i + 1] += rowStarts[i];
+        }
+        final int[] next = Arrays.copyOf(rowStarts, rowCount);
+        // Column in the high bits, index of the entry in the low bits, so each row is sorted by column
+        final long[] keys = new long[rows.length];
+        for (int k = 0; k < rows.length; k++) {
+            keys[next[rows[k]]++] = ((long) columns[k] << Integer.SIZE) | k;
+        }
+
+        final int[] sortedColumns = new int[rows.length];
+        final Rational[] sortedValues = new Rational[rows.length];
+        final int[] compactRowStarts = new int[rowCount + 1];
+        int count = 0;
+        for (int i = 0; i < rowCount; i++) {
+            Arrays.sort(keys, rowStarts[i], rowStarts[i + 1]);
+            compactRowStarts[i] = count;
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                final int column = (int) (keys[k] >>> Integer.SIZE);
+                final Rational value = values.get((int) keys[k]);
+                if (count > compactRowStarts[i] && sortedColumns[count - 1] == column) {
+                    sortedValues[count - 1] = sortedValues[count - 1].add(value);
+                } else {
+                    sortedColumns[count] = column;
+                    sortedValues[count++] = value;
+                }
+            }
+        }
+        compactRowStarts[rowCount] = count;
+        return fromValues(rowCount, columnCount, compactRowStarts, sortedColumns, sortedValues, false);
+    }
+
+    /**
+     * Builds a sparse matrix with the non-zero entries of a dense matrix.
+     *
+     * @param matrix the dense matrix.
+     * @return the sparse matrix.
+     */
+    public static @NotNull SparseRationalMatrix of(final @NotNull RationalMatrix matrix) {
+        final int rowCount = matrix.getRowCount();
+        final int columnCount = matrix.getColumnCount();
+        final int[] rowStarts = new int[rowCount + 1];
+        final int[] columns = new int[rowCount * columnCount];
+        final Rational[] values = new Rational[rowCount * columnCount];
+        int count = 0;
+        for (int i = 0; i < rowCount; i++) {
+            rowStarts[i] = count;
+            for (int j = 0; j < columnCount; j++) {
+                columns[count] = j;
+                values[count++] = matrix.get(i, j);
+            }
+        }
+        rowStarts[rowCount] = count;
+        return fromValues(rowCount, columnCount, rowStarts, columns, values, false);
+    }
+
+    /**
+     * Builds the matrix from entries sorted by row and column, without duplicates. Zero entries are dropped.
+     *
+     * @param canonical {@code true} if the values are already in canonical form.
+     */
+    private static @NotNull SparseRationalMatrix fromValues(
+            final int rowCount,
+            final int columnCount,
+            final int @NotNull [] rowStarts,
+            final int @NotNull [] columns,
+            final @NotNull Rational[] values,
+            final boolean canonical) {
+        int count = 0;
+        for (int k = 0; k < rowStarts[rowCount]; k++) {
+            if (values[k].signum() != 0) {
+                count++;
+            }
+        }
+        final int[] newRowStarts = new int[rowCount + 1];
+        final int[] newColumns = new int[count];
+        final BigInteger[] numerators = new BigInteger[count];
+        final BigInteger[] rowDenominators = new BigInteger[rowCount];
+        boolean approximate = false;
+        int index = 0;
+        for (int i = 0; i < rowCount; i++) {
+            newRowStarts[i] = index;
+            BigInteger lcm = BigInteger.ONE;
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                approximate |= values[k].isApproximate();
+                if (values[k].signum() != 0) {
+                    values[k] = canonical ? values[k] : values[k].canonicalForm();
+                    lcm = lcm(lcm, values[k].getDenominator());
+                }
+            }
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                if (values[k].signum() != 0) {
+                    newColumns[index] = columns[k];
+                    numerators[index++] = values[k].getNumerator().multiply(lcm.divide(values[k].getDenominator()));
+                }
+            }
+            rowDenominators[i] = lcm;
+        }
+        newRowStarts[rowCount] = index;
+        return new SparseRationalMatrix(
+                rowCount, columnCount, newRowStarts, newColumns, numerators, rowDenominators, approximate);
+    }
+
+    private static @NotNull BigInteger lcm(final @NotNull BigInteger a, final @NotNull BigInteger b) {
+        if (b.equals(BigInteger.ONE) || a.equals(b)) {
+            return a;
+        }
+        return a.divide(a.gcd(b)).multiply(b);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * @return the count of non-zero entries stored in this matrix.
+     */
+    public int getNonZeroCount() {
+        return columns.length;
+    }
+
+    /**
+     * @param row the index of the row, from 0.
+     * @param column the index of the column, from 0.
+     * @return the entry at this row and column, in canonical form.
+     * @throws IndexOutOfBoundsException if the row or the column is out of the matrix.
+     */
+    public @NotNull Rational get(final int row, final int column) {
+        Objects.checkIndex(row, rowCount);
+        Objects.checkIndex(column, columnCount);
+        final int index = Arrays.binarySearch(columns, rowStarts[row], rowStarts[row + 1], column);
+        if (index < 0) {
+            return approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        return result(numerator(index), rowDenominators[row], approximate);
+    }
+
+    private @NotNull BigInteger numerator(final int index) {
+        return bigNumerators != null && bigNumerators[index] != null
+                ? bigNumerators[index]
+                : BigInteger.valueOf(numerators[index]);
+    }
+
+    /**
+     * @return the dense matrix with the same entries.
+     */
+    public @NotNull RationalMatrix toDense() {
+        final Rational[][] rows = new Rational[rowCount][columnCount];
+        for (int i = 0; i < rowCount; i++) {
+            Arrays.fill(rows[i], approximate ? Rational.APPROX_ZERO : Rational.ZERO);
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                rows[i][columns[k]] = result(numerator(k), rowDenominators[i], approximate);
+            }
+        }
+        return RationalMatrix.of(rows);
+    }
+
+    /**
+     * Returns the transpose of this matrix, whose rows are the columns of this matrix.
+     *
+     * @return the transpose of this matrix.
+     */
+    public @NotNull SparseRationalMatrix transpose() {
+        // Counting sort of the entries by column: as rows are scanned in order, each column is sorted by row
+        final int[] columnStarts = new int[columnCount + 1];
+        for (int column : columns) {
+            columnStarts[column + 1]++;
+        }
+        for (int j = 0; j < columnCount; j++) {
+            columnStarts[j + 1] += columnStarts[j];
+        }
+        final int[] next = Arrays.copyOf(columnStarts, columnCount);
+        final int[] transposedColumns = new int[columns.length];
+        final Rational[] values = new Rational[columns.length];
+        for (int i = 0; i < rowCount; i++) {
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                final int index = next[columns[k]]++;
+                transposedColumns[index] = i;
+                values[index] = result(numerator(k), rowDenominators[i], approximate);
+            }
+        }
+        return fromValues(columnCount, rowCount, columnStarts, transposedColumns, values, true);
+    }
+
+    /**
+     * Returns the product {@code this * vector}.
+     *
+     * @param vector the vector by which this matrix is multiplied.
+     * @return {@code this * vector}, with values in canonical form.
+     * @throws ArithmeticException if the size of the vector is not the count of columns of the matrix.
+     */
+    public @NotNull List<Rational> multiply(final @NotNull List<Rational> vector) {
+        if (vector.size() != columnCount) {
+            throw new ArithmeticException("The size of the vector must be the count of columns of the matrix.");
+        }
+        // vector = integers / denominator
+        BigInteger denominator = BigInteger.ONE;
+        boolean anyApproximate = approximate;
+        for (Rational value : vector) {
+            anyApproximate |= value.isApproximate();
+            if (value.signum() != 0) {
+                denominator = lcm(denominator, value.canonicalForm().getDenominator());
+            }
+        }
+        final BigInteger[] integers = new BigInteger[columnCount];
+        final long[] smallIntegers = new long[columnCount];
+        int integerBits = 0;
+        for (int j = 0; j < columnCount; j++) {
+            final Rational value = vector.get(j);
+            integers[j] = value.signum() == 0
+                    ? BigInteger.ZERO
+                    : value.getNumerator().multiply(denominator).divide(value.getDenominator());
+            smallIntegers[j] = integers[j].longValue();
+            integerBits = Math.max(integerBits, integers[j].bitLength());
+        }
+
+        final Rational[] result = new Rational[rowCount];
+        final int maxIntegerBits = integerBits;
+        final BigInteger vectorDenominator = denominator;
+        final boolean resultApproximate = anyApproximate;
+        final IntStream rows = IntStream.range(0, rowCount);
+        (rowCount >= PARALLEL_THRESHOLD ? rows.parallel() : rows).forEach(i -> {
+            final int from = rowStarts[i];
+            final int to = rowStarts[i + 1];
+            // |sum of n products| < 2^(rowBits + integerBits + bits(n))
+            final int countBits = 32 - Integer.numberOfLeadingZeros(to - from);
+            final BigInteger sum;
+            if (rowBits[i] + maxIntegerBits + countBits < Long.SIZE - 1) {
+                long smallSum = 0;
+                for (int k = from; k < to; k++) {
+                    smallSum += numerators[k] * smallIntegers[columns[k]];
+                }
+                sum = BigInteger.valueOf(smallSum);
+            } else {
+                BigInteger bigSum = BigInteger.ZERO;
+                for (int k = from; k < to; k++) {
+                    bigSum = bigSum.add(numerator(k).multiply(integers[columns[k]]));
+                }
+                sum = bigSum;
+            }
+            result[i] = result(sum, rowDenominators[i].multiply(vectorDenominator), resultApproximate);
+        });
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    /**
+     * Computes steps of the power method: at each step, the vector is multiplied by this matrix, then divided by its
+     * entry of largest absolute value, so that entry becomes 1. For most matrices and vectors, the result converges
+     * to an eigenvector of the eigenvalue of largest absolute value. All steps are exact.
+     *
+     * @param vector the starting vector.
+     * @param steps the count of steps, must be &gt;= 0.
+     * @return the vector after {@code steps} steps, with values in canonical form, or {@code vector} itself if
+     * {@code steps} is 0.
+     * @throws ArithmeticException if the matrix is not square, if the size of the vector is not the count of columns
+     * of the matrix, if {@code steps} is negative or if the product of the vector by the matrix is 0.
+     */
+    public @NotNull List<Rational> powerIteration(final @NotNull List<Rational> vector, final int steps) {
+        if (rowCount != columnCount) {
+            throw new ArithmeticException("The matrix must be square.");
+        }
+        if (steps < 0) {
+            throw new ArithmeticException("The count of steps must be >= 0.");
+        }
+        List<Rational> current = vector;
+        for (int step = 0; step < steps; step++) {
+            final List<Rational> product = multiply(current);
+            Rational largest = product.get(0);
+            for (Rational value : product) {
+                if (value.abs().compareTo(largest.abs()) > 0) {
+                    largest = value;
+                }
+            }
+            if (largest.signum() == 0) {
+                throw new ArithmeticException("The product of the vector by the matrix is 0.");
+            }
+            final Rational[] normalized = new Rational[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                normalized[i] = product.get(i).divide(largest).canonicalForm();
+            }
+            current = Collections.unmodifiableList(Arrays.asList(normalized));
+        }
+        return current;
+    }
+
+    private static @NotNull Rational result(
+            final @NotNull BigInteger numerator, final @NotNull BigInteger denominator, final boolean approximate) {
+        if (numerator.signum() == 0) {
+            return approximate ? Rational.APPROX_ZERO : Rational.ZERO;
+        }
+        return (approximate ? Rational.approximateOf(numerator, denominator) : Rational.of(numerator, denominator))
+                .canonicalForm();
+    }
+
+    /**
+     * Compares this matrix with the specified {@code Object} for equality. Like {@code RationalMatrix}, entries are
+     * compared by value, whatever their representation or approximate flag.
+     *
+     * @param o {@code Object} to which this matrix is to be compared.
+     * @return {@code true} if the specified {@code Object} is a sparse matrix of the same size, with equal entries.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        // Entries are stored in canonical form, on the LCM of the denominators of their row: equal matrices have the
+        // same layout, so the arrays are compared directly
+        final SparseRationalMatrix that = (SparseRationalMatrix) o;
+        return rowCount == that.rowCount
+                && columnCount == that.columnCount
+                && Arrays.equals(rowStarts, that.rowStarts)
+                && Arrays.equals(columns, that.columns)
+                && Arrays.equals(numerators, that.numerators)
+                && Arrays.equals(bigNumerators, that.bigNumerators)
+                && Arrays.equals(rowDenominators, that.rowDenominators);
+    }
+
+    @Override
+    public int hashCode() {
+        // Consistent with equals(): the layout is normalized
+        int hash = 31 * rowCount + columnCount;
+        hash = 31 * hash + Arrays.hashCode(rowStarts);
+        hash = 31 * hash + Arrays.hashCode(columns);
+        hash = 31 * hash + Arrays.hashCode(numerators);
+        hash = 31 * hash + Arrays.hashCode(bigNumerators);
+        return 31 * hash + Arrays.hashCode(rowDenominators);
+    }
+
+    @Override
+    public String toString() {
+        final StringJoiner entries = new StringJoiner(
+                ", ", "SparseRationalMatrix(" + rowCount + "x" + columnCount + ", [", "])");
+        for (int i = 0; i < rowCount; i++) {
+            for (int k = rowStarts[i]; k < rowStarts[i + 1]; k++) {
+                entries.add("(" + i + ", " + columns[k] + ")=" + result(numerator(k), rowDenominators[i], approximate));
+            }
+        }
+        return entries.toString();
+    }
+}
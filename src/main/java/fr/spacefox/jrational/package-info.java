@@ -29,12 +29,13 @@
  *
  * <p><b>Approximate rationals:</b> A {@code Rational} may be <i>approximate</i> (see {@code isApproximate()} method).
  * This denotes this rational is only an approximation of the real value. The real value may be, or not, an irrational
- * number in the mathematical definition. There is no constructor nor builder to create an approximate {@code Rational},
- * as all the builder require exact values. There are three ways to get an approximate {@code Rational}. First is
+ * number in the mathematical definition. There is no constructor to create an approximate {@code Rational}, and all
+ * the {@code of(…)} builders require exact values. There are four ways to get an approximate {@code Rational}. First is
  * provided constants. Second is to call {@code approximate()} on an existing number, the result will be flagged as
- * approximate if and only if an approximation has been done. The second one is through arithmetic methods that can lead
- * to irrational results. Any operation that implies an approximate {@code Rational} will always have an approximate as
- * result.
+ * approximate if and only if an approximation has been done. Third is {@code ofApproximate(double)}, which returns the
+ * simplest rational that rounds to the provided {@code double}, flagged as approximate if and only if it differs from
+ * the exact {@code double} value. The last one is through arithmetic methods that can lead to irrational results. Any
+ * operation that implies an approximate {@code Rational} will always have an approximate as result.
  *
  * @apiNote This class has a natural ordering that is inconsistent with equals. Care should be exercised if
  * {@code Rational} objects are used as keys in a {@link java.util.SortedMap SortedMap} or elements in a
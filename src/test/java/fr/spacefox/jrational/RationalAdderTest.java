@@ -0,0 +1,146 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class RationalAdderTest {
+
+    @Test
+    void singleThread() {
+        final RationalAdder adder = new RationalAdder();
+        assertSame(Rational.ZERO, adder.sum());
+        adder.add(Rational.of(1, 6));
+        adder.add(Rational.of(1, 6));
+        adder.add(Rational.of(1, 4));
+        adder.add(3);
+        assertEquals(Rational.of(43, 12), adder.sum());
+        assertEquals(BigInteger.valueOf(12), adder.sum().getDenominator());
+        assertEquals("43/12", adder.toString());
+        assertFalse(adder.sum().isApproximate());
+
+        assertEquals(Rational.of(43, 12), adder.sumThenReset());
+        assertSame(Rational.ZERO, adder.sum());
+        adder.add(Rational.of(-2, 3));
+        assertEquals(Rational.of(-2, 3), adder.sum());
+        adder.reset();
+        assertSame(Rational.ZERO, adder.sum());
+    }
+
+    @Test
+    void overflow() {
+        final RationalAdder adder = new RationalAdder();
+        // Same denominator: the numerator overflows
+        adder.add(Long.MAX_VALUE);
+        adder.add(Long.MAX_VALUE);
+        assertEquals(Rational.of(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1)), adder.sum());
+        adder.reset();
+        // Coprime denominators: the common denominator overflows
+        final Rational expected = Rational.of(1, 4_294_967_291L)
+                .add(Rational.of(1, 4_294_967_279L))
+                .add(Rational.of(1, 4_294_967_231L));
+        adder.add(Rational.of(1, 4_294_967_291L));
+        adder.add(Rational.of(1, 4_294_967_279L));
+        adder.add(Rational.of(1, 4_294_967_231L));
+        assertEquals(expected, adder.sum());
+        // Values larger than a long
+        final Rational huge = Rational.of(BigInteger.TEN.pow(30), BigInteger.valueOf(7));
+        adder.add(huge);
+        assertEquals(expected.add(huge), adder.sum());
+        adder.reset();
+        adder.add(huge);
+        adder.add(huge.negate());
+        assertSame(Rational.ZERO, adder.sum());
+    }
+
+    @Test
+    void approximateValues() {
+        final RationalAdder adder = new RationalAdder();
+        adder.add(Rational.approximateOf(1, 3));
+        adder.add(Rational.of(-1, 3));
+        assertSame(Rational.APPROX_ZERO, adder.sum());
+        adder.add(Rational.of(1, 2));
+        assertTrue(adder.sum().isApproximate());
+        assertEquals(0, Rational.of(1, 2).compareTo(adder.sum()));
+        // The approximate flag survives the overflow to big integers
+        adder.add(Long.MAX_VALUE);
+        adder.add(Long.MAX_VALUE);
+        assertTrue(adder.sum().isApproximate());
+        assertFalse(new RationalAdder().sum().isApproximate());
+    }
+
+    @Test
+    void severalCells() throws InterruptedException, ExecutionException {
+        // Whatever the count of processors: 5 cells are rounded up to 8, whose sums are reduced by pairs
+        final RationalAdder adder = new RationalAdder(5);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> adder.add(Rational.of(1, thread + 1))));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Rational expected = Rational.ZERO;
+        for (int t = 0; t < 16; t++) {
+            expected = expected.add(Rational.of(1, t + 1));
+        }
+        assertEquals(expected, adder.sumThenReset());
+        assertSame(Rational.ZERO, adder.sum());
+        adder.add(7);
+        assertEquals(Rational.of(7), adder.sum());
+    }
+
+    @Test
+    void concurrentAdditions() throws InterruptedException, ExecutionException {
+        final RationalAdder adder = new RationalAdder();
+        final int threads = 8;
+        final int additions = 5000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 1; i <= additions; i++) {
+                        adder.add(Rational.of(i, (thread + i) % 10 + 1));
+                    }
+                }));
+            }
+            // Sums concurrent with the additions neither lose nor duplicate values
+            Rational total = Rational.ZERO;
+            for (int i = 0; i < 20; i++) {
+                total = total.add(adder.sumThenReset());
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+            total = total.add(adder.sumThenReset());
+
+            Rational expected = Rational.ZERO;
+            for (int t = 0; t < threads; t++) {
+                for (int i = 1; i <= additions; i++) {
+                    expected = expected.add(Rational.of(i, (t + i) % 10 + 1));
+                }
+            }
+            assertEquals(expected, total);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -7,7 +7,10 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -65,6 +68,9 @@ class RationalBasicArithmeticTest {
         assertSame(Rational.ONE, Rational.of(5, 3).subtract(Rational.of(2, 3)));
         assertSame(Rational.ZERO, Rational.of(7, 5).subtract(Rational.of(7, 5)));
         assertEquals(Rational.of(-4, 15), Rational.of(2, 5).subtract(Rational.of(2, 3)));
+        assertEquals(Rational.of(-2, 3), Rational.ZERO.subtract(Rational.of(2, 3)));
+        assertEquals(0, Rational.of(-2, 3).compareTo(Rational.APPROX_ZERO.subtract(Rational.of(2, 3))));
+        assertTrue(Rational.APPROX_ZERO.subtract(Rational.of(2, 3)).isApproximate());
 
         // Keep approximations
         Rational actual = Rational.of(12, 13).subtract(Rational.ONE);
@@ -122,13 +128,128 @@ class RationalBasicArithmeticTest {
                 Rational.of(1, 2).multiplyAll(Rational.of(3, 4), Rational.of(5, 6), Rational.of(7, 8)));
     }
 
+    @Test
+    void multiplyAdd() {
+        assertEquals(Rational.of(7, 6), Rational.of(1, 2).multiplyAdd(Rational.of(4, 3), Rational.of(1, 2)));
+        assertEquals(Rational.of(-1, 2), Rational.ZERO.multiplyAdd(Rational.of(4, 3), Rational.of(-1, 2)));
+        assertEquals(Rational.ZERO, Rational.of(2).multiplyAdd(Rational.of(1, 4), Rational.of(-1, 2)));
+        // Beyond long
+        final Rational big = Rational.of(BigInteger.TEN.pow(30), BigInteger.valueOf(7));
+        assertEquals(big.multiply(big).add(Rational.of(1, 3)), big.multiplyAdd(big, Rational.of(1, 3)));
+        assertEquals(
+                Rational.of(Long.MAX_VALUE).add(Rational.of(Long.MAX_VALUE)),
+                Rational.of(Long.MAX_VALUE).multiplyAdd(Rational.ONE, Rational.of(Long.MAX_VALUE)));
+
+        final Rational approximate = Rational.of(3).multiplyAdd(Rational.approximateOf(1, 3), Rational.ONE);
+        assertTrue(approximate.isApproximate());
+        assertEquals(0, Rational.of(2).compareTo(approximate));
+    }
+
+    @Test
+    void dot() {
+        assertThrows(ArithmeticException.class, () -> Rational.dot(List.of(Rational.ONE), List.of()));
+        assertSame(Rational.ZERO, Rational.dot(List.of(), List.of()));
+
+        // Quantities and prices
+        final List<Rational> quantities = new ArrayList<>();
+        final List<Rational> prices = new LinkedList<>();
+        Rational expected = Rational.ZERO;
+        for (int i = 0; i < 20_000; i++) {
+            final Rational quantity = Rational.of(i % 97 - 40);
+            final Rational price = i % 1000 == 0
+                    ? Rational.of(BigInteger.TEN.pow(25).add(BigInteger.valueOf(i)), BigInteger.valueOf(300))
+                    : Rational.of(i * 31L % 100_000, i % 3 == 0 ? 100 : 8);
+            quantities.add(quantity);
+            prices.add(price);
+            expected = expected.add(quantity.multiply(price)).canonicalForm();
+        }
+        assertEquals(expected, Rational.dot(quantities, prices));
+        assertEquals(expected, Rational.parallelDot(quantities, prices));
+        assertTrue(Rational.dot(List.of(Rational.approximateOf(1, 2)), List.of(Rational.ZERO)).isApproximate());
+    }
+
+    @Test
+    void addInteger() {
+        final Rational half = Rational.of(1, 2);
+        assertSame(half, half.add(0));
+        assertSame(half, half.add(BigInteger.ZERO));
+        assertEquals(Rational.of(7, 2), half.add(3));
+        assertEquals(Rational.of(-5, 2), half.add(BigInteger.valueOf(-3)));
+        assertSame(Rational.ZERO, Rational.of(-6, 2).add(3));
+        assertEquals(Rational.of(3), Rational.ZERO.add(3));
+
+        // Same value as with a Rational, and the denominator is kept
+        final Rational big = Rational.of(BigInteger.TEN.pow(30).add(BigInteger.ONE), BigInteger.TEN.pow(20));
+        assertEquals(big.add(Rational.of(Long.MIN_VALUE)), big.add(Long.MIN_VALUE));
+        assertEquals(big.getDenominator(), big.add(Long.MIN_VALUE).getDenominator());
+
+        assertTrue(Rational.APPROX_ZERO.add(3).isApproximate());
+        assertTrue(Rational.approximateOf(1, 2).add(BigInteger.TWO).isApproximate());
+        assertFalse(half.add(3).isApproximate());
+    }
+
+    @Test
+    void multiplyInteger() {
+        final Rational half = Rational.of(1, 2);
+        assertSame(Rational.ZERO, half.multiply(0));
+        assertSame(Rational.ZERO, Rational.approximateOf(1, 2).multiply(BigInteger.ZERO));
+        assertSame(half, half.multiply(1));
+        assertSame(half, half.multiply(BigInteger.ONE));
+        assertEquals(Rational.of(3, 2), half.multiply(3));
+        assertEquals(Rational.of(-3, 2), half.multiply(BigInteger.valueOf(-3)));
+        assertSame(Rational.ONE, half.multiply(2));
+        assertSame(Rational.APPROX_ZERO, Rational.APPROX_ZERO.multiply(5));
+        assertTrue(Rational.approximateOf(1, 3).multiply(5).isApproximate());
+        assertEquals(Rational.of(Long.MIN_VALUE, 7), Rational.of(1, 7).multiply(Long.MIN_VALUE));
+    }
+
+    @Test
+    void divideInteger() {
+        final Rational half = Rational.of(1, 2);
+        assertThrows(ArithmeticException.class, () -> half.divide(0));
+        assertThrows(ArithmeticException.class, () -> half.divide(BigInteger.ZERO));
+        assertSame(half, half.divide(1));
+        assertSame(half, half.divide(BigInteger.ONE));
+        assertSame(Rational.ZERO, Rational.ZERO.divide(3));
+        assertSame(Rational.APPROX_ZERO, Rational.APPROX_ZERO.divide(BigInteger.TEN));
+        assertEquals(Rational.of(1, 6), half.divide(3));
+
+        // The denominator stays positive
+        final Rational negative = half.divide(BigInteger.valueOf(-3));
+        assertEquals(Rational.of(-1, 6), negative);
+        assertEquals(-1, negative.signum());
+        assertEquals(BigInteger.valueOf(6), negative.getDenominator());
+
+        assertTrue(Rational.approximateOf(1, 3).divide(5).isApproximate());
+        assertEquals(
+                Rational.of(BigInteger.ONE, BigInteger.valueOf(Long.MIN_VALUE)), Rational.ONE.divide(Long.MIN_VALUE));
+    }
+
     @Test
     void divideIdentity() {
         assertEquals(Rational.of(1, 2), Rational.of(1, 2).divide(Rational.ONE));
-        assertEquals(Rational.of(1, 2), Rational.ONE.divide(Rational.of(1, 2)));
+        // 1 is only a right identity
+        assertEquals(Rational.of(2), Rational.ONE.divide(Rational.of(1, 2)));
+        assertEquals(Rational.of(1, 3), Rational.of(2, 2).divide(Rational.of(3)));
 
         assertEquals(0, Rational.of(1, 2).compareTo(Rational.of(1, 2).divide(Rational.APPROX_ONE)));
-        assertEquals(0, Rational.of(1, 2).compareTo(Rational.APPROX_ONE.divide(Rational.of(1, 2))));
+        assertTrue(Rational.of(1, 2).divide(Rational.APPROX_ONE).isApproximate());
+        assertEquals(0, Rational.of(2).compareTo(Rational.APPROX_ONE.divide(Rational.of(1, 2))));
+        assertTrue(Rational.APPROX_ONE.divide(Rational.of(1, 2)).isApproximate());
+        final Rational approximateHalf = Rational.approximateOf(1, 2);
+        assertSame(approximateHalf, approximateHalf.divide(Rational.APPROX_ONE));
+    }
+
+    @Test
+    void oneDividedBy() {
+        // Regression: 1 / x returned x
+        final List<Rational> values =
+                List.of(Rational.of(1, 2), Rational.of(-3, 7), Rational.of(5), Rational.of(4, 6), Rational.ONE);
+        for (final Rational x : values) {
+            assertEquals(x.inverse(), Rational.ONE.divide(x));
+            assertEquals(x.inverse(), Rational.of(3, 3).divide(x));
+            assertEquals(0, x.inverse().compareTo(Rational.APPROX_ONE.divide(x)));
+        }
     }
 
     @Test
@@ -161,4 +282,36 @@ class RationalBasicArithmeticTest {
         assertEquals(Rational.of(10648, 343), Rational.of(22, 7).pow(3));
         assertEquals(Rational.of(343, 10648), Rational.of(22, 7).pow(-3));
     }
+
+    @Test
+    void powReducesFirst() {
+        // (6/4)^3 = (3/2)^3: the common factor 2 is not raised
+        final Rational power = Rational.of(6, 4).pow(3);
+        assertEquals(BigInteger.valueOf(27), power.getNumerator());
+        assertEquals(BigInteger.valueOf(8), power.getDenominator());
+        final Rational inverse = Rational.of(-6, 4).pow(-3);
+        assertEquals(BigInteger.valueOf(-8), inverse.getNumerator());
+        assertEquals(BigInteger.valueOf(27), inverse.getDenominator());
+        assertSame(Rational.ONE, Rational.of(5, 5).pow(7));
+        assertTrue(Rational.approximateOf(2, 4).pow(2).isApproximate());
+        assertThrows(ArithmeticException.class, () -> Rational.ZERO.pow(-2));
+    }
+
+    @Test
+    void powLong() {
+        assertEquals(Rational.of(10648, 343), Rational.of(22, 7).pow(3L));
+        assertEquals(Rational.of(1, 1L << 40), Rational.of(2).pow(-40L));
+        assertEquals(Rational.of(BigInteger.ONE.shiftLeft(1000)), Rational.of(4, 2).pow(1000L));
+
+        // Beyond int, only 0, 1 and -1 have a power
+        assertSame(Rational.ONE, Rational.of(-1).pow(Long.MAX_VALUE - 1));
+        assertEquals(Rational.of(-1), Rational.of(-1).pow(Long.MAX_VALUE));
+        assertEquals(Rational.of(-1), Rational.of(3, -3).pow(-(1L << 40) - 1));
+        assertSame(Rational.ONE, Rational.of(-1).pow(Long.MIN_VALUE));
+        assertSame(Rational.ONE, Rational.of(-1).pow(Integer.MIN_VALUE));
+        assertSame(Rational.ZERO, Rational.ZERO.pow(1L << 40));
+        assertThrows(ArithmeticException.class, () -> Rational.ZERO.pow(-(1L << 40)));
+        assertThrows(ArithmeticException.class, () -> Rational.of(2).pow(1L << 40));
+        assertThrows(ArithmeticException.class, () -> Rational.of(1, 2).pow(Integer.MIN_VALUE));
+    }
 }
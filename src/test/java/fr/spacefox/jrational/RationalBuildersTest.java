@@ -1,12 +1,15 @@
 package fr.spacefox.jrational;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 class RationalBuildersTest {
@@ -209,6 +212,76 @@ class RationalBuildersTest {
         assertEquals(Rational.of(3602879701896397L, 36028797018963968L), actual);
     }
 
+    @Test
+    void doublesApproximate() {
+        // Non convertible values
+        assertThrows(ArithmeticException.class, () -> Rational.ofApproximate(Double.POSITIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> Rational.ofApproximate(Double.NEGATIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> Rational.ofApproximate(Double.NaN));
+
+        // Special values
+        assertSame(Rational.ZERO, Rational.ofApproximate(0.0d));
+        assertSame(Rational.ZERO, Rational.ofApproximate(-0.0d));
+        assertSame(Rational.ONE, Rational.ofApproximate(1.0d));
+
+        // Exact values are not approximate
+        Rational actual = Rational.ofApproximate(0.5d);
+        assertEquals(Rational.of(1, 2), actual);
+        actual = Rational.ofApproximate(-0.125d);
+        assertEquals(Rational.of(-1, 8), actual);
+        actual = Rational.ofApproximate(3.0d);
+        assertEquals(Rational.of(3), actual);
+
+        // Simplest values are approximate
+        actual = Rational.ofApproximate(0.1d);
+        assertTrue(actual.isApproximate());
+        assertEquals(BigInteger.ONE, actual.getNumerator());
+        assertEquals(BigInteger.TEN, actual.getDenominator());
+        assertEquals(0.1d, actual.doubleValue());
+
+        actual = Rational.ofApproximate(-1.0d / 3);
+        assertTrue(actual.isApproximate());
+        assertEquals(BigInteger.valueOf(-1), actual.getNumerator());
+        assertEquals(BigInteger.valueOf(3), actual.getDenominator());
+
+        actual = Rational.ofApproximate(12.347d);
+        assertEquals(0, Rational.of(12_347, 1000).compareTo(actual));
+
+        // Extreme values still round to the provided double
+        for (double d : new double[] {Math.PI, Math.E, Double.MAX_VALUE, Double.MIN_VALUE, Double.MIN_NORMAL, 1e-300}) {
+            actual = Rational.ofApproximate(d);
+            assertEquals(d, actual.doubleValue());
+            assertTrue(actual.magnitude() <= Rational.of(d).magnitude());
+        }
+    }
+
+    @Test
+    void doublesApproximateWithTolerance() {
+        assertThrows(ArithmeticException.class, () -> Rational.ofApproximate(Double.NaN, 0.1));
+        assertThrows(ArithmeticException.class, () -> Rational.ofApproximate(1.0d, -0.1));
+        assertThrows(ArithmeticException.class, () -> Rational.ofApproximate(1.0d, Double.NaN));
+        assertThrows(ArithmeticException.class, () -> Rational.ofApproximate(1.0d, Double.POSITIVE_INFINITY));
+
+        Rational actual = Rational.ofApproximate(Math.PI, 0.01);
+        assertTrue(actual.isApproximate());
+        assertEquals(0, Rational.of(22, 7).compareTo(actual));
+        actual = Rational.ofApproximate(Math.PI, 0.001);
+        assertEquals(0, Rational.of(201, 64).compareTo(actual));
+        actual = Rational.ofApproximate(-Math.PI, 0.001);
+        assertEquals(0, Rational.of(-201, 64).compareTo(actual));
+        actual = Rational.ofApproximate(Math.PI, 0.5);
+        assertEquals(0, Rational.of(3).compareTo(actual));
+
+        // Zero is the simplest rational
+        assertSame(Rational.APPROX_ZERO, Rational.ofApproximate(0.1d, 0.2d));
+        assertSame(Rational.ZERO, Rational.ofApproximate(0.0d, 0.2d));
+
+        // No tolerance gives the exact value
+        actual = Rational.ofApproximate(0.1d, 0.0d);
+        assertFalse(actual.isApproximate());
+        assertEquals(Rational.of(0.1d), actual);
+    }
+
     @Test
     void floats() {
         // Non convertible values
@@ -268,4 +341,53 @@ class RationalBuildersTest {
         assertEquals(BigInteger.valueOf(-7), actual.getNumerator());
         assertEquals(BigInteger.valueOf(65), actual.getDenominator());
     }
+
+    @Test
+    void canonicalFormOfLargeValues() {
+        final Random random = new Random(48);
+        for (int bits : new int[] {HalfGcd.GCD_THRESHOLD, 10_000, 50_000}) {
+            final BigInteger gcd = new BigInteger(bits / 3, random).setBit(0);
+            final BigInteger numerator = new BigInteger(bits, random).multiply(gcd).negate();
+            final BigInteger denominator = new BigInteger(bits - 17, random).multiply(gcd);
+            final BigInteger expectedGcd = numerator.gcd(denominator);
+            final Rational actual = Rational.of(numerator, denominator).canonicalForm();
+            assertEquals(numerator.divide(expectedGcd), actual.getNumerator());
+            assertEquals(denominator.divide(expectedGcd), actual.getDenominator());
+        }
+        // Consecutive Fibonacci numbers, the worst case of the Euclidean algorithm: all quotients are 1
+        BigInteger previous = BigInteger.ZERO;
+        BigInteger fibonacci = BigInteger.ONE;
+        for (int i = 0; i < 20_000; i++) {
+            final BigInteger next = previous.add(fibonacci);
+            previous = fibonacci;
+            fibonacci = next;
+        }
+        assertEquals(BigInteger.ONE, HalfGcd.gcd(fibonacci, previous));
+        final BigInteger a = fibonacci.multiply(BigInteger.valueOf(36));
+        final BigInteger b = previous.multiply(BigInteger.valueOf(-12));
+        assertEquals(a.gcd(b), HalfGcd.gcd(a, b));
+    }
+
+    @Test
+    void halfGcd() {
+        final BigInteger large = BigInteger.ONE.shiftLeft(5000).subtract(BigInteger.ONE);
+        assertEquals(large, HalfGcd.gcd(large, BigInteger.ZERO));
+        assertEquals(large, HalfGcd.gcd(BigInteger.ZERO, large.negate()));
+        assertEquals(large, HalfGcd.gcd(large, large));
+        assertEquals(large, HalfGcd.gcd(large.multiply(large), large));
+        assertEquals(
+                BigInteger.ONE.shiftLeft(4000), HalfGcd.gcd(BigInteger.ONE.shiftLeft(4000), large.add(BigInteger.ONE)));
+        final Random random = new Random(48);
+        for (int test = 0; test < 100; test++) {
+            final int bits = HalfGcd.GCD_THRESHOLD + random.nextInt(10_000);
+            final BigInteger gcd = new BigInteger(random.nextInt(bits), random).add(BigInteger.ONE);
+            // Operands of close sizes, or unbalanced
+            final BigInteger a = new BigInteger(bits, random).multiply(gcd);
+            final int otherBits = random.nextBoolean() ? bits - random.nextInt(100) : random.nextInt(bits) + 1;
+            final BigInteger b = new BigInteger(otherBits, random).multiply(gcd);
+            final BigInteger expected = a.gcd(b);
+            assertEquals(expected, HalfGcd.gcd(a, b), "Test " + test);
+            assertEquals(expected, HalfGcd.gcd(b.negate(), a), "Test " + test);
+        }
+    }
 }
@@ -0,0 +1,138 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class RationalCollectorsTest {
+
+    private static final List<Rational> VALUES = IntStream.rangeClosed(1, 2000)
+            .mapToObj(i -> Rational.of(i % 7 == 0 ? -i : i, i % 12 + 1))
+            .collect(Collectors.toList());
+
+    @Test
+    void summing() {
+        assertSame(Rational.ZERO, Stream.<Rational>empty().collect(RationalCollectors.summing()));
+        final Rational expected = Rational.sum(VALUES);
+        assertEquals(expected, VALUES.stream().collect(RationalCollectors.summing()));
+        assertEquals(expected, VALUES.parallelStream().collect(RationalCollectors.summing()));
+        // Denominator is lcm(1..12)
+        assertEquals(
+                BigInteger.valueOf(27720),
+                VALUES.stream().collect(RationalCollectors.summing()).getDenominator());
+
+        final Rational approximate = Stream.of(Rational.of(1, 2), Rational.approximateOf(1, 2), Rational.of(-1))
+                .collect(RationalCollectors.summing());
+        assertSame(Rational.APPROX_ZERO, approximate);
+        assertTrue(Stream.of(Rational.of(1, 3), Rational.approximateOf(2, 3))
+                .collect(RationalCollectors.summing())
+                .isApproximate());
+    }
+
+    @Test
+    void averaging() {
+        assertThrows(
+                ArithmeticException.class, () -> Stream.<Rational>empty().collect(RationalCollectors.averaging()));
+        final Rational expected = Rational.average(VALUES);
+        assertEquals(expected, VALUES.stream().collect(RationalCollectors.averaging()));
+        assertEquals(expected, VALUES.parallelStream().collect(RationalCollectors.averaging()));
+        assertEquals(
+                Rational.of(3, 8),
+                Stream.of(Rational.of(1, 2), Rational.of(1, 4)).collect(RationalCollectors.averaging()));
+    }
+
+    @Test
+    void product() {
+        assertSame(Rational.ONE, Stream.<Rational>empty().collect(RationalCollectors.product()).canonicalForm());
+        final List<Rational> factors = VALUES.subList(0, 300);
+        final Rational expected = Rational.product(factors);
+        for (int size = 1; size <= 20; size++) {
+            assertEquals(
+                    Rational.product(factors.subList(0, size)),
+                    factors.subList(0, size).stream().collect(RationalCollectors.product()));
+        }
+        assertEquals(expected, factors.stream().collect(RationalCollectors.product()));
+        assertEquals(expected, factors.parallelStream().collect(RationalCollectors.product()));
+        assertEquals(Rational.ZERO, Stream.of(Rational.of(3), Rational.ZERO).collect(RationalCollectors.product()));
+
+        final Rational approximate = Stream.of(Rational.of(3), Rational.approximateOf(1, 3))
+                .collect(RationalCollectors.product());
+        assertTrue(approximate.isApproximate());
+        assertEquals(0, Rational.ONE.compareTo(approximate));
+    }
+
+    @Test
+    void summaryStatistics() {
+        final RationalSummaryStatistics empty = Stream.<Rational>empty().collect(RationalCollectors.summarizing());
+        assertEquals(0, empty.getCount());
+        assertSame(Rational.ZERO, empty.getSum());
+        assertThrows(ArithmeticException.class, empty::getMin);
+        assertThrows(ArithmeticException.class, empty::getMax);
+        assertThrows(ArithmeticException.class, empty::getAverage);
+        assertEquals("RationalSummaryStatistics{count=0, sum=0, min=null, average=null, max=null}", empty.toString());
+
+        for (final RationalSummaryStatistics statistics : new RationalSummaryStatistics[] {
+            VALUES.stream().collect(RationalCollectors.summarizing()),
+            VALUES.parallelStream().collect(RationalCollectors.summarizing())
+        }) {
+            assertEquals(VALUES.size(), statistics.getCount());
+            assertEquals(Rational.sum(VALUES), statistics.getSum());
+            assertEquals(Rational.min(VALUES), statistics.getMin());
+            assertEquals(Rational.max(VALUES), statistics.getMax());
+            assertEquals(Rational.average(VALUES), statistics.getAverage());
+        }
+
+        // First minimal and maximal values are kept, in encounter order
+        final Rational half = Rational.of(1, 2);
+        final Rational otherHalf = Rational.of(2, 4);
+        final RationalSummaryStatistics left = new RationalSummaryStatistics();
+        left.accept(half);
+        final RationalSummaryStatistics right = new RationalSummaryStatistics();
+        right.accept(otherHalf);
+        right.accept(Rational.of(3, 4));
+        left.combine(right);
+        left.combine(new RationalSummaryStatistics());
+        assertSame(half, left.getMin());
+        assertEquals(Rational.of(3, 4), left.getMax());
+        assertEquals(Rational.of(7, 4), left.getSum());
+        assertEquals("RationalSummaryStatistics{count=3, sum=7/4, min=1/2, average=7/12, max=3/4}", left.toString());
+
+        final RationalSummaryStatistics fromEmpty = new RationalSummaryStatistics();
+        fromEmpty.combine(right);
+        assertSame(otherHalf, fromEmpty.getMin());
+        assertFalse(fromEmpty.getSum().isApproximate());
+    }
+
+    @Test
+    void variance() {
+        assertThrows(ArithmeticException.class, () -> Stream.<Rational>empty().collect(RationalCollectors.variance()));
+        assertThrows(
+                ArithmeticException.class,
+                () -> Stream.of(Rational.ONE).collect(RationalCollectors.sampleVariance()));
+        assertEquals(Rational.variance(VALUES), VALUES.stream().collect(RationalCollectors.variance()));
+        assertEquals(Rational.variance(VALUES), VALUES.parallelStream().collect(RationalCollectors.variance()));
+        assertEquals(
+                Rational.sampleVariance(VALUES), VALUES.parallelStream().collect(RationalCollectors.sampleVariance()));
+    }
+
+    @Test
+    void regression() {
+        // y = 3x/2 - 1/7, exactly
+        final RationalRegression regression = VALUES.parallelStream()
+                .collect(RationalCollectors.regression(
+                        x -> x, x -> x.multiply(Rational.of(3, 2)).subtract(Rational.of(1, 7))));
+        assertEquals(VALUES.size(), regression.getCount());
+        assertEquals(Rational.of(3, 2), regression.getSlope());
+        assertEquals(Rational.of(-1, 7), regression.getIntercept());
+        assertEquals(Rational.ONE, regression.getRSquared());
+    }
+}
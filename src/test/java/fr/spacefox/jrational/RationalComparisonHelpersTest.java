@@ -1,8 +1,13 @@
 package fr.spacefox.jrational;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class RationalComparisonHelpersTest {
@@ -34,4 +39,53 @@ public class RationalComparisonHelpersTest {
         assertTrue(Rational.of(1, 2).le(Rational.of(2, 4)));
         assertTrue(Rational.of(1, 2).le(Rational.of(3, 4)));
     }
+
+    @Test
+    void sort() {
+        final Rational[] empty = {};
+        Rational.sort(empty);
+        assertEquals(0, empty.length);
+        final Rational[] single = {Rational.ONE};
+        Rational.parallelSort(single);
+        assertArrayEquals(new Rational[] {Rational.ONE}, single);
+
+        for (final int size : new int[] {2, 10, 1000, 50_000}) {
+            final Random random = new Random(size);
+            final Rational[] values = new Rational[size];
+            for (int i = 0; i < size; i++) {
+                switch (i % 5) {
+                    case 0:
+                        // Many duplicates, with different representations
+                        values[i] = Rational.of(random.nextInt(10) * (i % 3 + 1), i % 3 + 1);
+                        break;
+                    case 1:
+                        // Closer to each other than the precision of a double
+                        values[i] = Rational.of(
+                                BigInteger.TEN.pow(40).add(BigInteger.valueOf(random.nextInt(1000))),
+                                BigInteger.TEN.pow(40));
+                        break;
+                    case 2:
+                        // Beyond the range of double
+                        values[i] = Rational.of(BigInteger.TEN.pow(400).multiply(BigInteger.valueOf(random.nextInt())));
+                        break;
+                    case 3:
+                        values[i] = Rational.of(BigInteger.valueOf(random.nextInt()), BigInteger.TEN.pow(400));
+                        break;
+                    default:
+                        values[i] = Rational.of(random.nextLong(), random.nextInt(1000) + 1);
+                        break;
+                }
+            }
+            final Rational[] expected = values.clone();
+            Arrays.sort(expected);
+            final Rational[] sorted = values.clone();
+            Rational.sort(sorted);
+            final Rational[] parallelSorted = values.clone();
+            Rational.parallelSort(parallelSorted);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected[i], sorted[i]);
+                assertEquals(expected[i], parallelSorted[i]);
+            }
+        }
+    }
 }
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.math.BigInteger;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -13,7 +14,7 @@ class RationalComparisonTest {
     class CompareToTest {
         @Test
         void nullTest() {
-            assertThrows(NullPointerException.class, () -> Rational.ONE.compareTo(null));
+            assertThrows(NullPointerException.class, () -> Rational.ONE.compareTo((Rational) null));
         }
 
         @Test
@@ -53,6 +54,120 @@ class RationalComparisonTest {
         }
     }
 
+    @Nested
+    class CompareToIntegerTest {
+        @Test
+        void smallValues() {
+            assertEquals(0, Rational.of(6, 2).compareTo(3));
+            assertEquals(-1, Rational.of(5, 2).compareTo(3));
+            assertEquals(1, Rational.of(7, 2).compareTo(3));
+            assertEquals(1, Rational.of(-5, 2).compareTo(-3));
+            assertEquals(0, Rational.ZERO.compareTo(0));
+            assertEquals(0, Rational.APPROX_ZERO.compareTo(0L));
+        }
+
+        @Test
+        void overflows() {
+            // |val * denominator| doesn't fit in a long
+            assertEquals(-1, Rational.of(1, 3).compareTo(Long.MAX_VALUE));
+            assertEquals(1, Rational.of(1, 3).compareTo(Long.MIN_VALUE));
+            assertEquals(-1, Rational.of(Long.MAX_VALUE - 1, Long.MAX_VALUE).compareTo(1));
+            assertEquals(-1, Rational.of(Long.MIN_VALUE).compareTo(Long.MIN_VALUE + 1));
+        }
+
+        @Test
+        void bigValues() {
+            final BigInteger big = BigInteger.TEN.pow(40);
+            final Rational bigPlusHalf = Rational.of(big.multiply(BigInteger.TWO).add(BigInteger.ONE), BigInteger.TWO);
+            assertEquals(1, bigPlusHalf.compareTo(Long.MAX_VALUE));
+            assertEquals(1, bigPlusHalf.compareTo(big));
+            assertEquals(-1, bigPlusHalf.compareTo(big.add(BigInteger.ONE)));
+            assertEquals(0, Rational.of(big).compareTo(big));
+            assertEquals(-1, Rational.of(big.negate()).compareTo(big));
+            assertEquals(1, Rational.of(1, 2).compareTo(BigInteger.ZERO));
+            assertEquals(-1, Rational.of(-1, 2).compareTo(BigInteger.ZERO));
+        }
+
+        @Test
+        void sameAsCompareToRational() {
+            final long[] values = {Long.MIN_VALUE, -1_000_000_007L, -3, -1, 0, 1, 2, 3, 1_000_000_007L, Long.MAX_VALUE};
+            final Rational[] rationals = {
+                Rational.of(-7, 3),
+                Rational.of(2, 3),
+                Rational.of(Long.MAX_VALUE, 3),
+                Rational.of(Long.MIN_VALUE, Long.MAX_VALUE),
+                Rational.of(BigInteger.TEN.pow(25), BigInteger.valueOf(3)),
+                Rational.approximateOf(5, 2)
+            };
+            for (Rational rational : rationals) {
+                for (long value : values) {
+                    final int expected = rational.compareTo(Rational.of(value));
+                    assertEquals(expected, rational.compareTo(value), rational + " ? " + value);
+                    assertEquals(expected, rational.compareTo(BigInteger.valueOf(value)), rational + " ? " + value);
+                }
+            }
+        }
+    }
+
+    @Nested
+    class CompareToDoubleTest {
+        @Test
+        void specialValues() {
+            assertThrows(ArithmeticException.class, () -> Rational.ONE.compareTo(Double.NaN));
+            assertEquals(-1, Rational.of(BigInteger.TEN.pow(400)).compareTo(Double.POSITIVE_INFINITY));
+            assertEquals(1, Rational.of(BigInteger.TEN.pow(400).negate()).compareTo(Double.NEGATIVE_INFINITY));
+            assertEquals(0, Rational.ZERO.compareTo(0.0));
+            assertEquals(0, Rational.ZERO.compareTo(-0.0));
+            assertEquals(1, Rational.of(1, 3).compareTo(-0.0));
+            assertEquals(-1, Rational.ZERO.compareTo(Double.MIN_VALUE));
+            assertEquals(1, Rational.ZERO.compareTo(-Double.MIN_VALUE));
+        }
+
+        @Test
+        void exactValues() {
+            // 0.1 is a bit more than 1/10, 0.3 is a bit less than 3/10
+            assertEquals(-1, Rational.of(1, 10).compareTo(0.1));
+            assertEquals(1, Rational.of(3, 10).compareTo(0.3));
+            assertEquals(0, Rational.of(3, 4).compareTo(0.75));
+            assertEquals(0, Rational.of(-6, 2).compareTo(-3.0));
+            assertEquals(0, Rational.of(BigInteger.ONE.shiftLeft(100)).compareTo(0x1p100));
+            assertEquals(1, Rational.of(BigInteger.ONE.shiftLeft(100).add(BigInteger.ONE)).compareTo(0x1p100));
+            assertEquals(0, Rational.of(BigInteger.ONE, BigInteger.ONE.shiftLeft(1074)).compareTo(Double.MIN_VALUE));
+            assertEquals(1, Rational.of(1, 3).compareTo(Double.MIN_VALUE));
+            assertEquals(-1, Rational.of(-1, 3).compareTo(-Double.MIN_VALUE));
+            assertEquals(1, Rational.of(BigInteger.TEN.pow(400)).compareTo(Double.MAX_VALUE));
+        }
+
+        @Test
+        void sameAsCompareToRational() {
+            final double[] values = {
+                -Double.MAX_VALUE, -1e300, -0x1p80, -1e10, -2.5, -1.0 / 3, -Double.MIN_NORMAL, -Double.MIN_VALUE,
+                Double.MIN_VALUE, 3 * Double.MIN_VALUE, Double.MIN_NORMAL, 1e-300, 0.1, 1.0 / 3, 0.5, 1.0, 2.5,
+                Math.PI, 1e10, 0x1p62, 0x1p63, 0x1p80, 1e300, Double.MAX_VALUE
+            };
+            final Rational[] rationals = {
+                Rational.of(-7, 3),
+                Rational.of(1, 3),
+                Rational.of(1, 10),
+                Rational.of(5, 2),
+                Rational.of(-5, 2),
+                Rational.of(Math.PI),
+                Rational.of(Math.PI).add(Rational.of(BigInteger.ONE, BigInteger.TEN.pow(30))),
+                Rational.of(Long.MAX_VALUE),
+                Rational.of(BigInteger.ONE.shiftLeft(80).negate()),
+                Rational.of(BigInteger.ONE, BigInteger.TEN.pow(300)),
+                Rational.of(1e300),
+                Rational.approximateOf(1, 3)
+            };
+            for (Rational rational : rationals) {
+                for (double value : values) {
+                    final int expected = rational.compareTo(Rational.of(value));
+                    assertEquals(expected, rational.compareTo(value), rational + " ? " + value);
+                }
+            }
+        }
+    }
+
     // See Comparable#compareTo()
     @Nested
     class CompareToApiConsistencyTest {
@@ -2,7 +2,17 @@ package fr.spacefox.jrational;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
 import org.junit.jupiter.api.Test;
 
 class RationalConstantsTest {
@@ -33,6 +43,9 @@ class RationalConstantsTest {
                     + "2714563549061303107208510383750510115747704171898610687396965521267154688957035035")
             .canonicalForm();
 
+    private static final Rational LN2_100_DIGITS = Rational.of("0.6931471805599453094172321214581765680755001343602552"
+            + "541206800094933936219696947156058633269964186875");
+
     @Test
     void piTest() {
         assertNotEquals(0, RationalConstants.PI.compareTo(PI_1000_DIGITS));
@@ -46,4 +59,78 @@ class RationalConstantsTest {
         assertEquals(0, RationalConstants.E.compareTo(E_1000_DIGITS.approximate()));
         assertEquals(Math.E, RationalConstants.E.doubleValue());
     }
+
+    @Test
+    void piBits() {
+        assertThrows(ArithmeticException.class, () -> RationalConstants.pi(-1));
+        assertEquals(0, RationalConstants.PI.compareTo(RationalConstants.pi(128)));
+        assertEquals(Math.PI, RationalConstants.pi(60).doubleValue());
+        assertEquals(0, Rational.of(3).compareTo(RationalConstants.pi(0)));
+        assertPrecision(PI_1000_DIGITS, RationalConstants::pi);
+    }
+
+    @Test
+    void eBits() {
+        assertThrows(ArithmeticException.class, () -> RationalConstants.e(-1));
+        assertEquals(0, RationalConstants.E.compareTo(RationalConstants.e(128)));
+        assertEquals(Math.E, RationalConstants.e(60).doubleValue());
+        assertPrecision(E_1000_DIGITS, RationalConstants::e);
+    }
+
+    @Test
+    void ln2Bits() {
+        assertThrows(ArithmeticException.class, () -> RationalConstants.ln2(-1));
+        assertEquals(Math.log(2), RationalConstants.ln2(60).doubleValue());
+        assertPrecision(LN2_100_DIGITS, RationalConstants::ln2);
+    }
+
+    @Test
+    void sqrt2Bits() {
+        assertThrows(ArithmeticException.class, () -> RationalConstants.sqrt2(-1));
+        assertEquals(Math.sqrt(2), RationalConstants.sqrt2(60).doubleValue());
+        for (int bits = 0; bits < 1000; bits += 7) {
+            final Rational sqrt2 = RationalConstants.sqrt2(bits);
+            final Rational epsilon = Rational.of(BigInteger.ONE, BigInteger.TWO.pow(bits));
+            assertTrue(sqrt2.subtract(epsilon).pow(2).lt(Rational.of(2)));
+            assertTrue(sqrt2.add(epsilon).pow(2).gt(Rational.of(2)));
+        }
+    }
+
+    @Test
+    void bitsFormat() {
+        final Rational actual = RationalConstants.pi(100);
+        assertTrue(actual.isApproximate());
+        // Canonical form of k/2^100
+        assertSame(actual, actual.canonicalForm());
+        assertEquals(1, actual.getDenominator().bitCount());
+        assertTrue(actual.getDenominator().bitLength() <= 101);
+    }
+
+    @Test
+    void concurrentRequests() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Rational>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                final int bits = 5000 + (i % 4) * 1000;
+                futures.add(executor.submit(() -> RationalConstants.e(bits)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                final int bits = 5000 + (i % 4) * 1000;
+                final Rational expected = RationalConstants.e(bits);
+                assertEquals(expected.getNumerator(), futures.get(i).get().getNumerator());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertPrecision(final Rational reference, final IntFunction<Rational> constant) {
+        // The reference has more than 3000 bits of precision
+        final int maxBits = reference.magnitude() > 6000 ? 3000 : 300;
+        for (int bits = 0; bits < maxBits; bits += 13) {
+            final Rational epsilon = Rational.of(BigInteger.ONE, BigInteger.TWO.pow(bits));
+            assertTrue(constant.apply(bits).subtract(reference).abs().lt(epsilon));
+        }
+    }
 }
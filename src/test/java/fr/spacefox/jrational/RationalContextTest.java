@@ -0,0 +1,260 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RationalContextTest {
+
+    @Test
+    void builders() {
+        assertThrows(ArithmeticException.class, () -> RationalContext.ofMaxDenominator(0));
+        assertThrows(ArithmeticException.class, () -> RationalContext.ofMaxDenominator(BigInteger.valueOf(-3)));
+        assertThrows(ArithmeticException.class, () -> RationalContext.ofBits(-1));
+
+        assertNull(RationalContext.UNLIMITED.getMaxDenominator());
+        assertFalse(RationalContext.UNLIMITED.isCanonicalForm());
+
+        final RationalContext context = RationalContext.ofBits(10);
+        assertEquals(BigInteger.valueOf(1024), context.getMaxDenominator());
+        assertEquals(RoundingMode.HALF_EVEN, context.getRoundingMode());
+        assertTrue(context.isCanonicalForm());
+        assertEquals(RationalContext.ofMaxDenominator(1024), context);
+        assertEquals(RationalContext.ofMaxDenominator(1024).hashCode(), context.hashCode());
+
+        final RationalContext floor = context.withRoundingMode(RoundingMode.FLOOR);
+        assertEquals(RoundingMode.FLOOR, floor.getRoundingMode());
+        assertNotEquals(context, floor);
+        assertFalse(context.withCanonicalForm(false).isCanonicalForm());
+        assertNotEquals(context, context.withCanonicalForm(false));
+        assertFalse(context.isParallel());
+        assertTrue(context.withParallel(true).isParallel());
+        assertNotEquals(context, context.withParallel(true));
+        assertEquals(context, context.withParallel(true).withParallel(false));
+        assertNotEquals(context, RationalContext.UNLIMITED);
+        assertNotEquals(context, null);
+        assertEquals(context, context);
+
+        assertEquals(
+                "maxDenominator=1024 roundingMode=HALF_EVEN canonicalForm=true parallel=false", context.toString());
+        assertEquals(
+                "maxDenominator=unlimited roundingMode=HALF_EVEN canonicalForm=false parallel=false",
+                RationalContext.UNLIMITED.toString());
+    }
+
+    @Test
+    void roundUnlimited() {
+        final Rational a = Rational.of(6, 8);
+        assertSame(a, a.round(RationalContext.UNLIMITED));
+        assertEquals(Rational.of(3, 4), a.round(RationalContext.UNLIMITED.withCanonicalForm(true)));
+    }
+
+    @Test
+    void roundWithinBounds() {
+        final RationalContext context = RationalContext.ofMaxDenominator(10);
+        final Rational a = Rational.of(3, 7);
+        assertSame(a, a.round(context));
+
+        // Canonical form first: no rounding needed
+        final Rational b = Rational.of(300, 700);
+        final Rational actual = b.round(context);
+        assertFalse(actual.isApproximate());
+        assertEquals(BigInteger.valueOf(3), actual.getNumerator());
+        assertEquals(BigInteger.valueOf(7), actual.getDenominator());
+    }
+
+    @Test
+    void roundingModes() {
+        final RationalContext context = RationalContext.ofMaxDenominator(10);
+        final Rational a = Rational.of(13, 30);
+
+        Rational actual = a.round(context);
+        assertTrue(actual.isApproximate());
+        assertEquals(0, Rational.of(2, 5).compareTo(actual));
+
+        actual = a.round(context.withRoundingMode(RoundingMode.CEILING));
+        assertEquals(0, Rational.of(1, 2).compareTo(actual));
+        actual = a.negate().round(context.withRoundingMode(RoundingMode.CEILING));
+        assertEquals(0, Rational.of(-2, 5).compareTo(actual));
+        actual = a.negate().round(context.withRoundingMode(RoundingMode.FLOOR));
+        assertEquals(0, Rational.of(-1, 2).compareTo(actual));
+
+        // Ties: 3/20 = 1.5 / 10, 1/20 = 0.5/10
+        final Rational tie = Rational.of(3, 20);
+        assertEquals(0, Rational.of(1, 5).compareTo(tie.round(context)));
+        assertEquals(0, Rational.of(1, 10).compareTo(tie.round(context.withRoundingMode(RoundingMode.HALF_DOWN))));
+        assertSame(Rational.APPROX_ZERO, Rational.of(1, 20).round(context));
+        assertEquals(
+                0,
+                Rational.of(1, 10).compareTo(Rational.of(1, 20).round(context.withRoundingMode(RoundingMode.HALF_UP))));
+
+        assertThrows(ArithmeticException.class, () -> a.round(context.withRoundingMode(RoundingMode.UNNECESSARY)));
+    }
+
+    @Test
+    void roundWithoutCanonicalForm() {
+        final RationalContext context = RationalContext.ofMaxDenominator(10).withCanonicalForm(false);
+
+        // 4/20 is not reduced, but rounded as 2/10 which is still exact
+        Rational actual = Rational.of(4, 20).round(context);
+        assertFalse(actual.isApproximate());
+        assertEquals(BigInteger.valueOf(2), actual.getNumerator());
+        assertEquals(BigInteger.TEN, actual.getDenominator());
+
+        actual = Rational.of(13, 30).round(context);
+        assertTrue(actual.isApproximate());
+        assertEquals(BigInteger.valueOf(4), actual.getNumerator());
+        assertEquals(BigInteger.TEN, actual.getDenominator());
+    }
+
+    @Test
+    void approximationIsKept() {
+        final RationalContext context = RationalContext.ofMaxDenominator(10);
+        final Rational actual = Rational.approximateOf(1, 2).round(context);
+        assertTrue(actual.isApproximate());
+        assertEquals(0, Rational.of(1, 2).compareTo(actual));
+    }
+
+    @Test
+    void arithmetic() {
+        final RationalContext context = RationalContext.ofBits(4);
+        final Rational a = Rational.of(1, 3);
+        final Rational b = Rational.of(1, 7);
+
+        assertEquals(Rational.of(10, 21), a.add(b, RationalContext.UNLIMITED));
+        assertEquals(0, Rational.of(1, 2).compareTo(a.add(b, context)));
+        assertEquals(0, Rational.of(3, 16).compareTo(a.subtract(b, context)));
+        assertEquals(0, Rational.of(1, 16).compareTo(a.multiply(b, context)));
+        assertEquals(Rational.of(7, 3), a.divide(b, context));
+        assertFalse(a.divide(b, context).isApproximate());
+        assertThrows(ArithmeticException.class, () -> a.divide(Rational.ZERO, context));
+
+        assertEquals(0, Rational.of(1, 16).compareTo(a.pow(3, context)));
+        assertEquals(Rational.of(27), a.pow(-3, context));
+        assertEquals(Rational.of(1, 8), Rational.of(2, 4).pow(3, context));
+        assertTrue(a.pow(3, context).isApproximate());
+        assertFalse(a.pow(-3, context).isApproximate());
+    }
+
+    @Test
+    void boundedPow() {
+        // Powers computed on bounds must round like exact powers, in all modes, near and far from the bounds
+        final RoundingMode[] modes = {
+            RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+            RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN
+        };
+        final RationalContext[] contexts = {
+            RationalContext.ofBits(0),
+            RationalContext.ofBits(3),
+            RationalContext.ofBits(64),
+            RationalContext.ofBits(200),
+            RationalContext.ofMaxDenominator(1000),
+            RationalContext.ofMaxDenominator(1000).withCanonicalForm(false)
+        };
+        final int[] sizes = {1, 2, 10, 70};
+        final Random random = new Random(27);
+        for (int i = 0; i < 300; i++) {
+            final BigInteger numerator = randomInteger(random, sizes[random.nextInt(sizes.length)]);
+            final Rational x = Rational.of(
+                    random.nextBoolean() ? numerator.negate() : numerator,
+                    randomInteger(random, sizes[random.nextInt(sizes.length)]));
+            final int exponent = random.nextInt(400) - 200;
+            final RationalContext context =
+                    contexts[i % contexts.length].withRoundingMode(modes[random.nextInt(modes.length)]);
+            assertSameRational(x.pow(exponent).round(context), x.pow(exponent, context));
+        }
+        final Rational x = Rational.of(1001, 1000);
+        final RationalContext context = RationalContext.ofBits(64);
+        assertSameRational(x.pow(10_000).round(context), x.pow(10_000, context));
+        assertSameRational(x.pow(-10_000).round(context), x.pow(-10_000, context));
+        assertSameRational(x.pow(10_000).round(context), x.pow(10_000, context.withParallel(true)));
+        assertSameRational(
+                Rational.approximateOf(-2, 3).pow(1001).round(context), Rational.of(-2, 3).pow(1001, context));
+        assertThrows(
+                ArithmeticException.class,
+                () -> Rational.of(1, 3).pow(100, context.withRoundingMode(RoundingMode.UNNECESSARY)));
+    }
+
+    @Test
+    void boundedIterations() {
+        // Logistic map: without bounds, the size of x doubles at each step.
+        final RationalContext context = RationalContext.ofBits(64);
+        final Rational r = Rational.of(37, 10);
+        Rational x = Rational.of(1, 3);
+        for (int i = 0; i < 1000; i++) {
+            x = r.multiply(x, context).multiply(Rational.ONE.subtract(x), context);
+            assertTrue(x.getDenominator().bitLength() <= 65);
+        }
+        assertTrue(x.isApproximate());
+    }
+
+    @Test
+    void parallelArithmetic() {
+        final RationalContext parallel = RationalContext.ofBits(4).withParallel(true);
+        final Rational a = Rational.of(1, 3);
+        final Rational b = Rational.of(1, 7);
+        assertEquals(0, Rational.of(1, 2).compareTo(a.add(b, parallel)));
+        assertEquals(0, Rational.of(3, 16).compareTo(a.subtract(b, parallel)));
+        assertEquals(0, Rational.of(1, 16).compareTo(a.multiply(b, parallel)));
+        assertEquals(Rational.of(7, 3), a.divide(b, parallel));
+        assertThrows(ArithmeticException.class, () -> a.divide(Rational.ZERO, parallel));
+        assertEquals(Rational.of(27), a.pow(-3, parallel));
+        assertSame(Rational.ONE, a.pow(0, parallel));
+        assertThrows(ArithmeticException.class, () -> Rational.ZERO.pow(-2, parallel));
+        assertThrows(ArithmeticException.class, () -> a.pow(Integer.MIN_VALUE, parallel));
+
+        // Numerators and denominators below, around and above the threshold, balanced or not
+        final RationalContext unlimited = RationalContext.UNLIMITED.withParallel(true);
+        final int threshold = ParallelMultiplication.PARALLEL_THRESHOLD;
+        final int[] sizes = {100, threshold - 1, threshold + 1, 3 * threshold, 5 * threshold};
+        final Random random = new Random(49);
+        for (int i = 0; i < 8; i++) {
+            final Rational x = randomRational(random, sizes);
+            final Rational y = randomRational(random, sizes);
+            assertSameRational(x.add(y), x.add(y, unlimited));
+            assertSameRational(x.subtract(y), x.subtract(y, unlimited));
+            assertSameRational(x.multiply(y), x.multiply(y, unlimited));
+            assertSameRational(x.divide(y), x.divide(y, unlimited));
+        }
+        final Rational x = Rational.of(new BigInteger(threshold / 8, random), BigInteger.valueOf(-3));
+        assertSameRational(x.pow(29), x.pow(29, unlimited));
+        assertSameRational(x.pow(-16), x.pow(-16, unlimited));
+        assertSameRational(x.pow(3).canonicalForm(), x.pow(3, unlimited.withCanonicalForm(true)));
+
+        // Squares and products of integers of very different sizes
+        final BigInteger large = new BigInteger(9 * threshold, random);
+        final BigInteger negative = new BigInteger(2 * threshold, random).negate();
+        assertEquals(large.multiply(large), ParallelMultiplication.multiply(large, large));
+        assertEquals(negative.multiply(negative), ParallelMultiplication.multiply(negative, negative));
+        assertEquals(large.multiply(negative), ParallelMultiplication.multiply(large, negative));
+        assertEquals(negative.multiply(large), ParallelMultiplication.multiply(negative, large));
+        final BigInteger shifted = large.shiftLeft(5 * threshold);
+        assertEquals(shifted.multiply(negative), ParallelMultiplication.multiply(negative, shifted));
+        assertEquals(BigInteger.ZERO, ParallelMultiplication.multiply(BigInteger.ZERO, large));
+    }
+
+    private static Rational randomRational(final Random random, final int[] sizes) {
+        final BigInteger numerator = randomInteger(random, sizes[random.nextInt(sizes.length)]);
+        final BigInteger denominator = randomInteger(random, sizes[random.nextInt(sizes.length)]);
+        return Rational.of(random.nextBoolean() ? numerator.negate() : numerator, denominator);
+    }
+
+    private static BigInteger randomInteger(final Random random, final int bits) {
+        return new BigInteger(bits, random).setBit(bits - 1).setBit(0);
+    }
+
+    private static void assertSameRational(final Rational expected, final Rational actual) {
+        assertEquals(expected.getNumerator(), actual.getNumerator());
+        assertEquals(expected.getDenominator(), actual.getDenominator());
+        assertEquals(expected.isApproximate(), actual.isApproximate());
+    }
+}
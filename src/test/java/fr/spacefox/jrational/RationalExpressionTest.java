@@ -0,0 +1,195 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class RationalExpressionTest {
+
+    private static final RationalExpression X = RationalExpression.variable("x");
+    private static final RationalExpression Y = RationalExpression.variable("y");
+
+    @Test
+    void sameResultAsImmediateOperations() {
+        final Rational a = Rational.of(3, 4);
+        final Rational b = Rational.of(-5, 6);
+        final Rational c = Rational.of(7, 10);
+        final Rational d = Rational.of(12, -9);
+
+        final Rational expected = a.multiply(b)
+                .add(c.divide(d))
+                .subtract(a.negate().inverse())
+                .divide(b.subtract(c))
+                .canonicalForm();
+        final Rational actual = Rational.expr(a)
+                .multiply(b)
+                .add(Rational.expr(c).divide(d))
+                .subtract(Rational.expr(a).negate().inverse())
+                .divide(Rational.expr(b).subtract(c))
+                .evaluate();
+        assertEquals(expected, actual);
+        assertFalse(actual.isApproximate());
+    }
+
+    @Test
+    void canonicalResults() {
+        // 1/6 + 1/10 + 1/15 = 1/3: reduced on the common denominator 30
+        assertEquals(
+                Rational.of(1, 3),
+                Rational.expr(Rational.of(1, 6))
+                        .add(Rational.of(1, 10))
+                        .add(Rational.of(2, 30))
+                        .evaluate());
+        // (6/35) * (14/9) * (-15/4) = -1: all factors cancel out
+        assertEquals(
+                Rational.of(-1),
+                Rational.expr(Rational.of(6, 35))
+                        .multiply(Rational.of(14, 9))
+                        .multiply(Rational.of(15, -4))
+                        .evaluate());
+        // Repeated and inverted operands
+        final Rational x = Rational.of(-2, 3);
+        final Map<String, Rational> values = Collections.singletonMap("x", x);
+        assertEquals(Rational.of(-8, 27), X.multiply(X).multiply(X).compile().evaluate(values));
+        assertEquals(Rational.of(-3, 2), X.multiply(X).divide(X.multiply(X).multiply(X)).compile().evaluate(values));
+        assertEquals(Rational.of(2, 3), X.negate().compile().evaluate(values));
+        assertEquals(Rational.of(-3), X.add(X).add(X).subtract(X).divide(X.multiply(X)).compile().evaluate(values));
+        assertEquals(Rational.ZERO, X.subtract(X).compile().evaluate(values));
+        assertEquals(Rational.ZERO, X.multiply(Rational.ZERO).compile().evaluate(values));
+    }
+
+    @Test
+    void commonSubExpressions() {
+        // (x*y + y*x) * (x*y): x*y is computed once, and x*y + y*x is 2*(x*y)
+        final RationalExpression xy = X.multiply(Y);
+        final RationalExpression.Compiled compiled =
+                xy.add(Y.multiply(X)).multiply(X.multiply(Y)).compile();
+        // x, y, x*y, 2*(x*y), product
+        assertEquals(5, compiled.size());
+        assertEquals(Arrays.asList("x", "y"), compiled.getVariables());
+
+        final Map<String, Rational> values = new HashMap<>();
+        values.put("x", Rational.of(2, 3));
+        values.put("y", Rational.of(9, 4));
+        assertEquals(Rational.of(9, 2), compiled.evaluate(values));
+
+        // Equal constants are also shared, whatever their form
+        assertEquals(
+                2,
+                Rational.expr(Rational.of(1, 2))
+                        .add(Rational.of(2, 4))
+                        .add(Rational.of(-3, -6))
+                        .compile()
+                        .size());
+    }
+
+    @Test
+    void reusedPlan() {
+        // Horner form of 2x^3 - 3x^2 + x - 5
+        final RationalExpression.Compiled polynomial = X.multiply(Rational.of(2))
+                .subtract(Rational.of(3))
+                .multiply(X)
+                .add(Rational.ONE)
+                .multiply(X)
+                .subtract(Rational.of(5))
+                .compile();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int i = -10; i <= 10; i++) {
+                final Rational x = Rational.of(i, 7);
+                final Rational expected = Rational.of(2)
+                        .multiply(x.pow(3))
+                        .subtract(Rational.of(3).multiply(x.pow(2)))
+                        .add(x)
+                        .subtract(Rational.of(5))
+                        .canonicalForm();
+                final Map<String, Rational> values = Collections.singletonMap("x", x);
+                assertEquals(expected, polynomial.evaluate(values));
+                assertEquals(expected, polynomial.evaluate(values, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelEvaluation() {
+        // Sum of products of independent pairs: every product of a level can run in parallel
+        RationalExpression sum = RationalExpression.of(Rational.ZERO);
+        Rational expected = Rational.ZERO;
+        final Map<String, Rational> values = new HashMap<>();
+        for (int i = 1; i <= 50; i++) {
+            final Rational a = Rational.of(BigInteger.TEN.pow(i).add(BigInteger.ONE), BigInteger.valueOf(i));
+            final Rational b = Rational.of(i, i + 1);
+            values.put("a" + i, a);
+            values.put("b" + i, b);
+            sum = sum.add(RationalExpression.variable("a" + i).multiply(RationalExpression.variable("b" + i)));
+            expected = expected.add(a.multiply(b));
+        }
+        final RationalExpression.Compiled compiled = sum.compile();
+        assertEquals(expected.canonicalForm(), compiled.evaluate(values, ForkJoinPool.commonPool()));
+        assertEquals(expected.canonicalForm(), compiled.evaluate(values));
+    }
+
+    @Test
+    void longChains() {
+        // Folds of many operations are left-deep trees, flattened without recursion
+        final int length = 100_000;
+        RationalExpression sum = RationalExpression.of(Rational.ZERO);
+        RationalExpression product = RationalExpression.of(Rational.ONE);
+        for (int i = 1; i <= length; i++) {
+            sum = sum.add(X);
+            product = product.multiply(i % 2 == 0 ? X : X.inverse().negate());
+        }
+        final Map<String, Rational> values = Collections.singletonMap("x", Rational.of(2, 3));
+        assertEquals(Rational.of(2 * length, 3), sum.compile().evaluate(values));
+        assertEquals(Rational.ONE, product.compile().evaluate(values));
+    }
+
+    @Test
+    void approximateValues() {
+        final Rational approximate = Rational.approximateOf(1, 3);
+        final Rational sum = Rational.expr(Rational.of(1, 6)).add(approximate).evaluate();
+        assertTrue(sum.isApproximate());
+        assertEquals(0, Rational.of(1, 2).compareTo(sum));
+
+        final Rational product = Rational.expr(Rational.of(3)).multiply(approximate).evaluate();
+        assertTrue(product.isApproximate());
+        assertEquals(0, Rational.ONE.compareTo(product));
+
+        final Map<String, Rational> values = Collections.singletonMap("x", approximate);
+        assertTrue(X.subtract(X).compile().evaluate(values).isApproximate());
+        assertTrue(X.multiply(Rational.ZERO).compile().evaluate(values).isApproximate());
+    }
+
+    @Test
+    void invalidExpressions() {
+        final Map<String, Rational> values = Collections.singletonMap("x", Rational.ZERO);
+        assertThrows(ArithmeticException.class, () -> X.evaluate());
+        assertThrows(ArithmeticException.class, () -> X.add(Y).compile().evaluate(values));
+        assertThrows(ArithmeticException.class, () -> X.inverse().compile().evaluate(values));
+        // x / x is not simplified to 1: it fails when x is 0
+        assertThrows(ArithmeticException.class, () -> X.divide(X).compile().evaluate(values));
+        assertThrows(
+                ArithmeticException.class,
+                () -> Rational.expr(Rational.ONE).divide(Rational.ZERO).evaluate());
+        assertEquals(Rational.ONE, X.divide(X).compile().evaluate(Collections.singletonMap("x", Rational.of(5))));
+    }
+
+    @Test
+    void toStringTest() {
+        assertEquals(
+                "((x * 1/y) + -1/2)",
+                X.divide(Y).subtract(Rational.of(1, 2)).toString());
+        assertEquals("-x", X.negate().toString());
+    }
+}
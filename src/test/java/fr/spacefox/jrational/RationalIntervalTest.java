@@ -0,0 +1,64 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RationalIntervalTest {
+
+    @Test
+    void builders() {
+        assertThrows(ArithmeticException.class, () -> RationalInterval.of(Rational.ONE, Rational.ZERO));
+
+        final Rational a = Rational.of(1, 3);
+        final Rational b = Rational.of(1, 2);
+        final RationalInterval interval = RationalInterval.of(a, b);
+        assertSame(a, interval.getLower());
+        assertSame(b, interval.getUpper());
+
+        final RationalInterval point = RationalInterval.of(a);
+        assertSame(a, point.getLower());
+        assertSame(a, point.getUpper());
+    }
+
+    @Test
+    void metrics() {
+        final RationalInterval interval = RationalInterval.of(Rational.of(1, 3), Rational.of(1, 2));
+        assertEquals(Rational.of(1, 6), interval.width());
+        assertEquals(Rational.of(5, 12), interval.midpoint());
+        assertEquals(Rational.ZERO, RationalInterval.of(Rational.of(1, 3)).width());
+    }
+
+    @Test
+    void contains() {
+        final RationalInterval interval = RationalInterval.of(Rational.of(1, 3), Rational.of(1, 2));
+        assertTrue(interval.contains(Rational.of(1, 3)));
+        assertTrue(interval.contains(Rational.of(2, 4)));
+        assertTrue(interval.contains(Rational.of(2, 5)));
+        assertFalse(interval.contains(Rational.of(1, 4)));
+        assertFalse(interval.contains(Rational.of(3, 4)));
+    }
+
+    @Test
+    void equalsAndHashCode() {
+        final RationalInterval interval = RationalInterval.of(Rational.of(1, 3), Rational.of(1, 2));
+        final RationalInterval sameValues = RationalInterval.of(Rational.of(2, 6), Rational.approximateOf(2, 4));
+        assertEquals(interval, interval);
+        assertEquals(interval, sameValues);
+        assertEquals(interval.hashCode(), sameValues.hashCode());
+        assertNotEquals(interval, RationalInterval.of(Rational.of(1, 3), Rational.ONE));
+        assertNotEquals(interval, RationalInterval.of(Rational.ZERO, Rational.of(1, 2)));
+        assertNotEquals(interval, null);
+        assertNotEquals(interval, Rational.of(1, 3));
+    }
+
+    @Test
+    void toStringTest() {
+        assertEquals("[1/3, ~1/2]", RationalInterval.of(Rational.of(1, 3), Rational.approximateOf(1, 2)).toString());
+    }
+}
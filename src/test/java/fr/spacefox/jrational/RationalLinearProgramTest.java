@@ -0,0 +1,288 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import fr.spacefox.jrational.RationalLinearProgram.Relation;
+import fr.spacefox.jrational.RationalLinearProgram.Solution;
+import fr.spacefox.jrational.RationalLinearProgram.Status;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RationalLinearProgramTest {
+
+    private static List<Rational> values(final long... values) {
+        final List<Rational> list = new ArrayList<>();
+        for (long value : values) {
+            list.add(Rational.of(value));
+        }
+        return list;
+    }
+
+    private static void assertOptimal(
+            final RationalLinearProgram program, final Rational value, final List<Rational> variables) {
+        for (boolean warmStart : new boolean[] {false, true}) {
+            final Solution solution = program.solve(warmStart);
+            assertEquals(Status.OPTIMAL, solution.getStatus());
+            assertEquals(value, solution.getValue(), "Warm start " + warmStart);
+            if (variables != null) {
+                assertEquals(variables, solution.getVariables(), "Warm start " + warmStart);
+            }
+        }
+    }
+
+    private static void assertStatus(final RationalLinearProgram program, final Status status) {
+        for (boolean warmStart : new boolean[] {false, true}) {
+            final Solution solution = program.solve(warmStart);
+            assertEquals(status, solution.getStatus(), "Warm start " + warmStart);
+            assertThrows(ArithmeticException.class, solution::getValue);
+            assertThrows(ArithmeticException.class, solution::getVariables);
+            assertEquals(status.toString(), solution.toString());
+        }
+    }
+
+    @Test
+    void builders() {
+        assertThrows(ArithmeticException.class, () -> RationalLinearProgram.maximize(List.of()));
+        final RationalLinearProgram program = RationalLinearProgram.minimize(values(1, 2));
+        assertThrows(ArithmeticException.class, () -> program.subjectTo(values(1), Relation.EQUAL, Rational.ONE));
+        assertEquals(2, program.getVariableCount());
+        assertEquals(0, program.getConstraintCount());
+        final RationalLinearProgram constrained = program.subjectTo(values(1, 1), Relation.EQUAL, Rational.ONE);
+        assertEquals(1, constrained.getConstraintCount());
+        // Programs are immutable
+        assertEquals(0, program.getConstraintCount());
+    }
+
+    @Test
+    void solve() {
+        // Without constraints
+        assertOptimal(RationalLinearProgram.minimize(values(1, 2)), Rational.ZERO, values(0, 0));
+        assertStatus(RationalLinearProgram.maximize(values(1, 0)), Status.UNBOUNDED);
+        // max 3x + 5y, x <= 4, 2y <= 12, 3x + 2y <= 18
+        final RationalLinearProgram textbook = RationalLinearProgram.maximize(values(3, 5))
+                .subjectTo(values(1, 0), Relation.LESS_OR_EQUAL, Rational.of(4))
+                .subjectTo(values(0, 2), Relation.LESS_OR_EQUAL, Rational.of(12))
+                .subjectTo(values(3, 2), Relation.LESS_OR_EQUAL, Rational.of(18));
+        assertOptimal(textbook, Rational.of(36), values(2, 6));
+        assertEquals("OPTIMAL 36 at [2, 6]", textbook.solve().toString());
+        // min x + y, x + 2y >= 4, 3x + y >= 6: needs the first phase
+        assertOptimal(
+                RationalLinearProgram.minimize(values(1, 1))
+                        .subjectTo(values(1, 2), Relation.GREATER_OR_EQUAL, Rational.of(4))
+                        .subjectTo(values(3, 1), Relation.GREATER_OR_EQUAL, Rational.of(6)),
+                Rational.of(14, 5),
+                List.of(Rational.of(8, 5), Rational.of(6, 5)));
+        // Fractions: max x / 2 + y / 3, x / 3 + y / 4 <= 1/5, y <= 2/7
+        assertOptimal(
+                RationalLinearProgram.maximize(List.of(Rational.of(1, 2), Rational.of(1, 3)))
+                        .subjectTo(
+                                List.of(Rational.of(1, 3), Rational.of(1, 4)),
+                                Relation.LESS_OR_EQUAL,
+                                Rational.of(1, 5))
+                        .subjectTo(values(0, 1), Relation.LESS_OR_EQUAL, Rational.of(2, 7)),
+                Rational.of(3, 10),
+                List.of(Rational.of(3, 5), Rational.ZERO));
+        // Negative right side: -x - y <= -2 is x + y >= 2
+        assertOptimal(
+                RationalLinearProgram.minimize(values(1, 2))
+                        .subjectTo(values(-1, -1), Relation.LESS_OR_EQUAL, Rational.of(-2)),
+                Rational.of(2),
+                values(2, 0));
+        // -x + y >= -1 with max x + y and x <= 3
+        assertOptimal(
+                RationalLinearProgram.maximize(values(1, 1))
+                        .subjectTo(values(-1, 1), Relation.LESS_OR_EQUAL, Rational.of(-1))
+                        .subjectTo(values(1, 0), Relation.LESS_OR_EQUAL, Rational.of(3)),
+                Rational.of(5),
+                values(3, 2));
+        assertOptimal(
+                RationalLinearProgram.maximize(values(1, 1))
+                        .subjectTo(values(1, -1), Relation.GREATER_OR_EQUAL, Rational.of(-1))
+                        .subjectTo(values(1, 0), Relation.LESS_OR_EQUAL, Rational.of(3)),
+                Rational.of(7),
+                values(3, 4));
+        // Redundant equality: its artificial variable stays in the basis
+        assertOptimal(
+                RationalLinearProgram.minimize(values(1, -1))
+                        .subjectTo(values(1, 1), Relation.EQUAL, Rational.of(2))
+                        .subjectTo(values(2, 2), Relation.EQUAL, Rational.of(4)),
+                Rational.of(-2),
+                values(0, 2));
+        // Infeasible
+        assertStatus(
+                RationalLinearProgram.maximize(values(1))
+                        .subjectTo(values(1), Relation.LESS_OR_EQUAL, Rational.ONE)
+                        .subjectTo(values(1), Relation.GREATER_OR_EQUAL, Rational.of(2)),
+                Status.INFEASIBLE);
+        assertStatus(
+                RationalLinearProgram.maximize(values(1, 1))
+                        .subjectTo(values(1, 1), Relation.LESS_OR_EQUAL, Rational.of(-1)),
+                Status.INFEASIBLE);
+        // Unbounded
+        assertStatus(
+                RationalLinearProgram.maximize(values(1, 0))
+                        .subjectTo(values(1, -1), Relation.LESS_OR_EQUAL, Rational.ONE),
+                Status.UNBOUNDED);
+    }
+
+    @Test
+    void degenerate() {
+        // Beale's program, where the simplex with the most negative reduced cost cycles
+        assertOptimal(
+                RationalLinearProgram.maximize(
+                                List.of(Rational.of(3, 4), Rational.of(-20), Rational.of(1, 2), Rational.of(-6)))
+                        .subjectTo(
+                                List.of(Rational.of(1, 4), Rational.of(-8), Rational.of(-1), Rational.of(9)),
+                                Relation.LESS_OR_EQUAL,
+                                Rational.ZERO)
+                        .subjectTo(
+                                List.of(Rational.of(1, 2), Rational.of(-12), Rational.of(-1, 2), Rational.of(3)),
+                                Relation.LESS_OR_EQUAL,
+                                Rational.ZERO)
+                        .subjectTo(values(0, 0, 1, 0), Relation.LESS_OR_EQUAL, Rational.ONE),
+                Rational.of(5, 4),
+                List.of(Rational.ONE, Rational.ZERO, Rational.ONE, Rational.ZERO));
+        // Infeasible by less than the tolerance of the floating-point simplex
+        final Rational tiny = Rational.of(1, 1_000_000_000_000L);
+        assertStatus(
+                RationalLinearProgram.maximize(values(1, 1))
+                        .subjectTo(values(1, 1), Relation.LESS_OR_EQUAL, Rational.ONE)
+                        .subjectTo(values(1, 1), Relation.GREATER_OR_EQUAL, Rational.ONE.add(tiny)),
+                Status.INFEASIBLE);
+        // Optimal basis that looks singular in floating-point
+        assertOptimal(
+                RationalLinearProgram.maximize(values(1, 1))
+                        .subjectTo(values(1, 1), Relation.LESS_OR_EQUAL, Rational.ONE)
+                        .subjectTo(
+                                List.of(Rational.ONE, Rational.ONE.add(tiny)), Relation.LESS_OR_EQUAL, Rational.ONE),
+                Rational.ONE,
+                null);
+        // Floating-point sees the same bound twice, and guesses the infeasible basis with the slack of the second one
+        final Rational tinier = Rational.of(1, 100_000_000_000_000_000L).multiply(Rational.of(1, 100));
+        assertOptimal(
+                RationalLinearProgram.maximize(values(1))
+                        .subjectTo(values(1), Relation.LESS_OR_EQUAL, Rational.ONE)
+                        .subjectTo(values(1), Relation.LESS_OR_EQUAL, Rational.ONE.subtract(tinier)),
+                Rational.ONE.subtract(tinier),
+                List.of(Rational.ONE.subtract(tinier)));
+        // Artificial variables left at zero after the first phase
+        assertOptimal(
+                RationalLinearProgram.minimize(values(1, 1))
+                        .subjectTo(values(1, 1), Relation.EQUAL, Rational.ZERO)
+                        .subjectTo(values(1, -1), Relation.EQUAL, Rational.ZERO),
+                Rational.ZERO,
+                values(0, 0));
+        // Too large for double: no warm start
+        assertOptimal(
+                RationalLinearProgram.maximize(values(1))
+                        .subjectTo(
+                                List.of(Rational.of(BigInteger.TEN.pow(400))), Relation.LESS_OR_EQUAL, Rational.ONE),
+                Rational.of(BigInteger.ONE, BigInteger.TEN.pow(400)),
+                null);
+    }
+
+    @Test
+    void warmStartWithBasicArtificials() {
+        // Rows of different scales, and a redundant equality whose artificial variable stays in the basis
+        final RationalLinearProgram program = RationalLinearProgram.minimize(values(1, 2, 3))
+                .subjectTo(values(1, 1, 1), Relation.EQUAL, Rational.of(10))
+                .subjectTo(values(1000, 1000, 1000), Relation.EQUAL, Rational.of(10_000))
+                .subjectTo(values(0, 1, 0), Relation.GREATER_OR_EQUAL, Rational.of(3))
+                .subjectTo(values(500, 0, 2), Relation.GREATER_OR_EQUAL, Rational.of(1000));
+        assertTrue(program.isWarmStartUsed());
+        assertOptimal(program, Rational.of(13), values(7, 3, 0));
+        // Out of iterations: the floating-point simplex gives up, and the exact simplex starts from the first basis
+        assertFalse(program.isWarmStartUsed(0));
+        final Solution solution = program.solve(true, 0);
+        assertEquals(Status.OPTIMAL, solution.getStatus());
+        assertEquals(Rational.of(13), solution.getValue());
+        assertEquals(values(7, 3, 0), solution.getVariables());
+
+        assertFalse(RationalLinearProgram.maximize(values(1))
+                .subjectTo(List.of(Rational.of(BigInteger.TEN.pow(400))), Relation.LESS_OR_EQUAL, Rational.ONE)
+                .isWarmStartUsed());
+    }
+
+    @Test
+    void approximate() {
+        final Solution solution = RationalLinearProgram.maximize(List.of(Rational.approximateOf(1, 1), Rational.ONE))
+                .subjectTo(values(1, 1), Relation.LESS_OR_EQUAL, Rational.of(2))
+                .subjectTo(values(1, 0), Relation.LESS_OR_EQUAL, Rational.ONE)
+                .solve();
+        assertTrue(solution.getValue().isApproximate());
+        assertTrue(solution.getVariables().get(0).isApproximate());
+        assertTrue(solution.getVariables().get(1).isApproximate());
+        assertEquals(0, Rational.of(2).compareTo(solution.getValue()));
+        assertFalse(RationalLinearProgram.maximize(values(1))
+                .subjectTo(values(1), Relation.LESS_OR_EQUAL, Rational.ONE)
+                .solve()
+                .getValue()
+                .isApproximate());
+    }
+
+    @Test
+    void randomPrograms() {
+        final Random random = new Random(47);
+        for (int test = 0; test < 40; test++) {
+            final int variableCount = random.nextInt(12) + 1;
+            final int constraintCount = random.nextInt(12) + 1;
+            final List<Rational> objective = new ArrayList<>();
+            for (int j = 0; j < variableCount; j++) {
+                objective.add(Rational.of(random.nextInt(21) - 5, random.nextInt(4) + 1));
+            }
+            RationalLinearProgram program = RationalLinearProgram.maximize(objective);
+            final List<List<Rational>> rows = new ArrayList<>();
+            final List<Relation> relations = new ArrayList<>();
+            final List<Rational> bounds = new ArrayList<>();
+            for (int i = 0; i < constraintCount; i++) {
+                final List<Rational> row = new ArrayList<>();
+                for (int j = 0; j < variableCount; j++) {
+                    row.add(random.nextInt(3) == 0
+                            ? Rational.ZERO
+                            : Rational.of(random.nextInt(9), random.nextInt(5) + 1));
+                }
+                final Relation relation = Relation.values()[random.nextInt(4) == 0 ? random.nextInt(3) : 0];
+                final Rational bound = Rational.of(random.nextInt(41) - 5, random.nextInt(3) + 1);
+                rows.add(row);
+                relations.add(relation);
+                bounds.add(bound);
+                program = program.subjectTo(row, relation, bound);
+            }
+            final Solution cold = program.solve();
+            final Solution warm = program.solve(true);
+            assertEquals(cold.getStatus(), warm.getStatus(), "Program " + test);
+            if (cold.getStatus() != Status.OPTIMAL) {
+                continue;
+            }
+            assertEquals(cold.getValue(), warm.getValue(), "Program " + test);
+            for (Solution solution : List.of(cold, warm)) {
+                // The variables are feasible and reach the value
+                final List<Rational> x = solution.getVariables();
+                Rational value = Rational.ZERO;
+                for (int j = 0; j < variableCount; j++) {
+                    assertTrue(x.get(j).signum() >= 0, "Program " + test);
+                    value = value.add(objective.get(j).multiply(x.get(j)));
+                }
+                assertEquals(solution.getValue(), value, "Program " + test);
+                for (int i = 0; i < constraintCount; i++) {
+                    Rational left = Rational.ZERO;
+                    for (int j = 0; j < variableCount; j++) {
+                        left = left.add(rows.get(i).get(j).multiply(x.get(j)));
+                    }
+                    final int comparison = left.compareTo(bounds.get(i));
+                    assertTrue(
+                            relations.get(i) == Relation.LESS_OR_EQUAL
+                                    ? comparison <= 0
+                                    : relations.get(i) == Relation.EQUAL ? comparison == 0 : comparison >= 0,
+                            "Program " + test + " constraint " + i);
+                }
+            }
+        }
+    }
+}
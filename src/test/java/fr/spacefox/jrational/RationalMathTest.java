@@ -0,0 +1,180 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+
+class RationalMathTest {
+
+    private static final double[] ARGUMENTS = {1e-9, 0.5, 0.7, 1.5, 2.75, 3.3, 10, 40, 100.25, 7e5};
+
+    @Test
+    void invalidArguments() {
+        assertThrows(ArithmeticException.class, () -> RationalMath.exp(Rational.ONE, -1));
+        assertThrows(ArithmeticException.class, () -> RationalMath.log(Rational.ONE, -1));
+        assertThrows(ArithmeticException.class, () -> RationalMath.sin(Rational.ONE, -1));
+        assertThrows(ArithmeticException.class, () -> RationalMath.cos(Rational.ONE, -1));
+        assertThrows(ArithmeticException.class, () -> RationalMath.atan(Rational.ONE, -1));
+        assertThrows(ArithmeticException.class, () -> RationalMath.pow(Rational.ONE, Rational.ONE, -1));
+
+        assertThrows(ArithmeticException.class, () -> RationalMath.log(Rational.ZERO, 10));
+        assertThrows(ArithmeticException.class, () -> RationalMath.log(Rational.of(-2), 10));
+        assertThrows(ArithmeticException.class, () -> RationalMath.pow(Rational.ZERO, Rational.ZERO, 10));
+        assertThrows(ArithmeticException.class, () -> RationalMath.pow(Rational.ZERO, Rational.of(-1, 2), 10));
+        assertThrows(ArithmeticException.class, () -> RationalMath.pow(Rational.of(-8), Rational.of(1, 2), 10));
+
+        // Results too large to be computed
+        assertThrows(ArithmeticException.class, () -> RationalMath.exp(Rational.of(BigInteger.TEN.pow(20)), 10));
+        assertThrows(
+                ArithmeticException.class,
+                () -> RationalMath.pow(Rational.of(3), Rational.of(BigInteger.TEN.pow(20), BigInteger.valueOf(7)), 10));
+    }
+
+    @Test
+    void exactResults() {
+        assertSame(Rational.ONE, RationalMath.exp(Rational.ZERO, 10));
+        assertSame(Rational.APPROX_ONE, RationalMath.exp(Rational.APPROX_ZERO, 10));
+        assertSame(Rational.ZERO, RationalMath.log(Rational.of(3, 3), 10));
+        assertSame(Rational.APPROX_ZERO, RationalMath.log(Rational.APPROX_ONE, 10));
+        assertSame(Rational.ZERO, RationalMath.sin(Rational.ZERO, 10));
+        assertSame(Rational.APPROX_ZERO, RationalMath.sin(Rational.APPROX_ZERO, 10));
+        assertSame(Rational.ONE, RationalMath.cos(Rational.ZERO, 10));
+        assertSame(Rational.APPROX_ONE, RationalMath.cos(Rational.APPROX_ZERO, 10));
+        assertSame(Rational.ZERO, RationalMath.atan(Rational.ZERO, 10));
+        assertSame(Rational.APPROX_ZERO, RationalMath.atan(Rational.APPROX_ZERO, 10));
+
+        assertSame(Rational.ZERO, RationalMath.pow(Rational.ZERO, Rational.of(1, 2), 10));
+        assertSame(Rational.APPROX_ZERO, RationalMath.pow(Rational.APPROX_ZERO, Rational.of(1, 2), 10));
+        assertEquals(Rational.of(1, 8), RationalMath.pow(Rational.of(2), Rational.of(-3), 10));
+        assertEquals(Rational.of(4, 9), RationalMath.pow(Rational.of(8, 27), Rational.of(4, 6), 10));
+        assertEquals(Rational.of(-2), RationalMath.pow(Rational.of(-8), Rational.of(1, 3), 10));
+        assertEquals(Rational.of(-32), RationalMath.pow(Rational.of(-8), Rational.of(5, 3), 10));
+        assertEquals(Rational.of(1, 4), RationalMath.pow(Rational.of(-8), Rational.of(-2, 3), 10));
+        // Unless the denominator is too large for the precision
+        final Rational rounded = RationalMath.pow(Rational.of(-2, 3), Rational.of(-201), 10);
+        assertTrue(rounded.isApproximate());
+        assertEquals(0, Rational.of(-3, 2).pow(201).round(RationalContext.ofBits(10)).compareTo(rounded));
+
+        final Rational approximate = RationalMath.pow(Rational.of(4), Rational.approximateOf(1, 2), 10);
+        assertTrue(approximate.isApproximate());
+        assertEquals(0, Rational.of(2).compareTo(approximate));
+    }
+
+    @Test
+    void doublePrecision() {
+        for (final double value : ARGUMENTS) {
+            final Rational x = Rational.of(new BigDecimal(value));
+            assertClose(Math.exp(-value), RationalMath.exp(x.negate(), 60));
+            assertClose(Math.log(value), RationalMath.log(x, 60));
+            assertClose(Math.sin(value), RationalMath.sin(x, 60));
+            assertClose(Math.sin(-value), RationalMath.sin(x.negate(), 60));
+            assertClose(Math.cos(value), RationalMath.cos(x, 60));
+            assertClose(Math.cos(-value), RationalMath.cos(x.negate(), 60));
+            assertClose(Math.atan(value), RationalMath.atan(x, 60));
+            assertClose(Math.atan(-value), RationalMath.atan(x.negate(), 60));
+            assertClose(Math.pow(value, 1.3), RationalMath.pow(x, Rational.of(new BigDecimal(1.3)), 60));
+            if (value < 100) {
+                assertClose(Math.exp(value), RationalMath.exp(x, 60));
+            }
+        }
+        // Odd roots of a negative number
+        assertClose(Math.cbrt(-2), RationalMath.pow(Rational.of(-2), Rational.of(1, 3), 60));
+        assertClose(Math.cbrt(4), RationalMath.pow(Rational.of(-2), Rational.of(2, 3), 60));
+        // Exponents larger than an int
+        assertEquals(Rational.of(-1), RationalMath.pow(Rational.of(-1), Rational.of(10_000_000_001L), 60));
+        assertSame(Rational.APPROX_ZERO, RationalMath.pow(Rational.of(-1, 2), Rational.of(10_000_000_001L), 60));
+    }
+
+    @Test
+    void requestedPrecision() {
+        // A result with b bits must be at less than 2^-b of a much more precise result
+        final Rational x = Rational.of(22, 7);
+        for (final int bits : new int[] {0, 1, 5, 17, 64, 100, 333}) {
+            assertPrecision(b -> RationalMath.exp(x, b), bits);
+            assertPrecision(b -> RationalMath.exp(x.negate(), b), bits);
+            assertPrecision(b -> RationalMath.log(x, b), bits);
+            assertPrecision(b -> RationalMath.log(x.inverse(), b), bits);
+            assertPrecision(b -> RationalMath.sin(x, b), bits);
+            assertPrecision(b -> RationalMath.cos(x, b), bits);
+            assertPrecision(b -> RationalMath.atan(x, b), bits);
+            assertPrecision(b -> RationalMath.atan(x.inverse(), b), bits);
+            assertPrecision(b -> RationalMath.pow(x, Rational.of(-7, 3), b), bits);
+            assertPrecision(b -> RationalMath.pow(x, Rational.of(-50), b), bits);
+        }
+    }
+
+    @Test
+    void boundedDenominator() {
+        final Rational x = Rational.of(BigInteger.TEN.pow(300).add(BigInteger.ONE), BigInteger.TEN.pow(299));
+        for (final Rational result : new Rational[] {
+            RationalMath.exp(x, 100),
+            RationalMath.log(x, 100),
+            RationalMath.sin(x, 100),
+            RationalMath.cos(x, 100),
+            RationalMath.atan(x, 100),
+            RationalMath.pow(x, Rational.of(1, 3), 100),
+            RationalMath.pow(x, Rational.of(1000), 100),
+            RationalMath.pow(x, Rational.of(-1000), 100)
+        }) {
+            assertTrue(result.isApproximate());
+            assertEquals(1, result.getDenominator().bitCount());
+            assertTrue(result.getDenominator().bitLength() <= 101);
+        }
+    }
+
+    @Test
+    void largeArguments() {
+        // sin(10^30) = -0.0901169019121…, the reduction modulo pi/2 needs about 100 more bits of pi
+        assertClose(-0.09011690191213, RationalMath.sin(Rational.of(BigInteger.TEN.pow(30)), 60), 1e-13);
+        assertClose(1000 * Math.log(10), RationalMath.log(Rational.of(BigInteger.TEN.pow(1000)), 40));
+        assertClose(-1000 * Math.log(10), RationalMath.log(Rational.of(BigInteger.ONE, BigInteger.TEN.pow(1000)), 40));
+        // Too small for the precision
+        assertSame(Rational.APPROX_ZERO, RationalMath.exp(Rational.of(-1000), 10));
+        assertSame(Rational.APPROX_ZERO, RationalMath.exp(Rational.of(BigInteger.TEN.pow(20)).negate(), 10));
+    }
+
+    @Test
+    void identities() {
+        final int bits = 2000;
+        assertAtMost(RationalConstants.e(bits), RationalMath.exp(Rational.ONE, bits), bits - 1);
+        assertAtMost(RationalConstants.ln2(bits), RationalMath.log(Rational.of(2), bits), bits - 1);
+        final Rational quarterPi = RationalMath.atan(Rational.ONE, bits);
+        assertAtMost(RationalConstants.pi(bits), quarterPi.multiply(Rational.of(4)), bits - 3);
+        final Rational sqrt2 = RationalMath.pow(Rational.of(2), Rational.of(1, 2), bits);
+        assertAtMost(RationalConstants.sqrt2(bits), sqrt2, bits - 1);
+
+        final Rational sin = RationalMath.sin(Rational.of(7, 3), bits);
+        final Rational cos = RationalMath.cos(Rational.of(7, 3), bits);
+        assertAtMost(Rational.ONE, sin.multiply(sin).add(cos.multiply(cos)), bits - 2);
+
+        final Rational x = Rational.of(22, 7);
+        assertAtMost(x, RationalMath.exp(RationalMath.log(x, bits + 10), bits), bits - 2);
+    }
+
+    private static void assertClose(final double expected, final Rational actual) {
+        // Precision is absolute: 2^-60 for results close to zero
+        assertClose(expected, actual, Math.max(Math.ulp(expected) * 4, 0x1p-59));
+    }
+
+    private static void assertClose(final double expected, final Rational actual, final double delta) {
+        assertTrue(actual.isApproximate());
+        assertEquals(expected, actual.doubleValue(), delta);
+    }
+
+    private static void assertPrecision(final IntFunction<Rational> function, final int bits) {
+        final Rational actual = function.apply(bits);
+        assertTrue(actual.getDenominator().bitLength() <= bits + 1);
+        assertAtMost(function.apply(bits + 200), actual, bits);
+    }
+
+    private static void assertAtMost(final Rational expected, final Rational actual, final int bits) {
+        final Rational error = expected.subtract(actual).abs();
+        assertTrue(error.lt(Rational.of(BigInteger.ONE, BigInteger.ONE.shiftLeft(bits))));
+    }
+}
@@ -0,0 +1,310 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RationalMatrixTest {
+
+    private static RationalMatrix matrix(final long[][] values) {
+        final Rational[][] rows = new Rational[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            rows[i] = new Rational[values[i].length];
+            for (int j = 0; j < values[i].length; j++) {
+                rows[i][j] = Rational.of(values[i][j]);
+            }
+        }
+        return RationalMatrix.of(rows);
+    }
+
+    private static RationalMatrix random(final int size, final long seed) {
+        final Random random = new Random(seed);
+        final Rational[][] rows = new Rational[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                rows[i][j] = Rational.of(random.nextInt(41) - 20, random.nextInt(9) + 1);
+            }
+        }
+        return RationalMatrix.of(rows);
+    }
+
+    private static Rational rowTimesVector(final RationalMatrix matrix, final int row, final List<Rational> vector) {
+        Rational sum = Rational.ZERO;
+        for (int j = 0; j < matrix.getColumnCount(); j++) {
+            sum = sum.add(matrix.get(row, j).multiply(vector.get(j)));
+        }
+        return sum;
+    }
+
+    // Naive Gaussian elimination on rationals, as a reference
+    private static Rational naiveDeterminant(final RationalMatrix matrix) {
+        final int size = matrix.getRowCount();
+        final Rational[][] m = new Rational[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                m[i][j] = matrix.get(i, j);
+            }
+        }
+        Rational determinant = Rational.ONE;
+        for (int k = 0; k < size; k++) {
+            int pivot = k;
+            while (pivot < size && m[pivot][k].signum() == 0) {
+                pivot++;
+            }
+            if (pivot == size) {
+                return Rational.ZERO;
+            }
+            if (pivot != k) {
+                final Rational[] swap = m[pivot];
+                m[pivot] = m[k];
+                m[k] = swap;
+                determinant = determinant.negate();
+            }
+            determinant = determinant.multiply(m[k][k]).canonicalForm();
+            for (int i = k + 1; i < size; i++) {
+                final Rational factor = m[i][k].divide(m[k][k]);
+                for (int j = k; j < size; j++) {
+                    m[i][j] = m[i][j].subtract(factor.multiply(m[k][j])).canonicalForm();
+                }
+            }
+        }
+        return determinant;
+    }
+
+    @Test
+    void builders() {
+        assertThrows(ArithmeticException.class, () -> RationalMatrix.of(new Rational[0][0]));
+        assertThrows(ArithmeticException.class, () -> RationalMatrix.of(new Rational[1][0]));
+        assertThrows(
+                ArithmeticException.class,
+                () -> RationalMatrix.of(new Rational[][] {{Rational.ONE, Rational.ONE}, {Rational.ONE}}));
+        assertThrows(ArithmeticException.class, () -> RationalMatrix.identity(0));
+
+        final Rational[][] rows = {{Rational.of(1, 2), Rational.of(2)}, {Rational.of(3), Rational.of(4)}};
+        final RationalMatrix matrix = RationalMatrix.of(rows);
+        // Copied
+        rows[0][0] = Rational.ZERO;
+        assertEquals(Rational.of(1, 2), matrix.get(0, 0));
+        assertEquals(2, matrix.getRowCount());
+        assertEquals(2, matrix.getColumnCount());
+        assertTrue(matrix.isSquare());
+        assertEquals(
+                matrix,
+                RationalMatrix.of(List.of(
+                        List.of(Rational.of(2, 4), Rational.of(2)), List.of(Rational.of(3), Rational.of(4)))));
+        assertEquals("[[1/2, 2], [3, 4]]", matrix.toString());
+
+        final RationalMatrix identity = RationalMatrix.identity(3);
+        assertEquals(matrix(new long[][] {{1, 0, 0}, {0, 1, 0}, {0, 0, 1}}), identity);
+        assertFalse(matrix(new long[][] {{1, 2, 3}}).isSquare());
+    }
+
+    @Test
+    void equalsAndHashCode() {
+        final RationalMatrix matrix = matrix(new long[][] {{1, 2}, {3, 4}});
+        final RationalMatrix same = RationalMatrix.of(new Rational[][] {
+            {Rational.of(2, 2), Rational.approximateOf(4, 2)}, {Rational.of(3), Rational.of(4)}
+        });
+        assertEquals(matrix, matrix);
+        assertEquals(matrix, same);
+        assertEquals(matrix.hashCode(), same.hashCode());
+        assertNotEquals(matrix, matrix(new long[][] {{1, 2}, {3, 5}}));
+        assertNotEquals(matrix, matrix(new long[][] {{1, 2, 0}, {3, 4, 0}}));
+        assertNotEquals(matrix, matrix(new long[][] {{1, 2}}));
+        assertNotEquals(matrix, null);
+        assertNotEquals(matrix, new Object());
+    }
+
+    @Test
+    void determinant() {
+        assertEquals(Rational.of(-2), matrix(new long[][] {{1, 2}, {3, 4}}).determinant());
+        assertEquals(Rational.of(5), matrix(new long[][] {{5}}).determinant());
+        // A row swap is needed
+        assertEquals(Rational.of(-1), matrix(new long[][] {{0, 1}, {1, 0}}).determinant());
+        assertEquals(Rational.of(-306), matrix(new long[][] {{6, 1, 1}, {4, -2, 5}, {2, 8, 7}}).determinant());
+        assertSame(Rational.ZERO, matrix(new long[][] {{1, 2}, {2, 4}}).determinant());
+        assertSame(Rational.ZERO, matrix(new long[][] {{0, 1}, {0, 2}}).determinant());
+
+        final RationalMatrix fractions = RationalMatrix.of(
+                new Rational[][] {{Rational.of(1, 2), Rational.of(1, 3)}, {Rational.of(1, 4), Rational.of(1, 5)}});
+        // 1/10 - 1/12
+        assertEquals(Rational.of(1, 60), fractions.determinant());
+
+        final Rational approximate = RationalMatrix.of(
+                        new Rational[][] {{Rational.approximateOf(1, 2), Rational.ONE}, {Rational.ONE, Rational.of(2)}})
+                .determinant();
+        assertTrue(approximate.isApproximate());
+        assertEquals(0, approximate.compareTo(Rational.ZERO));
+        assertTrue(RationalMatrix.of(new Rational[][] {{Rational.approximateOf(1, 2)}})
+                .determinant()
+                .isApproximate());
+
+        assertThrows(ArithmeticException.class, () -> matrix(new long[][] {{1, 2}}).determinant());
+    }
+
+    @Test
+    void determinantAsNaiveElimination() {
+        for (int seed = 0; seed < 5; seed++) {
+            final RationalMatrix matrix = random(7, seed);
+            assertEquals(naiveDeterminant(matrix), matrix.determinant());
+        }
+    }
+
+    @Test
+    void rank() {
+        assertEquals(2, matrix(new long[][] {{1, 2}, {3, 4}}).rank());
+        assertEquals(1, matrix(new long[][] {{1, 2}, {2, 4}}).rank());
+        assertEquals(0, matrix(new long[][] {{0, 0}, {0, 0}}).rank());
+        assertEquals(2, matrix(new long[][] {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}}).rank());
+        // Columns without pivot are skipped
+        assertEquals(2, matrix(new long[][] {{0, 1, 2, 3}, {0, 2, 4, 7}}).rank());
+        assertEquals(1, matrix(new long[][] {{1}, {2}, {3}}).rank());
+        assertEquals(20, random(20, 42).rank());
+    }
+
+    @Test
+    void solve() {
+        final RationalMatrix matrix = matrix(new long[][] {{2, 1, -1}, {-3, -1, 2}, {-2, 1, 2}});
+        assertEquals(
+                List.of(Rational.of(2), Rational.of(3), Rational.of(-1)),
+                matrix.solve(List.of(Rational.of(8), Rational.of(-11), Rational.of(-3))));
+        // A row swap is needed
+        assertEquals(
+                List.of(Rational.of(1, 2), Rational.of(1, 3)),
+                matrix(new long[][] {{0, 3}, {2, 0}}).solve(List.of(Rational.ONE, Rational.ONE)));
+
+        assertThrows(ArithmeticException.class, () -> matrix.solve(List.of(Rational.ONE)));
+        assertThrows(
+                ArithmeticException.class,
+                () -> matrix(new long[][] {{1, 2}, {2, 4}}).solve(List.of(Rational.ONE, Rational.ONE)));
+        assertThrows(ArithmeticException.class, () -> matrix(new long[][] {{1, 2}}).solve(List.of(Rational.ONE)));
+
+        assertTrue(matrix(new long[][] {{2}}).solve(List.of(Rational.approximateOf(1, 3))).get(0).isApproximate());
+        assertSame(Rational.ZERO, matrix(new long[][] {{2}}).solve(List.of(Rational.ZERO)).get(0));
+        assertSame(Rational.APPROX_ZERO, matrix(new long[][] {{2}}).solve(List.of(Rational.APPROX_ZERO)).get(0));
+    }
+
+    @Test
+    void solveLargeSystems() {
+        // Large enough for parallel elimination steps
+        for (int size : new int[] {15, 60}) {
+            final RationalMatrix matrix = random(size, size);
+            final Random random = new Random(-size);
+            final List<Rational> vector = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                vector.add(Rational.of(random.nextInt(100) - 50, random.nextInt(7) + 1));
+            }
+            final List<Rational> solution = matrix.solve(vector);
+            for (int i = 0; i < size; i++) {
+                assertEquals(vector.get(i), rowTimesVector(matrix, i, solution));
+                assertEquals(solution.get(i), solution.get(i).canonicalForm());
+            }
+        }
+    }
+
+    @Test
+    void inverse() {
+        assertEquals(
+                RationalMatrix.of(new Rational[][] {
+                    {Rational.of(-2), Rational.ONE}, {Rational.of(3, 2), Rational.of(-1, 2)}
+                }),
+                matrix(new long[][] {{1, 2}, {3, 4}}).inverse());
+        assertEquals(RationalMatrix.identity(4), RationalMatrix.identity(4).inverse());
+        assertThrows(ArithmeticException.class, () -> matrix(new long[][] {{1, 2}, {2, 4}}).inverse());
+        assertThrows(ArithmeticException.class, () -> matrix(new long[][] {{1, 2}}).inverse());
+        assertTrue(RationalMatrix.of(new Rational[][] {{Rational.approximateOf(1, 3)}})
+                .inverse()
+                .get(0, 0)
+                .isApproximate());
+
+        for (int size : new int[] {5, 25}) {
+            final RationalMatrix matrix = random(size, 7 * size);
+            final RationalMatrix inverse = matrix.inverse();
+            assertEquals(matrix, inverse.inverse());
+            for (int j = 0; j < size; j++) {
+                final List<Rational> column = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    column.add(inverse.get(i, j));
+                }
+                for (int i = 0; i < size; i++) {
+                    assertEquals(i == j ? Rational.ONE : Rational.ZERO, rowTimesVector(matrix, i, column));
+                }
+            }
+        }
+    }
+
+    private static RationalMatrix naiveProduct(final RationalMatrix a, final RationalMatrix b) {
+        final Rational[][] product = new Rational[a.getRowCount()][b.getColumnCount()];
+        for (int i = 0; i < a.getRowCount(); i++) {
+            for (int j = 0; j < b.getColumnCount(); j++) {
+                Rational sum = Rational.ZERO;
+                for (int k = 0; k < a.getColumnCount(); k++) {
+                    sum = sum.add(a.get(i, k).multiply(b.get(k, j))).canonicalForm();
+                }
+                product[i][j] = sum;
+            }
+        }
+        return RationalMatrix.of(product);
+    }
+
+    @Test
+    void multiply() {
+        final RationalMatrix a = matrix(new long[][] {{1, 2, 3}, {4, 5, 6}});
+        final RationalMatrix b = matrix(new long[][] {{7, 8}, {9, 10}, {11, 12}});
+        assertEquals(matrix(new long[][] {{58, 64}, {139, 154}}), a.multiply(b));
+        assertEquals(a, RationalMatrix.identity(2).multiply(a));
+        assertEquals(a, a.multiply(RationalMatrix.identity(3)));
+        assertThrows(ArithmeticException.class, () -> a.multiply(a));
+
+        final RationalMatrix fractions = RationalMatrix.of(
+                new Rational[][] {{Rational.of(1, 2), Rational.of(1, 3)}, {Rational.of(-1, 4), Rational.ZERO}});
+        final RationalMatrix square = fractions.multiply(fractions);
+        assertEquals(
+                RationalMatrix.of(new Rational[][] {
+                    {Rational.of(1, 6), Rational.of(1, 6)}, {Rational.of(-1, 8), Rational.of(-1, 12)}
+                }),
+                square);
+        // Canonical form
+        assertEquals(BigInteger.valueOf(6), square.get(0, 0).getDenominator());
+        assertSame(Rational.ZERO, matrix(new long[][] {{1, -1}}).multiply(matrix(new long[][] {{1}, {1}})).get(0, 0));
+
+        final RationalMatrix approximate = RationalMatrix.of(new Rational[][] {{Rational.approximateOf(1, 2)}});
+        assertTrue(matrix(new long[][] {{2}}).multiply(approximate).get(0, 0).isApproximate());
+        assertSame(Rational.APPROX_ZERO, matrix(new long[][] {{0}}).multiply(approximate).get(0, 0));
+    }
+
+    @Test
+    void multiplyAsNaiveProduct() {
+        // Small entries (long products), sequential
+        final RationalMatrix a = random(70, 1);
+        final RationalMatrix b = random(70, 2);
+        assertEquals(naiveProduct(a, b), a.multiply(b));
+        // Large enough for parallel blocks: 130^3 >= 2^11 * 2^10
+        final RationalMatrix c = random(130, 3);
+        final RationalMatrix d = random(130, 4);
+        assertEquals(naiveProduct(c, d), c.multiply(d));
+
+        // Large entries (BigInteger products)
+        final Random random = new Random(3);
+        final Rational[][] rows = new Rational[9][5];
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = 0; j < rows[i].length; j++) {
+                rows[i][j] = Rational.of(
+                        new BigInteger(80, random).subtract(BigInteger.ONE.shiftLeft(79)),
+                        BigInteger.valueOf(random.nextInt(1000) + 1));
+            }
+        }
+        final RationalMatrix big = RationalMatrix.of(rows);
+        final RationalMatrix small = random(5, 4);
+        assertEquals(naiveProduct(big, small), big.multiply(small));
+    }
+}
@@ -0,0 +1,457 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class RationalPolynomialTest {
+
+    // 3/2 x^2 - x + 1/2
+    private static final RationalPolynomial POLYNOMIAL =
+            RationalPolynomial.of(Rational.of(1, 2), Rational.of(-1), Rational.of(3, 2));
+
+    private static List<Rational> randomCoefficients(final int count, final int bits, final long seed) {
+        final Random random = new Random(seed);
+        final List<Rational> coefficients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            coefficients.add(Rational.of(
+                    new BigInteger(bits, random).subtract(BigInteger.ONE.shiftLeft(bits - 1)),
+                    BigInteger.valueOf(random.nextInt(12) + 1)));
+        }
+        return coefficients;
+    }
+
+    private static List<Rational> naiveProduct(final List<Rational> a, final List<Rational> b) {
+        final List<Rational> product = new ArrayList<>();
+        for (int k = 0; k < a.size() + b.size() - 1; k++) {
+            Rational sum = Rational.ZERO;
+            for (int i = Math.max(0, k - b.size() + 1); i <= Math.min(k, a.size() - 1); i++) {
+                sum = sum.add(a.get(i).multiply(b.get(k - i)));
+            }
+            product.add(sum.canonicalForm());
+        }
+        return product;
+    }
+
+    private static Rational naiveValue(final List<Rational> coefficients, final Rational x) {
+        Rational value = Rational.ZERO;
+        for (int i = coefficients.size() - 1; i >= 0; i--) {
+            value = value.multiply(x).add(coefficients.get(i)).canonicalForm();
+        }
+        return value;
+    }
+
+    @Test
+    void builders() {
+        assertEquals(2, POLYNOMIAL.degree());
+        assertEquals(List.of(Rational.of(1, 2), Rational.of(-1), Rational.of(3, 2)), POLYNOMIAL.getCoefficients());
+        assertEquals(Rational.of(-1), POLYNOMIAL.getCoefficient(1));
+        assertSame(Rational.ZERO, POLYNOMIAL.getCoefficient(3));
+        assertThrows(ArithmeticException.class, () -> POLYNOMIAL.getCoefficient(-1));
+        // Zero leading coefficients are ignored
+        assertEquals(
+                POLYNOMIAL,
+                RationalPolynomial.of(
+                        List.of(Rational.of(2, 4), Rational.of(-1), Rational.of(6, 4), Rational.ZERO, Rational.ZERO)));
+        assertEquals(-1, RationalPolynomial.of().degree());
+        assertEquals(-1, RationalPolynomial.of(Rational.ZERO, Rational.ZERO).degree());
+        assertEquals(List.of(), RationalPolynomial.of().getCoefficients());
+        assertFalse(POLYNOMIAL.isApproximate());
+        final RationalPolynomial approximate = RationalPolynomial.of(Rational.ONE, Rational.approximateOf(1, 3));
+        assertTrue(approximate.isApproximate());
+        assertTrue(approximate.getCoefficient(0).isApproximate());
+        assertSame(Rational.APPROX_ZERO, approximate.getCoefficient(5));
+        assertTrue(RationalPolynomial.of(Rational.APPROX_ZERO).isApproximate());
+    }
+
+    @Test
+    void equalsHashCodeAndToString() {
+        final RationalPolynomial same = RationalPolynomial.of(Rational.of(3, 6), Rational.of(-2, 2), Rational.of(9, 6));
+        assertEquals(POLYNOMIAL, same);
+        assertEquals(POLYNOMIAL.hashCode(), same.hashCode());
+        assertEquals(POLYNOMIAL, POLYNOMIAL);
+        assertNotEquals(POLYNOMIAL, null);
+        assertNotEquals(POLYNOMIAL, Rational.ONE);
+        assertNotEquals(POLYNOMIAL, RationalPolynomial.of(Rational.of(1, 2), Rational.of(-1), Rational.of(3, 4)));
+        assertNotEquals(
+                POLYNOMIAL, RationalPolynomial.of(Rational.of(1, 2), Rational.of(-1), Rational.of(3, 2), Rational.ONE));
+        // Equal by value, approximate or not
+        assertEquals(
+                RationalPolynomial.of(Rational.ONE, Rational.of(1, 3)),
+                RationalPolynomial.of(Rational.ONE, Rational.approximateOf(1, 3)));
+
+        assertEquals("3/2 x^2 - x + 1/2", POLYNOMIAL.toString());
+        assertEquals(
+                "-x^3 + 2 x - 1",
+                RationalPolynomial.of(Rational.of(-1), Rational.of(2), Rational.ZERO, Rational.of(-1))
+                        .toString());
+        assertEquals("x + 1", RationalPolynomial.of(Rational.ONE, Rational.ONE).toString());
+        assertEquals("0", RationalPolynomial.of().toString());
+        assertEquals("~0", RationalPolynomial.of(Rational.APPROX_ZERO).toString());
+        assertEquals("~x - 1/3", RationalPolynomial.of(Rational.approximateOf(-1, 3), Rational.ONE).toString());
+    }
+
+    @Test
+    void addSubtractAndNegate() {
+        final RationalPolynomial other = RationalPolynomial.of(Rational.of(1, 3), Rational.ONE);
+        assertEquals(RationalPolynomial.of(Rational.of(5, 6), Rational.ZERO, Rational.of(3, 2)), POLYNOMIAL.add(other));
+        assertEquals(POLYNOMIAL.add(other), other.add(POLYNOMIAL));
+        assertEquals(
+                RationalPolynomial.of(Rational.of(1, 6), Rational.of(-2), Rational.of(3, 2)),
+                POLYNOMIAL.subtract(other));
+        assertEquals(RationalPolynomial.of(), POLYNOMIAL.subtract(POLYNOMIAL));
+        assertEquals(-1, POLYNOMIAL.add(POLYNOMIAL.negate()).degree());
+        assertEquals(RationalPolynomial.of(Rational.of(-1, 2), Rational.ONE, Rational.of(-3, 2)), POLYNOMIAL.negate());
+        // The leading terms cancel
+        assertEquals(
+                RationalPolynomial.of(Rational.of(1, 2), Rational.of(-1)),
+                POLYNOMIAL.subtract(RationalPolynomial.of(Rational.ZERO, Rational.ZERO, Rational.of(3, 2))));
+        assertTrue(POLYNOMIAL.add(RationalPolynomial.of(Rational.APPROX_ONE)).isApproximate());
+        assertTrue(RationalPolynomial.of(Rational.APPROX_ONE)
+                .subtract(RationalPolynomial.of(Rational.ONE))
+                .isApproximate());
+    }
+
+    @Test
+    void multiply() {
+        final RationalPolynomial other = RationalPolynomial.of(Rational.of(-2, 3), Rational.of(4, 5));
+        assertEquals(
+                RationalPolynomial.of(naiveProduct(POLYNOMIAL.getCoefficients(), other.getCoefficients())),
+                POLYNOMIAL.multiply(other));
+        assertEquals(RationalPolynomial.of(), POLYNOMIAL.multiply(RationalPolynomial.of()));
+        assertEquals(
+                RationalPolynomial.of(Rational.ONE, Rational.of(-2), Rational.of(3)),
+                POLYNOMIAL.multiply(Rational.of(2)));
+        assertEquals(RationalPolynomial.of(), POLYNOMIAL.multiply(Rational.ZERO));
+        assertEquals(POLYNOMIAL, POLYNOMIAL.multiply(Rational.ONE));
+        assertTrue(POLYNOMIAL.multiply(Rational.APPROX_ONE).isApproximate());
+        assertTrue(POLYNOMIAL.multiply(RationalPolynomial.of(Rational.APPROX_ONE)).isApproximate());
+    }
+
+    @Test
+    void multiplyAsNaiveProduct() {
+        // Small and large degrees and coefficients, to use both the schoolbook and the Kronecker products
+        final int[][] cases = {{5, 40, 8}, {20, 30, 3}, {100, 100, 70}, {150, 90, 200}, {300, 1, 10}};
+        for (int[] sizes : cases) {
+            final List<Rational> a = randomCoefficients(sizes[0], sizes[2], sizes[0]);
+            final List<Rational> b = randomCoefficients(sizes[1], sizes[2], sizes[1] + 1000);
+            final RationalPolynomial product = RationalPolynomial.of(a).multiply(RationalPolynomial.of(b));
+            assertEquals(RationalPolynomial.of(naiveProduct(a, b)), product, "Sizes " + sizes[0]);
+            final RationalPolynomial polynomial = RationalPolynomial.of(a);
+            assertEquals(RationalPolynomial.of(naiveProduct(a, a)), polynomial.multiply(polynomial));
+        }
+        // Sparse polynomials: x^60 - 1 and x^40 + x^20 + 1/2
+        final List<Rational> sparse = new ArrayList<>(Collections.nCopies(61, Rational.ZERO));
+        sparse.set(0, Rational.of(-1));
+        sparse.set(60, Rational.ONE);
+        final List<Rational> otherSparse = new ArrayList<>(Collections.nCopies(41, Rational.ZERO));
+        otherSparse.set(0, Rational.of(1, 2));
+        otherSparse.set(20, Rational.ONE);
+        otherSparse.set(40, Rational.ONE);
+        assertEquals(
+                RationalPolynomial.of(naiveProduct(sparse, otherSparse)),
+                RationalPolynomial.of(sparse).multiply(RationalPolynomial.of(otherSparse)));
+        assertEquals(
+                RationalPolynomial.of(naiveProduct(sparse.subList(0, 4), otherSparse.subList(0, 3))),
+                RationalPolynomial.of(sparse.subList(0, 4)).multiply(RationalPolynomial.of(otherSparse.subList(0, 3))));
+        assertEquals(RationalPolynomial.of(), RationalPolynomial.of().multiply(POLYNOMIAL));
+        // Only negative coefficients, so the packed product is negative
+        final List<Rational> negative = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            negative.add(Rational.of(-i - 1, 3));
+        }
+        final RationalPolynomial positive = RationalPolynomial.of(negative).negate();
+        assertEquals(
+                RationalPolynomial.of(naiveProduct(negative, positive.getCoefficients())),
+                RationalPolynomial.of(negative).multiply(positive));
+    }
+
+    @Test
+    void derivative() {
+        assertEquals(RationalPolynomial.of(Rational.of(-1), Rational.of(3)), POLYNOMIAL.derivative());
+        assertEquals(RationalPolynomial.of(), RationalPolynomial.of(Rational.of(5)).derivative());
+        assertEquals(RationalPolynomial.of(), RationalPolynomial.of().derivative());
+        assertTrue(RationalPolynomial.of(Rational.APPROX_ONE).derivative().isApproximate());
+    }
+
+    @Test
+    void evaluate() {
+        assertEquals(Rational.of(1, 2), POLYNOMIAL.evaluate(Rational.ZERO));
+        assertEquals(Rational.ONE, POLYNOMIAL.evaluate(Rational.ONE));
+        assertEquals(Rational.of(17, 2), POLYNOMIAL.evaluate(Rational.of(-2)));
+        // 3/2 * 4/9 - 2/3 + 1/2
+        assertEquals(Rational.of(1, 2), POLYNOMIAL.evaluate(Rational.of(2, 3)));
+        assertEquals(Rational.of(1, 2), POLYNOMIAL.evaluate(Rational.of(4, 6)));
+        assertSame(Rational.ZERO, RationalPolynomial.of(Rational.of(-1), Rational.ONE).evaluate(Rational.ONE));
+        assertSame(Rational.ZERO, RationalPolynomial.of().evaluate(Rational.of(1, 3)));
+        assertSame(Rational.APPROX_ZERO, RationalPolynomial.of().evaluate(Rational.approximateOf(1, 3)));
+        assertTrue(POLYNOMIAL.evaluate(Rational.APPROX_ONE).isApproximate());
+
+        final List<Rational> coefficients = randomCoefficients(60, 50, 3);
+        final RationalPolynomial polynomial = RationalPolynomial.of(coefficients);
+        for (Rational x : List.of(Rational.of(7, 5), Rational.of(-3, 11), Rational.of(12345), Rational.of(-1, 2))) {
+            assertEquals(naiveValue(coefficients, x), polynomial.evaluate(x));
+        }
+    }
+
+    @Test
+    void evaluateMultipoint() {
+        assertEquals(
+                List.of(Rational.of(1, 2), Rational.ONE, Rational.of(1, 2)),
+                POLYNOMIAL.evaluate(List.of(Rational.ZERO, Rational.ONE, Rational.of(2, 3))));
+        assertEquals(List.of(), POLYNOMIAL.evaluate(List.of()));
+
+        final Random random = new Random(5);
+        // Integer points, points sharing a few denominators, and points with their own denominator
+        final int[][] cases = {{40, 20, 1}, {100, 100, 9}, {300, 70, 5}, {200, 400, 1}, {400, 200, 3}};
+        for (int[] sizes : cases) {
+            final List<Rational> coefficients = randomCoefficients(sizes[0], 40, sizes[0]);
+            final RationalPolynomial polynomial = RationalPolynomial.of(coefficients);
+            final List<Rational> xs = new ArrayList<>();
+            for (int i = 0; i < sizes[1]; i++) {
+                xs.add(Rational.of(random.nextInt(2001) - 1000, random.nextInt(sizes[2]) + 1));
+            }
+            xs.add(Rational.of(5, 101));
+            xs.add(Rational.of(-7, 1013));
+            // With duplicate points
+            xs.add(xs.get(0));
+            final List<Rational> values = polynomial.evaluate(xs);
+            for (int i = 0; i < xs.size(); i++) {
+                assertEquals(polynomial.evaluate(xs.get(i)), values.get(i), "Point " + xs.get(i));
+            }
+        }
+
+        // Sparse polynomial x^100 - 1
+        final List<Rational> sparse = new ArrayList<>(Collections.nCopies(101, Rational.ZERO));
+        sparse.set(0, Rational.of(-1));
+        sparse.set(100, Rational.ONE);
+        final List<Rational> points = new ArrayList<>();
+        for (int i = -40; i <= 40; i++) {
+            points.add(Rational.of(i, 3));
+        }
+        final List<Rational> sparseValues = RationalPolynomial.of(sparse).evaluate(points);
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(naiveValue(sparse, points.get(i)), sparseValues.get(i));
+        }
+        // The identity polynomial
+        assertEquals(points, RationalPolynomial.of(Rational.ZERO, Rational.ONE).evaluate(points));
+
+        // Only the values at approximate points are approximate
+        final List<Rational> xs = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            xs.add(Rational.of(i, 7));
+        }
+        xs.set(3, Rational.approximateOf(4, 7));
+        final List<Rational> values = RationalPolynomial.of(randomCoefficients(30, 20, 8)).evaluate(xs);
+        assertTrue(values.get(3).isApproximate());
+        assertFalse(values.get(4).isApproximate());
+        assertTrue(RationalPolynomial.of(Rational.APPROX_ONE, Rational.ONE)
+                .evaluate(xs)
+                .get(4)
+                .isApproximate());
+    }
+
+    private static RationalPolynomial fromRoots(final List<Rational> roots) {
+        RationalPolynomial polynomial = RationalPolynomial.of(Rational.ONE);
+        for (Rational root : roots) {
+            polynomial = polynomial.multiply(RationalPolynomial.of(root.negate(), Rational.ONE));
+        }
+        return polynomial;
+    }
+
+    private static void assertIsolated(final List<Rational> roots, final List<RationalInterval> intervals) {
+        assertEquals(roots.size(), intervals.size(), "Intervals " + intervals);
+        for (int i = 0; i < intervals.size(); i++) {
+            if (i > 0) {
+                assertTrue(intervals.get(i - 1).getUpper().lt(intervals.get(i).getLower()), "Disjoint " + intervals);
+            }
+            assertTrue(intervals.get(i).contains(roots.get(i)), roots.get(i) + " in " + intervals.get(i));
+        }
+    }
+
+    @Test
+    void realRoots() {
+        assertThrows(ArithmeticException.class, () -> RationalPolynomial.of().realRoots());
+        assertEquals(List.of(), RationalPolynomial.of(Rational.of(3)).realRoots());
+        // x^2 + 1
+        assertEquals(List.of(), RationalPolynomial.of(Rational.ONE, Rational.ZERO, Rational.ONE).realRoots());
+        // 2x - 3
+        assertIsolated(
+                List.of(Rational.of(3, 2)),
+                RationalPolynomial.of(Rational.of(-3), Rational.of(2)).realRoots());
+        // x^3 - x
+        assertIsolated(
+                List.of(Rational.of(-1), Rational.ZERO, Rational.ONE),
+                RationalPolynomial.of(Rational.ZERO, Rational.of(-1), Rational.ZERO, Rational.ONE)
+                        .realRoots());
+        // x^2 - 2
+        final List<RationalInterval> sqrt2 = RationalPolynomial.of(Rational.of(-2), Rational.ZERO, Rational.ONE)
+                .realRoots();
+        assertEquals(2, sqrt2.size());
+        for (RationalInterval interval : sqrt2) {
+            final Rational lower = interval.getLower();
+            final Rational upper = interval.getUpper();
+            assertTrue(lower.multiply(lower).compareTo(Rational.of(2)) < 0
+                    != upper.multiply(upper).compareTo(Rational.of(2)) < 0);
+        }
+        // Multiple roots: (x - 1)^2 * (x + 2)^3 * (x - 1/3)
+        final List<Rational> multiple = List.of(
+                Rational.of(-2), Rational.of(-2), Rational.of(-2), Rational.of(1, 3), Rational.ONE, Rational.ONE);
+        assertIsolated(
+                List.of(Rational.of(-2), Rational.of(1, 3), Rational.ONE), fromRoots(multiple).realRoots());
+        // A leading coefficient multiple of the prime of the square-free test
+        assertEquals(
+                2,
+                RationalPolynomial.of(Rational.of(-1), Rational.ZERO, Rational.of(Integer.MAX_VALUE))
+                        .realRoots()
+                        .size());
+    }
+
+    @Test
+    void realRootsOfProducts() {
+        // Wilkinson's polynomial, with roots 1 to 20
+        final List<Rational> wilkinson = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            wilkinson.add(Rational.of(i));
+        }
+        assertIsolated(wilkinson, fromRoots(wilkinson).realRoots());
+        // Close roots
+        final List<Rational> close = List.of(
+                Rational.of(-1000),
+                Rational.of(1, 1000000),
+                Rational.of(2, 1000000),
+                Rational.of(1, 7),
+                Rational.of(3));
+        assertIsolated(close, fromRoots(close).realRoots());
+
+        final Random random = new Random(46);
+        for (int test = 0; test < 30; test++) {
+            final Set<Rational> roots = new TreeSet<>();
+            final int count = random.nextInt(12) + 1;
+            while (roots.size() < count) {
+                roots.add(Rational.of(random.nextInt(201) - 100, random.nextInt(20) + 1).canonicalForm());
+            }
+            final List<Rational> sorted = new ArrayList<>(roots);
+            // Multiply by a polynomial without real roots: x^2 + x + 1
+            final RationalPolynomial polynomial = fromRoots(sorted)
+                    .multiply(RationalPolynomial.of(Rational.ONE, Rational.ONE, Rational.ONE));
+            assertIsolated(sorted, polynomial.realRoots());
+        }
+    }
+
+    @Test
+    void refine() {
+        final RationalPolynomial polynomial = RationalPolynomial.of(Rational.of(-2), Rational.ZERO, Rational.ONE);
+        for (RationalInterval interval : polynomial.realRoots()) {
+            for (int bits : new int[] {-3, 0, 10, 64, 1000}) {
+                final RationalInterval refined = polynomial.refine(interval, bits);
+                assertTrue(interval.contains(refined.getLower()) && interval.contains(refined.getUpper()));
+                assertTrue(refined.width().compareTo(Rational.of(BigInteger.ONE, BigInteger.TWO.pow(Math.max(0, bits))))
+                        <= 0);
+                final Rational lower = refined.getLower();
+                final Rational upper = refined.getUpper();
+                assertTrue(lower.multiply(lower).compareTo(Rational.of(2)) < 0
+                        != upper.multiply(upper).compareTo(Rational.of(2)) < 0);
+            }
+        }
+        // Refining a refined interval
+        final RationalInterval positive = polynomial.realRoots().get(1);
+        assertEquals(polynomial.refine(positive, 100), polynomial.refine(polynomial.refine(positive, 100), 50));
+
+        // Exact roots
+        final RationalPolynomial linear = RationalPolynomial.of(Rational.of(-1), Rational.of(4));
+        assertEquals(
+                RationalInterval.of(Rational.of(1, 4)),
+                linear.refine(RationalInterval.of(Rational.ZERO, Rational.ONE), 10));
+        // 4x^2 - 1: the secant guesses 1/4, next to the root
+        assertEquals(
+                RationalInterval.of(Rational.of(1, 2)),
+                RationalPolynomial.of(Rational.of(-1), Rational.ZERO, Rational.of(4))
+                        .refine(RationalInterval.of(Rational.ZERO, Rational.ONE), 10));
+        // (2x - 1)(8 - 7x): the secant guesses 1, far from the root, which is found by bisection
+        assertEquals(
+                RationalInterval.of(Rational.of(1, 2)),
+                RationalPolynomial.of(Rational.of(-8), Rational.of(23), Rational.of(-14))
+                        .refine(RationalInterval.of(Rational.ZERO, Rational.ONE), 10));
+        final RationalPolynomial rationalRoots = fromRoots(List.of(Rational.of(1, 3), Rational.of(5, 7)));
+        assertTrue(rationalRoots
+                .refine(RationalInterval.of(Rational.of(1, 2), Rational.ONE), 100)
+                .contains(Rational.of(5, 7)));
+        assertTrue(rationalRoots
+                .refine(RationalInterval.of(Rational.ZERO, Rational.of(1, 2)), 100)
+                .contains(Rational.of(1, 3)));
+        assertEquals(
+                RationalInterval.of(Rational.of(5, 7)),
+                rationalRoots.refine(RationalInterval.of(Rational.of(5, 7)), 100));
+
+        assertThrows(
+                ArithmeticException.class,
+                () -> RationalPolynomial.of().refine(RationalInterval.of(Rational.ZERO, Rational.ONE), 10));
+        // No change of sign
+        assertThrows(
+                ArithmeticException.class,
+                () -> polynomial.refine(RationalInterval.of(Rational.of(-2), Rational.of(2)), 10));
+        assertThrows(ArithmeticException.class, () -> polynomial.refine(RationalInterval.of(Rational.ONE), 10));
+        // A root as bound
+        assertThrows(
+                ArithmeticException.class,
+                () -> rationalRoots.refine(RationalInterval.of(Rational.of(1, 3), Rational.of(1, 2)), 10));
+    }
+
+    @Test
+    void refineRandomRoots() {
+        final Random random = new Random(47);
+        for (int test = 0; test < 30; test++) {
+            final List<Rational> coefficients = randomCoefficients(random.nextInt(15) + 2, 30, test);
+            final RationalPolynomial polynomial = RationalPolynomial.of(coefficients);
+            for (RationalInterval interval : polynomial.realRoots()) {
+                final RationalInterval refined = polynomial.refine(interval, 200);
+                assertTrue(interval.contains(refined.getLower()) && interval.contains(refined.getUpper()));
+                assertTrue(refined.width().compareTo(Rational.of(BigInteger.ONE, BigInteger.TWO.pow(200))) <= 0);
+                final int lowerSign = polynomial.evaluate(refined.getLower()).signum();
+                final int upperSign = polynomial.evaluate(refined.getUpper()).signum();
+                assertTrue(lowerSign * upperSign < 0 || (lowerSign == 0 && upperSign == 0), "Refined " + refined);
+            }
+        }
+    }
+
+    @Test
+    void internalRateOfReturn() {
+        // A 10 years bond: -97 + 5 / (1 + r) + ... + 105 / (1 + r)^10, in x = 1 / (1 + r)
+        final List<Rational> cashFlows = new ArrayList<>(Collections.nCopies(11, Rational.of(5)));
+        cashFlows.set(0, Rational.of(-97));
+        cashFlows.set(10, Rational.of(105));
+        final RationalPolynomial polynomial = RationalPolynomial.of(cashFlows);
+        final List<RationalInterval> roots = polynomial.realRoots();
+        final RationalInterval discount = roots.get(roots.size() - 1);
+        assertTrue(discount.getLower().signum() > 0);
+        final RationalInterval refined = polynomial.refine(discount, 64);
+        // r = 1 / x - 1, about 5.396 %
+        final Rational rate = Rational.ONE.divide(refined.midpoint()).subtract(Rational.ONE);
+        assertTrue(rate.compareTo(Rational.of(5395, 100000)) > 0 && rate.compareTo(Rational.of(5397, 100000)) < 0);
+
+        // Approximate coefficients give approximate bounds
+        cashFlows.set(0, Rational.approximateOf(-97, 1));
+        final RationalPolynomial approximate = RationalPolynomial.of(cashFlows);
+        final List<RationalInterval> approximateRoots = approximate.realRoots();
+        assertEquals(roots, approximateRoots);
+        assertTrue(approximateRoots.get(0).getLower().isApproximate());
+        assertTrue(approximate.refine(approximateRoots.get(0), 10).getUpper().isApproximate());
+        assertTrue(RationalPolynomial.of(Rational.approximateOf(-1, 1), Rational.of(4))
+                .refine(RationalInterval.of(Rational.ZERO, Rational.ONE), 10)
+                .getLower()
+                .isApproximate());
+    }
+}
@@ -0,0 +1,75 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+
+class RationalPowerTableTest {
+
+    @Test
+    void builders() {
+        assertThrows(ArithmeticException.class, () -> RationalPowerTable.of(Rational.of(1, 2), 0));
+        final RationalPowerTable table = RationalPowerTable.of(Rational.of(6, 4), 10);
+        assertEquals(10, table.getMaxExponent());
+        assertEquals(BigInteger.valueOf(3), table.getBase().getNumerator());
+        assertEquals(BigInteger.valueOf(2), table.getBase().getDenominator());
+    }
+
+    @Test
+    void samePowersAsPow() {
+        for (final Rational base : new Rational[] {Rational.of(105, 100), Rational.of(-22, 7), Rational.of(3)}) {
+            for (final int maxExponent : new int[] {1, 2, 7, 50}) {
+                final RationalPowerTable table = RationalPowerTable.of(base, maxExponent);
+                for (long exponent = -120; exponent <= 120; exponent++) {
+                    assertSameRational(base.pow(exponent), table.pow(exponent));
+                }
+                assertSameRational(base.pow(1001), table.pow(1001));
+                assertSameRational(base.pow(-999), table.pow(-999));
+            }
+        }
+    }
+
+    @Test
+    void discountFactors() {
+        // Monthly rate of 1/2 %, over 30 years
+        final RationalPowerTable table = RationalPowerTable.of(Rational.of(1005, 1000), 360);
+        Rational factor = Rational.ONE;
+        for (int period = 1; period <= 360; period++) {
+            factor = factor.divide(Rational.of(201, 200));
+            assertSameRational(factor, table.pow(-period));
+        }
+        assertTrue(table.pow(-360).lt(Rational.of(1, 6)));
+    }
+
+    @Test
+    void specialBases() {
+        final RationalPowerTable zero = RationalPowerTable.of(Rational.ZERO, 4);
+        assertSame(Rational.ONE, zero.pow(0));
+        assertSame(Rational.ZERO, zero.pow(3));
+        assertSame(Rational.ZERO, zero.pow(13));
+        assertSame(Rational.ZERO, zero.pow(Long.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> zero.pow(-1));
+        assertThrows(ArithmeticException.class, () -> zero.pow(-13));
+
+        final RationalPowerTable minusOne = RationalPowerTable.of(Rational.of(-1), 3);
+        assertEquals(Rational.of(-1), minusOne.pow(Long.MAX_VALUE));
+        assertSame(Rational.ONE, minusOne.pow(Long.MIN_VALUE));
+        assertEquals(Rational.of(-1), RationalPowerTable.of(Rational.of(-1), 1).pow(-(1L << 40) - 1));
+        assertThrows(ArithmeticException.class, () -> RationalPowerTable.of(Rational.of(2), 3).pow(Long.MAX_VALUE));
+
+        final RationalPowerTable approximate = RationalPowerTable.of(Rational.approximateOf(1, 3), 5);
+        assertTrue(approximate.pow(4).isApproximate());
+        assertTrue(approximate.pow(-17).isApproximate());
+        assertEquals(0, Rational.of(1, 3).pow(-17).compareTo(approximate.pow(-17)));
+    }
+
+    private static void assertSameRational(final Rational expected, final Rational actual) {
+        assertEquals(expected.getNumerator(), actual.getNumerator());
+        assertEquals(expected.getDenominator(), actual.getDenominator());
+        assertEquals(expected.isApproximate(), actual.isApproximate());
+    }
+}
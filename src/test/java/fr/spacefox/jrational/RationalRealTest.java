@@ -0,0 +1,164 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RationalRealTest {
+
+    private static final RationalReal TWO = RationalReal.of(Rational.of(2));
+
+    @Test
+    void exactValues() {
+        final Rational third = Rational.of(1, 3);
+        final RationalReal exact = RationalReal.of(third);
+        assertTrue(exact.isExact());
+        assertSame(third, exact.toRational(10));
+        assertEquals("1/3", exact.toString());
+
+        final RationalReal sixth = RationalReal.of(Rational.of(1, 6));
+        assertTrue(exact.add(sixth).isExact());
+        assertEquals(0, Rational.of(1, 2).compareTo(exact.add(sixth).toRational(0)));
+        assertEquals(0, Rational.of(1, 6).compareTo(exact.subtract(sixth).toRational(0)));
+        assertEquals(0, Rational.of(1, 18).compareTo(exact.multiply(sixth).toRational(0)));
+        assertEquals(0, Rational.of(2).compareTo(exact.divide(sixth).toRational(0)));
+        assertEquals(0, Rational.of(-3).compareTo(exact.inverse().negate().toRational(0)));
+        assertTrue(exact.divide(sixth).isExact());
+        assertEquals(1, exact.compareTo(sixth));
+        assertEquals(-1, exact.negate().signum());
+        assertEquals(third, exact.negate().abs().toRational(0));
+
+        assertThrows(ArithmeticException.class, () -> exact.toRational(-1));
+        assertThrows(ArithmeticException.class, () -> exact.divide(RationalReal.of(Rational.ZERO)));
+    }
+
+    @Test
+    void precision() {
+        final RationalReal x = RationalReal.of(Rational.of(22, 7));
+        final RationalReal[] expressions = {
+            RationalReal.PI,
+            RationalReal.PI.negate(),
+            RationalReal.PI.add(RationalReal.E),
+            RationalReal.PI.subtract(x),
+            RationalReal.PI.multiply(RationalReal.E),
+            RationalReal.of(Rational.of(BigInteger.TEN.pow(30))).multiply(RationalReal.PI),
+            RationalReal.E.divide(RationalReal.PI),
+            RationalReal.PI.subtract(x).inverse(),
+            TWO.sqrt(),
+            RationalReal.PI.sqrt(),
+            x.exp(),
+            RationalReal.PI.exp(),
+            RationalReal.PI.log(),
+            RationalReal.PI.subtract(x).abs().log()
+        };
+        for (final RationalReal expression : expressions) {
+            for (final int bits : new int[] {0, 1, 10, 64, 200}) {
+                final Rational approximation = expression.toRational(bits);
+                final Rational reference = expression.toRational(bits + 200);
+                assertTrue(approximation.isApproximate());
+                // Both are at most 2^-bits (and 2^-(bits + 200)) from the real value
+                final Rational error = approximation.subtract(reference).abs();
+                assertTrue(error.lt(Rational.of(BigInteger.TWO, BigInteger.ONE.shiftLeft(bits))));
+            }
+        }
+        assertEquals(Math.PI * Math.E, RationalReal.PI.multiply(RationalReal.E).toRational(60).doubleValue(), 1e-14);
+        assertEquals(Math.log(Math.PI), RationalReal.PI.log().toRational(60).doubleValue(), 1e-14);
+    }
+
+    @Test
+    void memoization() {
+        final AtomicInteger calls = new AtomicInteger();
+        final RationalReal pi = RationalReal.ofApproximation(bits -> {
+            calls.incrementAndGet();
+            return RationalConstants.pi(bits);
+        });
+        final Rational precise = pi.toRational(300);
+        assertSame(precise, pi.toRational(300));
+        assertSame(precise, pi.toRational(299));
+        final Rational rounded = pi.toRational(100);
+        assertTrue(rounded.getDenominator().bitLength() <= 102);
+        final Rational error = rounded.subtract(RationalConstants.pi(300)).abs();
+        assertTrue(error.lt(Rational.of(BigInteger.ONE, BigInteger.TWO.pow(100))));
+        assertEquals(1, calls.get());
+        pi.toRational(400);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void comparisons() {
+        // 355/113 = 3.14159292… > pi, decided with 64 bits
+        final AtomicInteger maxBits = new AtomicInteger();
+        final RationalReal pi = RationalReal.ofApproximation(bits -> {
+            maxBits.accumulateAndGet(bits, Math::max);
+            return RationalConstants.pi(bits);
+        });
+        assertEquals(-1, pi.compareTo(RationalReal.of(Rational.of(355, 113))));
+        assertEquals(1, RationalReal.of(Rational.of(355, 113)).compareTo(pi));
+        assertTrue(maxBits.get() <= 64 + 3);
+        assertEquals(1, pi.signum());
+
+        // e^(pi * sqrt(163)) = 262537412640768743.99999999999925…: needs more than 64 bits
+        final RationalReal ramanujan =
+                RationalReal.PI.multiply(RationalReal.of(Rational.of(163)).sqrt()).exp();
+        assertEquals(-1, ramanujan.compareTo(RationalReal.of(Rational.of(262_537_412_640_768_744L))));
+        assertEquals(1, ramanujan.compareTo(RationalReal.of(Rational.of(262_537_412_640_768_743L))));
+
+        // Undecidable equalities: equal up to the limit
+        assertEquals(0, TWO.sqrt().multiply(TWO.sqrt()).compareTo(TWO, 256));
+        assertEquals(0, RationalReal.PI.exp().log().compareTo(RationalReal.PI, 256));
+        assertEquals(0, RationalReal.PI.subtract(RationalReal.PI).signum());
+        assertEquals(0, RationalReal.PI.subtract(RationalReal.PI).signum(10));
+    }
+
+    @Test
+    void nestedSquareRoots() {
+        // Each square root asks for about bits + l/2 bits of its argument, not 2 * bits
+        final AtomicInteger maxBits = new AtomicInteger();
+        final RationalReal pi = RationalReal.ofApproximation(bits -> {
+            maxBits.accumulateAndGet(bits, Math::max);
+            return RationalConstants.pi(bits);
+        });
+        RationalReal root = pi;
+        for (int i = 0; i < 10; i++) {
+            root = root.sqrt();
+        }
+        final Rational value = root.toRational(200);
+        assertTrue(maxBits.get() <= 200 + 10 * 5, "Precision " + maxBits.get());
+        // pi^(1/1024) = 1.00111848…
+        assertTrue(value.gt(Rational.of(1_001_118, 1_000_000)));
+        assertTrue(value.lt(Rational.of(1_001_119, 1_000_000)));
+
+        final RationalReal two = RationalReal.of(Rational.of(BigInteger.ONE.shiftLeft(1024)));
+        RationalReal twoRoot = two;
+        for (int i = 0; i < 10; i++) {
+            twoRoot = twoRoot.sqrt();
+        }
+        assertEquals(0, twoRoot.compareTo(TWO, 256));
+    }
+
+    @Test
+    void invalidOperations() {
+        final RationalReal zero = RationalReal.PI.subtract(RationalReal.PI);
+        assertThrows(ArithmeticException.class, () -> zero.inverse().toRational(10));
+        assertThrows(ArithmeticException.class, () -> RationalReal.E.divide(zero).toRational(10));
+        assertThrows(ArithmeticException.class, () -> zero.log().toRational(10));
+        assertThrows(ArithmeticException.class, () -> RationalReal.PI.negate().log().toRational(10));
+        assertThrows(ArithmeticException.class, () -> RationalReal.PI.negate().sqrt().toRational(10));
+        assertThrows(ArithmeticException.class, () -> RationalReal.PI.negate().sqrt().toRational(100));
+        assertThrows(ArithmeticException.class, () -> RationalReal.PI.toRational(-1));
+        // Square root of 0 is fine, even if approximations are negative
+        assertEquals(0, Rational.ZERO.compareTo(zero.sqrt().toRational(100)));
+    }
+
+    @Test
+    void toStringTest() {
+        assertTrue(RationalReal.PI.toString().startsWith("~"));
+        assertFalse(RationalReal.PI.isExact());
+    }
+}
@@ -0,0 +1,55 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class RationalRegressionTest {
+
+    @Test
+    void invalidRegressions() {
+        final RationalRegression empty = new RationalRegression();
+        assertEquals(0, empty.getCount());
+        assertThrows(ArithmeticException.class, empty::getCovariance);
+        assertThrows(ArithmeticException.class, empty::getSlope);
+        assertThrows(ArithmeticException.class, empty::getIntercept);
+        assertThrows(ArithmeticException.class, empty::getRSquared);
+
+        // Vertical line
+        final RationalRegression vertical = new RationalRegression();
+        vertical.accept(Rational.ONE, Rational.ONE);
+        vertical.accept(Rational.ONE, Rational.of(2));
+        assertEquals(Rational.ZERO, vertical.getCovariance());
+        assertThrows(ArithmeticException.class, vertical::getSlope);
+        assertThrows(ArithmeticException.class, vertical::getRSquared);
+
+        // Horizontal line: the slope is defined, not the coefficient of determination
+        final RationalRegression horizontal = new RationalRegression();
+        horizontal.accept(Rational.ONE, Rational.of(3));
+        horizontal.accept(Rational.of(2), Rational.of(6, 2));
+        assertEquals(Rational.ZERO, horizontal.getSlope());
+        assertEquals(Rational.of(3), horizontal.getIntercept());
+        assertThrows(ArithmeticException.class, horizontal::getRSquared);
+    }
+
+    @Test
+    void leastSquares() {
+        // (0, 1), (1, 3), (2, 2), (3, 5): mean x = 3/2, mean y = 11/4, and the centered sums are Sxy = 11/2, Sxx = 5,
+        // Syy = 35/4
+        final RationalRegression regression = new RationalRegression();
+        regression.accept(Rational.of(0), Rational.of(1));
+        regression.accept(Rational.of(1), Rational.of(3));
+        final RationalRegression other = new RationalRegression();
+        other.accept(Rational.of(2), Rational.of(2));
+        other.accept(Rational.of(3), Rational.of(5));
+        regression.combine(other);
+
+        assertEquals(4, regression.getCount());
+        assertEquals(Rational.of(11, 8), regression.getCovariance());
+        assertEquals(Rational.of(11, 10), regression.getSlope());
+        assertEquals(Rational.of(11, 10), regression.getIntercept());
+        // Sxy^2 / (Sxx * Syy) = (121/4) / (175/4)
+        assertEquals(Rational.of(121, 175), regression.getRSquared());
+    }
+}
@@ -0,0 +1,193 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RationalRootsTest {
+
+    private static final RationalContext CONTEXT = RationalContext.ofMaxDenominator(1000);
+
+    @Test
+    void invalidRoots() {
+        assertThrows(ArithmeticException.class, () -> Rational.of(-4).sqrt(CONTEXT));
+        assertThrows(ArithmeticException.class, () -> Rational.of(-4).sqrtBounds(CONTEXT));
+        assertThrows(ArithmeticException.class, () -> Rational.of(4).root(0, CONTEXT));
+        assertThrows(ArithmeticException.class, () -> Rational.of(4).rootBounds(-2, CONTEXT));
+        // Irrational roots need a bound
+        assertThrows(ArithmeticException.class, () -> Rational.of(2).sqrt(RationalContext.UNLIMITED));
+        assertThrows(ArithmeticException.class, () -> Rational.of(2).sqrtBounds(RationalContext.UNLIMITED));
+        assertThrows(
+                ArithmeticException.class,
+                () -> Rational.of(2).sqrt(CONTEXT.withRoundingMode(RoundingMode.UNNECESSARY)));
+    }
+
+    @Test
+    void trivialRoots() {
+        assertSame(Rational.ZERO, Rational.ZERO.sqrt(CONTEXT));
+        assertSame(Rational.APPROX_ZERO, Rational.APPROX_ZERO.sqrt(CONTEXT));
+        assertSame(Rational.ONE, Rational.ONE.sqrt(CONTEXT));
+        final Rational a = Rational.of(3, 7);
+        assertSame(a, a.root(1, CONTEXT));
+        assertEquals(RationalInterval.of(a), a.rootBounds(1, CONTEXT));
+        assertEquals(RationalInterval.of(Rational.ZERO), Rational.ZERO.sqrtBounds(CONTEXT));
+    }
+
+    @Test
+    void exactRoots() {
+        Rational actual = Rational.of(9, 4).sqrt(RationalContext.UNLIMITED);
+        assertFalse(actual.isApproximate());
+        assertEquals(Rational.of(3, 2), actual);
+
+        // Not canonical form
+        actual = Rational.of(18, 8).sqrt(RationalContext.UNLIMITED);
+        assertEquals(Rational.of(3, 2), actual);
+
+        actual = Rational.of(-27, 125).root(3, CONTEXT);
+        assertFalse(actual.isApproximate());
+        assertEquals(Rational.of(-3, 5), actual);
+
+        final BigInteger big = BigInteger.valueOf(123_456_789).pow(40);
+        actual = Rational.of(big, BigInteger.valueOf(3).pow(20)).root(20, RationalContext.UNLIMITED);
+        assertEquals(Rational.of(BigInteger.valueOf(123_456_789).pow(2), BigInteger.valueOf(3)), actual);
+
+        // Exact root, still rounded by the context
+        actual = Rational.of(1, 10_000 * 10_000).sqrt(CONTEXT);
+        assertTrue(actual.isApproximate());
+        assertEquals(0, Rational.ZERO.compareTo(actual));
+
+        // Approximation is kept
+        actual = Rational.approximateOf(9, 4).sqrt(CONTEXT);
+        assertTrue(actual.isApproximate());
+        assertEquals(0, Rational.of(3, 2).compareTo(actual));
+
+        assertEquals(RationalInterval.of(Rational.of(-3, 5)), Rational.of(-27, 125).rootBounds(3, CONTEXT));
+    }
+
+    @Test
+    void irrationalRoots() {
+        Rational actual = Rational.of(2).sqrt(CONTEXT);
+        assertTrue(actual.isApproximate());
+        assertEquals(0, Rational.of(1414, 1000).compareTo(actual));
+
+        actual = Rational.of(2).sqrt(CONTEXT.withRoundingMode(RoundingMode.CEILING));
+        assertEquals(0, Rational.of(1415, 1000).compareTo(actual));
+        actual = Rational.of(2).sqrt(CONTEXT.withRoundingMode(RoundingMode.UP));
+        assertEquals(0, Rational.of(1415, 1000).compareTo(actual));
+        actual = Rational.of(2).sqrt(CONTEXT.withRoundingMode(RoundingMode.DOWN));
+        assertEquals(0, Rational.of(1414, 1000).compareTo(actual));
+
+        // sqrt(3) = 1.7320508… -> rounded up with HALF_* modes
+        actual = Rational.of(3).sqrt(CONTEXT);
+        assertEquals(0, Rational.of(1732, 1000).compareTo(actual));
+        actual = Rational.of(3).sqrt(RationalContext.ofMaxDenominator(100));
+        assertEquals(0, Rational.of(173, 100).compareTo(actual));
+        actual = Rational.of(3).sqrt(RationalContext.ofMaxDenominator(10_000));
+        assertEquals(0, Rational.of(17_321, 10_000).compareTo(actual));
+
+        // cbrt(-2) = -1.2599210…
+        actual = Rational.of(-2).root(3, CONTEXT);
+        assertEquals(0, Rational.of(-1260, 1000).compareTo(actual));
+        actual = Rational.of(-2).root(3, CONTEXT.withRoundingMode(RoundingMode.CEILING));
+        assertEquals(0, Rational.of(-1259, 1000).compareTo(actual));
+        actual = Rational.of(-2).root(3, CONTEXT.withRoundingMode(RoundingMode.FLOOR));
+        assertEquals(0, Rational.of(-1260, 1000).compareTo(actual));
+
+        // Not canonical form
+        actual = Rational.of(2, 1).sqrt(CONTEXT.withCanonicalForm(false));
+        assertEquals(BigInteger.valueOf(1414), actual.getNumerator());
+        assertEquals(BigInteger.valueOf(1000), actual.getDenominator());
+    }
+
+    @Test
+    void highPrecisionRoots() {
+        final RationalContext context = RationalContext.ofBits(2000);
+        final Rational sqrt2 = Rational.of(2).sqrt(context);
+        final Rational error = sqrt2.multiply(sqrt2).subtract(Rational.of(2)).abs();
+        assertTrue(error.lt(Rational.of(BigInteger.ONE, BigInteger.TWO.pow(1998))));
+
+        final Rational root7 = Rational.of(10, 3).root(7, context);
+        final Rational error7 = root7.pow(7).subtract(Rational.of(10, 3)).abs();
+        assertTrue(error7.lt(Rational.of(BigInteger.ONE, BigInteger.TWO.pow(1990))));
+
+        // Huge input, small precision
+        final Rational huge = Rational.of(BigInteger.TEN.pow(5000).add(BigInteger.ONE), BigInteger.TEN.pow(4000));
+        assertEquals(0, Rational.of(BigInteger.TEN.pow(500)).compareTo(huge.sqrt(RationalContext.ofBits(8))));
+    }
+
+    @Test
+    void bounds() {
+        RationalInterval actual = Rational.of(2).sqrtBounds(CONTEXT);
+        assertEquals(0, Rational.of(1414, 1000).compareTo(actual.getLower()));
+        assertEquals(0, Rational.of(1415, 1000).compareTo(actual.getUpper()));
+        assertFalse(actual.getLower().isApproximate());
+        assertFalse(actual.getUpper().isApproximate());
+
+        actual = Rational.of(-2).rootBounds(3, CONTEXT);
+        assertEquals(0, Rational.of(-1260, 1000).compareTo(actual.getLower()));
+        assertEquals(0, Rational.of(-1259, 1000).compareTo(actual.getUpper()));
+
+        actual = Rational.of(2).sqrtBounds(CONTEXT.withCanonicalForm(false));
+        assertEquals(BigInteger.valueOf(1000), actual.getUpper().getDenominator());
+
+        for (int i = 2; i < 50; i++) {
+            final RationalInterval bounds = Rational.of(i, 7).sqrtBounds(RationalContext.ofBits(30));
+            assertTrue(bounds.getLower().pow(2).le(Rational.of(i, 7)));
+            assertTrue(bounds.getUpper().pow(2).ge(Rational.of(i, 7)));
+        }
+    }
+
+    @Test
+    void hugeOperands() {
+        // Operands much larger than the result are truncated, the result is the same
+        final Random random = new Random(28);
+        final RationalContext context = RationalContext.ofBits(64);
+        for (int n = 2; n <= 5; n++) {
+            // A numerator multiple of the first primes of the residue filter
+            final BigInteger a = new BigInteger(100_000, random).multiply(BigInteger.valueOf(3 * 5 * 7 * 11 * 13));
+            final BigInteger b = new BigInteger(100_000, random).setBit(99_999);
+            final Rational x = Rational.of(n % 2 == 0 ? a : a.negate(), b);
+            // floor(|x|^(1/n) * 2^64)
+            final BigInteger floor = Rational.integerRoot(a.shiftLeft(64 * n).divide(b), n);
+            final Rational lower = Rational.of(floor, BigInteger.ONE.shiftLeft(64));
+            final Rational upper = Rational.of(floor.add(BigInteger.ONE), BigInteger.ONE.shiftLeft(64));
+            final RationalInterval bounds = x.rootBounds(n, context);
+            final Rational actual = x.root(n, context.withRoundingMode(RoundingMode.DOWN));
+            assertTrue(actual.isApproximate());
+            if (n % 2 == 0) {
+                assertEquals(0, lower.compareTo(bounds.getLower()));
+                assertEquals(0, upper.compareTo(bounds.getUpper()));
+                assertEquals(0, lower.compareTo(actual));
+            } else {
+                assertEquals(0, upper.negate().compareTo(bounds.getLower()));
+                assertEquals(0, lower.negate().compareTo(bounds.getUpper()));
+                assertEquals(0, lower.negate().compareTo(actual));
+            }
+
+            // Large perfect powers are still found
+            final Rational y = Rational.of(a, BigInteger.valueOf(3));
+            assertEquals(y.canonicalForm(), y.pow(n).root(n, context));
+            assertFalse(y.pow(n).root(n, context).isApproximate());
+        }
+    }
+
+    @Test
+    void integerRoots() {
+        // The truncated lower bound of a root can be 0
+        assertEquals(BigInteger.ZERO, Rational.integerRoot(BigInteger.ZERO, 3));
+        assertEquals(BigInteger.ONE, Rational.integerRoot(BigInteger.ONE, 3));
+        assertEquals(BigInteger.TWO, Rational.integerRoot(BigInteger.valueOf(26), 3));
+        assertEquals(BigInteger.valueOf(3), Rational.integerRoot(BigInteger.valueOf(27), 3));
+        final BigInteger big = BigInteger.TEN.pow(500);
+        assertEquals(big, Rational.integerRoot(big.pow(5), 5));
+        assertEquals(big.subtract(BigInteger.ONE), Rational.integerRoot(big.pow(5).subtract(BigInteger.ONE), 5));
+        assertEquals(big, Rational.integerRoot(big.pow(2).add(big), 2));
+    }
+}
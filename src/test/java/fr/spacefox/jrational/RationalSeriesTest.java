@@ -0,0 +1,90 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class RationalSeriesTest {
+
+    private static final RationalSeries HARMONIC = RationalSeries.ofTerms(k -> Rational.of(1, k));
+
+    @Test
+    void invalidRanges() {
+        assertThrows(ArithmeticException.class, () -> HARMONIC.sum(-1));
+        assertThrows(ArithmeticException.class, () -> HARMONIC.sum(10, 5));
+        assertSame(Rational.ZERO, HARMONIC.sum(5, 5));
+        assertSame(Rational.ZERO, HARMONIC.sum(0));
+        // Division by zero
+        assertThrows(ArithmeticException.class, () -> HARMONIC.sum(0, 3));
+        assertThrows(
+                ArithmeticException.class,
+                () -> RationalSeries.ofPolynomials(new long[] {1}, new long[] {-2, 1}).sum(5));
+    }
+
+    @Test
+    void termGenerator() {
+        // H(10) = 7381/2520, same value as a sum with add()
+        final Rational h10 = HARMONIC.sum(1, 11);
+        assertEquals(Rational.of(7381, 2520), h10.canonicalForm());
+        Rational expected = Rational.ZERO;
+        for (int k = 1; k <= 10; k++) {
+            expected = expected.add(Rational.of(1, k));
+        }
+        assertEquals(expected, h10);
+        assertFalse(h10.isApproximate());
+
+        final Rational approximate =
+                RationalSeries.ofTerms(k -> k == 2 ? Rational.approximateOf(1, 2) : Rational.ONE).sum(4);
+        assertTrue(approximate.isApproximate());
+        assertEquals(0, Rational.of(7, 2).compareTo(approximate));
+    }
+
+    @Test
+    void hypergeometric() {
+        // e = sum(1/k!): ratio 1/k
+        final Rational e = RationalSeries.ofRatio(k -> BigInteger.ONE, k -> BigInteger.valueOf(Math.max(k, 1)))
+                .sum(60);
+        assertTrue(e.subtract(RationalConstants.e(250)).abs().lt(Rational.of(BigInteger.ONE, BigInteger.TWO.pow(250))));
+
+        // 1/2 + 1/4 + … + 1/2^10 = 1 - 1/2^10
+        assertEquals(
+                Rational.of(1023, 1024),
+                RationalSeries.ofPolynomials(new long[] {1}, new long[] {2}).sum(10).canonicalForm());
+        // Ratio k/(k+1) from k = 1: 1/2 + 1/3 + … + 1/6
+        assertEquals(
+                Rational.of(29, 20),
+                RationalSeries.ofPolynomials(new long[] {0, 1}, new long[] {1, 1}).sum(1, 6).canonicalForm());
+
+        // Harmonic numbers as a(k)/b(k) factors: H(10)
+        final RationalSeries harmonic =
+                RationalSeries.of(k -> BigInteger.ONE, BigInteger::valueOf, k -> BigInteger.ONE, k -> BigInteger.ONE);
+        assertEquals(Rational.of(7381, 2520), harmonic.sum(1, 11).canonicalForm());
+        // Same as ofRatio with a null b
+        assertEquals(
+                Rational.of(5),
+                RationalSeries.of(k -> BigInteger.ONE, null, k -> BigInteger.ONE, k -> BigInteger.ONE)
+                        .sum(5)
+                        .canonicalForm());
+    }
+
+    @Test
+    void parallelSums() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(HARMONIC.sum(1, 5001), HARMONIC.sum(1, 5001, pool));
+            final RationalSeries e =
+                    RationalSeries.ofRatio(k -> BigInteger.ONE, k -> BigInteger.valueOf(Math.max(k, 1)));
+            assertEquals(e.sum(3000), e.sum(0, 3000, pool));
+            // Too small to be split
+            assertEquals(HARMONIC.sum(1, 11), HARMONIC.sum(1, 11, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
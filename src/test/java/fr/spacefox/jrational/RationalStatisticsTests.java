@@ -3,9 +3,15 @@ package fr.spacefox.jrational;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 public class RationalStatisticsTests {
@@ -57,6 +63,8 @@ public class RationalStatisticsTests {
         assertEquals(Rational.of(22, 7), Rational.average(List.of(Rational.of(22, 7))));
         assertEquals(Rational.of(3, 8), Rational.average(List.of(Rational.of(1, 2), Rational.of(1, 4))));
         assertEquals(Rational.ZERO, Rational.average(List.of(Rational.of(-5, 6), Rational.of(500, 600))));
+        // Sum of 1
+        assertEquals(Rational.of(1, 2), Rational.average(List.of(Rational.of(1, 2), Rational.of(1, 2))));
     }
 
     @Test
@@ -71,4 +79,208 @@ public class RationalStatisticsTests {
                 Rational.of(7, 24),
                 Rational.median(List.of(Rational.of(1, 5), Rational.of(1, 2), Rational.of(1, 4), Rational.of(1, 3))));
     }
+
+    @Test
+    void quantiles() {
+        assertThrows(ArithmeticException.class, () -> Rational.quantile(Collections.emptyList(), Rational.ONE));
+        assertThrows(ArithmeticException.class, () -> Rational.quantile(List.of(Rational.ONE), Rational.of(-1, 2)));
+        assertThrows(ArithmeticException.class, () -> Rational.quantile(List.of(Rational.ONE), Rational.of(3, 2)));
+
+        final Rational a = Rational.of(1, 5);
+        final List<Rational> values = List.of(Rational.of(1, 2), a, Rational.of(1, 4), Rational.of(1, 3));
+        assertSame(a, Rational.quantile(values, Rational.ZERO));
+        assertEquals(Rational.of(1, 2), Rational.quantile(values, Rational.ONE));
+        // h = 3 * 9/10 = 2.7: 1/3 + 0.7 * (1/2 - 1/3)
+        assertEquals(Rational.of(9, 20), Rational.quantile(values, Rational.of(9, 10)));
+        assertEquals(
+                List.of(Rational.of(1, 2), Rational.of(7, 24), a),
+                Rational.quantiles(values, Rational.ONE, Rational.of(1, 2), Rational.ZERO));
+        assertEquals(Collections.emptyList(), Rational.quantiles(values));
+
+        for (final int size : new int[] {1, 2, 17, 100, 1000, 20_000}) {
+            final List<Rational> random = randomValues(size, size);
+            final List<Rational> sorted = new ArrayList<>(random);
+            Collections.sort(sorted);
+            final Rational[] ps = {
+                Rational.ZERO, Rational.of(1, 100), Rational.of(1, 2), Rational.of(95, 100), Rational.of(99, 100)
+            };
+            final List<Rational> expected = new ArrayList<>();
+            for (final Rational p : ps) {
+                expected.add(interpolate(sorted, p));
+            }
+            assertEquals(expected, Rational.quantiles(random, ps));
+            assertEquals(expected, Rational.parallelQuantiles(random, ps));
+        }
+    }
+
+    @Test
+    void quantilesWithDuplicatesAndExtremeValues() {
+        final List<Rational> values = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            values.add(Rational.of(i % 3));
+            values.add(Rational.of(BigInteger.TEN.pow(400), BigInteger.valueOf(i + 1)));
+            values.add(Rational.of(BigInteger.valueOf(i), BigInteger.TEN.pow(400)).negate());
+            // Values closer to each other than the precision of a double
+            values.add(Rational.of(BigInteger.TEN.pow(30).add(BigInteger.valueOf(i)), BigInteger.TEN.pow(30)));
+        }
+        Collections.shuffle(values, new Random(42));
+        final List<Rational> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        for (int percent = 0; percent <= 100; percent += 5) {
+            final Rational p = Rational.of(percent, 100);
+            assertEquals(interpolate(sorted, p), Rational.quantile(values, p));
+        }
+    }
+
+    @Test
+    void selectionWithoutPartitions() {
+        // Introselect falls back to heapsort when partitions are too unbalanced: the same result without any partition
+        final Random random = new Random(36);
+        final Rational[] values = new Rational[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Rational.of(random.nextInt(200) - 100, random.nextInt(9) + 1);
+        }
+        final List<Rational> sorted = new ArrayList<>(List.of(values));
+        Collections.sort(sorted);
+        final KeyedRationals keyed = new KeyedRationals(values, false);
+        final int[] positions = {0, 250, 499, 500, 999};
+        keyed.select(positions, 0);
+        for (int position : positions) {
+            assertEquals(0, sorted.get(position).compareTo(keyed.values[position]));
+        }
+    }
+
+    @Test
+    void topAndBottomK() {
+        assertThrows(ArithmeticException.class, () -> Rational.topK(List.of(Rational.ONE), -1));
+        assertThrows(ArithmeticException.class, () -> Rational.bottomK(List.of(Rational.ONE), -1));
+        assertEquals(Collections.emptyList(), Rational.topK(List.of(Rational.ONE), 0));
+        assertEquals(Collections.emptyList(), Rational.bottomK(Collections.emptyList(), 3));
+
+        final List<Rational> values = randomValues(3000, 50);
+        final List<Rational> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        for (final int k : new int[] {1, 5, 16, 17, 100, 3000, 5000}) {
+            final List<Rational> bottom = sorted.subList(0, Math.min(k, sorted.size()));
+            final List<Rational> top = new ArrayList<>(sorted.subList(sorted.size() - bottom.size(), sorted.size()));
+            Collections.reverse(top);
+            assertEquals(bottom, Rational.bottomK(values, k));
+            assertEquals(top, Rational.topK(values, k));
+        }
+    }
+
+    @Test
+    void weightedAverage() {
+        assertThrows(ArithmeticException.class, () -> Rational.weightedAverage(List.of(), List.of()));
+        assertThrows(
+                ArithmeticException.class,
+                () -> Rational.weightedAverage(List.of(Rational.ONE), List.of(Rational.ONE, Rational.ONE)));
+        assertThrows(
+                ArithmeticException.class,
+                () -> Rational.weightedAverage(
+                        List.of(Rational.ONE, Rational.of(2)), List.of(Rational.ONE, Rational.of(-1))));
+
+        // (1/2 * 1 + 1/3 * 2 + 1/4 * 3) / 6 = 23/72
+        assertEquals(
+                Rational.of(23, 72),
+                Rational.weightedAverage(
+                        List.of(Rational.of(1, 2), Rational.of(1, 3), Rational.of(1, 4)),
+                        List.of(Rational.ONE, Rational.of(2), Rational.of(3))));
+        final List<Rational> values = randomValues(300, 20);
+        final List<Rational> ones = Collections.nCopies(values.size(), Rational.of(5, 5));
+        assertEquals(Rational.average(values), Rational.weightedAverage(values, ones));
+
+        // A single pass over the weights
+        final AtomicInteger passes = new AtomicInteger();
+        final List<Rational> weights = new AbstractList<Rational>() {
+            @Override
+            public Rational get(final int index) {
+                if (index == 0) {
+                    passes.incrementAndGet();
+                }
+                return Rational.of(index + 1);
+            }
+
+            @Override
+            public int size() {
+                return values.size();
+            }
+        };
+        Rational weightedSum = Rational.ZERO;
+        for (int i = 0; i < values.size(); i++) {
+            weightedSum = weightedSum.add(values.get(i).multiply(Rational.of(i + 1))).canonicalForm();
+        }
+        final Rational expected = weightedSum.divide(Rational.of(values.size() * (values.size() + 1) / 2));
+        assertEquals(expected, Rational.weightedAverage(values, weights));
+        assertEquals(1, passes.get());
+    }
+
+    @Test
+    void variance() {
+        assertThrows(ArithmeticException.class, () -> Rational.variance(Collections.emptyList()));
+        assertThrows(ArithmeticException.class, () -> Rational.sampleVariance(List.of(Rational.ONE)));
+
+        assertEquals(Rational.ZERO, Rational.variance(List.of(Rational.of(22, 7))));
+        // 1/2, 1/4, 1/3: mean 13/36, squared deviations 25/1296, 16/1296, 1/1296
+        final List<Rational> values = List.of(Rational.of(1, 2), Rational.of(1, 4), Rational.of(1, 3));
+        assertEquals(Rational.of(42, 3 * 1296), Rational.variance(values));
+        assertEquals(Rational.of(42, 2 * 1296), Rational.sampleVariance(values));
+
+        // Same result as the two-pass definition
+        final List<Rational> random = randomValues(500, 30);
+        final Rational mean = Rational.average(random).canonicalForm();
+        Rational squares = Rational.ZERO;
+        for (final Rational value : random) {
+            squares = squares.add(value.subtract(mean).pow(2)).canonicalForm();
+        }
+        assertEquals(squares.divide(Rational.of(500)), Rational.variance(random));
+        assertEquals(squares.divide(Rational.of(499)), Rational.sampleVariance(random));
+    }
+
+    @Test
+    void standardDeviation() {
+        final RationalContext context = RationalContext.ofBits(64);
+        assertThrows(ArithmeticException.class, () -> Rational.standardDeviation(Collections.emptyList(), context));
+        // 2, 4, 4, 4, 5, 5, 7, 9: variance 4, sample variance 32/7
+        final List<Rational> values = List.of(
+                Rational.of(2), Rational.of(4), Rational.of(4), Rational.of(4),
+                Rational.of(5), Rational.of(5), Rational.of(7), Rational.of(9));
+        assertEquals(Rational.of(2), Rational.standardDeviation(values, RationalContext.UNLIMITED));
+        final Rational sample = Rational.sampleStandardDeviation(values, context);
+        assertTrue(sample.isApproximate());
+        assertEquals(Math.sqrt(32.0 / 7), sample.doubleValue(), 1e-15);
+        assertThrows(
+                ArithmeticException.class,
+                () -> Rational.sampleStandardDeviation(values, RationalContext.UNLIMITED));
+    }
+
+    @Test
+    void covariance() {
+        assertThrows(ArithmeticException.class, () -> Rational.covariance(List.of(), List.of()));
+        assertThrows(ArithmeticException.class, () -> Rational.covariance(List.of(Rational.ONE), List.of()));
+
+        final List<Rational> xs = List.of(Rational.of(1), Rational.of(2), Rational.of(3));
+        final List<Rational> ys = List.of(Rational.of(1, 2), Rational.of(1, 3), Rational.of(1, 6));
+        // Means 2 and 1/3: (-1 * 1/6 + 0 + 1 * -1/6) / 3
+        assertEquals(Rational.of(-1, 9), Rational.covariance(xs, ys));
+        assertEquals(Rational.variance(xs), Rational.covariance(xs, xs));
+    }
+
+    private static List<Rational> randomValues(final int size, final int maxDenominator) {
+        final Random random = new Random(size);
+        final List<Rational> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(Rational.of(random.nextInt(2 * size + 1) - size, random.nextInt(maxDenominator) + 1));
+        }
+        return values;
+    }
+
+    private static Rational interpolate(final List<Rational> sorted, final Rational p) {
+        final Rational h = Rational.of(sorted.size() - 1).multiply(p);
+        final int low = h.bigIntegerValue().intValue();
+        final Rational fraction = h.subtract(Rational.of(low));
+        return fraction.signum() == 0
+                ? sorted.get(low)
+                : sorted.get(low).add(fraction.multiply(sorted.get(low + 1).subtract(sorted.get(low))));
+    }
 }
@@ -0,0 +1,94 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RationalWindowTest {
+
+    @Test
+    void emptyWindow() {
+        assertThrows(ArithmeticException.class, () -> RationalWindow.of(0));
+        final RationalWindow window = RationalWindow.of(3);
+        assertEquals(0, window.size());
+        assertEquals(3, window.capacity());
+        assertSame(Rational.ZERO, window.sum());
+        assertThrows(ArithmeticException.class, window::average);
+        assertThrows(ArithmeticException.class, window::min);
+        assertThrows(ArithmeticException.class, window::max);
+    }
+
+    @Test
+    void sameAggregatesAsWholeWindow() {
+        final Random random = new Random(7);
+        for (final int capacity : new int[] {1, 2, 5, 64}) {
+            final RationalWindow window = RationalWindow.of(capacity);
+            final List<Rational> all = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                // Prices with a few different tick sizes, and plateaus for ties
+                final Rational value = i % 50 < 10
+                        ? Rational.of(100)
+                        : Rational.of(random.nextInt(20_000), new int[] {1, 2, 4, 100, 3, 7}[random.nextInt(6)]);
+                window.add(value);
+                all.add(value);
+                final List<Rational> last = all.subList(Math.max(0, all.size() - capacity), all.size());
+                assertEquals(last.size(), window.size());
+                assertEquals(Rational.sum(last), window.sum());
+                assertEquals(Rational.average(last), window.average());
+                assertEquals(Rational.min(last), window.min());
+                assertEquals(Rational.max(last), window.max());
+            }
+        }
+    }
+
+    @Test
+    void boundedRunningSum() {
+        // Denominators of the values are all different: without re-canonicalization the denominator of the running sum
+        // would be the lcm of all of them
+        final RationalWindow window = RationalWindow.of(10);
+        for (int i = 1; i <= 5000; i++) {
+            window.add(Rational.of(1, i));
+        }
+        assertTrue(window.sum().getDenominator().compareTo(BigInteger.TEN.pow(80)) < 0);
+        Rational expected = Rational.ZERO;
+        for (int i = 4991; i <= 5000; i++) {
+            expected = expected.add(Rational.of(1, i));
+        }
+        assertEquals(expected, window.sum());
+    }
+
+    @Test
+    void runningSumBackToSmallValues() {
+        final RationalWindow window = RationalWindow.of(2);
+        final Rational big = Rational.of(BigInteger.TEN.pow(30), BigInteger.valueOf(7));
+        window.add(big);
+        window.add(big.negate());
+        assertEquals(Rational.ZERO, window.sum());
+        window.add(Rational.of(1, 3));
+        window.add(Rational.of(1, 6));
+        window.add(Rational.of(1, 6));
+        assertEquals(Rational.of(1, 3), window.sum());
+        assertEquals(BigInteger.valueOf(6), window.sum().getDenominator());
+    }
+
+    @Test
+    void approximateValues() {
+        final RationalWindow window = RationalWindow.of(2);
+        window.add(Rational.approximateOf(1, 3));
+        window.add(Rational.of(1, 3));
+        assertTrue(window.sum().isApproximate());
+        assertEquals(0, Rational.of(2, 3).compareTo(window.sum()));
+        window.add(Rational.of(1, 3));
+        // The approximate value has left the window
+        assertFalse(window.sum().isApproximate());
+        assertEquals(Rational.of(2, 3), window.sum());
+    }
+}
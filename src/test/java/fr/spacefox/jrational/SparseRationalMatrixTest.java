@@ -0,0 +1,278 @@
+package fr.spacefox.jrational;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SparseRationalMatrixTest {
+
+    // [[1/2, 0, 1/3], [0, 0, 0], [-1, 2/5, 0]]
+    private static final SparseRationalMatrix MATRIX = SparseRationalMatrix.of(
+            3,
+            3,
+            new int[] {2, 0, 2, 0},
+            new int[] {1, 2, 0, 0},
+            List.of(Rational.of(2, 5), Rational.of(1, 3), Rational.of(-1), Rational.of(1, 2)));
+
+    private static RationalMatrix randomDense(final int rows, final int columns, final long seed) {
+        final Random random = new Random(seed);
+        final Rational[][] entries = new Rational[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                entries[i][j] = random.nextInt(4) == 0
+                        ? Rational.of(random.nextInt(41) - 20, random.nextInt(9) + 1)
+                        : Rational.ZERO;
+            }
+        }
+        return RationalMatrix.of(entries);
+    }
+
+    private static List<Rational> randomVector(final int size, final long seed) {
+        final Random random = new Random(seed);
+        final List<Rational> vector = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            vector.add(Rational.of(random.nextInt(41) - 20, random.nextInt(9) + 1));
+        }
+        return vector;
+    }
+
+    private static List<Rational> denseProduct(final RationalMatrix matrix, final List<Rational> vector) {
+        final List<Rational> product = new ArrayList<>();
+        for (int i = 0; i < matrix.getRowCount(); i++) {
+            Rational sum = Rational.ZERO;
+            for (int j = 0; j < matrix.getColumnCount(); j++) {
+                sum = sum.add(matrix.get(i, j).multiply(vector.get(j)));
+            }
+            product.add(sum.canonicalForm());
+        }
+        return product;
+    }
+
+    @Test
+    void builders() {
+        assertThrows(
+                ArithmeticException.class,
+                () -> SparseRationalMatrix.of(0, 1, new int[0], new int[0], List.of()));
+        assertThrows(
+                ArithmeticException.class,
+                () -> SparseRationalMatrix.of(1, 0, new int[0], new int[0], List.of()));
+        assertThrows(
+                ArithmeticException.class,
+                () -> SparseRationalMatrix.of(1, 1, new int[] {0}, new int[0], List.of(Rational.ONE)));
+        assertThrows(
+                ArithmeticException.class,
+                () -> SparseRationalMatrix.of(1, 1, new int[] {0}, new int[] {0}, List.of()));
+        assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> SparseRationalMatrix.of(1, 1, new int[] {1}, new int[] {0}, List.of(Rational.ONE)));
+        assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> SparseRationalMatrix.of(1, 1, new int[] {0}, new int[] {-1}, List.of(Rational.ONE)));
+
+        assertEquals(3, MATRIX.getRowCount());
+        assertEquals(3, MATRIX.getColumnCount());
+        assertEquals(4, MATRIX.getNonZeroCount());
+        assertEquals(Rational.of(1, 2), MATRIX.get(0, 0));
+        assertSame(Rational.ZERO, MATRIX.get(0, 1));
+        assertEquals(Rational.of(1, 3), MATRIX.get(0, 2));
+        assertSame(Rational.ZERO, MATRIX.get(1, 1));
+        assertEquals(Rational.of(-1), MATRIX.get(2, 0));
+        assertEquals(Rational.of(2, 5), MATRIX.get(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> MATRIX.get(3, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> MATRIX.get(0, 3));
+        assertEquals(
+                "SparseRationalMatrix(3x3, [(0, 0)=1/2, (0, 2)=1/3, (2, 0)=-1, (2, 1)=2/5])", MATRIX.toString());
+
+        // Duplicates are added, zeros are dropped
+        final SparseRationalMatrix duplicates = SparseRationalMatrix.of(
+                2,
+                2,
+                new int[] {0, 0, 1, 1, 1},
+                new int[] {1, 1, 0, 0, 1},
+                List.of(Rational.of(1, 2), Rational.of(1, 3), Rational.of(1, 4), Rational.of(-1, 4), Rational.ZERO));
+        assertEquals(1, duplicates.getNonZeroCount());
+        assertEquals(Rational.of(5, 6), duplicates.get(0, 1));
+        assertSame(Rational.ZERO, duplicates.get(1, 0));
+    }
+
+    @Test
+    void equalsAndHashCode() {
+        // Same entries, in another order, form and representation
+        final SparseRationalMatrix same = SparseRationalMatrix.of(
+                3,
+                3,
+                new int[] {0, 2, 0, 2, 1},
+                new int[] {0, 0, 2, 1, 1},
+                List.of(
+                        Rational.of(2, 4),
+                        Rational.approximateOf(-3, 3),
+                        Rational.of(1, 3),
+                        Rational.of(4, 10),
+                        Rational.ZERO));
+        assertEquals(MATRIX, MATRIX);
+        assertEquals(MATRIX, same);
+        assertEquals(MATRIX.hashCode(), same.hashCode());
+        assertEquals(MATRIX, SparseRationalMatrix.of(MATRIX.toDense()));
+        assertEquals(MATRIX, MATRIX.transpose().transpose());
+        assertNotEquals(MATRIX, MATRIX.transpose());
+        assertNotEquals(MATRIX, SparseRationalMatrix.of(3, 4, new int[0], new int[0], List.of()));
+        assertNotEquals(
+                SparseRationalMatrix.of(1, 1, new int[] {0}, new int[] {0}, List.of(Rational.of(1, 3))),
+                SparseRationalMatrix.of(1, 1, new int[] {0}, new int[] {0}, List.of(Rational.of(2, 3))));
+        assertNotEquals(MATRIX, MATRIX.toDense());
+        assertNotEquals(MATRIX, null);
+
+        // Numerators beyond long
+        final Rational big = Rational.of(BigInteger.TEN.pow(30), BigInteger.valueOf(7));
+        final SparseRationalMatrix bigMatrix =
+                SparseRationalMatrix.of(2, 2, new int[] {0, 1}, new int[] {1, 0}, List.of(big, Rational.ONE));
+        final SparseRationalMatrix sameBig = SparseRationalMatrix.of(
+                2, 2, new int[] {1, 0}, new int[] {0, 1}, List.of(Rational.of(7, 7), big.multiply(Rational.of(3, 3))));
+        assertEquals(bigMatrix, sameBig);
+        assertEquals(bigMatrix.hashCode(), sameBig.hashCode());
+        assertNotEquals(bigMatrix, SparseRationalMatrix.of(2, 2, new int[] {0}, new int[] {1}, List.of(big)));
+    }
+
+    @Test
+    void dense() {
+        final RationalMatrix dense = randomDense(7, 5, 1);
+        final SparseRationalMatrix sparse = SparseRationalMatrix.of(dense);
+        assertEquals(dense, sparse.toDense());
+        assertEquals(
+                RationalMatrix.of(new Rational[][] {
+                    {Rational.of(1, 2), Rational.ZERO, Rational.of(1, 3)},
+                    {Rational.ZERO, Rational.ZERO, Rational.ZERO},
+                    {Rational.of(-1), Rational.of(2, 5), Rational.ZERO}
+                }),
+                MATRIX.toDense());
+
+        final SparseRationalMatrix approximate = SparseRationalMatrix.of(
+                RationalMatrix.of(new Rational[][] {{Rational.approximateOf(1, 2), Rational.ZERO}}));
+        assertTrue(approximate.get(0, 0).isApproximate());
+        assertSame(Rational.APPROX_ZERO, approximate.get(0, 1));
+        assertSame(Rational.APPROX_ZERO, approximate.toDense().get(0, 1));
+    }
+
+    @Test
+    void bigNumerators() {
+        final BigInteger big = BigInteger.TEN.pow(30);
+        final SparseRationalMatrix matrix = SparseRationalMatrix.of(
+                2,
+                2,
+                new int[] {0, 0, 1},
+                new int[] {0, 1, 1},
+                List.of(Rational.of(big), Rational.of(1, 3), Rational.of(Long.MAX_VALUE)));
+        assertEquals(Rational.of(big), matrix.get(0, 0));
+        assertEquals(Rational.of(1, 3), matrix.get(0, 1));
+        assertEquals(
+                List.of(
+                        Rational.of(big.multiply(BigInteger.TWO).add(BigInteger.ONE)),
+                        Rational.of(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(3)))),
+                matrix.multiply(List.of(Rational.of(2), Rational.of(3))));
+        assertEquals(matrix.toDense().multiply(matrix.toDense()).get(1, 1), Rational.of(Long.MAX_VALUE).pow(2));
+    }
+
+    @Test
+    void transpose() {
+        final RationalMatrix dense = randomDense(6, 9, 2);
+        final SparseRationalMatrix transposed = SparseRationalMatrix.of(dense).transpose();
+        assertEquals(9, transposed.getRowCount());
+        assertEquals(6, transposed.getColumnCount());
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 9; j++) {
+                assertEquals(dense.get(i, j), transposed.get(j, i));
+            }
+        }
+        assertEquals(SparseRationalMatrix.of(dense).toDense(), transposed.transpose().toDense());
+    }
+
+    @Test
+    void multiply() {
+        assertEquals(
+                List.of(Rational.ONE, Rational.ZERO, Rational.of(-1, 5)),
+                MATRIX.multiply(List.of(Rational.ONE, Rational.of(2), Rational.of(3, 2))));
+        assertThrows(ArithmeticException.class, () -> MATRIX.multiply(List.of(Rational.ONE)));
+        assertTrue(MATRIX.multiply(List.of(Rational.approximateOf(1, 2), Rational.ONE, Rational.ZERO))
+                .get(0)
+                .isApproximate());
+        // Not canonical vector
+        assertEquals(
+                List.of(Rational.of(1, 2), Rational.ZERO, Rational.of(-6, 5)),
+                MATRIX.multiply(List.of(Rational.of(2, 2), Rational.of(-2, 4), Rational.ZERO)));
+
+        // Large enough for parallel rows
+        final int size = 5000;
+        final Random random = new Random(3);
+        final int[] rows = new int[4 * size];
+        final int[] columns = new int[4 * size];
+        final List<Rational> values = new ArrayList<>();
+        for (int k = 0; k < rows.length; k++) {
+            rows[k] = k / 4;
+            columns[k] = random.nextInt(size);
+            values.add(Rational.of(random.nextInt(20) + 1, random.nextInt(9) + 1));
+        }
+        final SparseRationalMatrix matrix = SparseRationalMatrix.of(size, size, rows, columns, values);
+        final List<Rational> vector = randomVector(size, 4);
+        final List<Rational> product = matrix.multiply(vector);
+        for (int i = 0; i < size; i += 97) {
+            Rational expected = Rational.ZERO;
+            for (int k = 4 * i; k < 4 * i + 4; k++) {
+                expected = expected.add(values.get(k).multiply(vector.get(columns[k])));
+            }
+            assertEquals(expected, product.get(i));
+        }
+
+        final RationalMatrix dense = randomDense(20, 30, 5);
+        final List<Rational> denseVector = randomVector(30, 6);
+        assertEquals(denseProduct(dense, denseVector), SparseRationalMatrix.of(dense).multiply(denseVector));
+    }
+
+    @Test
+    void powerIteration() {
+        // Markov chain with transitions 0 -> 1 (1), 1 -> 0 (1/2), 1 -> 1 (1/2): stationary distribution (1/3, 2/3)
+        final SparseRationalMatrix transitions = SparseRationalMatrix.of(
+                2,
+                2,
+                new int[] {0, 1, 1},
+                new int[] {1, 0, 1},
+                List.of(Rational.ONE, Rational.of(1, 2), Rational.of(1, 2)));
+        final SparseRationalMatrix transposed = transitions.transpose();
+        final List<Rational> start = List.of(Rational.of(1, 3), Rational.of(2, 3));
+        // Eigenvector, normalized so its largest entry is 1
+        assertEquals(List.of(Rational.of(1, 2), Rational.ONE), transposed.powerIteration(start, 3));
+        assertSame(start, transposed.powerIteration(start, 0));
+
+        // Converges to the eigenvector (1, 1) of [[2, 1], [1, 2]]: (1, x) with x = (3^n - 1) / (3^n + 1)
+        final SparseRationalMatrix symmetric = SparseRationalMatrix.of(
+                RationalMatrix.of(new Rational[][] {{Rational.of(2), Rational.ONE}, {Rational.ONE, Rational.of(2)}}));
+        assertEquals(
+                List.of(Rational.ONE, Rational.of(242, 244)),
+                symmetric.powerIteration(List.of(Rational.ONE, Rational.ZERO), 5));
+        // Largest entry is negative
+        final SparseRationalMatrix negative = SparseRationalMatrix.of(RationalMatrix.of(
+                new Rational[][] {{Rational.of(-2), Rational.ZERO}, {Rational.ZERO, Rational.of(-1)}}));
+        assertEquals(
+                List.of(Rational.ONE, Rational.of(1, 2)),
+                negative.powerIteration(List.of(Rational.ONE, Rational.ONE), 1));
+
+        assertThrows(ArithmeticException.class, () -> MATRIX.powerIteration(List.of(Rational.ONE), 1));
+        assertThrows(
+                ArithmeticException.class,
+                () -> MATRIX.powerIteration(List.of(Rational.ONE, Rational.ONE, Rational.ONE), -1));
+        assertThrows(
+                ArithmeticException.class,
+                () -> MATRIX.powerIteration(List.of(Rational.ZERO, Rational.ZERO, Rational.ZERO), 1));
+        final SparseRationalMatrix rectangular = SparseRationalMatrix.of(randomDense(2, 3, 7));
+        assertThrows(
+                ArithmeticException.class,
+                () -> rectangular.powerIteration(List.of(Rational.ONE, Rational.ONE, Rational.ONE), 1));
+    }
+}